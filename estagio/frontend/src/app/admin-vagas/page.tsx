@@ -4,7 +4,7 @@ import { useEffect, useState } from 'react';
 import { useRouter } from 'next/navigation';
 import styles from './admin-vagas.module.css';
 
-interface Vaga { id: number; titulo: string; empresa?: any; aberta: boolean }
+interface Vaga { id: number; titulo: string; empresaNome?: string; aberta: boolean }
 
 export default function AdminVagasPage() {
   const router = useRouter();
@@ -78,7 +78,7 @@ export default function AdminVagasPage() {
             <div key={v.id} className={styles.item}>
               <div>
                 <div className={styles.title}>{v.titulo}</div>
-                <div className={styles.meta}>{v.empresa?.nome || 'Empresa não informada'}</div>
+                <div className={styles.meta}>{v.empresaNome || 'Empresa não informada'}</div>
               </div>
               <div className={styles.actions}>
                 {!v.aberta && <span className={styles.closed}>Encerrada</span>}
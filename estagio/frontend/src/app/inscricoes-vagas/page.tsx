@@ -4,17 +4,12 @@ import { useRouter } from 'next/navigation';
 import { useEffect, useState } from 'react';
 import styles from './inscricoes-vagas.module.css';
 
-interface Estudante {
-  id: number;
-  nome: string;
-  email: string;
-  telefone: string;
-  curso: string;
-}
-
 interface Inscricao {
   id: number;
-  estudante: Estudante;
+  estudanteId: number;
+  estudanteNome: string;
+  estudanteEmail: string;
+  estudanteCurso: string;
   dataInscricao: string;
   status: 'APROVADO' | 'REJEITADO' | 'PENDENTE';
 }
@@ -22,7 +17,7 @@ interface Inscricao {
 interface Vaga {
   id: number;
   titulo: string;
-  empresa?: { id: number };
+  empresaId?: number;
   aberta: boolean;
 }
 
@@ -145,6 +140,33 @@ export default function InscricoesVagas() {
     }
   };
 
+  // Baixa todas as inscrições da empresa em CSV (gerado em streaming pelo backend)
+  const handleExportar = async () => {
+    try {
+      const token = localStorage.getItem('token');
+      const response = await fetch(`/api/inscricoes/empresa/${user.id}/exportar`, {
+        headers: {
+          Authorization: `Bearer ${token}`,
+        },
+      });
+
+      if (!response.ok) {
+        throw new Error('Erro ao exportar inscrições');
+      }
+
+      const blob = await response.blob();
+      const url = URL.createObjectURL(blob);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `inscricoes-empresa-${user.id}.csv`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (err) {
+      console.error('Erro ao exportar inscrições:', err);
+      setError('Erro ao exportar inscrições. Tente novamente.');
+    }
+  };
+
   const formatData = (dataString: string) => {
     const data = new Date(dataString);
     return data.toLocaleDateString('pt-BR', {
@@ -183,6 +205,11 @@ export default function InscricoesVagas() {
 
       <div className={styles.header}>
         <h1>Inscrições Recebidas</h1>
+        {vagasComInscricoes.length > 0 && (
+          <button onClick={handleExportar} className={styles.exportBtn}>
+            Exportar CSV
+          </button>
+        )}
       </div>
 
       {error && <div className={styles.error}>{error}</div>}
@@ -223,10 +250,10 @@ export default function InscricoesVagas() {
 
                   {item.inscricoes.map((inscricao) => (
                     <div key={inscricao.id} className={styles.tableRow}>
-                      <div className={styles.colNome}>{inscricao.estudante.nome}</div>
+                      <div className={styles.colNome}>{inscricao.estudanteNome}</div>
                       <div className={styles.colEmail}>
-                        <a href={`mailto:${inscricao.estudante.email}`}>
-                          {inscricao.estudante.email}
+                        <a href={`mailto:${inscricao.estudanteEmail}`}>
+                          {inscricao.estudanteEmail}
                         </a>
                       </div>
                       <div className={styles.colData}>{formatData(inscricao.dataInscricao)}</div>
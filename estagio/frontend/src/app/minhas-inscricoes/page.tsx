@@ -8,13 +8,11 @@ import styles from './minhas-inscricoes.module.css';
 interface Inscricao {
     id: number;
     status: string;
-    dataCandidatura: string;
-    vaga: {
-        id: number;
-        titulo: string;
-        empresa: { nome: string };
-        localizacao: string;
-    };
+    dataInscricao: string;
+    vagaId: number;
+    vagaTitulo: string;
+    vagaLocalizacao: string;
+    empresaNome: string;
 }
 
 export default function MinhasInscricoesPage() {
@@ -125,10 +123,10 @@ export default function MinhasInscricoesPage() {
                             <div className={styles.cardHeader}>
                                 <div className={styles.titleSection}>
                                     <h3 className={styles.vagaTitulo}>
-                                        {inscricao.vaga.titulo}
+                                        {inscricao.vagaTitulo}
                                     </h3>
                                     <p className={styles.empresa}>
-                                        {inscricao.vaga.empresa?.nome || 'Empresa desconhecida'}
+                                        {inscricao.empresaNome || 'Empresa desconhecida'}
                                     </p>
                                 </div>
                                 <div className={`${styles.status} ${getStatusColor(inscricao.status)}`}>
@@ -145,20 +143,20 @@ export default function MinhasInscricoesPage() {
                                 <div className={styles.infoRow}>
                                     <span className={styles.label}>📍 Localização:</span>
                                     <span className={styles.value}>
-                                        {inscricao.vaga.localizacao || 'Não informado'}
+                                        {inscricao.vagaLocalizacao || 'Não informado'}
                                     </span>
                                 </div>
                                 <div className={styles.infoRow}>
                                     <span className={styles.label}>📅 Data da candidatura:</span>
                                     <span className={styles.value}>
-                                        {new Date(inscricao.dataCandidatura).toLocaleDateString('pt-BR')}
+                                        {new Date(inscricao.dataInscricao).toLocaleDateString('pt-BR')}
                                     </span>
                                 </div>
                             </div>
 
                             <div className={styles.cardFooter}>
                                 <Link
-                                    href={`/vaga/${inscricao.vaga.id}`}
+                                    href={`/vaga/${inscricao.vagaId}`}
                                     className={styles.detailsBtn}
                                 >
                                     Ver Detalhes da Vaga
@@ -21,10 +21,13 @@ interface Vaga {
     modalidade: string;
     cargaHoraria: number;
     requisitos: string;
-    empresa: { id: number; nome: string };
+    empresaId: number;
+    empresaNome: string;
     aberta: boolean;
 }
 
+const PAGINA_AVALIACOES = 20;
+
 export default function VagaDetalhePage() {
     const params = useParams();
     const vagaId = params.id as string;
@@ -33,6 +36,8 @@ export default function VagaDetalhePage() {
     const [vaga, setVaga] = useState<Vaga | null>(null);
     const [avaliacoes, setAvaliacoes] = useState<Avaliacao[]>([]);
     const [media, setMedia] = useState(0);
+    const [totalAvaliacoes, setTotalAvaliacoes] = useState(0);
+    const [proximoCursor, setProximoCursor] = useState<string | null>(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
 
@@ -44,6 +49,26 @@ export default function VagaDetalhePage() {
     const [inscrevendo, setInscrevendo] = useState(false);
     const [user, setUser] = useState<any | null>(null);
 
+    // Estatísticas vêm do resumo da vaga; as avaliações são carregadas por página (cursor em X-Next-Cursor).
+    const carregarEstatisticas = async (token: string | null) => {
+        const statsResponse = await fetch(`/api/avaliacoes/vaga/${vagaId}/estatisticas`, {
+            headers: { 'Authorization': `Bearer ${token}` }
+        });
+        const statsData = await statsResponse.json();
+        setMedia(statsData.mediaNotas || 0);
+        setTotalAvaliacoes(statsData.totalAvaliacoes || 0);
+    };
+
+    const carregarAvaliacoes = async (token: string | null, after: string | null) => {
+        const cursor = after ? `&after=${after}` : '';
+        const response = await fetch(`/api/avaliacoes/vaga/${vagaId}?limit=${PAGINA_AVALIACOES}${cursor}`, {
+            headers: { 'Authorization': `Bearer ${token}` }
+        });
+        const pagina: Avaliacao[] = await response.json();
+        setAvaliacoes((anteriores) => (after ? [...anteriores, ...pagina] : pagina));
+        setProximoCursor(response.headers.get('X-Next-Cursor'));
+    };
+
     useEffect(() => {
         const user = localStorage.getItem('user');
         if (!user) {
@@ -63,19 +88,14 @@ export default function VagaDetalhePage() {
                 const vagaData = await response.json();
                 setVaga(vagaData);
 
-                const statsResponse = await fetch(`/api/avaliacoes/vaga/${vagaId}/estatisticas`, {
-                    headers: { 'Authorization': `Bearer ${token}` }
-                });
-                const statsData = await statsResponse.json();
-                setAvaliacoes(statsData.avaliacoes);
-                setMedia(statsData.mediaNotas || 0);
+                await Promise.all([carregarEstatisticas(token), carregarAvaliacoes(token, null)]);
 
                 if (userObj.role === 'estudante') {
                     const inscricoesResponse = await fetch(`/api/inscricoes/estudante/${userObj.id}`, {
                         headers: { 'Authorization': `Bearer ${token}` }
                     });
                     const inscricoes = await inscricoesResponse.json();
-                    const jainscrito = inscricoes.some((insc: any) => insc.vaga.id === parseInt(vagaId));
+                    const jainscrito = inscricoes.some((insc: any) => insc.vagaId === parseInt(vagaId));
                     setJaInscrito(jainscrito);
                 }
             } catch (err) {
@@ -150,12 +170,7 @@ export default function VagaDetalhePage() {
             if (response.ok) {
                 setNota(5);
                 setComentario('');
-                const statsResponse = await fetch(`/api/avaliacoes/vaga/${vagaId}/estatisticas`, {
-                    headers: { 'Authorization': `Bearer ${token}` }
-                });
-                const statsData = await statsResponse.json();
-                setAvaliacoes(statsData.avaliacoes);
-                setMedia(statsData.mediaNotas || 0);
+                await Promise.all([carregarEstatisticas(token), carregarAvaliacoes(token, null)]);
                 alert('Avaliação enviada com sucesso! ⭐');
             } else {
                 alert('Erro ao enviar avaliação');
@@ -179,9 +194,9 @@ export default function VagaDetalhePage() {
 
             <div className={styles.vagaDetalhes}>
                 <h1 className={styles.titulo}>{vaga.titulo || 'Vaga sem título'}</h1>
-                {vaga.empresa && (
+                {vaga.empresaNome && (
                     <div className={styles.empresa}>
-                        <strong>Empresa:</strong> {vaga.empresa.nome}
+                        <strong>Empresa:</strong> {vaga.empresaNome}
                     </div>
                 )}
 
@@ -240,7 +255,7 @@ export default function VagaDetalhePage() {
                         <div className={styles.stars}>
                             {'⭐'.repeat(Math.round(media))}
                         </div>
-                        <small>{avaliacoes.length} avaliações</small>
+                        <small>{totalAvaliacoes} avaliações</small>
                     </div>
                 </div>
 
@@ -304,6 +319,15 @@ export default function VagaDetalhePage() {
                             </div>
                         ))
                     )}
+                    {proximoCursor && (
+                        <button
+                            type="button"
+                            className={styles.submitBtn}
+                            onClick={() => carregarAvaliacoes(localStorage.getItem('token'), proximoCursor)}
+                        >
+                            Carregar mais avaliações
+                        </button>
+                    )}
                 </div>
             </div>
         </div>
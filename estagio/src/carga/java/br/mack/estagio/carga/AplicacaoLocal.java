@@ -0,0 +1,64 @@
+package br.mack.estagio.carga;
+
+import br.mack.estagio.EstagioApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe a aplicação no mesmo processo do gerador/executor, para rodar tudo localmente sem
+ * um servidor à parte. Sem {@code --db}, usa o banco do application.properties (H2 em arquivo).
+ *
+ * Com {@code web=false} sobe só o contexto (JPA, schema, sequências) para o gerador de dados.
+ * {@code --threads-virtuais true|false} e {@code --pool N} definem o modo de execução e o
+ * tamanho do pool Hikari, para comparar threads de plataforma e virtuais com o mesmo executor.
+ */
+class AplicacaoLocal implements AutoCloseable {
+
+    private final ConfigurableApplicationContext contexto;
+
+    AplicacaoLocal(String dbUrl, String dbUsuario, String dbSenha, String threadsVirtuais, String pool, boolean web) {
+        // Como argumentos de linha de comando para prevalecerem sobre o application.properties
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.br.mack.estagio=INFO"));
+        argumentos.add(web ? "--server.port=0" : "--spring.main.web-application-type=none");
+        if (dbUrl != null) {
+            argumentos.add("--spring.datasource.url=" + dbUrl);
+            argumentos.add("--spring.datasource.username=" + (dbUsuario == null ? "" : dbUsuario));
+            argumentos.add("--spring.datasource.password=" + (dbSenha == null ? "" : dbSenha));
+        }
+        if (threadsVirtuais != null) {
+            argumentos.add("--spring.threads.virtual.enabled=" + threadsVirtuais);
+        }
+        if (pool != null) {
+            argumentos.add("--spring.datasource.hikari.maximum-pool-size=" + pool);
+        }
+        // O restart do devtools executaria de novo o main de Carga, sem os argumentos
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        contexto = new SpringApplicationBuilder(EstagioApplication.class).run(argumentos.toArray(String[]::new));
+    }
+
+    static AplicacaoLocal de(Opcoes opcoes, boolean web) {
+        return new AplicacaoLocal(opcoes.texto("db", null), opcoes.texto("db-usuario", null), opcoes.texto("db-senha", null),
+                opcoes.texto("threads-virtuais", null), opcoes.texto("pool", null), web);
+    }
+
+    ConfigurableApplicationContext contexto() {
+        return contexto;
+    }
+
+    String url() {
+        String porta = contexto.getEnvironment().getProperty("local.server.port");
+        String contextPath = contexto.getEnvironment().getProperty("server.servlet.context-path", "");
+        return "http://localhost:" + porta + contextPath;
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+    }
+}
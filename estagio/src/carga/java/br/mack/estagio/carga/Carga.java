@@ -0,0 +1,89 @@
+package br.mack.estagio.carga;
+
+import java.nio.file.Path;
+
+/**
+ * Ponto de entrada dos testes de carga (perfil Maven {@code carga}):
+ *
+ * <pre>
+ * mvn -Pcarga test-compile exec:exec -Dcarga.args="COMANDO [--opcao valor ...]"
+ *
+ * gerar    Massa sintética direto no banco
+ *          --empresas 5000 --vagas 50000 --estudantes 100000 --inscricoes 1000000 --semente 42
+ * executar Carga em modelo aberto com relatório por cenário
+ *          --taxa 100 (req/s) --duracao 60 --aquecimento 15 (s) --usuarios 50 --estudantes 1000
+ *          --mix login=5,dashboard=25,busca=30,vagas=30,inscricao=10 --max-pendentes 5000 --csv arquivo.csv
+ * fumaca   Caminho feliz de ponta a ponta; sai com código 1 se algum passo falhar
+ *
+ * Comuns: --url http://host:porta/api usa um servidor já no ar; sem --url a aplicação sobe
+ *         neste processo (porta aleatória), com o banco de --db (padrão: o do application.properties)
+ *         --db jdbc:h2:file:./data/carga --db-usuario sa --db-senha ""
+ *         --threads-virtuais true|false (Java 21+) --pool 10 (máximo do pool Hikari)
+ *
+ * Plataforma x threads virtuais: depois do gerar, repita o executar com cada modo e tamanho de pool, ex.
+ *   executar --threads-virtuais true --pool 10 --mix vagas=1 --csv virtual_10.csv
+ *   (--mix login=1 para o pool de login). Com H2 embarcado a espera do JDBC é quase só CPU
+ *   e os dois modos tendem a empatar; use --db com um banco remoto para ver a diferença.
+ * </pre>
+ *
+ * Tudo roda localmente: H2 em arquivo, sem serviços externos. Com a aplicação no mesmo
+ * processo, gerador e servidor dividem a CPU; para números de capacidade, suba o servidor
+ * separado e use --url.
+ */
+public class Carga {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("uso: Carga gerar|executar|fumaca [--opcao valor ...] (ver Javadoc de br.mack.estagio.carga.Carga)");
+            System.exit(2);
+        }
+        Opcoes opcoes = new Opcoes(args, 1);
+        int codigo = switch (args[0]) {
+            case "gerar" -> gerar(opcoes);
+            case "executar" -> executar(opcoes);
+            case "fumaca" -> fumaca(opcoes);
+            default -> {
+                System.err.println("Comando desconhecido: " + args[0]);
+                yield 2;
+            }
+        };
+        System.exit(codigo);
+    }
+
+    private static int gerar(Opcoes opcoes) {
+        int empresas = opcoes.inteiro("empresas", 5_000);
+        int vagas = opcoes.inteiro("vagas", 50_000);
+        if (vagas > 0 && empresas == 0) {
+            throw new IllegalArgumentException("Vagas precisam de pelo menos uma empresa (--empresas)");
+        }
+        try (AplicacaoLocal aplicacao = AplicacaoLocal.de(opcoes, false)) {
+            new GeradorDados(aplicacao.contexto(), opcoes.inteiro("semente", 42))
+                    .gerar(empresas, vagas, opcoes.inteiro("estudantes", 100_000), opcoes.inteiro("inscricoes", 1_000_000));
+        }
+        return 0;
+    }
+
+    private static int executar(Opcoes opcoes) throws Exception {
+        try (AplicacaoLocal aplicacao = opcoes.texto("url", null) == null ? AplicacaoLocal.de(opcoes, true) : null) {
+            String url = aplicacao != null ? aplicacao.url() : opcoes.texto("url", null);
+            double taxa = opcoes.decimal("taxa", 100);
+            int duracao = opcoes.inteiro("duracao", 60);
+            ExecutorCarga executor = new ExecutorCarga(url, opcoes);
+            executor.preparar(opcoes.inteiro("usuarios", 50));
+            System.out.printf("Aquecimento: %d s a %.0f req/s%n", opcoes.inteiro("aquecimento", 15), taxa);
+            executor.executar(taxa, opcoes.inteiro("aquecimento", 15), false);
+            System.out.printf("Medição: %d s a %.0f req/s%n", duracao, taxa);
+            executor.executar(taxa, duracao, true);
+            String csv = opcoes.texto("csv", null);
+            executor.relatar(duracao, System.out, csv == null ? null : Path.of(csv));
+        }
+        return 0;
+    }
+
+    private static int fumaca(Opcoes opcoes) {
+        try (AplicacaoLocal aplicacao = opcoes.texto("url", null) == null ? AplicacaoLocal.de(opcoes, true) : null) {
+            String url = aplicacao != null ? aplicacao.url() : opcoes.texto("url", null);
+            return new TesteFumaca(url).executar() ? 0 : 1;
+        }
+    }
+}
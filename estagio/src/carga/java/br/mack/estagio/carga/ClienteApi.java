@@ -0,0 +1,90 @@
+package br.mack.estagio.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Cliente HTTP mínimo da API (JSON, token Bearer opcional).
+ */
+class ClienteApi {
+
+    /** Resposta com status e corpo já interpretado (null se vazio ou não-JSON). */
+    record Resposta(int status, JsonNode corpo) {
+        boolean ok() {
+            return status / 100 == 2;
+        }
+    }
+
+    private final String base;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ClienteApi(String base) {
+        this.base = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    HttpRequest get(String caminho, String token) {
+        return requisicao(caminho, token).GET().build();
+    }
+
+    HttpRequest post(String caminho, String token, Object corpo) {
+        try {
+            return requisicao(caminho, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Envia e espera a resposta (teste de fumaça, preparação da carga). */
+    Resposta enviar(HttpRequest requisicao) {
+        try {
+            HttpResponse<byte[]> resposta = client.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+            return new Resposta(resposta.statusCode(), ler(resposta.body()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Envia sem bloquear, descartando o corpo (carga). */
+    CompletableFuture<Integer> enviarAssincrono(HttpRequest requisicao) {
+        return client.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest.Builder requisicao(String caminho, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + caminho)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode ler(byte[] corpo) {
+        if (corpo == null || corpo.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(corpo);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
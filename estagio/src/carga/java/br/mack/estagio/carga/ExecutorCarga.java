@@ -0,0 +1,249 @@
+package br.mack.estagio.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carga em modelo aberto: as requisições chegam num processo de Poisson com a taxa pedida,
+ * independentemente de quanto o servidor demora para responder (diferente de N clientes em
+ * laço, que desaceleram junto com o servidor e escondem filas). A latência é medida a partir
+ * do instante planejado de chegada, então atrasos do próprio gerador e filas no servidor
+ * entram na conta (sem omissão coordenada).
+ *
+ * Cenários (peso relativo em {@code --mix}):
+ * - login: POST /auth/login de um estudante gerado (busca de credencial + BCrypt);
+ * - dashboard: GET /dashboard/estudante/{id} (recomendações);
+ * - busca: GET /vagas-estagio/busca com termos do vocabulário do gerador;
+ * - vagas: GET /vagas-estagio/abertas paginado a partir de um cursor aleatório;
+ * - inscricao: POST /inscricoes de um estudante logado numa vaga aberta aleatória.
+ *
+ * Os estudantes usados são {@code estudante<n>@carga.local} com n em [0, {@code --estudantes});
+ * {@code --usuarios} deles fazem login antes da medição para os cenários autenticados.
+ * Latências por cenário ficam em histogramas HDR (1 µs a 1 min, 3 dígitos significativos).
+ */
+class ExecutorCarga {
+
+    private static final long MAXIMO_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private record Usuario(long id, String token) {
+    }
+
+    private record Cenario(String nome, int peso) {
+    }
+
+    private final ClienteApi api;
+    private final Random random = new Random(7);
+    private final List<Usuario> usuarios = new ArrayList<>();
+    private final List<Long> vagas = new ArrayList<>();
+    private final Map<String, ConcurrentHistogram> histogramas = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> erros = new LinkedHashMap<>();
+    private final AtomicInteger pendentes = new AtomicInteger();
+    private final AtomicLong descartadas = new AtomicLong();
+
+    private final List<Cenario> mix;
+    private final int pesoTotal;
+    private final int estudantes;
+    private final int maxPendentes;
+
+    ExecutorCarga(String url, Opcoes opcoes) {
+        this.api = new ClienteApi(url);
+        this.mix = lerMix(opcoes.texto("mix", "login=5,dashboard=25,busca=30,vagas=30,inscricao=10"));
+        this.pesoTotal = mix.stream().mapToInt(Cenario::peso).sum();
+        this.estudantes = opcoes.inteiro("estudantes", 1_000);
+        this.maxPendentes = opcoes.inteiro("max-pendentes", 5_000);
+        for (Cenario cenario : mix) {
+            histogramas.put(cenario.nome(), new ConcurrentHistogram(MAXIMO_NANOS, 3));
+            erros.put(cenario.nome(), new AtomicLong());
+        }
+    }
+
+    private static List<Cenario> lerMix(String texto) {
+        List<Cenario> cenarios = new ArrayList<>();
+        for (String parte : texto.split(",")) {
+            String[] chaveValor = parte.trim().split("=");
+            String nome = chaveValor[0].trim();
+            if (!List.of("login", "dashboard", "busca", "vagas", "inscricao").contains(nome)) {
+                throw new IllegalArgumentException("Cenário desconhecido: " + nome);
+            }
+            int peso = Integer.parseInt(chaveValor[1].trim());
+            if (peso > 0) {
+                cenarios.add(new Cenario(nome, peso));
+            }
+        }
+        return cenarios;
+    }
+
+    /** Faz login dos usuários e coleta ids de vagas abertas. */
+    void preparar(int quantidadeUsuarios) {
+        for (int i = 0; usuarios.size() < quantidadeUsuarios && i < quantidadeUsuarios * 2; i++) {
+            ClienteApi.Resposta resposta = api.enviar(login(random.nextInt(estudantes)));
+            if (resposta.ok()) {
+                usuarios.add(new Usuario(resposta.corpo().get("id").asLong(), resposta.corpo().get("token").asText()));
+            }
+        }
+        if (usuarios.isEmpty()) {
+            throw new IllegalStateException("Nenhum login de estudante<n>" + GeradorDados.DOMINIO
+                    + " funcionou; gere a massa com o comando 'gerar' ou ajuste --estudantes");
+        }
+        String token = usuarios.get(0).token();
+        long cursor = 0;
+        while (vagas.size() < 5_000) {
+            ClienteApi.Resposta pagina = api.enviar(api.get("/vagas-estagio/abertas?limit=500&after=" + cursor, token));
+            if (!pagina.ok() || pagina.corpo() == null || pagina.corpo().isEmpty()) {
+                break;
+            }
+            for (JsonNode vaga : pagina.corpo()) {
+                vagas.add(vaga.get("id").asLong());
+                cursor = vaga.get("id").asLong();
+            }
+        }
+        if (vagas.isEmpty()) {
+            throw new IllegalStateException("Nenhuma vaga aberta encontrada");
+        }
+        System.out.printf("Preparado: %d usuários logados, %d vagas abertas%n", usuarios.size(), vagas.size());
+    }
+
+    /**
+     * Gera chegadas de Poisson com a taxa dada durante o tempo dado.
+     *
+     * @param medir Se false (aquecimento), as respostas não entram nos histogramas
+     */
+    void executar(double taxaPorSegundo, int segundos, boolean medir) {
+        double intervaloMedioNanos = 1e9 / taxaPorSegundo;
+        long inicio = System.nanoTime();
+        long fim = inicio + TimeUnit.SECONDS.toNanos(segundos);
+        long chegada = inicio;
+        while (true) {
+            chegada += (long) (-Math.log(1 - random.nextDouble()) * intervaloMedioNanos);
+            if (chegada >= fim) {
+                break;
+            }
+            long espera = chegada - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            if (pendentes.get() >= maxPendentes) {
+                descartadas.incrementAndGet();
+                continue;
+            }
+            Cenario cenario = sortear();
+            long planejado = chegada;
+            pendentes.incrementAndGet();
+            api.enviarAssincrono(requisicao(cenario.nome())).whenComplete((status, erro) -> {
+                pendentes.decrementAndGet();
+                if (!medir) {
+                    return;
+                }
+                if (erro != null || status / 100 != 2) {
+                    erros.get(cenario.nome()).incrementAndGet();
+                } else {
+                    histogramas.get(cenario.nome()).recordValue(Math.min(System.nanoTime() - planejado, MAXIMO_NANOS));
+                }
+            });
+        }
+        // Espera as requisições em voo terminarem antes de relatar
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (pendentes.get() > 0 && System.nanoTime() < limite) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private Cenario sortear() {
+        int sorteio = random.nextInt(pesoTotal);
+        for (Cenario cenario : mix) {
+            sorteio -= cenario.peso();
+            if (sorteio < 0) {
+                return cenario;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private HttpRequest requisicao(String cenario) {
+        ThreadLocalRandom sorteio = ThreadLocalRandom.current();
+        Usuario usuario = usuarios.get(sorteio.nextInt(usuarios.size()));
+        long vaga = vagas.get(sorteio.nextInt(vagas.size()));
+        return switch (cenario) {
+            case "login" -> login(sorteio.nextInt(estudantes));
+            case "dashboard" -> api.get("/dashboard/estudante/" + usuario.id(), usuario.token());
+            case "busca" -> api.get("/vagas-estagio/busca?q=" + termoBusca(sorteio).replace(" ", "+"), usuario.token());
+            case "vagas" -> api.get("/vagas-estagio/abertas?limit=50&after=" + vaga, usuario.token());
+            case "inscricao" -> api.post("/inscricoes", usuario.token(),
+                    Map.of("estudante", Map.of("id", usuario.id()), "vaga", Map.of("id", vaga)));
+            default -> throw new IllegalArgumentException(cenario);
+        };
+    }
+
+    private HttpRequest login(int estudante) {
+        return api.post("/auth/login", null, Map.of(
+                "email", "estudante" + estudante + GeradorDados.DOMINIO, "senha", GeradorDados.SENHA, "role", "estudante"));
+    }
+
+    private static String termoBusca(ThreadLocalRandom sorteio) {
+        return switch (sorteio.nextInt(3)) {
+            case 0 -> GeradorDados.CARGOS[sorteio.nextInt(GeradorDados.CARGOS.length)];
+            case 1 -> GeradorDados.AREAS[sorteio.nextInt(GeradorDados.AREAS.length)];
+            default -> GeradorDados.CARGOS[sorteio.nextInt(GeradorDados.CARGOS.length)] + " "
+                    + GeradorDados.CIDADES[sorteio.nextInt(GeradorDados.CIDADES.length)];
+        };
+    }
+
+    /** Tabela por cenário: requisições, erros, throughput e percentis em ms; opcionalmente também em CSV. */
+    void relatar(int segundos, PrintStream saida, Path csv) throws IOException {
+        List<String> linhas = new ArrayList<>();
+        linhas.add("cenario,requisicoes,erros,rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        saida.printf("%-10s %11s %7s %9s %9s %9s %9s %9s %9s%n",
+                "cenario", "requisicoes", "erros", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(MAXIMO_NANOS, 3);
+        long errosTotal = 0;
+        for (Map.Entry<String, ConcurrentHistogram> entrada : histogramas.entrySet()) {
+            Histogram histograma = entrada.getValue();
+            long errosCenario = erros.get(entrada.getKey()).get();
+            total.add(histograma);
+            errosTotal += errosCenario;
+            linhas.add(linha(saida, entrada.getKey(), histograma, errosCenario, segundos));
+        }
+        linhas.add(linha(saida, "total", total, errosTotal, segundos));
+        if (descartadas.get() > 0) {
+            saida.printf("%d chegadas descartadas (mais de %d requisições pendentes)%n", descartadas.get(), maxPendentes);
+        }
+        if (csv != null) {
+            Files.write(csv, linhas);
+        }
+    }
+
+    private static String linha(PrintStream saida, String nome, Histogram h, long erros, int segundos) {
+        double rps = (double) h.getTotalCount() / segundos;
+        double p50 = ms(h.getValueAtPercentile(50));
+        double p90 = ms(h.getValueAtPercentile(90));
+        double p99 = ms(h.getValueAtPercentile(99));
+        double p999 = ms(h.getValueAtPercentile(99.9));
+        double max = ms(h.getMaxValue());
+        saida.printf(Locale.ROOT, "%-10s %11d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                nome, h.getTotalCount(), erros, rps, p50, p90, p99, p999, max);
+        return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                nome, h.getTotalCount(), erros, rps, p50, p90, p99, p999, max);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,301 @@
+package br.mack.estagio.carga;
+
+import br.mack.estagio.config.AlinhamentoSequencias;
+import br.mack.estagio.services.PontosService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Gera uma massa de dados sintética direto no banco (JDBC em lote, sem passar pela API):
+ * áreas, empresas, vagas, estudantes e inscrições, com textos e distribuições próximos dos
+ * reais (títulos de um conjunto pequeno de cargos/áreas, popularidade das vagas em Zipf).
+ *
+ * Todos os usuários gerados têm senha {@value #SENHA}; emails seguem
+ * {@code estudante<n>@carga.local} e {@code empresa<n>@carga.local}, com n contínuo entre
+ * execuções, para o {@link ExecutorCarga} conseguir fazer login. Os ids continuam depois
+ * do maior id existente e as sequências são realinhadas no fim.
+ * Pontos, a badge de primeira inscrição e o contador {@code inscritos} das vagas são gravados
+ * já consistentes com as inscrições.
+ */
+class GeradorDados {
+
+    private static final Logger log = LoggerFactory.getLogger(GeradorDados.class);
+
+    static final String SENHA = "senha123";
+    static final String DOMINIO = "@carga.local";
+
+    static final String[] CARGOS = {"Desenvolvedor", "Analista", "Designer", "Engenheiro", "Assistente",
+            "Programador", "Técnico", "Consultor", "Pesquisador", "Estagiário"};
+    static final String[] AREAS = {"Java", "Python", "Dados", "Marketing", "Financeiro", "Redes",
+            "Suporte", "Mobile", "Frontend", "Backend", "Recursos Humanos", "Jurídico", "Logística", "Vendas",
+            "Design", "Contabilidade", "Engenharia Civil", "Produção", "Qualidade", "Segurança da Informação"};
+    static final String[] CIDADES = {"São Paulo", "Campinas", "Rio de Janeiro", "Belo Horizonte",
+            "Curitiba", "Porto Alegre", "Recife", "Remoto"};
+    private static final String[] CURSOS = {"Ciência da Computação", "Sistemas de Informação", "Engenharia",
+            "Administração", "Design", "Direito", "Economia", "Publicidade"};
+    private static final String[] MODALIDADES = {"PRESENCIAL", "REMOTO", "HIBRIDO"};
+    private static final String[] PALAVRAS = {"aplicações", "clientes", "relatórios", "sistemas", "equipe",
+            "projetos", "automação", "testes", "integração", "documentação", "atendimento", "análise",
+            "desenvolvimento", "manutenção", "pesquisa", "planejamento", "qualidade", "infraestrutura"};
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela",
+            "Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael"};
+    private static final String[] SOBRENOMES = {"Silva", "Souza", "Oliveira", "Santos", "Lima", "Pereira",
+            "Costa", "Almeida", "Ferreira", "Rodrigues", "Gomes", "Martins"};
+
+    private static final int LOTE = 5_000;
+
+    private record Area(long id, String nome) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final PasswordEncoder passwordEncoder;
+    private final AlinhamentoSequencias alinhamentoSequencias;
+    private final Random random;
+
+    GeradorDados(ApplicationContext contexto, long semente) {
+        this.jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        this.transacao = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        this.passwordEncoder = contexto.getBean(PasswordEncoder.class);
+        this.alinhamentoSequencias = contexto.getBean(AlinhamentoSequencias.class);
+        this.random = new Random(semente);
+    }
+
+    void gerar(int empresas, int vagas, int estudantes, int inscricoes) {
+        long inicio = System.nanoTime();
+        String hash = passwordEncoder.encode(SENHA);
+        LocalDateTime agora = LocalDateTime.now();
+        Timestamp gravadoEm = Timestamp.valueOf(agora);
+
+        List<Area> areas = garantirAreas(gravadoEm);
+
+        long primeiraEmpresa = proximoId("empresa");
+        int numeroEmpresa = contarGerados("empresa");
+        Lote empresaLote = new Lote("INSERT INTO empresa (id, nome, cnpj, email, telefone, endereco, senha, atualizado_em) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        Lote empresaAreas = new Lote("INSERT INTO empresa_areas (empresa_id, area_id) VALUES (?, ?)");
+        for (int i = 0; i < empresas; i++) {
+            long id = primeiraEmpresa + i;
+            int n = numeroEmpresa + i;
+            empresaLote.add(id, "Empresa " + n + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)],
+                    String.format("%014d", id), "empresa" + n + DOMINIO, telefone(),
+                    "Rua " + (1 + random.nextInt(2000)) + ", " + CIDADES[random.nextInt(CIDADES.length)], hash, gravadoEm);
+            for (Area area : sortear(areas, 1 + random.nextInt(3))) {
+                empresaAreas.add(id, area.id());
+            }
+            empresaLote.talvezGravar(empresaAreas);
+        }
+        empresaLote.gravar(empresaAreas);
+        log.info("{} empresas", empresas);
+
+        long primeiraVaga = proximoId("vaga_estagio");
+        Zipf popularidadeEmpresas = new Zipf(empresas);
+        // inscritos é acertado depois das inscrições; atualizado_em = data de publicação
+        Lote vagaLote = new Lote("INSERT INTO vaga_estagio (id, titulo, descricao, area_id, localizacao, modalidade, "
+                + "carga_horaria, requisitos, aberta, data_publicacao, empresa_id, inscritos, atualizado_em) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)");
+        for (int i = 0; i < vagas; i++) {
+            Area area = areas.get(random.nextInt(areas.size()));
+            Timestamp publicacao = Timestamp.valueOf(agora.minusMinutes(random.nextInt(180 * 24 * 60)));
+            vagaLote.add(primeiraVaga + i,
+                    CARGOS[random.nextInt(CARGOS.length)] + " " + area.nome(),
+                    descricao(),
+                    area.id(),
+                    CIDADES[random.nextInt(CIDADES.length)],
+                    MODALIDADES[random.nextInt(MODALIDADES.length)],
+                    20 + 5 * random.nextInt(5),
+                    AREAS[random.nextInt(AREAS.length)] + ", " + PALAVRAS[random.nextInt(PALAVRAS.length)],
+                    random.nextInt(100) < 85,
+                    publicacao,
+                    primeiraEmpresa + popularidadeEmpresas.proximo(),
+                    publicacao);
+            vagaLote.talvezGravar();
+        }
+        vagaLote.gravar();
+        log.info("{} vagas", vagas);
+
+        // Inscrições por estudante já definidas para gravar pontos/badge junto com o estudante
+        long primeiroEstudante = proximoId("estudante");
+        int numeroEstudante = contarGerados("estudante");
+        int porEstudante = estudantes == 0 ? 0 : inscricoes / estudantes;
+        int resto = estudantes == 0 ? 0 : inscricoes % estudantes;
+        Lote estudanteLote = new Lote("INSERT INTO estudante (id, nome, cpf, curso, email, telefone, senha, pontos) VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        Lote estudanteAreas = new Lote("INSERT INTO estudante_areas (estudante_id, area_id) VALUES (?, ?)");
+        Lote badges = new Lote("INSERT INTO estudante_badges (estudante_id, badge) VALUES (?, ?)");
+        Lote inscricaoLote = new Lote("INSERT INTO inscricao (estudante_id, vaga_id, data_inscricao) VALUES (?, ?, ?)");
+        Zipf popularidadeVagas = new Zipf(vagas);
+        Set<Long> escolhidas = new HashSet<>();
+        long inscricoesGeradas = 0;
+        for (int i = 0; i < estudantes; i++) {
+            long id = primeiroEstudante + i;
+            int n = numeroEstudante + i;
+            int quantidade = Math.min(porEstudante + (i < resto ? 1 : 0), vagas);
+            estudanteLote.add(id, NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " " + n,
+                    String.format("%011d", id), CURSOS[random.nextInt(CURSOS.length)], "estudante" + n + DOMINIO,
+                    telefone(), hash, quantidade * PontosService.PONTOS_POR_INSCRICAO);
+            for (Area area : sortear(areas, 1 + random.nextInt(3))) {
+                estudanteAreas.add(id, area.id());
+            }
+            if (quantidade > 0) {
+                badges.add(id, PontosService.BADGE_PRIMEIRA_INSCRICAO);
+            }
+            escolhidas.clear();
+            for (int tentativa = 0; escolhidas.size() < quantidade && tentativa < 20 * quantidade; tentativa++) {
+                escolhidas.add(primeiraVaga + popularidadeVagas.proximo());
+            }
+            // Inscrições perto do total de vagas: as menos populares quase nunca saem no sorteio
+            for (long vaga = primeiraVaga; escolhidas.size() < quantidade; vaga++) {
+                escolhidas.add(vaga);
+            }
+            for (long vaga : escolhidas) {
+                inscricaoLote.add(id, vaga, Timestamp.valueOf(agora.minusMinutes(random.nextInt(90 * 24 * 60))));
+            }
+            inscricoesGeradas += quantidade;
+            if (estudanteLote.talvezGravar(estudanteAreas, badges)) {
+                inscricaoLote.gravar();
+                log.info("{} estudantes", i + 1);
+            } else if (inscricaoLote.cheio()) {
+                // As inscrições referenciam estudantes do lote atual: grava os estudantes antes
+                estudanteLote.gravar(estudanteAreas, badges);
+                inscricaoLote.gravar();
+            }
+        }
+        estudanteLote.gravar(estudanteAreas, badges);
+        inscricaoLote.gravar();
+        log.info("{} estudantes, {} inscrições", estudantes, inscricoesGeradas);
+
+        transacao.executeWithoutResult(status -> jdbcTemplate.update("UPDATE vaga_estagio v SET inscritos = "
+                + "(SELECT COUNT(*) FROM inscricao i WHERE i.vaga_id = v.id) WHERE v.id >= ?", primeiraVaga));
+
+        alinhamentoSequencias.alinhar();
+        log.info("Massa gerada em {} s", (System.nanoTime() - inicio) / 1_000_000_000);
+    }
+
+    private List<Area> garantirAreas(Timestamp gravadoEm) {
+        List<String> existentes = jdbcTemplate.queryForList("SELECT nome FROM area_interesse", String.class);
+        for (String area : AREAS) {
+            if (!existentes.contains(area)) {
+                jdbcTemplate.update("INSERT INTO area_interesse (nome, atualizado_em) VALUES (?, ?)", area, gravadoEm);
+            }
+        }
+        return jdbcTemplate.query("SELECT id, nome FROM area_interesse ORDER BY id",
+                (rs, linha) -> new Area(rs.getLong("id"), rs.getString("nome")));
+    }
+
+    private long proximoId(String tabela) {
+        Long maior = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tabela, Long.class);
+        return maior == null ? 1 : maior + 1;
+    }
+
+    private int contarGerados(String tabela) {
+        Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela + " WHERE email LIKE ?", Integer.class, "%" + DOMINIO);
+        return total == null ? 0 : total;
+    }
+
+    /**
+     * Índices em [0, n) com popularidade em Zipf aproximado. A posição sorteada passa por uma
+     * permutação (a·p + b) mod n, com a primo com n, para os populares não serem os primeiros ids.
+     */
+    private final class Zipf {
+
+        private final int n;
+        private final long multiplicador;
+        private final long deslocamento;
+
+        Zipf(int n) {
+            this.n = n;
+            long a = 1 + random.nextInt(Math.max(n, 1));
+            while (mdc(a, n) != 1) {
+                a++;
+            }
+            this.multiplicador = a;
+            this.deslocamento = random.nextInt(Math.max(n, 1));
+        }
+
+        int proximo() {
+            long posicao = (long) Math.floor(Math.pow(n + 1, random.nextDouble())) - 1;
+            return (int) ((posicao * multiplicador + deslocamento) % n);
+        }
+    }
+
+    private static long mdc(long a, long b) {
+        return b == 0 ? a : mdc(b, a % b);
+    }
+
+    private <T> List<T> sortear(List<T> itens, int quantidade) {
+        Set<T> sorteados = new HashSet<>();
+        while (sorteados.size() < Math.min(quantidade, itens.size())) {
+            sorteados.add(itens.get(random.nextInt(itens.size())));
+        }
+        return new ArrayList<>(sorteados);
+    }
+
+    private String descricao() {
+        StringBuilder texto = new StringBuilder("Atuação em");
+        for (int p = 0; p < 12; p++) {
+            texto.append(' ').append(PALAVRAS[random.nextInt(PALAVRAS.length)]);
+        }
+        return texto.append('.').toString();
+    }
+
+    private String telefone() {
+        return "119" + (10_000_000 + random.nextInt(90_000_000));
+    }
+
+    /** Linhas acumuladas para um INSERT em lote; cada gravação é uma transação. */
+    private final class Lote {
+
+        private final String sql;
+        private final List<Object[]> linhas = new ArrayList<>(LOTE);
+
+        Lote(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... valores) {
+            linhas.add(valores);
+        }
+
+        boolean cheio() {
+            return linhas.size() >= LOTE;
+        }
+
+        // Grava este lote (e os dependentes) quando atingir o tamanho do lote
+        boolean talvezGravar(Lote... dependentes) {
+            if (!cheio()) {
+                return false;
+            }
+            gravar(dependentes);
+            return true;
+        }
+
+        void gravar(Lote... dependentes) {
+            transacao.executeWithoutResult(status -> {
+                executar();
+                for (Lote dependente : dependentes) {
+                    dependente.executar();
+                }
+            });
+        }
+
+        private void executar() {
+            if (!linhas.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, linhas);
+                linhas.clear();
+            }
+        }
+    }
+}
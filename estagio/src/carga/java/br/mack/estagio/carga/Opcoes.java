@@ -0,0 +1,35 @@
+package br.mack.estagio.carga;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opções de linha de comando no formato {@code --nome valor}.
+ */
+class Opcoes {
+
+    private final Map<String, String> valores = new HashMap<>();
+
+    Opcoes(String[] args, int inicio) {
+        for (int i = inicio; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Opção sem valor: " + args[i]);
+            }
+            valores.put(args[i].substring(2), args[++i]);
+        }
+    }
+
+    String texto(String nome, String padrao) {
+        return valores.getOrDefault(nome, padrao);
+    }
+
+    int inteiro(String nome, int padrao) {
+        String valor = valores.get(nome);
+        return valor == null ? padrao : Integer.parseInt(valor.replace("_", ""));
+    }
+
+    double decimal(String nome, double padrao) {
+        String valor = valores.get(nome);
+        return valor == null ? padrao : Double.parseDouble(valor);
+    }
+}
@@ -0,0 +1,87 @@
+package br.mack.estagio.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+
+/**
+ * Caminho feliz de um usuário de ponta a ponta pela API (substitui os antigos
+ * scripts/e2e_test.sh e scripts/test_meu_perfil.sh): cadastro e login de estudante e
+ * empresa, perfil, áreas, criação de vaga, inscrição, avaliação e dashboards.
+ *
+ * Cada passo precisa responder 2xx; o primeiro que falhar encerra com o status e o corpo.
+ */
+class TesteFumaca {
+
+    private final ClienteApi api;
+    private int passo;
+
+    TesteFumaca(String url) {
+        this.api = new ClienteApi(url);
+    }
+
+    /** @return true se todos os passos passaram */
+    boolean executar() {
+        String sufixo = Long.toString(System.currentTimeMillis());
+        String emailEstudante = "fumaca.estudante." + sufixo + "@example.com";
+        String emailEmpresa = "fumaca.empresa." + sufixo + "@example.com";
+        try {
+            long estudanteId = verificar("Registrar estudante", api.post("/estudantes/registro", null, Map.of(
+                    "nome", "Estudante Fumaça", "cpf", sufixo.substring(sufixo.length() - 11), "curso", "Engenharia",
+                    "email", emailEstudante, "telefone", "11900001111", "senha", "senha123"))).get("id").asLong();
+            long empresaId = verificar("Registrar empresa", api.post("/empresas/registro", null, Map.of(
+                    "nome", "Empresa Fumaça", "cnpj", "9" + sufixo, "email", emailEmpresa,
+                    "telefone", "11900002222", "senha", "senha123"))).get("id").asLong();
+
+            String tokenEstudante = verificar("Login estudante", api.post("/auth/login", null,
+                    Map.of("email", emailEstudante, "senha", "senha123", "role", "estudante"))).get("token").asText();
+            String tokenEmpresa = verificar("Login empresa", api.post("/auth/login", null,
+                    Map.of("email", emailEmpresa, "senha", "senha123", "role", "empresa"))).get("token").asText();
+
+            verificar("Perfil do estudante", api.get("/estudantes/" + estudanteId, tokenEstudante));
+            verificar("Áreas de interesse", api.get("/areas-interesse", tokenEstudante));
+
+            long vagaId = verificar("Criar vaga", api.post("/vagas-estagio", tokenEmpresa, Map.of(
+                    "titulo", "Estágio Fumaça", "descricao", "Vaga do teste de fumaça", "localizacao", "Remoto",
+                    "empresa", Map.of("id", empresaId)))).get("id").asLong();
+            verificar("Vagas abertas", api.get("/vagas-estagio/abertas?limit=20", tokenEstudante));
+            verificar("Detalhe da vaga", api.get("/vagas-estagio/" + vagaId, tokenEstudante));
+            verificar("Busca de vagas", api.get("/vagas-estagio/busca?q=fumaca", tokenEstudante));
+
+            verificar("Inscrição", api.post("/inscricoes", tokenEstudante,
+                    Map.of("estudante", Map.of("id", estudanteId), "vaga", Map.of("id", vagaId))));
+            verificar("Inscrições do estudante", api.get("/inscricoes/estudante/" + estudanteId, tokenEstudante));
+
+            verificar("Avaliação", api.post("/avaliacoes", tokenEstudante, Map.of(
+                    "estudante", Map.of("id", estudanteId), "vaga", Map.of("id", vagaId),
+                    "nota", 5, "comentario", "Ótimo")));
+            verificar("Estatísticas de avaliação", api.get("/avaliacoes/vaga/" + vagaId + "/estatisticas", tokenEstudante));
+
+            verificar("Dashboard do estudante", api.get("/dashboard/estudante/" + estudanteId, tokenEstudante));
+            verificar("Dashboard da empresa", api.get("/dashboard/empresa/" + empresaId, tokenEmpresa));
+            verificar("Ranking", api.get("/estudantes/gamificacao/top10", tokenEstudante));
+        } catch (FalhaPasso e) {
+            System.out.println(e.getMessage());
+            return false;
+        }
+        System.out.printf("Teste de fumaça concluído: %d passos OK%n", passo);
+        return true;
+    }
+
+    private JsonNode verificar(String descricao, HttpRequest requisicao) {
+        passo++;
+        ClienteApi.Resposta resposta = api.enviar(requisicao);
+        if (!resposta.ok()) {
+            throw new FalhaPasso(String.format("FALHOU %2d. %s: HTTP %d %s", passo, descricao, resposta.status(), resposta.corpo()));
+        }
+        System.out.printf("OK %2d. %s%n", passo, descricao);
+        return resposta.corpo();
+    }
+
+    private static final class FalhaPasso extends RuntimeException {
+        FalhaPasso(String mensagem) {
+            super(mensagem);
+        }
+    }
+}
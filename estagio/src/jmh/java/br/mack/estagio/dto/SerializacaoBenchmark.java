@@ -0,0 +1,189 @@
+package br.mack.estagio.dto;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.Inscricao;
+import br.mack.estagio.entities.VagaEstagio;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON das listagens: grafo de entidades (VagaEstagio com Empresa e áreas;
+ * Inscricao com Estudante, VagaEstagio e Empresa; Estudante e Empresa com senha e áreas)
+ * comparado com os DTOs achatados que os repositórios devolvem hoje. O ObjectMapper é
+ * montado como o do Spring Boot.
+ *
+ * O setup imprime o tamanho do JSON de cada listagem; rodar com {@code -prof gc} para ver
+ * também a alocação por operação (gc.alloc.rate.norm). A parte das consultas fica no
+ * {@link br.mack.estagio.repositories.RepositoriosBenchmark}.
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="SerializacaoBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private static final String HASH_SENHA = "$2a$10$" + "x".repeat(53);
+
+    @Param({"20", "500"})
+    public int tamanho;
+
+    private ObjectMapper objectMapper;
+    private List<VagaEstagio> vagas;
+    private List<VagaDTO> vagasDTO;
+    private List<Inscricao> inscricoes;
+    private List<InscricaoDTO> inscricoesDTO;
+    private List<Estudante> estudantes;
+    private List<EstudanteDTO> estudantesDTO;
+    private List<Empresa> empresas;
+    private List<EmpresaDTO> empresasDTO;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<AreaInteresse> areas = new ArrayList<>();
+        for (long i = 1; i <= 10; i++) {
+            AreaInteresse area = new AreaInteresse();
+            area.setId(i);
+            area.setNome("Área " + i);
+            areas.add(area);
+        }
+        vagas = new ArrayList<>(tamanho);
+        inscricoes = new ArrayList<>(tamanho);
+        estudantes = new ArrayList<>(tamanho);
+        empresas = new ArrayList<>();
+        for (int i = 0; i < tamanho; i++) {
+            Empresa empresa = new Empresa();
+            empresa.setId((long) i % 50);
+            empresa.setNome("Empresa " + i % 50);
+            empresa.setCnpj("00000000000" + i);
+            empresa.setEmail("empresa" + i + "@test.com");
+            empresa.setTelefone("1130000000");
+            empresa.setEndereco("Rua " + i + ", São Paulo");
+            empresa.setSenha(HASH_SENHA);
+            empresa.setAreasAtuacao(new HashSet<>(areas.subList(0, 3)));
+            if (i < 50) {
+                empresas.add(empresa);
+            }
+
+            VagaEstagio vaga = new VagaEstagio();
+            vaga.setId((long) i);
+            vaga.setTitulo("Estágio em desenvolvimento " + i);
+            vaga.setDescricao("Desenvolvimento de aplicações web com Java e Spring, testes e documentação.");
+            vaga.setArea(areas.get(i % areas.size()));
+            vaga.setLocalizacao("São Paulo");
+            vaga.setModalidade("HIBRIDO");
+            vaga.setCargaHoraria(30);
+            vaga.setRequisitos("Java, SQL, Git");
+            vaga.setEmpresa(empresa);
+            vagas.add(vaga);
+
+            Estudante estudante = new Estudante();
+            estudante.setId((long) i);
+            estudante.setNome("Estudante " + i);
+            estudante.setCpf("1111111111" + i);
+            estudante.setCurso("Ciência da Computação");
+            estudante.setEmail("estudante" + i + "@test.com");
+            estudante.setTelefone("11900000000");
+            estudante.setSenha(HASH_SENHA);
+            estudante.setAreasInteresse(new HashSet<>(areas.subList(2, 6)));
+            estudante.setBadges(Set.of("Primeira Inscrição"));
+            estudantes.add(estudante);
+            Inscricao inscricao = new Inscricao();
+            inscricao.setId((long) i);
+            inscricao.setEstudante(estudante);
+            inscricao.setVaga(vaga);
+            inscricoes.add(inscricao);
+        }
+        vagasDTO = vagas.stream().map(VagaDTO::de).toList();
+        inscricoesDTO = inscricoes.stream().map(SerializacaoBenchmark::dto).toList();
+        // Listagens: sem as áreas, que só vêm no GET por id
+        estudantesDTO = estudantes.stream().map(e -> new EstudanteDTO(e.getId(), e.getNome(), e.getCpf(), e.getCurso(),
+                e.getEmail(), e.getTelefone(), e.getPontos())).toList();
+        empresasDTO = empresas.stream().map(e -> new EmpresaDTO(e.getId(), e.getNome(), e.getCnpj(), e.getEmail(),
+                e.getTelefone(), e.getEndereco())).toList();
+
+        System.out.printf("%nTamanho do JSON (tamanho=%d), entidade -> DTO:%n", tamanho);
+        imprimirTamanho("vagas", vagas, vagasDTO);
+        imprimirTamanho("inscricoes", inscricoes, inscricoesDTO);
+        imprimirTamanho("estudantes", estudantes, estudantesDTO);
+        imprimirTamanho("empresas", empresas, empresasDTO);
+    }
+
+    private void imprimirTamanho(String listagem, Object entidades, Object dtos) throws JsonProcessingException {
+        System.out.printf("  %-10s %8.1f KB -> %8.1f KB%n", listagem,
+                objectMapper.writeValueAsBytes(entidades).length / 1024.0, objectMapper.writeValueAsBytes(dtos).length / 1024.0);
+    }
+
+    private static InscricaoDTO dto(Inscricao inscricao) {
+        Estudante estudante = inscricao.getEstudante();
+        VagaEstagio vaga = inscricao.getVaga();
+        return new InscricaoDTO(inscricao.getId(), inscricao.getDataInscricao(),
+                estudante.getId(), estudante.getNome(), estudante.getEmail(), estudante.getCurso(),
+                vaga.getId(), vaga.getTitulo(), vaga.getLocalizacao(), vaga.isAberta(), vaga.getEmpresa().getNome());
+    }
+
+    @Benchmark
+    public byte[] vagasEntidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vagas);
+    }
+
+    @Benchmark
+    public byte[] vagasDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vagasDTO);
+    }
+
+    @Benchmark
+    public byte[] inscricoesEntidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inscricoes);
+    }
+
+    @Benchmark
+    public byte[] inscricoesDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(inscricoesDTO);
+    }
+
+    @Benchmark
+    public byte[] estudantesEntidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(estudantes);
+    }
+
+    @Benchmark
+    public byte[] estudantesDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(estudantesDTO);
+    }
+
+    @Benchmark
+    public byte[] empresasEntidade() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(empresas);
+    }
+
+    @Benchmark
+    public byte[] empresasDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(empresasDTO);
+    }
+}
@@ -0,0 +1,184 @@
+package br.mack.estagio.repositories;
+
+import br.mack.estagio.EstagioApplication;
+import br.mack.estagio.dto.InscricaoDTO;
+import br.mack.estagio.dto.ResumoInscricoesVagaDTO;
+import br.mack.estagio.dto.VagaDTO;
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.Inscricao;
+import br.mack.estagio.entities.VagaEstagio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas dos endpoints de listagem contra um H2 em memória populado com um volume
+ * próximo ao de produção (200 empresas, 10k vagas, 5k estudantes, 50k inscrições).
+ *
+ * Sobe o contexto Spring completo (sem servidor web) para medir os repositórios como a
+ * aplicação os usa: Hibernate, cache de segundo nível e pool Hikari. Os ids consultados
+ * variam a cada chamada para não repetir sempre as mesmas páginas.
+ * inscricoesEntidadePorEmpresa é a consulta de entidades anterior aos DTOs, para comparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoriosBenchmark {
+
+    private static final int AREAS = 20;
+    private static final int EMPRESAS = 200;
+    private static final int VAGAS = 10_000;
+    private static final int ESTUDANTES = 5_000;
+    private static final int INSCRICOES = 50_000;
+
+    private ConfigurableApplicationContext contexto;
+    private VagaEstagioRepository vagaEstagioRepository;
+    private InscricaoRepository inscricaoRepository;
+    private long[] empresaIds;
+    private long[] vagaIds;
+    private long[] estudanteIds;
+    private int proximo;
+
+    @Setup
+    public void setup() {
+        // Como argumentos de linha de comando para prevalecerem sobre o application.properties
+        contexto = new SpringApplicationBuilder(EstagioApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN");
+        vagaEstagioRepository = contexto.getBean(VagaEstagioRepository.class);
+        inscricaoRepository = contexto.getBean(InscricaoRepository.class);
+        popular();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    private void popular() {
+        Random random = new Random(42);
+        List<AreaInteresse> areas = new ArrayList<>();
+        for (int i = 0; i < AREAS; i++) {
+            AreaInteresse area = new AreaInteresse();
+            area.setNome("Área " + i);
+            areas.add(area);
+        }
+        areas = contexto.getBean(AreaInteresseRepository.class).saveAll(areas);
+
+        List<Empresa> empresas = new ArrayList<>();
+        for (int i = 0; i < EMPRESAS; i++) {
+            Empresa empresa = new Empresa();
+            empresa.setNome("Empresa " + i);
+            empresa.setEmail("empresa" + i + "@jmh.com");
+            empresa.setAreasAtuacao(new HashSet<>(List.of(areas.get(random.nextInt(AREAS)))));
+            empresas.add(empresa);
+        }
+        empresas = contexto.getBean(EmpresaRepository.class).saveAll(empresas);
+
+        List<VagaEstagio> vagas = new ArrayList<>();
+        for (int i = 0; i < VAGAS; i++) {
+            VagaEstagio vaga = new VagaEstagio();
+            vaga.setTitulo("Estágio " + i);
+            vaga.setDescricao("Vaga sintética " + i);
+            vaga.setLocalizacao("São Paulo");
+            vaga.setArea(areas.get(random.nextInt(AREAS)));
+            vaga.setEmpresa(empresas.get(random.nextInt(EMPRESAS)));
+            vaga.setAberta(random.nextInt(10) > 0);
+            vagas.add(vaga);
+        }
+        vagas = vagaEstagioRepository.saveAll(vagas);
+
+        List<Estudante> estudantes = new ArrayList<>();
+        for (int i = 0; i < ESTUDANTES; i++) {
+            Estudante estudante = new Estudante();
+            estudante.setNome("Estudante " + i);
+            estudante.setEmail("estudante" + i + "@jmh.com");
+            estudante.setCurso("Computação");
+            estudantes.add(estudante);
+        }
+        estudantes = contexto.getBean(EstudanteRepository.class).saveAll(estudantes);
+
+        // Inscrição usa IDENTITY (sem batch pelo Hibernate): insere por JDBC em lote.
+        // Pares (estudante, vaga) distintos por causa da restrição única
+        List<Object[]> linhas = new ArrayList<>(INSCRICOES);
+        Set<Long> pares = new HashSet<>();
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        while (linhas.size() < INSCRICOES) {
+            int estudante = random.nextInt(ESTUDANTES);
+            int vaga = random.nextInt(VAGAS);
+            if (pares.add((long) estudante * VAGAS + vaga)) {
+                linhas.add(new Object[]{estudantes.get(estudante).getId(), vagas.get(vaga).getId(), agora});
+            }
+        }
+        contexto.getBean(JdbcTemplate.class)
+                .batchUpdate("INSERT INTO inscricao (estudante_id, vaga_id, data_inscricao) VALUES (?, ?, ?)", linhas);
+
+        empresaIds = empresas.stream().mapToLong(Empresa::getId).toArray();
+        vagaIds = vagas.stream().mapToLong(VagaEstagio::getId).toArray();
+        estudanteIds = estudantes.stream().mapToLong(Estudante::getId).toArray();
+    }
+
+    private long proximo(long[] ids) {
+        proximo = (proximo + 7919) % ids.length;
+        return ids[proximo];
+    }
+
+    @Benchmark
+    public Slice<VagaDTO> vagasAbertasPagina() {
+        return vagaEstagioRepository.findDTOByAbertaTrueAndIdGreaterThan(proximo(vagaIds), PageRequest.of(0, 50));
+    }
+
+    @Benchmark
+    public List<VagaDTO> vagasPorEmpresa() {
+        return vagaEstagioRepository.findDTOByEmpresaId(proximo(empresaIds));
+    }
+
+    @Benchmark
+    public List<InscricaoDTO> inscricoesPorEstudante() {
+        return inscricaoRepository.findDTOByEstudanteId(proximo(estudanteIds));
+    }
+
+    @Benchmark
+    public List<InscricaoDTO> inscricoesPorVaga() {
+        return inscricaoRepository.findDTOByVagaId(proximo(vagaIds));
+    }
+
+    @Benchmark
+    public List<ResumoInscricoesVagaDTO> resumoInscricoesPorEmpresa() {
+        return inscricaoRepository.resumirPorEmpresa(proximo(empresaIds));
+    }
+
+    @Benchmark
+    public List<Inscricao> inscricoesEntidadePorEmpresa() {
+        return inscricaoRepository.findByVaga_Empresa_Id(proximo(empresaIds));
+    }
+}
@@ -0,0 +1,126 @@
+package br.mack.estagio.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho do JwtAuthenticationFilter antes e depois do parse único:
+ * - legado: validateToken + getRoleFromToken + getUserIdFromToken, cada um derivando a
+ *   chave e verificando a assinatura HS512 novamente (3 parses por requisição);
+ * - parseUnico: JwtProvider.parseToken com cache desabilitado (1 parse por requisição);
+ * - parseUnicoComCache: JwtProvider.parseToken com cache de tokens verificados;
+ * - filtro: o JwtAuthenticationFilter real (cabeçalho, parse com cache e SecurityContext).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "sua_chave_secreta_muito_segura_para_estagio_2024_com_mais_caracteres_para_hs512";
+
+    private JwtProvider semCache;
+    private JwtProvider comCache;
+    private String token;
+    private JwtAuthenticationFilter filtro;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setup() {
+        semCache = provider(0);
+        comCache = provider(10_000);
+        token = comCache.generateToken(42L, "estudante@test.com", "estudante");
+        filtro = new JwtAuthenticationFilter(comCache);
+        request = new MockHttpServletRequest("GET", "/vagas-estagio");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken legado() {
+        if (!legadoValidate(token)) {
+            return null;
+        }
+        String role = (String) legadoClaims(token).get("role");
+        Long userId = Long.parseLong(legadoClaims(token).getSubject());
+        return new UsernamePasswordAuthenticationToken(userId, null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase())));
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken parseUnico() {
+        return autenticar(semCache);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken parseUnicoComCache() {
+        return autenticar(comCache);
+    }
+
+    @Benchmark
+    public Authentication filtro() throws Exception {
+        filtro.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private UsernamePasswordAuthenticationToken autenticar(JwtProvider provider) {
+        return provider.parseToken(token)
+                .map(principal -> new UsernamePasswordAuthenticationToken(principal.getId(), null, principal.getAuthorities()))
+                .orElse(null);
+    }
+
+    private static boolean legadoValidate(String token) {
+        try {
+            legadoClaims(token);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Claims legadoClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtProvider provider(int cacheMaxEntries) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(provider, "cacheMaxEntries", cacheMaxEntries);
+        provider.init();
+        return provider;
+    }
+}
@@ -0,0 +1,67 @@
+package br.mack.estagio.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de emitir e validar tokens no JwtProvider:
+ * - generateToken: montagem dos claims e assinatura HS512 (uma vez por login);
+ * - validateToken: verificação completa da assinatura (cache desabilitado);
+ * - validateTokenComCache: token repetido servido pelo cache de tokens verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtProviderBenchmark {
+
+    private static final String SECRET = "sua_chave_secreta_muito_segura_para_estagio_2024_com_mais_caracteres_para_hs512";
+
+    private JwtProvider semCache;
+    private JwtProvider comCache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        semCache = provider(0);
+        comCache = provider(10_000);
+        token = semCache.generateToken(42L, "estudante@test.com", "estudante");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return semCache.generateToken(42L, "estudante@test.com", "estudante");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return semCache.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenComCache() {
+        return comCache.validateToken(token);
+    }
+
+    private static JwtProvider provider(int cacheMaxEntries) {
+        JwtProvider provider = new JwtProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(provider, "cacheMaxEntries", cacheMaxEntries);
+        provider.init();
+        return provider;
+    }
+}
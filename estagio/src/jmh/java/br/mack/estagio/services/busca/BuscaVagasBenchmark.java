@@ -0,0 +1,82 @@
+package br.mack.estagio.services.busca;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de consulta do índice de vagas com 100k documentos sintéticos.
+ *
+ * Títulos, cidades e áreas vêm de listas pequenas (termos muito frequentes); as
+ * descrições misturam palavras comuns com um vocabulário de 5.000 termos em
+ * distribuição de Zipf, aproximando textos reais.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaVagasBenchmark {
+
+    private static final String[] CARGOS = {"Desenvolvedor", "Analista", "Designer", "Engenheiro", "Assistente",
+            "Programador", "Técnico", "Consultor", "Pesquisador", "Estagiário"};
+    private static final String[] AREAS = {"Java", "Python", "Dados", "Marketing", "Financeiro", "Redes",
+            "Suporte", "Mobile", "Frontend", "Backend", "Recursos Humanos", "Jurídico", "Logística", "Vendas"};
+    private static final String[] CIDADES = {"São Paulo", "Campinas", "Rio de Janeiro", "Belo Horizonte",
+            "Curitiba", "Porto Alegre", "Recife", "Remoto"};
+    private static final String[] PALAVRAS = {"aplicações", "clientes", "relatórios", "sistemas", "equipe",
+            "projetos", "automação", "testes", "integração", "documentação", "atendimento", "análise",
+            "desenvolvimento", "manutenção", "pesquisa", "planejamento", "qualidade", "infraestrutura"};
+
+    @Param({"100000"})
+    public int vagas;
+
+    @Param({"java", "desenvolvedor backend são paulo", "anal"})
+    public String consulta;
+
+    private IndiceInvertido indice;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        indice = new IndiceInvertido();
+        for (int i = 0; i < vagas; i++) {
+            String titulo = CARGOS[random.nextInt(CARGOS.length)] + " " + AREAS[random.nextInt(AREAS.length)];
+            StringBuilder descricao = new StringBuilder();
+            for (int p = 0; p < 4; p++) {
+                descricao.append(PALAVRAS[random.nextInt(PALAVRAS.length)]).append(' ');
+            }
+            for (int p = 0; p < 16; p++) {
+                descricao.append("termo").append(zipf(random, 5000)).append(' ');
+            }
+            indice.indexar(i, List.of(
+                    new IndiceInvertido.Campo(titulo, 3f),
+                    new IndiceInvertido.Campo(CIDADES[random.nextInt(CIDADES.length)], 2f),
+                    new IndiceInvertido.Campo(AREAS[random.nextInt(AREAS.length)], 1.5f),
+                    new IndiceInvertido.Campo(descricao.toString(), 1f)));
+        }
+    }
+
+    private static int zipf(Random random, int n) {
+        // Amostragem aproximada de Zipf (s = 1) por inversão da distribuição contínua
+        return (int) Math.floor(Math.pow(n + 1, random.nextDouble())) - 1;
+    }
+
+    @Benchmark
+    public List<IndiceInvertido.Resultado> buscar() {
+        return indice.buscar(consulta, 20);
+    }
+}
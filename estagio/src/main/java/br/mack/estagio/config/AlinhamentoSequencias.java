@@ -0,0 +1,63 @@
+package br.mack.estagio.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Garante que as sequências de id (Estudante, Empresa, VagaEstagio) estejam à frente
+ * dos ids já gravados.
+ *
+ * Essas tabelas usavam IDENTITY; em bancos existentes o {@code ddl-auto=update} cria a
+ * sequência começando em 1, o que geraria ids repetidos. Na inicialização (antes de o
+ * servidor aceitar requisições) cada sequência é consultada uma vez e, se estiver atrás
+ * do maior id da tabela, é reiniciada depois dele. A sequência só anda para frente.
+ */
+@Component
+public class AlinhamentoSequencias {
+
+    private static final Logger log = LoggerFactory.getLogger(AlinhamentoSequencias.class);
+
+    // Mesmo valor do allocationSize dos @SequenceGenerator
+    private static final int ALOCACAO = 50;
+
+    private static final Map<String, String> SEQUENCIAS = Map.of(
+            "estudante_seq", "estudante",
+            "empresa_seq", "empresa",
+            "vaga_estagio_seq", "vaga_estagio");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public AlinhamentoSequencias(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @PostConstruct
+    public void alinhar() {
+        SEQUENCIAS.forEach(this::alinhar);
+    }
+
+    private void alinhar(String sequencia, String tabela) {
+        Long maiorId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tabela, Long.class);
+        if (maiorId == null) {
+            return;
+        }
+        // Com o otimizador pooled, o valor lido é o fim do próximo bloco de ids
+        Long proximo = jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequencia), Long.class);
+        if (proximo != null && proximo >= maiorId) {
+            return;
+        }
+        long reinicio = maiorId + ALOCACAO + 1;
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequencia + " RESTART WITH " + reinicio);
+        log.info("Sequência {} reiniciada em {} (maior id de {}: {})", sequencia, reinicio, tabela, maiorId);
+    }
+}
@@ -0,0 +1,37 @@
+package br.mack.estagio.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * CacheManager JCache (Ehcache) usado pelo cache de segundo nível do Hibernate.
+ *
+ * As regiões ficam em {@code ehcache.xml}. O CacheManager é criado por contexto com uma URI
+ * própria, em vez de deixar o Hibernate obtê-lo pela URI do arquivo: o provedor JCache
+ * reutiliza CacheManagers pela URI, e dois contextos na mesma JVM (ex.: testes com bancos
+ * diferentes) acabariam compartilhando as mesmas regiões.
+ */
+@Configuration
+public class CacheHibernateConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        XmlConfiguration configuracao = new XmlConfiguration(getClass().getResource("/ehcache.xml"));
+        return provider.getCacheManager(URI.create("urn:estagio:hibernate:" + UUID.randomUUID()), configuracao);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheManagerHibernate(CacheManager hibernateCacheManager) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,67 @@
+package br.mack.estagio.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool dedicado ao login (consulta de credenciais + verificação BCrypt).
+ *
+ * O BCrypt custa ~100 ms de CPU por verificação; rodá-lo nas threads do Tomcat faz
+ * um pico de logins (início de semestre) travar todos os outros endpoints. Aqui o
+ * trabalho fica limitado a {@code login.executor.threads} threads (padrão: núcleos da
+ * máquina) e a uma fila de {@code login.executor.queue-capacity} posições; com a fila
+ * cheia a tarefa é rejeitada e o AuthController responde 503 com Retry-After.
+ *
+ * Com {@code spring.threads.virtual.enabled=true} (Java 21+) as threads do pool são virtuais:
+ * a busca de credenciais no banco libera a thread carregadora enquanto espera o JDBC. O
+ * limite de concorrência e a fila continuam valendo, porque o BCrypt é CPU pura e threads
+ * virtuais não criam núcleos; sem o limite, um pico de logins voltaria a ocupar todas as
+ * carregadoras usadas pelo Tomcat.
+ *
+ * Métricas: login.executor.queue (profundidade da fila) e login.executor.active.
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor loginExecutor(
+            @Value("${login.executor.threads:0}") int threads,
+            @Value("${login.executor.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry,
+            Environment environment) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadFactory threadFactory;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadFactory = new VirtualThreadTaskExecutor("login-").getVirtualThreadFactory();
+        } else {
+            AtomicInteger contador = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "login-" + contador.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("login.executor.queue", executor, e -> e.getQueue().size())
+                .description("Logins aguardando verificação de senha")
+                .register(meterRegistry);
+        Gauge.builder("login.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Logins em verificação de senha")
+                .register(meterRegistry);
+        return executor;
+    }
+}
@@ -0,0 +1,100 @@
+package br.mack.estagio.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede o atraso da réplica com um batimento gravado na primária.
+ *
+ * A cada {@code replica.verificacao.intervalo-ms} o monitor lê da réplica o último
+ * batimento replicado e grava um novo na primária. O atraso é a distância entre o
+ * batimento gravado na verificação anterior (que já teve um intervalo inteiro para chegar)
+ * e o que a réplica mostra; acima de {@code replica.atraso-maximo-ms}, ou com a réplica
+ * inacessível, as leituras vão para a primária até a próxima verificação boa. Não depende
+ * de funções do banco (funciona com PostgreSQL e com o H2 dos testes); com várias
+ * instâncias um batimento mais novo na réplica só pode significar atraso menor.
+ *
+ * Métricas: datasource.replica.atraso (segundos) e datasource.replica.disponivel (1/0).
+ */
+public class MonitorReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplica.class);
+
+    private static final String TABELA = "replica_batimento";
+
+    private final JdbcTemplate primaria;
+    private final JdbcTemplate replica;
+    private final long atrasoMaximoMs;
+
+    private final AtomicLong atrasoMs = new AtomicLong();
+    private volatile boolean disponivel;
+    private long ultimoGravado;
+
+    public MonitorReplica(DataSource primaria, DataSource replica, long atrasoMaximoMs, MeterRegistry meterRegistry) {
+        this.primaria = new JdbcTemplate(primaria);
+        this.replica = new JdbcTemplate(replica);
+        this.atrasoMaximoMs = atrasoMaximoMs;
+        Gauge.builder("datasource.replica.atraso", atrasoMs, valor -> valor.get() / 1000.0)
+                .description("Atraso medido da réplica de leitura, em segundos")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.disponivel", this, monitor -> monitor.disponivel ? 1 : 0)
+                .description("1 se as leituras estão indo para a réplica")
+                .register(meterRegistry);
+        this.primaria.execute("CREATE TABLE IF NOT EXISTS " + TABELA + " (id INT PRIMARY KEY, instante BIGINT NOT NULL)");
+    }
+
+    /** @return se a réplica pode receber leituras */
+    public boolean disponivel() {
+        return disponivel;
+    }
+
+    // Sincronizado: o agendamento e chamadas diretas (testes) não intercalam leitura e gravação
+    @Scheduled(fixedDelayString = "${replica.verificacao.intervalo-ms:1000}",
+            initialDelayString = "${replica.verificacao.intervalo-ms:1000}")
+    public synchronized void verificar() {
+        avaliar();
+        long agora = System.currentTimeMillis();
+        try {
+            if (primaria.update("UPDATE " + TABELA + " SET instante = ? WHERE id = 1", agora) == 0) {
+                primaria.update("INSERT INTO " + TABELA + " (id, instante) VALUES (1, ?)", agora);
+            }
+            ultimoGravado = agora;
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar o batimento da réplica na primária: {}", e.getMessage());
+        }
+    }
+
+    private void avaliar() {
+        List<Long> lidos;
+        try {
+            lidos = replica.queryForList("SELECT instante FROM " + TABELA + " WHERE id = 1", Long.class);
+        } catch (DataAccessException e) {
+            alterar(false, "réplica inacessível: " + e.getMessage());
+            return;
+        }
+        if (ultimoGravado == 0 || lidos.isEmpty()) {
+            alterar(false, "nenhum batimento replicado ainda");
+            return;
+        }
+        long atraso = Math.max(0, ultimoGravado - lidos.get(0));
+        atrasoMs.set(atraso);
+        alterar(atraso <= atrasoMaximoMs, "atraso de " + atraso + " ms");
+    }
+
+    private void alterar(boolean novo, String motivo) {
+        if (novo != disponivel) {
+            log.info("Leituras {} ({})", novo ? "voltam para a réplica" : "desviadas para a primária", motivo);
+        }
+        disponivel = novo;
+    }
+}
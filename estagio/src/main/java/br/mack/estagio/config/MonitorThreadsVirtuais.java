@@ -0,0 +1,103 @@
+package br.mack.estagio.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Modo de execução em threads virtuais ({@code spring.threads.virtual.enabled=true}, Java 21+).
+ *
+ * Com a propriedade ligada, o Spring Boot roda em threads virtuais as requisições do Tomcat,
+ * o applicationTaskExecutor (processamento assíncrono do MVC, ex.: exportação CSV) e as
+ * tarefas {@code @Scheduled}; o pool de login faz o mesmo (ver {@link LoginExecutorConfig}).
+ * Em Java 17 a propriedade não tem efeito e a aplicação só registra um aviso.
+ *
+ * Uma thread virtual fica presa à thread carregadora ("pinned") quando bloqueia dentro de
+ * um {@code synchronized} (até o Java 23) ou de código nativo. No caminho do JDBC isso anula
+ * o ganho do modo virtual. Este componente escuta o evento JFR {@code jdk.VirtualThreadPinned}
+ * (bloqueios acima de {@code threads.virtual.pinning.limiar-ms}), registra um aviso com a pilha
+ * na primeira ocorrência de cada ponto e incrementa a métrica {@code threads.virtual.pinned}.
+ *
+ * Pontos conhecidos nas dependências atuais:
+ * - PostgreSQL 42.7 (perfil prod): envio/recebimento protegidos por ReentrantLock, sem pinning.
+ * - H2 2.3 (perfil local): comandos usam ReentrantLock; só criação/remoção de sessões e DDL
+ *   sincronizam no objeto Database.
+ * - HikariCP 6: empréstimo de conexão sem synchronized; {@code ProxyStatement.close()} e o
+ *   rastreamento de statements da conexão são synchronized, mas curtos.
+ * - BCrypt não prende a carregadora, porém é CPU pura: o pool de login continua limitado.
+ * - O código da aplicação não usa synchronized (os serviços em memória usam java.util.concurrent).
+ */
+@Component
+public class MonitorThreadsVirtuais implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorThreadsVirtuais.class);
+
+    private static final int FRAMES_NO_LOG = 12;
+
+    private final Set<String> pontosConhecidos = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public MonitorThreadsVirtuais(Environment environment,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${threads.virtual.pinning.limiar-ms:20}") long limiarMs) {
+        boolean solicitado = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            if (solicitado) {
+                log.warn("spring.threads.virtual.enabled=true requer Java 21+; rodando em threads de plataforma (Java {})",
+                        Runtime.version().feature());
+            }
+            return;
+        }
+        Counter pinned = Counter.builder("threads.virtual.pinned")
+                .description("Bloqueios de threads virtuais presas à carregadora")
+                .register(meterRegistry);
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(limiarMs)).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", evento -> {
+            pinned.increment();
+            registrar(evento);
+        });
+        stream.startAsync();
+        log.info("Threads virtuais ativas; monitorando pinning acima de {} ms", limiarMs);
+    }
+
+    // Loga a pilha só na primeira vez que um ponto (frame mais interno) aparece
+    private void registrar(RecordedEvent evento) {
+        if (evento.getStackTrace() == null || evento.getStackTrace().getFrames().isEmpty()) {
+            return;
+        }
+        String pilha = evento.getStackTrace().getFrames().stream()
+                .limit(FRAMES_NO_LOG)
+                .map(MonitorThreadsVirtuais::descrever)
+                .collect(Collectors.joining("\n\tat "));
+        String ponto = pilha.lines().findFirst().orElse(pilha);
+        if (pontosConhecidos.add(ponto)) {
+            log.warn("Thread virtual presa por {} ms em:\n\tat {}", evento.getDuration().toMillis(), pilha);
+        }
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
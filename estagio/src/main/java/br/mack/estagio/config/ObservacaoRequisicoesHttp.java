@@ -0,0 +1,32 @@
+package br.mack.estagio.config;
+
+import br.mack.estagio.security.JwtAuthenticationFilter;
+import br.mack.estagio.security.JwtPrincipal;
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags dos timers http.server.requests: além das padrão (uri com o template da rota, método,
+ * status, outcome), o role do token JWT. Requisições sem token válido ficam com "anonimo".
+ */
+@Component
+public class ObservacaoRequisicoesHttp extends DefaultServerRequestObservationConvention {
+
+    private static final KeyValue ANONIMO = KeyValue.of("role", "anonimo");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(role(context));
+    }
+
+    private KeyValue role(ServerRequestObservationContext context) {
+        if (context.getCarrier() != null
+                && context.getCarrier().getAttribute(JwtAuthenticationFilter.ATRIBUTO_PRINCIPAL) instanceof JwtPrincipal principal) {
+            return KeyValue.of("role", principal.getRole().toLowerCase());
+        }
+        return ANONIMO;
+    }
+}
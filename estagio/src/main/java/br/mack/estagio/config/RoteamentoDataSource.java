@@ -0,0 +1,101 @@
+package br.mack.estagio.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Escolhe o pool de cada conexão: transações {@code readOnly} vão para a réplica, o resto
+ * (escritas e acessos fora de transação) para a primária.
+ *
+ * A leitura volta para a primária quando o {@link MonitorReplica} aponta a réplica como
+ * indisponível ou atrasada, e também depois que a mesma requisição gravou algo (a réplica
+ * ainda pode não ter a escrita; ver {@link #iniciarRequisicao}). Fora de requisições
+ * (tarefas agendadas, executores) a marca de escrita vale até o fim da transação que gravou:
+ * nada limparia a thread do pool depois.
+ *
+ * Fica atrás de um LazyConnectionDataSourceProxy: a conexão só é obtida no primeiro
+ * comando, quando o flag readOnly da transação já está registrado.
+ *
+ * Métrica: datasource.roteamento (tags pool e transacao) conta as conexões entregues por pool;
+ * pool=primaria com transacao=leitura são as leituras desviadas da réplica.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIA, REPLICA
+    }
+
+    // Marcado quando a thread obtém uma conexão de escrita; limpo a cada requisição ou, fora
+    // delas, quando a transação que gravou termina
+    private static final ThreadLocal<Boolean> GRAVOU = new ThreadLocal<>();
+    // Marcado pelo filtro enquanto a thread atende uma requisição HTTP
+    private static final ThreadLocal<Boolean> EM_REQUISICAO = new ThreadLocal<>();
+
+    private final MonitorReplica monitor;
+    private final Counter escritas;
+    private final Counter leiturasReplica;
+    private final Counter leiturasPrimaria;
+
+    public RoteamentoDataSource(MonitorReplica monitor, MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.escritas = contador(meterRegistry, "primaria", "escrita");
+        this.leiturasReplica = contador(meterRegistry, "replica", "leitura");
+        this.leiturasPrimaria = contador(meterRegistry, "primaria", "leitura");
+    }
+
+    /** Início de uma requisição HTTP: as leituras podem voltar para a réplica. */
+    public static void iniciarRequisicao() {
+        GRAVOU.remove();
+        EM_REQUISICAO.set(Boolean.TRUE);
+    }
+
+    /** Fim de uma requisição HTTP: a thread volta ao pool do servidor sem marcas. */
+    public static void encerrarRequisicao() {
+        GRAVOU.remove();
+        EM_REQUISICAO.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            marcarEscrita();
+            escritas.increment();
+            return Destino.PRIMARIA;
+        }
+        if (GRAVOU.get() == null && monitor.disponivel()) {
+            leiturasReplica.increment();
+            return Destino.REPLICA;
+        }
+        leiturasPrimaria.increment();
+        return Destino.PRIMARIA;
+    }
+
+    private static void marcarEscrita() {
+        if (EM_REQUISICAO.get() != null) {
+            GRAVOU.set(Boolean.TRUE);
+            return;
+        }
+        // Sem transação não há leitura readOnly seguinte para desviar
+        if (GRAVOU.get() != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        GRAVOU.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                GRAVOU.remove();
+            }
+        });
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String pool, String transacao) {
+        return Counter.builder("datasource.roteamento")
+                .description("Conexões obtidas por pool")
+                .tag("pool", pool)
+                .tag("transacao", transacao)
+                .register(meterRegistry);
+    }
+}
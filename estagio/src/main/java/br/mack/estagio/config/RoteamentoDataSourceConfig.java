@@ -0,0 +1,118 @@
+package br.mack.estagio.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Pools separados para a primária e para uma réplica de leitura, ligados só quando
+ * {@code replica.datasource.url} está definido (sem ele continua o pool único do Spring Boot).
+ *
+ * A primária usa as propriedades {@code spring.datasource.*}; a réplica usa
+ * {@code replica.datasource.url/username/password} (usuário e senha da primária por padrão)
+ * e {@code replica.datasource.hikari.*}. Os dois pools se chamam "primaria" e "replica" e
+ * aparecem separados nas métricas hikaricp.* (tag pool).
+ *
+ * O DataSource da aplicação (JPA, JdbcTemplate) é o {@link RoteamentoDataSource} atrás de um
+ * LazyConnectionDataSourceProxy. A sessão do Hibernate devolve a conexão ao fim de cada
+ * transação: com o open-session-in-view a sessão dura a requisição inteira, e a conexão de
+ * réplica obtida na primeira leitura seria reaproveitada pelas escritas seguintes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "replica.datasource.url")
+public class RoteamentoDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primariaDataSource(DataSourceProperties propriedades) {
+        HikariDataSource dataSource = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties propriedades,
+                                              @Value("${replica.datasource.url}") String url,
+                                              @Value("${replica.datasource.username:${spring.datasource.username:}}") String usuario,
+                                              @Value("${replica.datasource.password:${spring.datasource.password:}}") String senha) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(propriedades.determineDriverClassName())
+                .url(url)
+                .username(usuario)
+                .password(senha)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public MonitorReplica monitorReplica(@Qualifier("primariaDataSource") DataSource primaria,
+                                         @Qualifier("replicaDataSource") DataSource replica,
+                                         @Value("${replica.atraso-maximo-ms:5000}") long atrasoMaximoMs,
+                                         MeterRegistry meterRegistry) {
+        return new MonitorReplica(primaria, replica, atrasoMaximoMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primariaDataSource") DataSource primaria,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 MonitorReplica monitorReplica,
+                                 MeterRegistry meterRegistry) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(monitorReplica, meterRegistry);
+        roteamento.setTargetDataSources(Map.of(
+                RoteamentoDataSource.Destino.PRIMARIA, primaria,
+                RoteamentoDataSource.Destino.REPLICA, replica));
+        roteamento.setDefaultTargetDataSource(primaria);
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    // Cada transação obtém (e roteia) a sua conexão; o padrão do Spring segura a primeira até o fim da sessão
+    @Bean
+    public HibernatePropertiesCustomizer conexaoPorTransacaoCustomizer() {
+        return propriedades -> propriedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // Leituras feitas depois de uma escrita na mesma requisição ficam na primária
+    @Bean
+    public OncePerRequestFilter leituraAposEscritaFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                RoteamentoDataSource.iniciarRequisicao();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    RoteamentoDataSource.encerrarRequisicao();
+                }
+            }
+        };
+    }
+}
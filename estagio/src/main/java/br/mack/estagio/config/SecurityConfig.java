@@ -1,5 +1,6 @@
 package br.mack.estagio.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.*;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -9,7 +10,10 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import br.mack.estagio.controllers.PaginacaoCursor;
 import br.mack.estagio.security.JwtAuthenticationFilter;
+import br.mack.estagio.security.PasswordEncoderMedido;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -28,11 +32,12 @@ public class SecurityConfig {
 
     /**
      * Criptografa senhas usando BCrypt com 10 rounds (padrão).
+     * Cada encode/matches é medido no timer bcrypt.
      * @return PasswordEncoder configurado
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        return new PasswordEncoderMedido(new BCryptPasswordEncoder(), meterRegistry);
     }
 
     /**
@@ -42,6 +47,7 @@ public class SecurityConfig {
      * - /api/empresas/registro
      * - /api/auth/login
      * 
+     * /api/actuator/prometheus (métricas) é restrito ao role ADMIN.
      * Todos os outros endpoints requerem autenticação via JWT.
      * CORS está habilitado para localhost:3000.
      */
@@ -59,6 +65,11 @@ public class SecurityConfig {
                 .requestMatchers("/empresas/registro").permitAll()
                 .requestMatchers("/auth/login").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
+                // Respostas em streaming (StreamingResponseBody) terminam em um dispatch ASYNC;
+                // a requisição original já foi autorizada no dispatch REQUEST.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                // Scrape do Prometheus: enviar o token JWT de um administrador como Bearer
+                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                 // Exige autenticação para todos os endpoints não explicitamente liberados.
                 // Mantemos os endpoints de registro/login e H2Console como públicos.
                 .anyRequest().authenticated()
@@ -85,6 +96,8 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        // Cursor da paginação keyset precisa ser legível pelo frontend
+        configuration.setExposedHeaders(Arrays.asList(PaginacaoCursor.HEADER_PROXIMO_CURSOR));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -0,0 +1,80 @@
+package br.mack.estagio.config;
+
+import br.mack.estagio.entities.Avaliacao;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.Inscricao;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Confere na inicialização que as restrições únicas das entidades existem no banco.
+ *
+ * Cadastros, inscrições e avaliações gravam direto e contam com a restrição para recusar
+ * duplicatas (ver ViolacaoUnicidade). Em um banco existente que já tem valores repetidos,
+ * o {@code ddl-auto=update} não consegue criar a restrição e o Hibernate só registra o erro
+ * no log: a unicidade deixaria de valer sem aviso. Nesse caso a aplicação não sobe e a
+ * mensagem indica a restrição ausente e quantos valores estão repetidos; depois de remover
+ * as duplicatas, o próximo start cria a restrição.
+ *
+ * Roda depois do EntityManagerFactory, ou seja, depois da atualização do schema.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class VerificacaoRestricoesUnicas {
+
+    record Restricao(String nome, String tabela, String colunas) {
+    }
+
+    static final List<Restricao> RESTRICOES = List.of(
+            new Restricao(Estudante.UK_CPF, "estudante", "cpf"),
+            new Restricao(Estudante.UK_EMAIL, "estudante", "email"),
+            new Restricao(Empresa.UK_CNPJ, "empresa", "cnpj"),
+            new Restricao(Empresa.UK_EMAIL, "empresa", "email"),
+            new Restricao(Inscricao.UK_ESTUDANTE_VAGA, "inscricao", "estudante_id, vaga_id"),
+            new Restricao(Avaliacao.UK_ESTUDANTE_VAGA, "avaliacao", "estudante_id, vaga_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VerificacaoRestricoesUnicas(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @throws IllegalStateException se alguma restrição não existir no banco
+     */
+    @PostConstruct
+    public void verificar() {
+        List<String> ausentes = new ArrayList<>();
+        for (Restricao restricao : RESTRICOES) {
+            if (!existe(restricao)) {
+                ausentes.add(restricao.nome() + " em " + restricao.tabela() + "(" + restricao.colunas() + "): "
+                        + duplicados(restricao) + " valor(es) repetido(s)");
+            }
+        }
+        if (!ausentes.isEmpty()) {
+            throw new IllegalStateException("Restrições únicas ausentes no banco; remova as duplicatas e reinicie "
+                    + "para o ddl-auto=update criá-las: " + String.join("; ", ausentes));
+        }
+    }
+
+    private boolean existe(Restricao restricao) {
+        Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.table_constraints "
+                        + "WHERE constraint_type = 'UNIQUE' AND LOWER(constraint_name) = ? AND LOWER(table_name) = ?",
+                Integer.class, restricao.nome(), restricao.tabela());
+        return total != null && total > 0;
+    }
+
+    private long duplicados(Restricao restricao) {
+        String naoNulas = String.join(" IS NOT NULL AND ", restricao.colunas().split(", ")) + " IS NOT NULL";
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT " + restricao.colunas()
+                + " FROM " + restricao.tabela() + " WHERE " + naoNulas + " GROUP BY " + restricao.colunas()
+                + " HAVING COUNT(*) > 1) repetidos", Long.class);
+        return total == null ? 0 : total;
+    }
+}
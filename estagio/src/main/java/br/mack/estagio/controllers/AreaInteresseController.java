@@ -4,9 +4,11 @@ package br.mack.estagio.controllers;
 
 import br.mack.estagio.entities.AreaInteresse;
 import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.services.VersoesCatalogo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +20,15 @@ public class AreaInteresseController {
     @Autowired
     private AreaInteresseRepository areaInteresseRepository;
 
-    // Retorna uma lista de todas as áreas de interesse cadastradas.
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
+
+    // Retorna uma lista de todas as áreas de interesse cadastradas (304 se o ETag/Last-Modified não mudou).
     @GetMapping
-    public List<AreaInteresse> getAll() {
+    public List<AreaInteresse> getAll(WebRequest request) {
+        if (RespostaCondicional.naoModificado(request, versoesCatalogo.carimbo(VersoesCatalogo.Colecao.AREAS))) {
+            return null;
+        }
         return areaInteresseRepository.findAll();
     }
 
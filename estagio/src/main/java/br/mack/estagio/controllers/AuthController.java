@@ -12,42 +12,37 @@
 package br.mack.estagio.controllers;
 
 import br.mack.estagio.dto.*;
-import br.mack.estagio.entities.*;
-import br.mack.estagio.repositories.*;
-import br.mack.estagio.security.JwtProvider;
+import br.mack.estagio.services.LoginService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/auth")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AuthController {
 
     @Autowired
-    private EstudanteRepository estudanteRepository;
-
-    @Autowired
-    private EmpresaRepository empresaRepository;
-
-    @Autowired
-    private AdministradorRepository administradorRepository;
-
-    @Autowired
-    private PasswordEncoder passwordEncoder;
+    private LoginService loginService;
 
-    @Autowired
-    private JwtProvider jwtProvider;
+    @Value("${login.executor.retry-after-seconds:2}")
+    private int retryAfterSeconds;
 
     /**
      * Endpoint de login que autentica um usuário e retorna JWT.
      * 
      * Fluxo:
      * 1. Recebe email, senha e tipo de usuário
-     * 2. Busca usuário no banco de dados correspondente
-     * 3. Valida senha com BCrypt
+     * 2. Busca as credenciais no repositório correspondente ao tipo (uma única consulta)
+     * 3. Valida senha com BCrypt no pool de login (fora da thread do Tomcat)
      * 4. Gera JWT token com expiração de 24h
      * 5. Retorna token e informações do usuário
      * 
@@ -57,54 +52,15 @@ public class AuthController {
      */
     // Endpoint de login que verifica credenciais e retorna JWT.
     @PostMapping("/login")
-    public LoginResponse login(@RequestBody LoginRequest request) {
-        String email = request.getEmail();
-        String senha = request.getSenha();
-        String role = request.getRole();
-
-        // Verifica credenciais baseado no tipo de usuário
-        switch (role.toLowerCase()) {
-            case "estudante":
-                Estudante estudante = estudanteRepository.findByEmail(email)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas"));
-                if (!passwordEncoder.matches(senha, estudante.getSenha())) {
-                    throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
-                }
-                LoginResponse response = new LoginResponse();
-                response.setToken(jwtProvider.generateToken(estudante.getId(), estudante.getEmail(), role));
-                response.setRole(role);
-                response.setId(estudante.getId());
-                response.setNome(estudante.getNome());
-                return response;
-
-            case "empresa":
-                Empresa empresa = empresaRepository.findByEmail(email)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas"));
-                if (!passwordEncoder.matches(senha, empresa.getSenha())) {
-                    throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
-                }
-                LoginResponse response2 = new LoginResponse();
-                response2.setToken(jwtProvider.generateToken(empresa.getId(), empresa.getEmail(), role));
-                response2.setRole(role);
-                response2.setId(empresa.getId());
-                response2.setNome(empresa.getNome());
-                return response2;
-
-            case "admin":
-                Administrador admin = administradorRepository.findByEmail(email)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas"));
-                if (!passwordEncoder.matches(senha, admin.getSenha())) {
-                    throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
-                }
-                LoginResponse response3 = new LoginResponse();
-                response3.setToken(jwtProvider.generateToken(admin.getId(), admin.getEmail(), role));
-                response3.setRole(role);
-                response3.setId(admin.getId());
-                response3.setNome(admin.getNome());
-                return response3;
+    public CompletableFuture<LoginResponse> login(@RequestBody LoginRequest request) {
+        return loginService.login(request);
+    }
 
-            default:
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de usuário inválido");
-        }
+    // Fila de login cheia: falha rápido com 503 e indica quando tentar novamente.
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> loginSobrecarregado() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Map.of("error", "Muitos logins simultâneos. Tente novamente em instantes."));
     }
 }
@@ -2,16 +2,20 @@ package br.mack.estagio.controllers;
 
 import br.mack.estagio.entities.Avaliacao;
 import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.ResumoAvaliacoesVaga;
 import br.mack.estagio.entities.VagaEstagio;
 import br.mack.estagio.repositories.AvaliacaoRepository;
 import br.mack.estagio.repositories.EstudanteRepository;
 import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.services.AvaliacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -39,6 +43,9 @@ public class AvaliacaoController {
     @Autowired
     private VagaEstagioRepository vagaEstagioRepository;
 
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
     /**
      * Recupera todas as avaliações de uma vaga específica.
      * Exibe feedback de ex-estagiários para ajudar outros estudantes
@@ -53,26 +60,48 @@ public class AvaliacaoController {
     }
 
     /**
-     * Recupera as estatísticas de uma vaga incluindo:
+     * Página de avaliações de uma vaga por cursor (?limit=N&after=ID).
+     * O próximo cursor vem no header X-Next-Cursor.
+     *
+     * @param vagaId ID da vaga
+     * @param after ID da última avaliação da página anterior (opcional)
+     * @param limit Tamanho da página
+     * @return Avaliações da página
+     */
+    @GetMapping(value = "/vaga/{vagaId}", params = "limit")
+    public ResponseEntity<List<Avaliacao>> getAvaliacoesPorVagaPaginado(@PathVariable Long vagaId,
+                                                                        @RequestParam(required = false) Long after,
+                                                                        @RequestParam int limit) {
+        return PaginacaoCursor.resposta(
+                avaliacaoRepository.findByVaga_IdAndIdGreaterThanOrderByIdAsc(vagaId, PaginacaoCursor.cursor(after), PaginacaoCursor.pagina(limit)),
+                Avaliacao::getId);
+    }
+
+    /**
+     * Recupera as estatísticas de uma vaga a partir do resumo desnormalizado
+     * (uma leitura por chave primária):
      * - Média de notas
      * - Quantidade total de avaliações
-     * - Todas as avaliações detalhadas
+     * - Distribuição das notas de 1 a 5
+     *
+     * As avaliações em si são obtidas separadamente, paginadas em /avaliacoes/vaga/{vagaId}?limit=N.
      * 
      * @param vagaId ID da vaga
-     * @return Map com media, total e lista de avaliações
+     * @return Map com media, total e distribuição das notas
      */
     @GetMapping("/vaga/{vagaId}/estatisticas")
     public Map<String, Object> getEstatisticasVaga(@PathVariable Long vagaId) {
-        Map<String, Object> stats = new HashMap<>();
-        
-        Double media = avaliacaoRepository.calcularMediaNotaVaga(vagaId)
-            .orElse(0.0);
-        long total = avaliacaoRepository.contarAvaliacoes(vagaId);
-        List<Avaliacao> avaliacoes = avaliacaoRepository.findByVaga_Id(vagaId);
-        
-        stats.put("mediaNotas", Math.round(media * 10.0) / 10.0); // Arredondar para 1 casa decimal
-        stats.put("totalAvaliacoes", total);
-        stats.put("avaliacoes", avaliacoes);
+        ResumoAvaliacoesVaga resumo = avaliacaoService.resumo(vagaId);
+        long[] contagens = resumo.getDistribuicao();
+        Map<Integer, Long> distribuicao = new LinkedHashMap<>();
+        for (int nota = 1; nota <= 5; nota++) {
+            distribuicao.put(nota, contagens[nota - 1]);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mediaNotas", resumo.getMedia()); // Já arredondada para 1 casa decimal
+        stats.put("totalAvaliacoes", resumo.getTotal());
+        stats.put("distribuicao", distribuicao);
         
         return stats;
     }
@@ -124,16 +153,16 @@ public class AvaliacaoController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Nota deve estar entre 1 e 5");
         }
         
-        // Validar duplicação: não permitir que o mesmo estudante avalie a mesma vaga duas vezes
-        if (avaliacaoRepository.existsByEstudante_IdAndVaga_Id(estudante.getId(), vaga.getId())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, 
-                "Você já avaliou esta vaga. Não é permitido avaliar duas vezes.");
-        }
-        
         avaliacao.setEstudante(estudante);
         avaliacao.setVaga(vaga);
         
-        return avaliacaoRepository.save(avaliacao);
+        // Duplicação (mesmo estudante avaliando a mesma vaga duas vezes) é barrada pela restrição única
+        try {
+            return avaliacaoService.criar(avaliacao); // Atualiza o resumo da vaga na mesma transação
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, HttpStatus.CONFLICT,
+                    Map.of(Avaliacao.UK_ESTUDANTE_VAGA, "Você já avaliou esta vaga. Não é permitido avaliar duas vezes."));
+        }
     }
 
     /**
@@ -148,6 +177,7 @@ public class AvaliacaoController {
     public Avaliacao atualizarAvaliacao(@PathVariable Long id, @RequestBody Avaliacao avaliacaoAtualizada) {
         Avaliacao avaliacao = avaliacaoRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Avaliação não encontrada"));
+        int notaAnterior = avaliacao.getNota();
         
         // Validar nova nota
         if (avaliacaoAtualizada.getNota() != null) {
@@ -162,7 +192,7 @@ public class AvaliacaoController {
             avaliacao.setComentario(avaliacaoAtualizada.getComentario());
         }
         
-        return avaliacaoRepository.save(avaliacao);
+        return avaliacaoService.atualizar(avaliacao, notaAnterior);
     }
 
     /**
@@ -173,9 +203,8 @@ public class AvaliacaoController {
      */
     @DeleteMapping("/{id}")
     public void deletarAvaliacao(@PathVariable Long id) {
-        if (!avaliacaoRepository.existsById(id)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Avaliação não encontrada");
-        }
-        avaliacaoRepository.deleteById(id);
+        Avaliacao avaliacao = avaliacaoRepository.findById(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Avaliação não encontrada"));
+        avaliacaoService.excluir(avaliacao);
     }
 }
@@ -0,0 +1,127 @@
+package br.mack.estagio.controllers;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escreve o resultado de uma consulta {@code Stream<>} como arquivo CSV (opcionalmente gzip), linha a linha.
+ *
+ * Mesmo modelo do {@link JsonArrayStreamer}: a consulta roda numa transação somente leitura
+ * aberta na thread que escreve a resposta, e o contexto de persistência é limpo a cada
+ * {@link #LOTE_LIMPEZA} linhas, então a memória usada não depende do número de linhas.
+ *
+ * O arquivo sai em UTF-8 com BOM (acentos corretos no Excel). Valores com vírgula, aspas ou
+ * quebra de linha vão entre aspas, e valores iniciados por {@code = + - @} recebem um
+ * apóstrofo para não serem interpretados como fórmula pela planilha.
+ */
+@Component
+public class CsvStreamer {
+
+    private static final int LOTE_LIMPEZA = 500;
+    private static final int BUFFER_ESCRITA = 64 * 1024;
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType APPLICATION_GZIP = new MediaType("application", "gzip");
+
+    /**
+     * Coluna do CSV: título no cabeçalho e valor extraído de cada linha.
+     */
+    public record Coluna<T>(String titulo, Function<T, Object> valor) {
+    }
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CsvStreamer(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Cria a resposta em modo streaming, como download (Content-Disposition: attachment).
+     *
+     * @param nomeArquivo Nome do arquivo sem extensão (".csv" ou ".csv.gz" é acrescentado)
+     * @param gzip        Se true, o CSV é compactado e enviado como application/gzip
+     * @param colunas     Colunas na ordem de escrita
+     * @param consulta    Fornece o Stream do repository (executado só quando a resposta é escrita)
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(String nomeArquivo, boolean gzip, List<Coluna<T>> colunas,
+                                                            Supplier<Stream<T>> consulta) {
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> linhas = consulta.get();
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? new GZIPOutputStream(out, BUFFER_ESCRITA) : out,
+                         StandardCharsets.UTF_8), BUFFER_ESCRITA)) {
+                writer.write('﻿');
+                escreverLinha(writer, colunas, Coluna::titulo);
+                int escritas = 0;
+                for (T linha : (Iterable<T>) linhas::iterator) {
+                    escreverLinha(writer, colunas, coluna -> coluna.valor().apply(linha));
+                    if (++escritas % LOTE_LIMPEZA == 0) {
+                        entityManager.clear();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        String arquivo = nomeArquivo + (gzip ? ".csv.gz" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(gzip ? APPLICATION_GZIP : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(body);
+    }
+
+    private static <T> void escreverLinha(Writer writer, List<Coluna<T>> colunas, Function<Coluna<T>, Object> valor)
+            throws IOException {
+        for (int i = 0; i < colunas.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            escreverValor(writer, valor.apply(colunas.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static void escreverValor(Writer writer, Object valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        String texto = valor.toString();
+        if (!texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0 && !(valor instanceof Number)) {
+            texto = "'" + texto;
+        }
+        boolean aspas = false;
+        for (int i = 0; i < texto.length() && !aspas; i++) {
+            char c = texto.charAt(i);
+            aspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!aspas) {
+            writer.write(texto);
+            return;
+        }
+        writer.write('"');
+        writer.write(texto.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -2,37 +2,48 @@
  * Controller responsável pelos dashboards personalizados de cada tipo de usuário.
  * 
  * Funcionalidades:
- * - Dashboard Admin: estatísticas gerais do portal
- * - Dashboard Estudante: vagas relacionadas a suas áreas de interesse
+ * - Dashboard Admin: estatísticas gerais do portal e do cache do Hibernate
+ * - Dashboard Estudante: vagas recomendadas (áreas, curso, avaliações e recência)
  * - Dashboard Empresa: vagas criadas e inscrições recebidas
  */
 // Controller para dashboards personalizados.
-// Fornece estatísticas para admin, vagas para estudantes e inscrições para empresas.
+// Fornece estatísticas para admin, vagas recomendadas para estudantes e inscrições para empresas.
 package br.mack.estagio.controllers;
 
+import br.mack.estagio.dto.InscricaoDTO;
+import br.mack.estagio.dto.RecomendacaoVagaDTO;
+import br.mack.estagio.dto.ResumoInscricoesVagaDTO;
+import br.mack.estagio.dto.VagaDTO;
 import br.mack.estagio.entities.*;
 import br.mack.estagio.repositories.*;
+import br.mack.estagio.services.EstatisticasCache;
+import br.mack.estagio.services.EstatisticasPortal;
+import br.mack.estagio.services.RecomendacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/dashboard")
 public class DashboardController {
 
     @Autowired
-    private EmpresaRepository empresaRepository;
+    private VagaEstagioRepository vagaEstagioRepository;
 
     @Autowired
-    private EstudanteRepository estudanteRepository;
+    private InscricaoRepository inscricaoRepository;
 
     @Autowired
-    private VagaEstagioRepository vagaEstagioRepository;
+    private EstatisticasPortal estatisticasPortal;
 
     @Autowired
-    private InscricaoRepository inscricaoRepository;
+    private RecomendacaoService recomendacaoService;
+
+    @Autowired
+    private EstatisticasCache estatisticasCache;
 
     /**
      * Retorna estatísticas gerais do portal para o administrador.
@@ -44,6 +55,8 @@ public class DashboardController {
      * - Quantidade de vagas encerradas
      * - Distribuição de vagas por área de interesse
      * 
+     * Os valores vêm de contadores em memória (EstatisticasPortal), sem consultas ao banco.
+     * 
      * @return Map com estatísticas do portal
      */
     // Retorna estatísticas gerais do portal para administradores. Requer role ADMIN.
@@ -51,57 +64,88 @@ public class DashboardController {
     @PreAuthorize("hasRole('ADMIN')")
     public Map<String, Object> getAdminDashboard() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalEmpresas", empresaRepository.count());
-        stats.put("totalEstudantes", estudanteRepository.count());
-        stats.put("vagasAbertas", vagaEstagioRepository.countByAbertaTrue());
-        stats.put("vagasEncerradas", vagaEstagioRepository.countByAbertaFalse());
-        stats.put("vagasPorArea", vagaEstagioRepository.countVagasByArea());
+        stats.put("totalEmpresas", estatisticasPortal.getTotalEmpresas());
+        stats.put("totalEstudantes", estatisticasPortal.getTotalEstudantes());
+        stats.put("vagasAbertas", estatisticasPortal.getVagasAbertas());
+        stats.put("vagasEncerradas", estatisticasPortal.getVagasEncerradas());
+        stats.put("vagasPorArea", estatisticasPortal.getVagasPorArea());
         return stats;
     }
 
     /**
-     * Retorna as vagas abertas que correspondem às áreas de interesse do estudante.
+     * Retorna acertos/faltas do cache de segundo nível (áreas, empresas e coleções de áreas)
+     * e do cache de consultas, com a taxa de acerto de cada região.
      * 
-     * Fluxo:
-     * 1. Busca estudante pelo ID
-     * 2. Obtém áreas de interesse do estudante
-     * 3. Lista vagas abertas nessas áreas
-     * 4. Ordena por ID decrescente (vagas mais recentes primeiro)
+     * @return Map com "segundoNivel", "consultas" e "regioes"
+     */
+    // Retorna as estatísticas do cache do Hibernate. Requer role ADMIN.
+    @GetMapping("/admin/cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Object> getEstatisticasCache() {
+        return estatisticasCache.resumo();
+    }
+
+    /**
+     * Retorna as vagas abertas recomendadas ao estudante, da mais para a menos indicada.
+     * 
+     * Pontuação (ver MotorRecomendacao):
+     * - Área da vaga entre as áreas de interesse do estudante
+     * - Termos do curso presentes no título/requisitos da vaga
+     * - Média das avaliações da vaga (suavizada)
+     * - Recência da publicação
+     * 
+     * Vagas em que o estudante já se inscreveu não são recomendadas. O top-K fica
+     * pré-calculado em memória; o banco é consultado apenas pelos IDs recomendados.
      * 
      * @param estudanteId ID do estudante logado
-     * @return Lista de vagas relacionadas às suas áreas
+     * @param limit Quantidade máxima de vagas
+     * @return Lista de vagas recomendadas (vazia se o estudante não existe)
      */
-    // Retorna vagas abertas relacionadas às áreas de interesse do estudante.
+    // Retorna as vagas recomendadas ao estudante.
     @GetMapping("/estudante/{estudanteId}")
-    public List<VagaEstagio> getEstudanteDashboard(@PathVariable Long estudanteId) {
-        return estudanteRepository.findById(estudanteId)
-                .map(estudante -> vagaEstagioRepository.findByAreaInAndAbertaTrueOrderByIdDesc(List.copyOf(estudante.getAreasInteresse())))
-                .orElse(List.of());
+    public List<RecomendacaoVagaDTO> getEstudanteDashboard(@PathVariable Long estudanteId,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        return recomendacaoService.recomendar(estudanteId, limit);
     }
 
     /**
-     * Retorna o dashboard da empresa com suas vagas e inscrições recebidas.
+     * Retorna o dashboard da empresa com suas vagas e o resumo de inscrições recebidas.
      * 
      * Dados fornecidos:
      * - Todas as vagas criadas pela empresa (abertas e encerradas)
-     * - Mapa com inscrições agrupadas por vaga
-     * - Informações dos estudantes inscritos
+     * - Resumo por vaga: quantidade de inscrições e data da última inscrição
+     * - Opcional (?detalhado=true): mapa com inscrições e estudantes agrupados por vaga
+     * 
+     * Vagas e inscrições vêm como VagaDTO e InscricaoDTO (projeções, sem Empresa e Estudante).
+     * O número de consultas é fixo (vagas + resumo agrupado [+ inscrições]), independentemente
+     * de quantas vagas a empresa possui.
      * 
      * @param empresaId ID da empresa logada
-     * @return Map contendo "vagas" e "inscricoesPorVaga"
+     * @param detalhado Se true, inclui a lista completa de candidatos por vaga
+     * @return Map contendo "vagas", "resumoPorVaga" e, se solicitado, "inscricoesPorVaga"
      */
-    // Retorna vagas da empresa e inscrições por vaga para a empresa logada.
+    // Retorna vagas da empresa e o resumo de inscrições por vaga para a empresa logada.
     @GetMapping("/empresa/{empresaId}")
-    public Map<String, Object> getEmpresaDashboard(@PathVariable Long empresaId) {
+    public Map<String, Object> getEmpresaDashboard(@PathVariable Long empresaId,
+                                                   @RequestParam(defaultValue = "false") boolean detalhado) {
         Map<String, Object> dashboard = new HashMap<>();
-        List<VagaEstagio> vagas = vagaEstagioRepository.findByEmpresa_Id(empresaId);
+        List<VagaDTO> vagas = vagaEstagioRepository.findDTOByEmpresaId(empresaId);
         dashboard.put("vagas", vagas);
-        Map<Long, List<Inscricao>> inscricoesPorVaga = new HashMap<>();
-        for (VagaEstagio vaga : vagas) {
-            List<Inscricao> inscricoes = inscricaoRepository.findByVagaId(vaga.getId());
-            inscricoesPorVaga.put(vaga.getId(), inscricoes);
+
+        Map<Long, ResumoInscricoesVagaDTO> resumoPorVaga = new LinkedHashMap<>();
+        for (VagaDTO vaga : vagas) {
+            resumoPorVaga.put(vaga.getId(), new ResumoInscricoesVagaDTO(vaga.getId(), 0, null));
+        }
+        for (ResumoInscricoesVagaDTO resumo : inscricaoRepository.resumirPorEmpresa(empresaId)) {
+            resumoPorVaga.put(resumo.getVagaId(), resumo);
+        }
+        dashboard.put("resumoPorVaga", resumoPorVaga);
+
+        if (detalhado) {
+            Map<Long, List<InscricaoDTO>> inscricoesPorVaga = inscricaoRepository.findDTOByEmpresaId(empresaId).stream()
+                    .collect(Collectors.groupingBy(InscricaoDTO::getVagaId, LinkedHashMap::new, Collectors.toList()));
+            dashboard.put("inscricoesPorVaga", inscricoesPorVaga);
         }
-        dashboard.put("inscricoesPorVaga", inscricoesPorVaga);
         return dashboard;
     }
 }
@@ -4,74 +4,90 @@
 package br.mack.estagio.controllers;
 
 import br.mack.estagio.dto.CadastroEmpresaRequest;
+import br.mack.estagio.dto.EmpresaDTO;
 import br.mack.estagio.entities.Empresa;
 import br.mack.estagio.repositories.EmpresaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/empresas")
 @CrossOrigin(origins = "http://localhost:3000")
 public class EmpresaController {
 
+    // Mensagens das restrições únicas de CNPJ e email
+    private static final Map<String, String> MENSAGENS_UNICIDADE = Map.of(
+            Empresa.UK_CNPJ, "CNPJ já cadastrado.",
+            Empresa.UK_EMAIL, "Email já cadastrado.");
+
     @Autowired
     private EmpresaRepository empresaRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
     // Retorna uma lista de todas as empresas cadastradas.
     @GetMapping
-    public List<Empresa> getAll() {
-        return empresaRepository.findAll();
+    public List<EmpresaDTO> getAll() {
+        return empresaRepository.findAllDTO();
+    }
+
+    // Página de empresas por cursor (?limit=N&after=ID). Próximo cursor no header X-Next-Cursor.
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<EmpresaDTO>> getAllPaginado(@RequestParam(required = false) Long after,
+                                                         @RequestParam int limit) {
+        return PaginacaoCursor.resposta(
+                empresaRepository.findDTOByIdGreaterThan(PaginacaoCursor.cursor(after), PaginacaoCursor.pagina(limit)),
+                EmpresaDTO::getId);
+    }
+
+    // Todas as empresas escritas linha a linha (?stream=true), sem carregar a tabela em memória.
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return jsonArrayStreamer.stream(empresaRepository::streamAllDTO);
     }
 
-    // Retorna uma empresa específica pelo ID.
+    // Retorna uma empresa específica pelo ID, com suas áreas de atuação.
     @GetMapping("/{id}")
-    public Empresa getById(@PathVariable Long id) {
-        return empresaRepository.findById(id)
+    public EmpresaDTO getById(@PathVariable Long id) {
+        EmpresaDTO empresa = empresaRepository.findDTOById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada."));
+        empresa.setAreasAtuacao(empresaRepository.findAreasAtuacaoById(id));
+        return empresa;
     }
 
     // Cria uma nova empresa. Valida unicidade de CNPJ e email, criptografa a senha.
     @PostMapping
-    public Empresa create(@RequestBody Empresa empresa) {
-        // Validação de unicidade: CNPJ
-        if (empresaRepository.findByCnpj(empresa.getCnpj()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CNPJ já cadastrado.");
-        }
-        // Validação de unicidade: Email
-        if (empresaRepository.findByEmail(empresa.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email já cadastrado.");
-        }
+    public EmpresaDTO create(@RequestBody Empresa empresa) {
         empresa.setSenha(passwordEncoder.encode(empresa.getSenha()));
-        return empresaRepository.save(empresa);
+        return EmpresaDTO.de(salvar(empresa, HttpStatus.BAD_REQUEST));
     }
 
     // Atualiza uma empresa existente. Valida unicidade de CNPJ e email, criptografa a senha se fornecida.
     @PutMapping("/{id}")
-    public Empresa update(@PathVariable Long id, @RequestBody Empresa empresa) {
+    public EmpresaDTO update(@PathVariable Long id, @RequestBody Empresa empresa) {
         empresa.setId(id);
         Empresa existing = empresaRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada."));
-        if (!existing.getCnpj().equals(empresa.getCnpj()) && empresaRepository.findByCnpj(empresa.getCnpj()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CNPJ já cadastrado.");
-        }
-        if (!existing.getEmail().equals(empresa.getEmail()) && empresaRepository.findByEmail(empresa.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email já cadastrado.");
-        }
         // Criptografar senha se fornecida
         if (empresa.getSenha() != null && !empresa.getSenha().isEmpty()) {
             empresa.setSenha(passwordEncoder.encode(empresa.getSenha()));
         } else {
             empresa.setSenha(existing.getSenha());
         }
-        return empresaRepository.save(empresa);
+        return EmpresaDTO.de(salvar(empresa, HttpStatus.BAD_REQUEST));
     }
 
     // Deleta uma empresa pelo ID.
@@ -82,11 +98,7 @@ public class EmpresaController {
 
     // Endpoint de registro simplificado.
     @PostMapping("/registro")
-    public Empresa register(@RequestBody CadastroEmpresaRequest request) {
-        if (empresaRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email já cadastrado");
-        }
-        
+    public EmpresaDTO register(@RequestBody CadastroEmpresaRequest request) {
         Empresa empresa = new Empresa();
         empresa.setNome(request.getNome());
         empresa.setCnpj(request.getCnpj());
@@ -95,6 +107,15 @@ public class EmpresaController {
         empresa.setEndereco(request.getEndereco());
         empresa.setSenha(passwordEncoder.encode(request.getSenha()));
         
-        return empresaRepository.save(empresa);
+        return EmpresaDTO.de(salvar(empresa, HttpStatus.CONFLICT));
+    }
+
+    // Grava direto; CNPJ ou email duplicado vira a resposta com o status dado (restrição única)
+    private Empresa salvar(Empresa empresa, HttpStatus status) {
+        try {
+            return empresaRepository.saveAndFlush(empresa);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, status, MENSAGENS_UNICIDADE);
+        }
     }
 }
\ No newline at end of file
@@ -4,60 +4,97 @@
 package br.mack.estagio.controllers;
 
 import br.mack.estagio.dto.CadastroEstudanteRequest;
+import br.mack.estagio.dto.EstudanteDTO;
+import br.mack.estagio.dto.PosicaoRankingDTO;
 import br.mack.estagio.entities.Estudante;
 import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.services.PontosService;
+import br.mack.estagio.services.RankingService;
+import br.mack.estagio.services.RecomendacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/estudantes")
 @CrossOrigin(origins = "http://localhost:3000")
 public class EstudanteController {
 
+    // Mensagens das restrições únicas de CPF e email
+    private static final Map<String, String> MENSAGENS_UNICIDADE = Map.of(
+            Estudante.UK_CPF, "CPF já cadastrado.",
+            Estudante.UK_EMAIL, "Email já cadastrado.");
+
     @Autowired
     private EstudanteRepository estudanteRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private PontosService pontosService;
+
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+
     // Retorna uma lista de todos os estudantes cadastrados.
     @GetMapping
-    public List<Estudante> getAll() {
-        return estudanteRepository.findAll();
+    public List<EstudanteDTO> getAll() {
+        return estudanteRepository.findAllDTO();
     }
 
-    // Retorna um estudante específico pelo ID.
+    // Página de estudantes por cursor (?limit=N&after=ID). Próximo cursor no header X-Next-Cursor.
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<EstudanteDTO>> getAllPaginado(@RequestParam(required = false) Long after,
+                                                         @RequestParam int limit) {
+        return PaginacaoCursor.resposta(
+                estudanteRepository.findDTOByIdGreaterThan(PaginacaoCursor.cursor(after), PaginacaoCursor.pagina(limit)),
+                EstudanteDTO::getId);
+    }
+
+    // Todos os estudantes escritos linha a linha (?stream=true), sem carregar a tabela em memória.
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return jsonArrayStreamer.stream(estudanteRepository::streamAllDTO);
+    }
+
+    // Retorna um estudante específico pelo ID, com suas áreas de interesse.
     @GetMapping("/{id}")
-    public Estudante getById(@PathVariable Long id) {
-        return estudanteRepository.findById(id)
+    public EstudanteDTO getById(@PathVariable Long id) {
+        EstudanteDTO estudante = estudanteRepository.findDTOById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estudante não encontrado."));
+        estudante.setAreasInteresse(estudanteRepository.findAreasInteresseById(id));
+        return estudante;
     }
 
     // Cria um novo estudante. Valida unicidade de CPF e email, criptografa a senha.
     @PostMapping
-    public Estudante create(@RequestBody Estudante estudante) {
-        if (estudanteRepository.findByCpf(estudante.getCpf()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF já cadastrado.");
-        }
-        if (estudanteRepository.findByEmail(estudante.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email já cadastrado.");
-        }
+    public EstudanteDTO create(@RequestBody Estudante estudante) {
         estudante.setSenha(passwordEncoder.encode(estudante.getSenha()));
-        return estudanteRepository.save(estudante);
+        Estudante salvo = salvar(estudante, HttpStatus.BAD_REQUEST);
+        rankingService.registrar(salvo);
+        recomendacaoService.atualizarEstudante(salvo);
+        return EstudanteDTO.de(salvo);
     }
 
     // Endpoint de registro simplificado.
     @PostMapping("/registro")
-    public Estudante register(@RequestBody CadastroEstudanteRequest request) {
-        if (estudanteRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email já cadastrado");
-        }
-        
+    public EstudanteDTO register(@RequestBody CadastroEstudanteRequest request) {
         Estudante estudante = new Estudante();
         estudante.setNome(request.getNome());
         estudante.setCpf(request.getCpf());
@@ -66,70 +103,101 @@ public class EstudanteController {
         estudante.setTelefone(request.getTelefone());
         estudante.setSenha(passwordEncoder.encode(request.getSenha()));
         
-        return estudanteRepository.save(estudante);
+        Estudante salvo = salvar(estudante, HttpStatus.CONFLICT);
+        rankingService.registrar(salvo);
+        recomendacaoService.atualizarEstudante(salvo);
+        return EstudanteDTO.de(salvo);
     }
 
     // Atualiza um estudante existente. Valida unicidade de CPF e email, criptografa a senha se fornecida.
     @PutMapping("/{id}")
-    public Estudante update(@PathVariable Long id, @RequestBody Estudante estudante) {
+    public EstudanteDTO update(@PathVariable Long id, @RequestBody Estudante estudante) {
         estudante.setId(id);
         Estudante existing = estudanteRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estudante não encontrado."));
-        if (!existing.getCpf().equals(estudante.getCpf()) && estudanteRepository.findByCpf(estudante.getCpf()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CPF já cadastrado.");
-        }
-        if (!existing.getEmail().equals(estudante.getEmail()) && estudanteRepository.findByEmail(estudante.getEmail()).isPresent()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email já cadastrado.");
-        }
         // Criptografar senha se fornecida
         if (estudante.getSenha() != null && !estudante.getSenha().isEmpty()) {
             estudante.setSenha(passwordEncoder.encode(estudante.getSenha()));
         } else {
             estudante.setSenha(existing.getSenha());
         }
-        return estudanteRepository.save(estudante);
+        // Pontos e badges não são editáveis pelo perfil: só mudam pelo consumidor de gamificação
+        // (UPDATE atômico) e pelo endpoint de badges. O corpo não os traz (pontos = 0, badges = null)
+        estudante.setPontos(existing.getPontos());
+        estudante.setBadges(existing.getBadges());
+        Estudante salvo = salvar(estudante, HttpStatus.BAD_REQUEST);
+        rankingService.registrar(salvo.getId(), salvo.getNome(), estudanteRepository.findPontosById(id).orElse(0));
+        recomendacaoService.atualizarEstudante(salvo);
+        return EstudanteDTO.de(salvo);
     }
 
     // Deleta um estudante pelo ID.
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
         estudanteRepository.deleteById(id);
+        rankingService.remover(id);
+        recomendacaoService.removerEstudante(id);
     }
 
     // Endpoints para gamificação
-    // Retorna o top 10 estudantes por pontos (gamificação).
+    // Retorna o top 10 estudantes por pontos (gamificação). A ordem vem do ranking em memória;
+    // o banco é consultado apenas pelos 10 IDs (chave primária).
     @GetMapping("/gamificacao/top10")
-    public List<Estudante> getTop10ByPontos() {
-        return estudanteRepository.findTop10ByOrderByPontosDesc();
+    public List<EstudanteDTO> getTop10ByPontos() {
+        List<Long> ids = rankingService.topIds(10);
+        return estudanteRepository.findDTOByIdIn(ids).stream()
+                .sorted(Comparator.comparingInt(estudante -> ids.indexOf(estudante.getId())))
+                .toList();
+    }
+
+    // Retorna as N primeiras posições do ranking (gamificação), direto da memória.
+    @GetMapping("/gamificacao/ranking")
+    public List<PosicaoRankingDTO> getRanking(@RequestParam(defaultValue = "10") int limit) {
+        return rankingService.top(Math.min(limit, 100));
+    }
+
+    // Retorna a posição de um estudante no ranking (gamificação).
+    @GetMapping("/{id}/ranking")
+    public PosicaoRankingDTO getPosicaoRanking(@PathVariable Long id) {
+        return rankingService.posicao(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estudante não encontrado."));
+    }
+
+    // Retorna o estudante e os colegas logo acima e abaixo dele no ranking (gamificação).
+    @GetMapping("/{id}/ranking/vizinhos")
+    public List<PosicaoRankingDTO> getVizinhosRanking(@PathVariable Long id, @RequestParam(defaultValue = "5") int raio) {
+        return rankingService.vizinhos(id, Math.min(raio, 50));
     }
 
     // Retorna estudantes que possuem uma badge específica (gamificação).
     @GetMapping("/gamificacao/badges/{badge}")
-    public List<Estudante> getByBadge(@PathVariable String badge) {
-        return estudanteRepository.findByBadgesContaining(badge);
+    public List<EstudanteDTO> getByBadge(@PathVariable String badge) {
+        return estudanteRepository.findDTOByBadge(badge);
     }
 
     // Adiciona pontos a um estudante e concede badges automaticamente (gamificação).
+    // Responde 202: os pontos entram no próximo lote do consumidor de eventos de gamificação.
     @PostMapping("/{id}/pontos")
-    public Estudante addPontos(@PathVariable Long id, @RequestParam Integer pontos) {
-        Estudante estudante = estudanteRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estudante não encontrado."));
-        estudante.setPontos(estudante.getPontos() + pontos);
-        if (estudante.getPontos() >= 10 && !estudante.getBadges().contains("Iniciante")) {
-            estudante.getBadges().add("Iniciante");
-        }
-        if (estudante.getPontos() >= 50 && !estudante.getBadges().contains("Avançado")) {
-            estudante.getBadges().add("Avançado");
-        }
-        return estudanteRepository.save(estudante);
+    public ResponseEntity<Void> addPontos(@PathVariable Long id, @RequestParam Integer pontos) {
+        pontosService.adicionarPontos(id, pontos);
+        return ResponseEntity.accepted().build();
     }
 
     // Adiciona uma badge a um estudante (gamificação).
     @PostMapping("/{id}/badges")
-    public Estudante addBadge(@PathVariable Long id, @RequestParam String badge) {
+    public EstudanteDTO addBadge(@PathVariable Long id, @RequestParam String badge) {
         Estudante estudante = estudanteRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Estudante não encontrado."));
         estudante.getBadges().add(badge);
-        return estudanteRepository.save(estudante);
+        return EstudanteDTO.de(estudanteRepository.save(estudante));
+    }
+
+    // Grava direto; CPF ou email duplicado vira a resposta com o status dado (restrição única)
+    private Estudante salvar(Estudante estudante, HttpStatus status) {
+        try {
+            return estudanteRepository.saveAndFlush(estudante);
+        } catch (DataIntegrityViolationException e) {
+            throw ViolacaoUnicidade.traduzir(e, status, MENSAGENS_UNICIDADE);
+        }
     }
 }
@@ -0,0 +1,56 @@
+// Controller para importação em lote (CSV/JSONL) de estudantes, empresas e vagas.
+// Usado no onboarding de universidades parceiras; restrito a administradores.
+package br.mack.estagio.controllers;
+
+import br.mack.estagio.dto.ResultadoImportacaoDTO;
+import br.mack.estagio.services.ImportacaoService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/importacao")
+public class ImportacaoController {
+
+    public static final String TEXT_CSV = "text/csv";
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final String APPLICATION_JSONL = "application/jsonl";
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * Importa registros enviados no corpo da requisição, lido em streaming.
+     *
+     * Formatos (pelo Content-Type):
+     * - text/csv: primeira linha com os nomes dos campos
+     * - application/x-ndjson ou application/jsonl: um objeto JSON por linha
+     *
+     * Campos por tipo (valores múltiplos separados por |):
+     * - estudantes: nome, cpf, email, senha, curso, telefone, areasInteresse
+     * - empresas: nome, cnpj, email, senha, telefone, endereco, areasAtuacao
+     * - vagas: titulo, empresaId, areaId, descricao, localizacao, modalidade, cargaHoraria, requisitos, aberta
+     *
+     * @param tipo estudantes, empresas ou vagas
+     * @return Quantidade lida/importada e erros por linha (registros inválidos não interrompem a importação)
+     */
+    // Importa estudantes, empresas ou vagas em lote. Requer role ADMIN.
+    @PostMapping(value = "/{tipo}", consumes = {TEXT_CSV, APPLICATION_NDJSON, APPLICATION_JSONL})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResultadoImportacaoDTO importar(@PathVariable String tipo, HttpServletRequest request) throws IOException {
+        ImportacaoService.Tipo tipoImportacao = ImportacaoService.Tipo.de(tipo);
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ImportacaoService.Formato formato = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV))
+                ? ImportacaoService.Formato.CSV
+                : ImportacaoService.Formato.JSONL;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        return importacaoService.importar(tipoImportacao, formato, new InputStreamReader(request.getInputStream(), charset));
+    }
+}
@@ -2,76 +2,153 @@
 // Permite estudantes se inscreverem em vagas abertas, com validações e gamificação.
 package br.mack.estagio.controllers;
 
+import br.mack.estagio.dto.InscricaoDTO;
 import br.mack.estagio.entities.Inscricao;
 import br.mack.estagio.repositories.InscricaoRepository;
+import br.mack.estagio.services.ChavesIdempotencia;
+import br.mack.estagio.services.InscricaoService;
+import br.mack.estagio.services.RecomendacaoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/inscricoes")
 @CrossOrigin(origins = "http://localhost:3000")
 public class InscricaoController {
 
+    // Colunas da exportação CSV de inscrições
+    private static final List<CsvStreamer.Coluna<InscricaoDTO>> COLUNAS_EXPORTACAO = List.of(
+            new CsvStreamer.Coluna<>("inscricaoId", InscricaoDTO::getId),
+            new CsvStreamer.Coluna<>("dataInscricao", InscricaoDTO::getDataInscricao),
+            new CsvStreamer.Coluna<>("vagaId", InscricaoDTO::getVagaId),
+            new CsvStreamer.Coluna<>("vagaTitulo", InscricaoDTO::getVagaTitulo),
+            new CsvStreamer.Coluna<>("vagaLocalizacao", InscricaoDTO::getVagaLocalizacao),
+            new CsvStreamer.Coluna<>("vagaAberta", InscricaoDTO::isVagaAberta),
+            new CsvStreamer.Coluna<>("estudanteId", InscricaoDTO::getEstudanteId),
+            new CsvStreamer.Coluna<>("estudanteNome", InscricaoDTO::getEstudanteNome),
+            new CsvStreamer.Coluna<>("estudanteEmail", InscricaoDTO::getEstudanteEmail),
+            new CsvStreamer.Coluna<>("estudanteCurso", InscricaoDTO::getEstudanteCurso));
+
     @Autowired
     private InscricaoRepository inscricaoRepository;
 
     @Autowired
-    private br.mack.estagio.repositories.EstudanteRepository estudanteRepository;
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @Autowired
+    private CsvStreamer csvStreamer;
+
+    @Autowired
+    private InscricaoService inscricaoService;
+
+    @Autowired
+    private ChavesIdempotencia chavesIdempotencia;
+
+    @Autowired
+    private RecomendacaoService recomendacaoService;
 
     // Retorna inscrições de um estudante específico.
     @GetMapping("/estudante/{estudanteId}")
-    public List<Inscricao> getByEstudante(@PathVariable Long estudanteId) {
-        return inscricaoRepository.findByEstudanteId(estudanteId);
+    public List<InscricaoDTO> getByEstudante(@PathVariable Long estudanteId) {
+        return inscricaoRepository.findDTOByEstudanteId(estudanteId);
     }
 
     // Retorna inscrições de uma vaga específica.
     @GetMapping("/vaga/{vagaId}")
-    public List<Inscricao> getByVaga(@PathVariable Long vagaId) {
-        return inscricaoRepository.findByVagaId(vagaId);
+    public List<InscricaoDTO> getByVaga(@PathVariable Long vagaId) {
+        return inscricaoRepository.findDTOByVagaId(vagaId);
+    }
+
+    // Página de inscrições de uma vaga por cursor (?limit=N&after=ID).
+    @GetMapping(value = "/vaga/{vagaId}", params = "limit")
+    public ResponseEntity<List<InscricaoDTO>> getByVagaPaginado(@PathVariable Long vagaId,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam int limit) {
+        return PaginacaoCursor.resposta(
+                inscricaoRepository.findDTOByVagaIdAndIdGreaterThan(vagaId, PaginacaoCursor.cursor(after), PaginacaoCursor.pagina(limit)),
+                InscricaoDTO::getId);
+    }
+
+    // Inscrições de uma vaga escritas linha a linha (?stream=true).
+    @GetMapping(value = "/vaga/{vagaId}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getByVagaStream(@PathVariable Long vagaId) {
+        return jsonArrayStreamer.stream(() -> inscricaoRepository.streamDTOByVagaId(vagaId));
     }
 
-    // Cria uma nova inscrição em uma vaga. Valida se a vaga está aberta, se o estudante já se inscreveu, e concede pontos/badges.
+    // Exporta as inscrições recebidas pela empresa como CSV (ou CSV gzip com ?gzip=true), escrito em streaming.
+    @GetMapping("/empresa/{empresaId}/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarPorEmpresa(@PathVariable Long empresaId,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip) {
+        return csvStreamer.stream("inscricoes-empresa-" + empresaId, gzip, COLUNAS_EXPORTACAO,
+                () -> inscricaoRepository.streamDTOByEmpresaId(empresaId));
+    }
+
+    // Cria uma nova inscrição em uma vaga. Valida se a vaga está aberta, se há vaga dentro do limite
+    // (maxInscricoes) e se o estudante já se inscreveu; a inscrição que atinge o limite encerra a vaga.
+    // A inscrição é gravada direto: a duplicada é barrada pela restrição única (estudante, vaga).
+    // Pontos e badges são aplicados de forma assíncrona a partir do evento gravado na mesma transação.
+    // Com o header Idempotency-Key, novas tentativas com a mesma chave recebem a resposta original.
     @PostMapping
-    public Inscricao create(@RequestBody Inscricao inscricao) {
-        if (!inscricao.getVaga().isAberta()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Não é possível se inscrever em uma vaga encerrada.");
-        }
-        if (inscricaoRepository.existsByEstudanteIdAndVagaId(inscricao.getEstudante().getId(), inscricao.getVaga().getId())) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O estudante já se inscreveu nesta vaga.");
-        }
+    public InscricaoDTO create(@RequestBody Inscricao inscricao,
+                               @RequestHeader(value = "Idempotency-Key", required = false) String chave) {
         if (inscricao.getEstudante() == null || inscricao.getEstudante().getId() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Estudante é obrigatório.");
         }
         if (inscricao.getVaga() == null || inscricao.getVaga().getId() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Vaga é obrigatória.");
         }
-
-        Inscricao savedInscricao = inscricaoRepository.save(inscricao);
-        estudanteRepository.findById(inscricao.getEstudante().getId()).ifPresent(estudante -> {
-            estudante.setPontos(estudante.getPontos() + 5); // +5 pontos por inscrição
-            if (estudante.getBadges().isEmpty()) {
-                estudante.getBadges().add("Primeira Inscrição");
+        Long estudanteId = inscricao.getEstudante().getId();
+        Long vagaId = inscricao.getVaga().getId();
+        if (chave != null) {
+            ChavesIdempotencia.validar(chave);
+            Optional<InscricaoDTO> original = chavesIdempotencia.emMemoria(chave, estudanteId, vagaId);
+            if (original.isPresent()) {
+                return original.get();
             }
-            estudanteRepository.save(estudante);
-        });
-
-        return savedInscricao;
+        }
+        InscricaoDTO criada;
+        try {
+            criada = inscricaoService.criar(inscricao, chave);
+        } catch (DataIntegrityViolationException e) {
+            // Tentativa concorrente com a mesma chave: a primeira já gravou a resposta
+            if (chave != null) {
+                Optional<InscricaoDTO> original = chavesIdempotencia.persistida(chave, estudanteId, vagaId);
+                if (original.isPresent()) {
+                    return original.get();
+                }
+            }
+            throw ViolacaoUnicidade.traduzir(e, HttpStatus.BAD_REQUEST,
+                    Map.of(Inscricao.UK_ESTUDANTE_VAGA, "O estudante já se inscreveu nesta vaga."));
+        }
+        recomendacaoService.registrarInscricao(estudanteId, vagaId);
+        return criada;
     }
 
     // Atualiza uma inscrição existente.
     @PutMapping("/{id}")
-    public Inscricao update(@PathVariable Long id, @RequestBody Inscricao inscricao) {
+    public InscricaoDTO update(@PathVariable Long id, @RequestBody Inscricao inscricao) {
         inscricao.setId(id);
-        return inscricaoRepository.save(inscricao);
+        inscricaoRepository.save(inscricao);
+        return inscricaoRepository.findDTOById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Inscrição não encontrada."));
     }
 
     // Deleta uma inscrição pelo ID.
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
-        inscricaoRepository.deleteById(id);
+        inscricaoService.remover(id).ifPresent(inscricao -> {
+            if (inscricao.getEstudante() != null && inscricao.getVaga() != null) {
+                recomendacaoService.removerInscricao(inscricao.getEstudante().getId(), inscricao.getVaga().getId());
+            }
+        });
     }
 }
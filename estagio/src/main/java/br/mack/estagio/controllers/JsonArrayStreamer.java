@@ -0,0 +1,69 @@
+package br.mack.estagio.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escreve o resultado de uma consulta {@code Stream<>} como um array JSON, linha a linha.
+ *
+ * A consulta roda dentro de uma transação somente leitura aberta na thread que escreve
+ * a resposta; a cada {@link #LOTE_LIMPEZA} linhas o contexto de persistência é limpo,
+ * então a memória usada é constante independentemente do tamanho da tabela.
+ */
+@Component
+public class JsonArrayStreamer {
+
+    private static final int LOTE_LIMPEZA = 200;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JsonArrayStreamer(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Cria a resposta em modo streaming para a consulta informada.
+     *
+     * @param consulta Fornece o Stream do repository (executado só quando a resposta é escrita)
+     * @return ResponseEntity com corpo StreamingResponseBody e content-type JSON
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(Supplier<Stream<T>> consulta) {
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> linhas = consulta.get();
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                int escritas = 0;
+                for (T linha : (Iterable<T>) linhas::iterator) {
+                    objectMapper.writeValue(generator, linha);
+                    if (++escritas % LOTE_LIMPEZA == 0) {
+                        generator.flush();
+                        entityManager.clear();
+                    }
+                }
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,53 @@
+package br.mack.estagio.controllers;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utilitários para paginação por cursor (keyset sobre o ID).
+ *
+ * O cliente envia {@code ?limit=N} (e opcionalmente {@code &after=ID}) e recebe
+ * apenas a página como array JSON — o mesmo formato das listagens completas.
+ * Se houver mais registros, o ID do último item é devolvido no header
+ * {@value #HEADER_PROXIMO_CURSOR} para ser usado como {@code after} na próxima chamada.
+ */
+public final class PaginacaoCursor {
+
+    public static final String HEADER_PROXIMO_CURSOR = "X-Next-Cursor";
+    public static final int LIMITE_MAXIMO = 500;
+
+    private PaginacaoCursor() {
+    }
+
+    /**
+     * Normaliza o cursor: sem {@code after}, a página começa do primeiro ID.
+     */
+    public static long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Cria o Pageable da página, limitando o tamanho a {@link #LIMITE_MAXIMO}.
+     * A ordenação fica a cargo do método do repository (OrderByIdAsc).
+     */
+    public static Pageable pagina(int limit) {
+        return PageRequest.ofSize(Math.max(1, Math.min(limit, LIMITE_MAXIMO)));
+    }
+
+    /**
+     * Monta a resposta com o conteúdo da página e o header do próximo cursor.
+     */
+    public static <T> ResponseEntity<List<T>> resposta(Slice<T> slice, Function<T, Long> id) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (slice.hasNext() && slice.hasContent()) {
+            List<T> content = slice.getContent();
+            builder.header(HEADER_PROXIMO_CURSOR, String.valueOf(id.apply(content.get(content.size() - 1))));
+        }
+        return builder.body(slice.getContent());
+    }
+}
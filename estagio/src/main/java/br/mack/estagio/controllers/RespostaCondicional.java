@@ -0,0 +1,37 @@
+package br.mack.estagio.controllers;
+
+import br.mack.estagio.services.VersoesCatalogo;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * GETs condicionais (If-None-Match / If-Modified-Since) das listagens do catálogo.
+ *
+ * A validação usa só o {@link VersoesCatalogo.Carimbo} em memória: quando o cliente já
+ * tem a versão atual, o endpoint responde 304 sem executar nenhuma consulta. O
+ * Cache-Control {@code private, no-cache} substitui o {@code no-store} que o Spring Security
+ * aplicaria, para que o navegador guarde a resposta e revalide a cada uso.
+ */
+public final class RespostaCondicional {
+
+    private RespostaCondicional() {
+    }
+
+    /**
+     * Escreve ETag, Last-Modified e Cache-Control na resposta e compara com os headers
+     * condicionais da requisição.
+     *
+     * @return true se a resposta já é um 304 e o endpoint deve retornar sem corpo
+     */
+    public static boolean naoModificado(WebRequest request, VersoesCatalogo.Carimbo carimbo) {
+        if (request instanceof NativeWebRequest nativo
+                && nativo.getNativeResponse() instanceof HttpServletResponse response) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(carimbo.etag(), carimbo.ultimaAlteracao());
+    }
+}
@@ -2,13 +2,28 @@
 // Inclui listagem pública, criação por empresas, encerramento de vagas.
 package br.mack.estagio.controllers;
 
+import br.mack.estagio.dto.ResultadoBuscaVagaDTO;
+import br.mack.estagio.dto.VagaDTO;
 import br.mack.estagio.entities.*;
 import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.services.AvaliacaoService;
+import br.mack.estagio.services.BuscaVagasService;
+import br.mack.estagio.services.NotificacaoVagas;
+import br.mack.estagio.services.RecomendacaoService;
+import br.mack.estagio.services.VersoesCatalogo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/vagas-estagio")
@@ -18,56 +33,142 @@ public class VagaEstagioController {
     @Autowired
     private VagaEstagioRepository vagaEstagioRepository;
 
+    @Autowired
+    private JsonArrayStreamer jsonArrayStreamer;
+
+    @Autowired
+    private BuscaVagasService buscaVagasService;
+
+    @Autowired
+    private AvaliacaoService avaliacaoService;
+
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
+
+    @Autowired
+    private NotificacaoVagas notificacaoVagas;
+
     // Retorna TODAS as vagas (abertas e encerradas) - Apenas para ADMIN
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public List<VagaEstagio> getAll() {
-        return vagaEstagioRepository.findAll();
+    public List<VagaDTO> getAll() {
+        return vagaEstagioRepository.findAllDTO();
+    }
+
+    // Página de todas as vagas por cursor (?limit=N&after=ID). Próximo cursor no header X-Next-Cursor.
+    @GetMapping(params = "limit")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<VagaDTO>> getAllPaginado(@RequestParam(required = false) Long after,
+                                                        @RequestParam int limit) {
+        return PaginacaoCursor.resposta(
+                vagaEstagioRepository.findDTOByIdGreaterThan(PaginacaoCursor.cursor(after), PaginacaoCursor.pagina(limit)),
+                VagaDTO::getId);
+    }
+
+    // Todas as vagas escritas linha a linha (?stream=true), sem carregar a tabela em memória.
+    @GetMapping(params = "stream=true")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> getAllStream() {
+        return jsonArrayStreamer.stream(vagaEstagioRepository::streamAllDTO);
+    }
+
+    // Busca textual em vagas abertas (titulo, descricao, requisitos, localizacao), ordenada por relevância.
+    @GetMapping("/busca")
+    public List<ResultadoBuscaVagaDTO> buscar(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return buscaVagasService.buscar(q, limit);
     }
 
     // Retorna uma vaga específica pelo ID.
     @GetMapping("/{id}")
-    public VagaEstagio getById(@PathVariable Long id) {
-        return vagaEstagioRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Vaga não encontrada"));
+    public VagaDTO getById(@PathVariable Long id) {
+        return vagaEstagioRepository.findDTOById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vaga não encontrada"));
     }
 
-    // Retorna uma lista de vagas de estágio abertas.
+    // Retorna uma lista de vagas de estágio abertas (304 se o ETag/Last-Modified não mudou).
     @GetMapping("/abertas")
-    public List<VagaEstagio> getAbertas() {
-        return vagaEstagioRepository.findByAbertaTrue();
+    public List<VagaDTO> getAbertas(WebRequest request) {
+        if (RespostaCondicional.naoModificado(request, carimboVagas())) {
+            return null;
+        }
+        return vagaEstagioRepository.findDTOByAbertaTrue();
+    }
+
+    // Página de vagas abertas por cursor (?limit=N&after=ID).
+    @GetMapping(value = "/abertas", params = "limit")
+    public ResponseEntity<List<VagaDTO>> getAbertasPaginado(@RequestParam(required = false) Long after,
+                                                            @RequestParam int limit) {
+        return PaginacaoCursor.resposta(
+                vagaEstagioRepository.findDTOByAbertaTrueAndIdGreaterThan(PaginacaoCursor.cursor(after), PaginacaoCursor.pagina(limit)),
+                VagaDTO::getId);
+    }
+
+    // Vagas abertas escritas linha a linha (?stream=true).
+    @GetMapping(value = "/abertas", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> getAbertasStream() {
+        return jsonArrayStreamer.stream(vagaEstagioRepository::streamDTOByAbertaTrue);
+    }
+
+    // Eventos SSE (vaga-aberta, vaga-encerrada) das áreas informadas, em vez de consultar o dashboard repetidamente.
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(@RequestParam List<Long> areaIds) {
+        return notificacaoVagas.assinar(areaIds);
     }
 
     // Retorna vagas abertas filtradas por áreas de interesse.
     @GetMapping("/por-areas")
-    public List<VagaEstagio> getByAreas(@RequestParam List<Long> areaIds) {
-        List<AreaInteresse> areas = areaIds.stream().map(id -> {
-            AreaInteresse area = new AreaInteresse();
-            area.setId(id);
-            return area;
-        }).toList();
-        return vagaEstagioRepository.findByAreaInAndAbertaTrue(areas);
+    public List<VagaDTO> getByAreas(@RequestParam List<Long> areaIds) {
+        return vagaEstagioRepository.findDTOByAreaIdInAndAbertaTrue(areaIds);
     }
 
-    // Retorna vagas de uma empresa específica.
+    // Retorna vagas de uma empresa específica (304 se o ETag/Last-Modified não mudou).
     @GetMapping("/empresa/{empresaId}")
-    public List<VagaEstagio> getByEmpresa(@PathVariable Long empresaId) {
-        Empresa empresa = new Empresa();
-        empresa.setId(empresaId);
-        return vagaEstagioRepository.findByEmpresa(empresa);
+    public List<VagaDTO> getByEmpresa(@PathVariable Long empresaId, WebRequest request) {
+        if (RespostaCondicional.naoModificado(request, carimboVagas())) {
+            return null;
+        }
+        return vagaEstagioRepository.findDTOByEmpresaId(empresaId);
     }
 
     // Cria uma nova vaga de estágio. Requer role EMPRESA.
     @PostMapping
-    public VagaEstagio create(@RequestBody VagaEstagio vagaEstagio) {
-        return vagaEstagioRepository.save(vagaEstagio);
+    public VagaDTO create(@RequestBody VagaEstagio vagaEstagio) {
+        VagaEstagio salva = vagaEstagioRepository.save(vagaEstagio);
+        buscaVagasService.atualizar(salva);
+        recomendacaoService.atualizarVaga(salva);
+        // A área e a empresa do corpo só trazem o id: os nomes vêm da projeção, pela chave primária
+        VagaDTO criada = vagaEstagioRepository.findDTOById(salva.getId()).orElseThrow();
+        if (criada.isAberta()) {
+            notificacaoVagas.vagaAberta(criada);
+        }
+        return criada;
     }
 
     // Atualiza uma vaga de estágio existente.
     @PutMapping("/{id}")
-    public VagaEstagio update(@PathVariable Long id, @RequestBody VagaEstagio vagaEstagio) {
+    public VagaDTO update(@PathVariable Long id, @RequestBody VagaEstagio vagaEstagio) {
         vagaEstagio.setId(id);
-        return vagaEstagioRepository.save(vagaEstagio);
+        // Publicação e inscritos não são alterados pelo PUT: sem a cópia, o merge levaria para a
+        // vaga os valores iniciais do corpo (agora e 0), e a recomendação veria a vaga como nova
+        Optional<VagaEstagio> atual = vagaEstagioRepository.findById(id);
+        atual.ifPresent(gravada -> {
+            vagaEstagio.setDataPublicacao(gravada.getDataPublicacao());
+            vagaEstagio.setInscritos(gravada.getInscritos());
+        });
+        // Lido antes do save: com open-in-view a vaga lida é a mesma instância que o merge altera
+        boolean estavaAberta = atual.map(VagaEstagio::isAberta).orElse(false);
+        VagaEstagio salva = vagaEstagioRepository.save(vagaEstagio);
+        buscaVagasService.atualizar(salva);
+        recomendacaoService.atualizarVaga(salva);
+        VagaDTO atualizada = VagaDTO.de(salva);
+        // Encerrar pelo PUT ("aberta": false) avisa os assinantes como o /encerrar; o save já foi commitado
+        if (estavaAberta && !atualizada.isAberta()) {
+            notificacaoVagas.vagaEncerrada(atualizada.getId(), atualizada.getAreaId());
+        }
+        return atualizada;
     }
 
     // Deleta uma vaga de estágio pelo ID.
@@ -75,14 +176,28 @@ public class VagaEstagioController {
     @PreAuthorize("hasRole('ADMIN')")
     public void delete(@PathVariable Long id) {
         vagaEstagioRepository.deleteById(id);
+        buscaVagasService.remover(id);
+        recomendacaoService.removerVaga(id);
+        avaliacaoService.removerResumo(id);
     }
 
     // Encerra uma vaga de estágio, impedindo novas inscrições.
     @PutMapping("/{id}/encerrar")
-    public VagaEstagio encerrar(@PathVariable Long id) {
+    public VagaDTO encerrar(@PathVariable Long id) {
         VagaEstagio vaga = vagaEstagioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Vaga não encontrada"));
         vaga.setAberta(false);
-        return vagaEstagioRepository.save(vaga);
+        VagaEstagio salva = vagaEstagioRepository.save(vaga);
+        buscaVagasService.atualizar(salva);
+        recomendacaoService.atualizarVaga(salva);
+        VagaDTO encerrada = VagaDTO.de(salva);
+        notificacaoVagas.vagaEncerrada(encerrada.getId(), encerrada.getAreaId());
+        return encerrada;
+    }
+
+    // VagaDTO inclui os nomes da área e da empresa: a listagem muda quando qualquer um deles muda
+    private VersoesCatalogo.Carimbo carimboVagas() {
+        return versoesCatalogo.carimbo(VersoesCatalogo.Colecao.VAGAS, VersoesCatalogo.Colecao.AREAS,
+                VersoesCatalogo.Colecao.EMPRESAS);
     }
-}
\ No newline at end of file
+}
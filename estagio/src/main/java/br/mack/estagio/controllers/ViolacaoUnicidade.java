@@ -0,0 +1,50 @@
+package br.mack.estagio.controllers;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tradução de violações das restrições únicas do banco em respostas da API.
+ *
+ * As escritas gravam direto, sem consultar antes se a chave já existe: a restrição
+ * (nomeada na entidade) garante a unicidade também entre requisições concorrentes,
+ * e a violação vira a mesma resposta 400/409 que a consulta prévia devolvia.
+ */
+public final class ViolacaoUnicidade {
+
+    private ViolacaoUnicidade() {
+    }
+
+    /**
+     * @param mensagens Mensagem de erro por nome de restrição
+     * @return ResponseStatusException com o status e a mensagem da restrição violada, ou a
+     *         própria exceção se ela não veio de nenhuma das restrições informadas
+     */
+    public static RuntimeException traduzir(DataIntegrityViolationException e, HttpStatus status, Map<String, String> mensagens) {
+        String detalhe = detalhe(e);
+        for (Map.Entry<String, String> mensagem : mensagens.entrySet()) {
+            if (detalhe.contains(mensagem.getKey())) {
+                return new ResponseStatusException(status, mensagem.getValue());
+            }
+        }
+        return e;
+    }
+
+    // Nome da restrição extraído pelo Hibernate e mensagem do driver (o H2 inclui o nome do índice nela)
+    private static String detalhe(DataIntegrityViolationException e) {
+        StringBuilder detalhe = new StringBuilder();
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null) {
+                detalhe.append(violacao.getConstraintName()).append(' ');
+            }
+        }
+        detalhe.append(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        return detalhe.toString().toLowerCase(Locale.ROOT);
+    }
+}
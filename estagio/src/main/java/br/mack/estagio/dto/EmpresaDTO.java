@@ -1,8 +1,20 @@
 package br.mack.estagio.dto;
 
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.util.List;
+
+/**
+ * Resposta das consultas de empresas, sem senha. Preenchido por expressão construtora no
+ * {@link br.mack.estagio.repositories.EmpresaRepository}; as áreas de atuação só são
+ * incluídas na consulta de uma única empresa.
+ */
 @Data
+@NoArgsConstructor
 public class EmpresaDTO {
     private Long id;
     private String nome;
@@ -10,4 +22,26 @@ public class EmpresaDTO {
     private String email;
     private String telefone;
     private String endereco;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AreaInteresse> areasAtuacao;
+
+    public EmpresaDTO(Long id, String nome, String cnpj, String email, String telefone, String endereco) {
+        this.id = id;
+        this.nome = nome;
+        this.cnpj = cnpj;
+        this.email = email;
+        this.telefone = telefone;
+        this.endereco = endereco;
+    }
+
+    /** Converte uma empresa já carregada (respostas de escrita), incluindo as áreas de atuação. */
+    public static EmpresaDTO de(Empresa empresa) {
+        EmpresaDTO dto = new EmpresaDTO(empresa.getId(), empresa.getNome(), empresa.getCnpj(), empresa.getEmail(),
+                empresa.getTelefone(), empresa.getEndereco());
+        if (empresa.getAreasAtuacao() != null) {
+            dto.setAreasAtuacao(List.copyOf(empresa.getAreasAtuacao()));
+        }
+        return dto;
+    }
 }
@@ -0,0 +1,16 @@
+package br.mack.estagio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Registro rejeitado na importação em lote: linha do arquivo e motivo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDTO {
+    private long linha;
+    private String mensagem;
+}
@@ -1,8 +1,20 @@
 package br.mack.estagio.dto;
 
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Estudante;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.util.List;
+
+/**
+ * Resposta das consultas de estudantes, sem senha nem badges. Preenchido por expressão
+ * construtora no {@link br.mack.estagio.repositories.EstudanteRepository}; as áreas de
+ * interesse só são incluídas na consulta de um único estudante.
+ */
 @Data
+@NoArgsConstructor
 public class EstudanteDTO {
     private Long id;
     private String nome;
@@ -10,4 +22,28 @@ public class EstudanteDTO {
     private String curso;
     private String email;
     private String telefone;
+    private Integer pontos;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AreaInteresse> areasInteresse;
+
+    public EstudanteDTO(Long id, String nome, String cpf, String curso, String email, String telefone, Integer pontos) {
+        this.id = id;
+        this.nome = nome;
+        this.cpf = cpf;
+        this.curso = curso;
+        this.email = email;
+        this.telefone = telefone;
+        this.pontos = pontos;
+    }
+
+    /** Converte um estudante já carregado (respostas de escrita), incluindo as áreas de interesse. */
+    public static EstudanteDTO de(Estudante estudante) {
+        EstudanteDTO dto = new EstudanteDTO(estudante.getId(), estudante.getNome(), estudante.getCpf(), estudante.getCurso(),
+                estudante.getEmail(), estudante.getTelefone(), estudante.getPontos());
+        if (estudante.getAreasInteresse() != null) {
+            dto.setAreasInteresse(List.copyOf(estudante.getAreasInteresse()));
+        }
+        return dto;
+    }
 }
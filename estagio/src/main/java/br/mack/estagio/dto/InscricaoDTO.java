@@ -1,10 +1,28 @@
 package br.mack.estagio.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
+/**
+ * Resposta das consultas de inscrições: dados do estudante e da vaga achatados,
+ * preenchidos por expressão construtora no {@link br.mack.estagio.repositories.InscricaoRepository}.
+ */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class InscricaoDTO {
     private Long id;
+    private LocalDateTime dataInscricao;
     private Long estudanteId;
+    private String estudanteNome;
+    private String estudanteEmail;
+    private String estudanteCurso;
     private Long vagaId;
+    private String vagaTitulo;
+    private String vagaLocalizacao;
+    private boolean vagaAberta;
+    private String empresaNome;
 }
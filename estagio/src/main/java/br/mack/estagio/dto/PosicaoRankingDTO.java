@@ -0,0 +1,23 @@
+package br.mack.estagio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posição de um estudante no ranking de gamificação.
+ *
+ * Campos:
+ * - estudanteId, nome: identificação do estudante
+ * - pontos: pontuação atual
+ * - posicao: colocação no ranking (1 = primeiro; empates desfeitos pelo menor ID)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PosicaoRankingDTO {
+    private Long estudanteId;
+    private String nome;
+    private int pontos;
+    private int posicao;
+}
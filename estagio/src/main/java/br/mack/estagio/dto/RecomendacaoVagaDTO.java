@@ -0,0 +1,27 @@
+package br.mack.estagio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vaga recomendada no dashboard do estudante.
+ *
+ * Campos:
+ * - id, titulo, localizacao, modalidade, areaId, areaNome, empresaId, empresaNome: resumo da vaga
+ * - pontuacao: afinidade calculada pelo motor de recomendações (0 a 1, maior = mais indicada)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecomendacaoVagaDTO {
+    private Long id;
+    private String titulo;
+    private String localizacao;
+    private String modalidade;
+    private Long areaId;
+    private String areaNome;
+    private Long empresaId;
+    private String empresaNome;
+    private float pontuacao;
+}
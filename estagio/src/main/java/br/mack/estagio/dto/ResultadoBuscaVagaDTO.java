@@ -0,0 +1,25 @@
+package br.mack.estagio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item do resultado da busca textual de vagas, servido direto da memória do índice.
+ *
+ * Campos:
+ * - id, titulo, localizacao, modalidade, areaId, empresaId: resumo da vaga
+ * - pontuacao: relevância BM25 para a consulta (maior = mais relevante)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoBuscaVagaDTO {
+    private Long id;
+    private String titulo;
+    private String localizacao;
+    private String modalidade;
+    private Long areaId;
+    private Long empresaId;
+    private float pontuacao;
+}
@@ -0,0 +1,25 @@
+package br.mack.estagio.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote.
+ *
+ * Campos:
+ * - tipo: estudantes, empresas ou vagas
+ * - linhasLidas: registros lidos do arquivo (sem contar cabeçalho e linhas em branco)
+ * - importados: registros gravados
+ * - totalErros: registros rejeitados
+ * - erros: linha e motivo de cada rejeição (limitado às primeiras ocorrências)
+ */
+@Data
+public class ResultadoImportacaoDTO {
+    private String tipo;
+    private long linhasLidas;
+    private long importados;
+    private long totalErros;
+    private List<ErroImportacaoDTO> erros = new ArrayList<>();
+}
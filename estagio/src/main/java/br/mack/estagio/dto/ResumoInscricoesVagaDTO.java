@@ -0,0 +1,24 @@
+package br.mack.estagio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumo das inscrições de uma vaga, calculado por uma única consulta agrupada.
+ *
+ * Campos:
+ * - vagaId: ID da vaga
+ * - totalInscricoes: quantidade de inscrições recebidas
+ * - ultimaInscricao: data da inscrição mais recente (null se não houver inscrições)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoInscricoesVagaDTO {
+    private Long vagaId;
+    private long totalInscricoes;
+    private LocalDateTime ultimaInscricao;
+}
@@ -1,8 +1,18 @@
 package br.mack.estagio.dto;
 
+import br.mack.estagio.entities.VagaEstagio;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+/**
+ * Resposta das consultas de vagas. Preenchido por expressão construtora no
+ * {@link br.mack.estagio.repositories.VagaEstagioRepository} (só as colunas abaixo),
+ * sem serializar a Empresa associada (senha, áreas de atuação).
+ */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class VagaDTO {
     private Long id;
     private String titulo;
@@ -13,5 +23,19 @@ public class VagaDTO {
     private int cargaHoraria;
     private String requisitos;
     private boolean aberta;
+    private Integer maxInscricoes;
     private Long empresaId;
+    private String areaNome;
+    private String empresaNome;
+
+    /** Converte uma vaga já carregada (respostas de escrita). */
+    public static VagaDTO de(VagaEstagio vaga) {
+        return new VagaDTO(vaga.getId(), vaga.getTitulo(), vaga.getDescricao(),
+                vaga.getArea() != null ? vaga.getArea().getId() : null,
+                vaga.getLocalizacao(), vaga.getModalidade(), vaga.getCargaHoraria(), vaga.getRequisitos(), vaga.isAberta(),
+                vaga.getMaxInscricoes(),
+                vaga.getEmpresa() != null ? vaga.getEmpresa().getId() : null,
+                vaga.getArea() != null ? vaga.getArea().getNome() : null,
+                vaga.getEmpresa() != null ? vaga.getEmpresa().getNome() : null);
+    }
 }
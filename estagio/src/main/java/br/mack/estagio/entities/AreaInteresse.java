@@ -1,13 +1,29 @@
 package br.mack.estagio.entities;
 
+import br.mack.estagio.services.EstatisticasEntityListener;
+import br.mack.estagio.services.VersoesCatalogoEntityListener;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Lida em quase todas as telas e raramente alterada
+@EntityListeners({EstatisticasEntityListener.class, VersoesCatalogoEntityListener.class})
 public class AreaInteresse {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String nome;
+
+    // Instante da última gravação
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant atualizadoEm;
 }
@@ -16,7 +16,12 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Data
+// Uma avaliação por estudante e vaga; a restrição também indexa as consultas por estudante
+@Table(uniqueConstraints = @UniqueConstraint(name = Avaliacao.UK_ESTUDANTE_VAGA, columnNames = {"estudante_id", "vaga_id"}),
+        indexes = @Index(name = "idx_avaliacao_vaga", columnList = "vaga_id"))
 public class Avaliacao {
+
+    public static final String UK_ESTUDANTE_VAGA = "uk_avaliacao_estudante_vaga";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
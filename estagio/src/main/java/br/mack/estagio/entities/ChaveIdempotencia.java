@@ -0,0 +1,36 @@
+package br.mack.estagio.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Resposta já enviada para um {@code Idempotency-Key}: uma nova tentativa com a mesma chave
+ * recebe esta resposta em vez de repetir a operação.
+ *
+ * Gravada na transação da operação (só existe se ela foi confirmada) e removida após o
+ * período de retenção pelo {@link br.mack.estagio.services.ChavesIdempotencia}.
+ */
+@Entity
+@Data
+@Table(name = ChaveIdempotencia.TABELA, indexes = @Index(name = "idx_chave_idempotencia_criado_em", columnList = "criado_em"))
+public class ChaveIdempotencia {
+    // Nome da tabela: a violação da chave primária é reconhecida por ele
+    public static final String TABELA = "chave_idempotencia";
+    public static final int TAMANHO_MAXIMO = 100;
+
+    @Id
+    @Column(length = TAMANHO_MAXIMO)
+    private String chave;
+
+    // Requisição original: a mesma chave com outro corpo é rejeitada
+    private Long estudanteId;
+    private Long vagaId;
+
+    @Column(length = 4000)
+    private String resposta;
+
+    @Column(name = "criado_em", nullable = false)
+    private Instant criadoEm;
+}
@@ -1,14 +1,34 @@
 package br.mack.estagio.entities;
 
+import br.mack.estagio.services.EstatisticasEntityListener;
+import br.mack.estagio.services.VersoesCatalogoEntityListener;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.util.Set;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Carregada junto com cada vaga (ManyToOne) e raramente alterada
+@EntityListeners({EstatisticasEntityListener.class, VersoesCatalogoEntityListener.class})
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = Empresa.UK_CNPJ, columnNames = "cnpj"),
+        @UniqueConstraint(name = Empresa.UK_EMAIL, columnNames = "email")})
 public class Empresa {
+    // Nomes das restrições únicas, usados para traduzir violações em respostas da API
+    public static final String UK_CNPJ = "uk_empresa_cnpj";
+    public static final String UK_EMAIL = "uk_empresa_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com otimizador pooled (50 ids por ida ao banco): permite batch de INSERTs na importação
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "empresa_seq")
+    @SequenceGenerator(name = "empresa_seq", sequenceName = "empresa_seq", allocationSize = 50)
     private Long id;
     private String nome;
     private String cnpj;
@@ -17,7 +37,13 @@ public class Empresa {
     private String endereco;
     private String senha;
 
+    // Instante da última gravação
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant atualizadoEm;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "empresa_areas",
         joinColumns = @JoinColumn(name = "empresa_id"),
@@ -1,14 +1,28 @@
 package br.mack.estagio.entities;
 
+import br.mack.estagio.services.EstatisticasEntityListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import java.util.Set;
 
 @Entity
 @Data
+@EntityListeners(EstatisticasEntityListener.class)
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = Estudante.UK_CPF, columnNames = "cpf"),
+        @UniqueConstraint(name = Estudante.UK_EMAIL, columnNames = "email")})
 public class Estudante {
+    // Nomes das restrições únicas, usados para traduzir violações em respostas da API
+    public static final String UK_CPF = "uk_estudante_cpf";
+    public static final String UK_EMAIL = "uk_estudante_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com otimizador pooled (50 ids por ida ao banco): permite batch de INSERTs na importação
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estudante_seq")
+    @SequenceGenerator(name = "estudante_seq", sequenceName = "estudante_seq", allocationSize = 50)
     private Long id;
     private String nome;
     private String cpf;
@@ -18,6 +32,7 @@ public class Estudante {
     private String senha;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Apenas os ids; as áreas vêm do cache de AreaInteresse
     @JoinTable(
         name = "estudante_areas",
         joinColumns = @JoinColumn(name = "estudante_id"),
@@ -25,7 +40,10 @@ public class Estudante {
     )
     private Set<AreaInteresse> areasInteresse;
 
-    private Integer pontos = 0; // Pontuação acumulada do estudante
+    // Pontuação acumulada do estudante. Fora do UPDATE das entidades: só o UPDATE atômico do
+    // consumidor de gamificação a altera, e um merge com valor antigo não desfaz pontos concorrentes
+    @Column(updatable = false)
+    private Integer pontos = 0;
 
     @ElementCollection
     @CollectionTable(name = "estudante_badges", joinColumns = @JoinColumn(name = "estudante_id"))
@@ -0,0 +1,49 @@
+package br.mack.estagio.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Evento de gamificação pendente (outbox transacional).
+ *
+ * Gravado na mesma transação da ação que o origina (inscrição, avaliação ou pontos
+ * manuais) e removido pelo {@link br.mack.estagio.services.ConsumidorEventosGamificacao}
+ * na transação que aplica os pontos: cada evento é aplicado exatamente uma vez, e um
+ * rollback da ação descarta o evento junto.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "evento_gamificacao")
+public class EventoGamificacao {
+
+    public enum Tipo { INSCRICAO, AVALIACAO, PONTOS }
+
+    @Id
+    // Sequência pooled: vários eventos na mesma transação saem em um batch de INSERTs
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_gamificacao_seq")
+    @SequenceGenerator(name = "evento_gamificacao_seq", sequenceName = "evento_gamificacao_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Tipo tipo;
+
+    @Column(nullable = false)
+    private Long estudanteId;
+
+    private int pontos;
+
+    @Column(nullable = false)
+    private Instant criadoEm;
+
+    public EventoGamificacao(Tipo tipo, Long estudanteId, int pontos) {
+        this.tipo = tipo;
+        this.estudanteId = estudanteId;
+        this.pontos = pontos;
+        this.criadoEm = Instant.now();
+    }
+}
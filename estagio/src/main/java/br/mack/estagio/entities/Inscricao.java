@@ -6,7 +6,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
+// Uma inscrição por estudante e vaga; a restrição também indexa as consultas por estudante
+@Table(uniqueConstraints = @UniqueConstraint(name = Inscricao.UK_ESTUDANTE_VAGA, columnNames = {"estudante_id", "vaga_id"}),
+        indexes = @Index(name = "idx_inscricao_vaga", columnList = "vaga_id"))
 public class Inscricao {
+    public static final String UK_ESTUDANTE_VAGA = "uk_inscricao_estudante_vaga";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
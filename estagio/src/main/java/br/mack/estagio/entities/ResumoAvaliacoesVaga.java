@@ -0,0 +1,44 @@
+package br.mack.estagio.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Resumo desnormalizado das avaliações de uma vaga (soma, quantidade e histograma de notas).
+ *
+ * Mantido pelo {@link br.mack.estagio.services.AvaliacaoService} na mesma transação que
+ * cria, altera ou remove cada avaliação, para que as estatísticas da vaga sejam uma
+ * única leitura por chave primária em vez de AVG/COUNT sobre a tabela de avaliações.
+ */
+@Entity
+@Data
+@Table(name = "resumo_avaliacoes_vaga")
+public class ResumoAvaliacoesVaga {
+
+    @Id
+    @Column(name = "vaga_id")
+    private Long vagaId;
+
+    private long soma;
+
+    private long total;
+
+    private long nota1;
+    private long nota2;
+    private long nota3;
+    private long nota4;
+    private long nota5;
+
+    /** Média das notas arredondada para 1 casa decimal (0 quando não há avaliações). */
+    @JsonIgnore
+    public double getMedia() {
+        return total == 0 ? 0.0 : Math.round(soma * 10.0 / total) / 10.0;
+    }
+
+    /** Quantidade de avaliações por nota, índice 0 = nota 1. */
+    @JsonIgnore
+    public long[] getDistribuicao() {
+        return new long[]{nota1, nota2, nota3, nota4, nota5};
+    }
+}
@@ -1,13 +1,32 @@
 package br.mack.estagio.entities;
 
+import br.mack.estagio.services.EstatisticasEntityListener;
+import br.mack.estagio.services.SituacaoVagasEntityListener;
+import br.mack.estagio.services.VersoesCatalogoEntityListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
 
 @Entity
 @Data
+@EntityListeners({EstatisticasEntityListener.class, VersoesCatalogoEntityListener.class, SituacaoVagasEntityListener.class})
+// Vagas abertas por área (busca, recomendações) e vagas da empresa (dashboard, exportação).
+// A área vem antes de aberta: com aberta na frente o H2 usa o índice para "aberta = true AND id > ?"
+// (paginação das abertas) e ordena milhares de linhas em vez de percorrer a chave primária
+@Table(indexes = {
+        @Index(name = "idx_vaga_area_aberta", columnList = "area_id, aberta"),
+        @Index(name = "idx_vaga_empresa", columnList = "empresa_id")})
 public class VagaEstagio {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com otimizador pooled (50 ids por ida ao banco): permite batch de INSERTs na importação
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vaga_estagio_seq")
+    @SequenceGenerator(name = "vaga_estagio_seq", sequenceName = "vaga_estagio_seq", allocationSize = 50)
     private Long id;
     private String titulo;
     private String descricao;
@@ -20,8 +39,35 @@ public class VagaEstagio {
     private int cargaHoraria;
     private String requisitos;
     private boolean aberta = true; // Default to open
+
+    // Limite de inscrições (null = sem limite); ao ser atingido a vaga é encerrada automaticamente
+    private Integer maxInscricoes;
+
+    // Inscrições feitas na vaga. Mantido só pelos UPDATEs condicionais do VagaEstagioRepository
+    // (reservarInscricao/liberarInscricao), nunca pela entidade
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int inscritos;
+
+    // Data de publicação (recência nas recomendações); definida na criação e não alterada por updates
+    @Column(updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime dataPublicacao = LocalDateTime.now();
     
     @ManyToOne
     @JoinColumn(name = "empresa_id")
     private Empresa empresa;
+
+    // Instante da última gravação. Os GETs condicionais das listagens usam a VersoesCatalogo
+    // (em memória) em vez de consultar esta coluna
+    @UpdateTimestamp
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant atualizadoEm;
+
+    // Estado persistido de "aberta" e da área, usado pelo EstatisticasEntityListener (não é coluna)
+    @JsonIgnore
+    private transient Boolean abertaPersistida;
+    @JsonIgnore
+    private transient Long areaIdPersistida;
 }
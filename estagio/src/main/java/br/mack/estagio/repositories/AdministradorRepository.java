@@ -7,4 +7,5 @@ import java.util.Optional;
 
 public interface AdministradorRepository extends JpaRepository<Administrador, Long> {
     Optional<Administrador> findByEmail(String email);
+    Optional<Credencial> findCredencialByEmail(String email); // Apenas id, nome, email e senha (login)
 }
@@ -1,10 +1,20 @@
 package br.mack.estagio.repositories;
 
 import br.mack.estagio.entities.AreaInteresse;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface AreaInteresseRepository extends JpaRepository<AreaInteresse, Long> {
     Optional<AreaInteresse> findByNome(String nome);
+
+    // Lista completa servida pelo cache de consultas (invalidado pelo Hibernate a cada escrita em area_interesse)
+    @Override
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<AreaInteresse> findAll();
 }
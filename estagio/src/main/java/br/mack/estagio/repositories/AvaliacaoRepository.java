@@ -1,6 +1,9 @@
 package br.mack.estagio.repositories;
 
 import br.mack.estagio.entities.Avaliacao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -28,6 +31,17 @@ public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
      * @return Lista de avaliações da vaga
      */
     List<Avaliacao> findByVaga_Id(Long vagaId);
+
+    /**
+     * Página de avaliações de uma vaga por cursor (keyset pelo ID).
+     *
+     * @param vagaId ID da vaga
+     * @param after ID da última avaliação já retornada
+     * @param pageable Tamanho da página
+     * @return Fatia de avaliações com indicação de próxima página
+     */
+    @EntityGraph(attributePaths = {"estudante", "vaga"})
+    Slice<Avaliacao> findByVaga_IdAndIdGreaterThanOrderByIdAsc(Long vagaId, Long after, Pageable pageable);
     
     /**
      * Encontra todas as avaliações feitas por um estudante.
@@ -37,16 +51,6 @@ public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
      */
     List<Avaliacao> findByEstudante_Id(Long estudanteId);
     
-    /**
-     * Verifica se um estudante já avaliou uma vaga específica.
-     * Previne múltiplas avaliações do mesmo estudante na mesma vaga.
-     * 
-     * @param estudanteId ID do estudante
-     * @param vagaId ID da vaga
-     * @return true se já existe avaliação, false caso contrário
-     */
-    boolean existsByEstudante_IdAndVaga_Id(Long estudanteId, Long vagaId);
-    
     /**
      * Calcula a média de notas para uma vaga específica.
      * Agrupa todas as avaliações e calcula a média.
@@ -0,0 +1,31 @@
+package br.mack.estagio.repositories;
+
+import br.mack.estagio.entities.ChaveIdempotencia;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    // INSERT direto: com id atribuído, save() faria um SELECT (merge) antes. Chave repetida
+    // viola a chave primária, inclusive entre requisições concorrentes
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = ChaveIdempotencia.TABELA)) // não invalida o cache de 2º nível
+    @Query(value = "INSERT INTO chave_idempotencia (chave, estudante_id, vaga_id, resposta, criado_em) "
+            + "VALUES (:chave, :estudanteId, :vagaId, :resposta, :criadoEm)", nativeQuery = true)
+    void inserir(@Param("chave") String chave, @Param("estudanteId") Long estudanteId, @Param("vagaId") Long vagaId,
+                 @Param("resposta") String resposta, @Param("criadoEm") Instant criadoEm);
+
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.criadoEm < :limite")
+    int deleteByCriadoEmBefore(@Param("limite") Instant limite);
+}
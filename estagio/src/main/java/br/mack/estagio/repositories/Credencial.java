@@ -0,0 +1,12 @@
+package br.mack.estagio.repositories;
+
+/**
+ * Projeção com os dados mínimos para autenticação (evita carregar a entidade inteira
+ * e suas associações no login). Implementada por estudantes, empresas e administradores.
+ */
+public interface Credencial {
+    Long getId();
+    String getNome();
+    String getEmail();
+    String getSenha();
+}
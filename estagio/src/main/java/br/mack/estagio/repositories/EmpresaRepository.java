@@ -1,14 +1,64 @@
 package br.mack.estagio.repositories;
 
+import br.mack.estagio.dto.EmpresaDTO;
+import br.mack.estagio.entities.AreaInteresse;
 import br.mack.estagio.entities.Empresa;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
     Optional<Empresa> findByCnpj(String cnpj);
     Optional<Empresa> findByEmail(String email);
+    Optional<Credencial> findCredencialByEmail(String email); // Apenas id, nome, email e senha (login)
     List<Empresa> findByAreasAtuacao_NomeContaining(String area);
     long count();
+
+    // Chaves já cadastradas, carregadas de uma vez para a verificação de unicidade da importação em lote
+    @Query("SELECT e.cnpj FROM Empresa e WHERE e.cnpj IS NOT NULL")
+    List<String> findAllCnpjs();
+    @Query("SELECT e.email FROM Empresa e WHERE e.email IS NOT NULL")
+    List<String> findAllEmails();
+    // Pares [id, nome]: as vagas importadas referenciam a empresa sem carregá-la
+    @Query("SELECT e.id, e.nome FROM Empresa e")
+    List<Object[]> findAllIdsENomes();
+
+    // Projeção usada nas respostas da API: só as colunas do EmpresaDTO (sem senha nem áreas de atuação)
+    String SELECT_DTO = "SELECT new br.mack.estagio.dto.EmpresaDTO(e.id, e.nome, e.cnpj, e.email, e.telefone, e.endereco) "
+            + "FROM Empresa e ";
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "ORDER BY e.id")
+    List<EmpresaDTO> findAllDTO();
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE e.id = :id")
+    Optional<EmpresaDTO> findDTOById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true")) // Empresas e áreas mudam raramente
+    @Query("SELECT a FROM Empresa e JOIN e.areasAtuacao a WHERE e.id = :id ORDER BY a.id")
+    List<AreaInteresse> findAreasAtuacaoById(@Param("id") Long id);
+
+    // Paginação por cursor (keyset no ID)
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE e.id > :after ORDER BY e.id")
+    Slice<EmpresaDTO> findDTOByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+
+    // Streaming linha a linha (exige transação aberta e o Stream deve ser fechado)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_DTO + "ORDER BY e.id")
+    Stream<EmpresaDTO> streamAllDTO();
 }
@@ -1,17 +1,88 @@
 package br.mack.estagio.repositories;
 
+import br.mack.estagio.dto.EstudanteDTO;
+import br.mack.estagio.entities.AreaInteresse;
 import br.mack.estagio.entities.Estudante;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface EstudanteRepository extends JpaRepository<Estudante, Long> {
     Optional<Estudante> findByCpf(String cpf);
     Optional<Estudante> findByEmail(String email);
+    Optional<Credencial> findCredencialByEmail(String email); // Apenas id, nome, email e senha (login)
     List<Estudante> findByAreasInteresse_NomeContaining(String area);
     long count();
 
+    // Chaves já cadastradas, carregadas de uma vez para a verificação de unicidade da importação em lote
+    @Query("SELECT e.cpf FROM Estudante e WHERE e.cpf IS NOT NULL")
+    List<String> findAllCpfs();
+    @Query("SELECT e.email FROM Estudante e WHERE e.email IS NOT NULL")
+    List<String> findAllEmails();
+
     // Métodos para gamificação
     List<Estudante> findTop10ByOrderByPontosDesc(); // Top 10 estudantes por pontos
     List<Estudante> findByBadgesContaining(String badge); // Estudantes com uma badge específica
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e.id AS id, e.nome AS nome, e.pontos AS pontos FROM Estudante e")
+    Stream<PontuacaoEstudante> streamPontuacoes(); // Carga inicial do ranking em memória
+
+    // Carga inicial do motor de recomendações: curso e pares (estudante, área)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e.id AS id, e.curso AS curso FROM Estudante e")
+    Stream<PerfilEstudante> streamPerfis();
+    @Query("SELECT e.id, a.id FROM Estudante e JOIN e.areasInteresse a")
+    List<Object[]> findParesEstudanteArea();
+
+    @Query("SELECT e.pontos FROM Estudante e WHERE e.id = :id")
+    Optional<Integer> findPontosById(@Param("id") Long id);
+
+    // Totais após o UPDATE em lote do consumidor de gamificação: pares (id, pontos)
+    @Query("SELECT e.id, e.pontos FROM Estudante e WHERE e.id IN :ids")
+    List<Object[]> findPontosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Projeção usada nas respostas da API: só as colunas do EstudanteDTO (sem senha, badges nem áreas)
+    String SELECT_DTO = "SELECT new br.mack.estagio.dto.EstudanteDTO(e.id, e.nome, e.cpf, e.curso, e.email, e.telefone, e.pontos) "
+            + "FROM Estudante e ";
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "ORDER BY e.id")
+    List<EstudanteDTO> findAllDTO();
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE e.id = :id")
+    Optional<EstudanteDTO> findDTOById(@Param("id") Long id);
+
+    // Top 10 e badges do ranking: transação readOnly (réplica, se configurada)
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE e.id IN :ids")
+    List<EstudanteDTO> findDTOByIdIn(@Param("ids") List<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "JOIN e.badges b WHERE b = :badge ORDER BY e.id")
+    List<EstudanteDTO> findDTOByBadge(@Param("badge") String badge);
+
+    @Query("SELECT a FROM Estudante e JOIN e.areasInteresse a WHERE e.id = :id ORDER BY a.id")
+    List<AreaInteresse> findAreasInteresseById(@Param("id") Long id);
+
+    // Paginação por cursor (keyset no ID)
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE e.id > :after ORDER BY e.id")
+    Slice<EstudanteDTO> findDTOByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+
+    // Streaming linha a linha (exige transação aberta e o Stream deve ser fechado)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_DTO + "ORDER BY e.id")
+    Stream<EstudanteDTO> streamAllDTO();
 }
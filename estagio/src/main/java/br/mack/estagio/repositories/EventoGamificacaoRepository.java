@@ -0,0 +1,33 @@
+package br.mack.estagio.repositories;
+
+import br.mack.estagio.entities.EventoGamificacao;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Outbox de eventos de gamificação.
+ */
+@Repository
+public interface EventoGamificacaoRepository extends JpaRepository<EventoGamificacao, Long> {
+
+    // Lote mais antigo, travado até o fim da transação do consumidor. SKIP LOCKED (timeout -2):
+    // com mais de uma instância, cada consumidor pega um lote diferente em vez de esperar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EventoGamificacao e ORDER BY e.id")
+    List<EventoGamificacao> findLote(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EventoGamificacao e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
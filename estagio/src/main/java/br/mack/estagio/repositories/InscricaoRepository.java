@@ -1,14 +1,85 @@
 package br.mack.estagio.repositories;
 
+import br.mack.estagio.dto.InscricaoDTO;
+import br.mack.estagio.dto.ResumoInscricoesVagaDTO;
 import br.mack.estagio.entities.*;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface InscricaoRepository extends JpaRepository<Inscricao, Long> {
     List<Inscricao> findByEstudanteId(Long estudanteId);
     List<Inscricao> findByVagaId(Long vagaId);
-    boolean existsByEstudanteIdAndVagaId(Long estudanteId, Long vagaId);
+
+    // Pares (estudante, vaga) de todas as inscrições, para a carga do motor de recomendações
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT i.estudante.id, i.vaga.id FROM Inscricao i WHERE i.estudante IS NOT NULL AND i.vaga IS NOT NULL")
+    Stream<Object[]> streamParesEstudanteVaga();
     Optional<Inscricao> findByEstudanteAndVaga(Estudante estudante, VagaEstagio vaga);
-    List<Inscricao> findByVaga_Empresa_Id(Long empresaId);
+
+    // Inscrições de todas as vagas da empresa, com vaga e estudante carregados no mesmo SELECT.
+    // Consulta de entidades anterior ao findDTOByEmpresaId, mantida para comparação no RepositoriosBenchmark
+    @Transactional(readOnly = true)
+    @Query("SELECT i FROM Inscricao i JOIN FETCH i.vaga v JOIN FETCH i.estudante WHERE v.empresa.id = :empresaId")
+    List<Inscricao> findByVaga_Empresa_Id(@Param("empresaId") Long empresaId);
+
+    // Quantidade de inscrições e data da última inscrição por vaga da empresa (uma única consulta agrupada)
+    @Transactional(readOnly = true)
+    @Query("SELECT new br.mack.estagio.dto.ResumoInscricoesVagaDTO(v.id, COUNT(i), MAX(i.dataInscricao)) "
+            + "FROM Inscricao i JOIN i.vaga v WHERE v.empresa.id = :empresaId GROUP BY v.id")
+    List<ResumoInscricoesVagaDTO> resumirPorEmpresa(@Param("empresaId") Long empresaId);
+
+    // Projeção usada nas respostas da API: inscrição com estudante e vaga achatados em um único SELECT
+    String DTO = "SELECT new br.mack.estagio.dto.InscricaoDTO(i.id, i.dataInscricao, s.id, s.nome, s.email, s.curso, "
+            + "v.id, v.titulo, v.localizacao, v.aberta, e.nome) ";
+    String SELECT_DTO = DTO + "FROM Inscricao i LEFT JOIN i.estudante s LEFT JOIN i.vaga v LEFT JOIN v.empresa e ";
+    // Filtrando por estudante, vaga ou empresa o JOIN interno desse lado dá o mesmo resultado; com LEFT JOIN
+    // o filtro fica na tabela juntada e o H2 varre inscricao em vez de usar os índices de estudante_id/vaga_id.
+    // O JOIN interno vem antes dos LEFT JOIN para o H2 poder começar pela tabela filtrada
+    String SELECT_DTO_POR_ESTUDANTE = DTO + "FROM Inscricao i JOIN i.estudante s LEFT JOIN i.vaga v LEFT JOIN v.empresa e ";
+    String SELECT_DTO_POR_VAGA = DTO + "FROM Inscricao i JOIN i.vaga v LEFT JOIN i.estudante s LEFT JOIN v.empresa e ";
+    String SELECT_DTO_POR_EMPRESA = DTO + "FROM Inscricao i JOIN i.vaga v JOIN v.empresa e LEFT JOIN i.estudante s ";
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE i.id = :id")
+    Optional<InscricaoDTO> findDTOById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO_POR_ESTUDANTE + "WHERE s.id = :estudanteId ORDER BY i.id")
+    List<InscricaoDTO> findDTOByEstudanteId(@Param("estudanteId") Long estudanteId);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO_POR_VAGA + "WHERE v.id = :vagaId ORDER BY i.id")
+    List<InscricaoDTO> findDTOByVagaId(@Param("vagaId") Long vagaId);
+
+    // Inscrições de todas as vagas da empresa (dashboard detalhado)
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO_POR_EMPRESA + "WHERE e.id = :empresaId ORDER BY v.id, i.id")
+    List<InscricaoDTO> findDTOByEmpresaId(@Param("empresaId") Long empresaId);
+
+    // Paginação por cursor (keyset no ID)
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO_POR_VAGA + "WHERE v.id = :vagaId AND i.id > :after ORDER BY i.id")
+    Slice<InscricaoDTO> findDTOByVagaIdAndIdGreaterThan(@Param("vagaId") Long vagaId, @Param("after") Long after, Pageable pageable);
+
+    // Streaming linha a linha (exige transação aberta e o Stream deve ser fechado)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_DTO_POR_VAGA + "WHERE v.id = :vagaId ORDER BY i.id")
+    Stream<InscricaoDTO> streamDTOByVagaId(@Param("vagaId") Long vagaId);
+
+    // Exportação CSV das inscrições de todas as vagas da empresa, linha a linha
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_DTO_POR_EMPRESA + "WHERE e.id = :empresaId ORDER BY v.id, i.id")
+    Stream<InscricaoDTO> streamDTOByEmpresaId(@Param("empresaId") Long empresaId);
 }
@@ -0,0 +1,9 @@
+package br.mack.estagio.repositories;
+
+/**
+ * Projeção com id e curso do estudante, usada pelo motor de recomendações.
+ */
+public interface PerfilEstudante {
+    Long getId();
+    String getCurso();
+}
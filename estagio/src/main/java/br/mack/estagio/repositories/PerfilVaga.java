@@ -0,0 +1,14 @@
+package br.mack.estagio.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projeção com os campos de uma vaga usados pelo motor de recomendações.
+ */
+public interface PerfilVaga {
+    Long getId();
+    Long getAreaId();
+    String getTitulo();
+    String getRequisitos();
+    LocalDateTime getDataPublicacao();
+}
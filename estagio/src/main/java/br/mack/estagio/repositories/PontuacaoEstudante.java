@@ -0,0 +1,10 @@
+package br.mack.estagio.repositories;
+
+/**
+ * Projeção com id, nome e pontos do estudante, usada para montar o ranking em memória.
+ */
+public interface PontuacaoEstudante {
+    Long getId();
+    String getNome();
+    Integer getPontos();
+}
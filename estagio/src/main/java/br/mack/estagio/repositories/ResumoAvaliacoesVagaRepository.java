@@ -0,0 +1,69 @@
+package br.mack.estagio.repositories;
+
+import br.mack.estagio.entities.ResumoAvaliacoesVaga;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Repository do resumo de avaliações por vaga.
+ *
+ * Os ajustes são feitos com UPDATE relativo (soma = soma + ?), sem ler a linha antes,
+ * para que avaliações concorrentes da mesma vaga não percam incrementos.
+ */
+@Repository
+public interface ResumoAvaliacoesVagaRepository extends JpaRepository<ResumoAvaliacoesVaga, Long> {
+
+    /**
+     * Aplica a troca de uma nota por outra no resumo da vaga.
+     * Use 0 em {@code notaAntiga} para uma avaliação nova e 0 em {@code notaNova} para uma removida.
+     *
+     * @return linhas afetadas (0 = a vaga ainda não possui resumo)
+     */
+    @Modifying
+    @Query("UPDATE ResumoAvaliacoesVaga r SET "
+            + "r.soma = r.soma + :notaNova - :notaAntiga, "
+            + "r.total = r.total + (CASE WHEN :notaNova > 0 THEN 1 ELSE 0 END) - (CASE WHEN :notaAntiga > 0 THEN 1 ELSE 0 END), "
+            + "r.nota1 = r.nota1 + (CASE WHEN :notaNova = 1 THEN 1 ELSE 0 END) - (CASE WHEN :notaAntiga = 1 THEN 1 ELSE 0 END), "
+            + "r.nota2 = r.nota2 + (CASE WHEN :notaNova = 2 THEN 1 ELSE 0 END) - (CASE WHEN :notaAntiga = 2 THEN 1 ELSE 0 END), "
+            + "r.nota3 = r.nota3 + (CASE WHEN :notaNova = 3 THEN 1 ELSE 0 END) - (CASE WHEN :notaAntiga = 3 THEN 1 ELSE 0 END), "
+            + "r.nota4 = r.nota4 + (CASE WHEN :notaNova = 4 THEN 1 ELSE 0 END) - (CASE WHEN :notaAntiga = 4 THEN 1 ELSE 0 END), "
+            + "r.nota5 = r.nota5 + (CASE WHEN :notaNova = 5 THEN 1 ELSE 0 END) - (CASE WHEN :notaAntiga = 5 THEN 1 ELSE 0 END) "
+            + "WHERE r.vagaId = :vagaId")
+    int ajustar(@Param("vagaId") Long vagaId, @Param("notaAntiga") int notaAntiga, @Param("notaNova") int notaNova);
+
+    /**
+     * Cria o resumo de uma vaga agregando as avaliações já gravadas (inclusive as da transação atual).
+     * Não faz nada se a vaga não tiver avaliações ou já possuir resumo.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "resumo_avaliacoes_vaga")) // não invalida o cache de 2º nível
+    @Query(value = "INSERT INTO resumo_avaliacoes_vaga (vaga_id, soma, total, nota1, nota2, nota3, nota4, nota5) "
+            + "SELECT a.vaga_id, SUM(a.nota), COUNT(*), "
+            + "SUM(CASE WHEN a.nota = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN a.nota = 2 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.nota = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN a.nota = 4 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.nota = 5 THEN 1 ELSE 0 END) "
+            + "FROM avaliacao a WHERE a.vaga_id = :vagaId "
+            + "AND NOT EXISTS (SELECT 1 FROM resumo_avaliacoes_vaga r WHERE r.vaga_id = :vagaId) "
+            + "GROUP BY a.vaga_id", nativeQuery = true)
+    int criarAPartirDasAvaliacoes(@Param("vagaId") Long vagaId);
+
+    /** Cria, de uma vez, o resumo de todas as vagas avaliadas que ainda não o possuem. */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "resumo_avaliacoes_vaga")) // não invalida o cache de 2º nível
+    @Query(value = "INSERT INTO resumo_avaliacoes_vaga (vaga_id, soma, total, nota1, nota2, nota3, nota4, nota5) "
+            + "SELECT a.vaga_id, SUM(a.nota), COUNT(*), "
+            + "SUM(CASE WHEN a.nota = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN a.nota = 2 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.nota = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN a.nota = 4 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN a.nota = 5 THEN 1 ELSE 0 END) "
+            + "FROM avaliacao a WHERE a.vaga_id IS NOT NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM resumo_avaliacoes_vaga r WHERE r.vaga_id = a.vaga_id) "
+            + "GROUP BY a.vaga_id", nativeQuery = true)
+    int criarResumosAusentes();
+}
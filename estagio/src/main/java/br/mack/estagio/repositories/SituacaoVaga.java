@@ -0,0 +1,10 @@
+package br.mack.estagio.repositories;
+
+/**
+ * Projeção com a situação de uma vaga usada para validar e reservar inscrições.
+ */
+public interface SituacaoVaga {
+    boolean isAberta();
+    Integer getMaxInscricoes();
+    int getInscritos();
+}
@@ -1,20 +1,127 @@
 package br.mack.estagio.repositories;
 
+import br.mack.estagio.dto.VagaDTO;
 import br.mack.estagio.entities.*;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface VagaEstagioRepository extends JpaRepository<VagaEstagio, Long> {
     List<VagaEstagio> findByArea(AreaInteresse area);
+
+    // Trava a linha da vaga (SELECT ... FOR UPDATE) para serializar a criação de dados derivados dela
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM VagaEstagio v WHERE v.id = :id")
+    java.util.Optional<VagaEstagio> findComLockById(@Param("id") Long id);
+
     List<VagaEstagio> findByAbertaTrue();
     List<VagaEstagio> findByAbertaFalse();
     List<VagaEstagio> findByEmpresa(Empresa empresa);
     List<VagaEstagio> findByEmpresa_Id(Long empresaId);
     List<VagaEstagio> findByAreaInAndAbertaTrue(List<AreaInteresse> areas);
-    List<VagaEstagio> findByAreaInAndAbertaTrueOrderByIdDesc(List<AreaInteresse> areas);
     long countByAbertaTrue();
+
+    // Situação de uma vaga (SituacaoVagas); vazio se a vaga não existe
+    @Query("SELECT v.aberta AS aberta, v.maxInscricoes AS maxInscricoes, v.inscritos AS inscritos "
+            + "FROM VagaEstagio v WHERE v.id = :id")
+    java.util.Optional<SituacaoVaga> findSituacaoById(@Param("id") Long id);
+
+    // Ocupa uma vaga de inscrição se a vaga está aberta e abaixo do limite (0 = não há vaga).
+    // A linha fica travada até o commit: inscrições concorrentes na mesma vaga nunca passam do limite
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "vaga_estagio"))
+    @Query(value = "UPDATE vaga_estagio SET inscritos = inscritos + 1 WHERE id = :id AND aberta = true "
+            + "AND (max_inscricoes IS NULL OR inscritos < max_inscricoes)", nativeQuery = true)
+    int reservarInscricao(@Param("id") Long id);
+
+    // Devolve a vaga ocupada por uma inscrição removida
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "vaga_estagio"))
+    @Query(value = "UPDATE vaga_estagio SET inscritos = inscritos - 1 WHERE id = :id AND inscritos > 0", nativeQuery = true)
+    int liberarInscricao(@Param("id") Long id);
+
+    // Acerta o contador das vagas que divergem da tabela de inscrições (dados anteriores à coluna)
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "vaga_estagio"))
+    @Query(value = "UPDATE vaga_estagio v SET inscritos = (SELECT COUNT(*) FROM inscricao i WHERE i.vaga_id = v.id) "
+            + "WHERE inscritos <> (SELECT COUNT(*) FROM inscricao i WHERE i.vaga_id = v.id)", nativeQuery = true)
+    int reconciliarInscritos();
     long countByAbertaFalse();
     @Query("SELECT a.nome, COUNT(v) FROM VagaEstagio v JOIN v.area a GROUP BY a.id, a.nome")
     List<Object[]> countVagasByArea();
+    @Query("SELECT v.area.id, COUNT(v) FROM VagaEstagio v WHERE v.area IS NOT NULL GROUP BY v.area.id")
+    List<Object[]> countVagasByAreaId();
+
+    // Projeção usada nas respostas da API e no índice de busca: só as colunas do VagaDTO,
+    // com nome da área e da empresa via JOIN (sem carregar Empresa, senha e áreas de atuação)
+    String DTO = "SELECT new br.mack.estagio.dto.VagaDTO(v.id, v.titulo, v.descricao, a.id, v.localizacao, v.modalidade, "
+            + "v.cargaHoraria, v.requisitos, v.aberta, v.maxInscricoes, e.id, a.nome, e.nome) ";
+    String SELECT_DTO = DTO + "FROM VagaEstagio v LEFT JOIN v.area a LEFT JOIN v.empresa e ";
+    // Filtrando por área ou empresa o JOIN interno desse lado dá o mesmo resultado e deixa o banco
+    // usar os índices (area_id, aberta) e (empresa_id) em vez de filtrar depois do LEFT JOIN
+    // (o JOIN interno vem primeiro para o H2 poder começar pela tabela filtrada)
+    String SELECT_DTO_POR_AREA = DTO + "FROM VagaEstagio v JOIN v.area a LEFT JOIN v.empresa e ";
+    String SELECT_DTO_POR_EMPRESA = DTO + "FROM VagaEstagio v JOIN v.empresa e LEFT JOIN v.area a ";
+
+    // Leituras da API e dashboards: transação readOnly, atendida pela réplica quando configurada
+    // (RoteamentoDataSourceConfig); depois de uma escrita na mesma requisição, pela primária
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "ORDER BY v.id")
+    List<VagaDTO> findAllDTO();
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE v.id = :id")
+    java.util.Optional<VagaDTO> findDTOById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE v.aberta = true ORDER BY v.id")
+    List<VagaDTO> findDTOByAbertaTrue();
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE v.id IN :ids")
+    List<VagaDTO> findDTOByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO_POR_AREA + "WHERE v.aberta = true AND a.id IN :areaIds ORDER BY v.id")
+    List<VagaDTO> findDTOByAreaIdInAndAbertaTrue(@Param("areaIds") List<Long> areaIds);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO_POR_EMPRESA + "WHERE e.id = :empresaId ORDER BY v.id")
+    List<VagaDTO> findDTOByEmpresaId(@Param("empresaId") Long empresaId);
+
+    // Paginação por cursor (keyset no ID)
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE v.id > :after ORDER BY v.id")
+    Slice<VagaDTO> findDTOByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE v.aberta = true AND v.id > :after ORDER BY v.id")
+    Slice<VagaDTO> findDTOByAbertaTrueAndIdGreaterThan(@Param("after") Long after, Pageable pageable);
+
+    // Streaming linha a linha (exige transação aberta e o Stream deve ser fechado)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "200"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_DTO + "ORDER BY v.id")
+    Stream<VagaDTO> streamAllDTO();
+
+    // Carga inicial do motor de recomendações
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT v.id AS id, a.id AS areaId, v.titulo AS titulo, v.requisitos AS requisitos, v.dataPublicacao AS dataPublicacao "
+            + "FROM VagaEstagio v LEFT JOIN v.area a WHERE v.aberta = true")
+    Stream<PerfilVaga> streamPerfisAbertas();
+
+    // Vagas abertas linha a linha (streaming da API e carga do índice de busca)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query(SELECT_DTO + "WHERE v.aberta = true ORDER BY v.id")
+    Stream<VagaDTO> streamDTOByAbertaTrue();
 }
@@ -5,24 +5,25 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
 /**
  * Filtro que extrai o token JWT do cabeçalho Authorization (Bearer ...) e popula
  * o SecurityContext com uma Authentication contendo a role presente no token.
  *
- * Implementação mínima: valida token via JwtProvider, extrai o claim "role"
- * e cria uma autoridade com prefixo ROLE_.
+ * O token é verificado uma única vez por requisição via {@link JwtProvider#parseToken(String)},
+ * que devolve id, email e role já extraídos (e serve tokens repetidos a partir do cache).
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /** Atributo da requisição com o {@link JwtPrincipal} autenticado. */
+    public static final String ATRIBUTO_PRINCIPAL = JwtPrincipal.class.getName();
+
     private final JwtProvider jwtProvider;
 
     public JwtAuthenticationFilter(JwtProvider jwtProvider) {
@@ -36,30 +37,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            try {
-                // Valida o token e popula a Authentication com a role encontrada.
-                // Observações importantes:
-                // - O token deve ser validado (assinatura + expiração) pelo JwtProvider.
-                // - O claim "role" é convertido para uma autoridade com prefixo "ROLE_"
-                //   para que o Spring Security possa avaliar `hasRole('EMPRESA')` etc.
-                // - Caso o token seja inválido, não lançamos exceção aqui: apenas
-                //   não autênticamos a requisição (segue como anonymous) e deixamos
-                //   o fluxo de autorização lidar com a falta de Authentication.
-                if (jwtProvider.validateToken(token)) {
-                    String role = jwtProvider.getRoleFromToken(token);
-                    if (role != null) {
-                        String authority = "ROLE_" + role.toUpperCase();
-                        UsernamePasswordAuthenticationToken auth =
-                                new UsernamePasswordAuthenticationToken(jwtProvider.getUserIdFromToken(token), null,
-                                        Collections.singletonList(new SimpleGrantedAuthority(authority)));
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                    }
-                }
-            } catch (Exception ex) {
-                // Em caso de token inválido, não autentica — segue como anonymous.
-                // Se necessário, aqui poderíamos registrar detalhes para auditoria, mas
-                // evitamos expor informações sensíveis nos logs.
-            }
+            // Verifica o token uma única vez (assinatura + expiração) e popula a Authentication.
+            // Observações importantes:
+            // - O JwtProvider devolve um principal imutável (id, email, role) e mantém
+            //   um cache de tokens já verificados, então tokens repetidos não refazem o HMAC.
+            // - O claim "role" vira uma autoridade com prefixo "ROLE_" para que o
+            //   Spring Security possa avaliar `hasRole('EMPRESA')` etc.
+            // - Caso o token seja inválido, não lançamos exceção aqui: apenas
+            //   não autênticamos a requisição (segue como anonymous) e deixamos
+            //   o fluxo de autorização lidar com a falta de Authentication.
+            // - O principal também fica num atributo da requisição: as métricas HTTP são
+            //   fechadas depois que o SecurityContext já foi limpo.
+            jwtProvider.parseToken(token)
+                    .filter(principal -> principal.getRole() != null)
+                    .ifPresent(principal -> {
+                        SecurityContextHolder.getContext().setAuthentication(
+                                new UsernamePasswordAuthenticationToken(principal.getId(), null, principal.getAuthorities()));
+                        request.setAttribute(ATRIBUTO_PRINCIPAL, principal);
+                    });
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,46 @@
+package br.mack.estagio.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Dados imutáveis extraídos de um token JWT já verificado.
+ *
+ * A autoridade ("ROLE_" + role em maiúsculas) é calculada uma única vez na criação,
+ * de forma que o filtro pode reutilizar a mesma instância em todas as requisições
+ * que apresentarem o mesmo token.
+ */
+public final class JwtPrincipal {
+
+    private final Long id;
+    private final String email;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtPrincipal(Long id, String email, String role) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.authorities = role == null
+                ? List.of()
+                : List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase()));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
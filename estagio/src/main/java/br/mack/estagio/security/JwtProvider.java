@@ -1,15 +1,20 @@
 package br.mack.estagio.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Provedor de JWT para autenticação segura.
@@ -19,6 +24,10 @@ import java.util.Map;
  * - Gerar tokens JWT com ID do usuário, email e role
  * - Validar tokens JWT
  * - Extrair informações (userID, email, role) de tokens válidos
+ * 
+ * A chave HMAC e o parser são construídos uma única vez na inicialização.
+ * {@link #parseToken(String)} verifica o token uma vez e devolve um {@link JwtPrincipal};
+ * tokens já verificados ficam em um cache limitado (chave = SHA-256 do token) até expirarem.
  */
 @Component
 public class JwtProvider {
@@ -29,6 +38,20 @@ public class JwtProvider {
     @Value("${jwt.expiration:86400000}")
     private int jwtExpirationMs;
 
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private VerifiedTokenCache cache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        cache = new VerifiedTokenCache(cacheMaxEntries);
+    }
+
     /**
      * Gera um novo token JWT para um usuário.
      * 
@@ -56,14 +79,43 @@ public class JwtProvider {
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()), SignatureAlgorithm.HS512)
+                .claims(claims)
+                .subject(subject)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
+    /**
+     * Verifica o token (assinatura + expiração) uma única vez e extrai ID, email e role.
+     * Tokens já verificados são servidos pelo cache sem nova verificação de assinatura.
+     * 
+     * @param token Token JWT recebido no header Authorization
+     * @return Principal imutável, ou vazio se o token for inválido, expirado ou mal formatado
+     */
+    public Optional<JwtPrincipal> parseToken(String token) {
+        long agora = System.currentTimeMillis();
+        ByteBuffer chave = VerifiedTokenCache.chave(token);
+        JwtPrincipal principal = cache.get(chave, agora);
+        if (principal != null) {
+            return Optional.of(principal);
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            principal = new JwtPrincipal(Long.parseLong(claims.getSubject()),
+                    claims.get("email", String.class), claims.get("role", String.class));
+            Date expiration = claims.getExpiration();
+            if (expiration != null) {
+                cache.put(chave, principal, expiration.getTime(), agora);
+            }
+            return Optional.of(principal);
+        } catch (Exception e) {
+            // Token inválido, expirado ou mal formatado
+            return Optional.empty();
+        }
+    }
+
     /**
      * Extrai o ID do usuário do token JWT.
      * 
@@ -104,16 +156,7 @@ public class JwtProvider {
      * @return true se o token é válido, false se expirou ou foi alterado
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            // Token inválido, expirado ou mal formatado
-            return false;
-        }
+        return parseToken(token).isPresent();
     }
 
     /**
@@ -123,10 +166,6 @@ public class JwtProvider {
      * @return Claims contendo subject, email, role, datas de emissão e expiração
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,45 @@
+package br.mack.estagio.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder que mede o tempo de cada operação no timer bcrypt
+ * (tag operacao=encode|matches), com histograma para percentis no Prometheus.
+ */
+public class PasswordEncoderMedido implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final Timer encode;
+    private final Timer matches;
+
+    public PasswordEncoderMedido(PasswordEncoder delegado, MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.encode = timer("encode", meterRegistry);
+        this.matches = timer("matches", meterRegistry);
+    }
+
+    private static Timer timer(String operacao, MeterRegistry meterRegistry) {
+        return Timer.builder("bcrypt")
+                .description("Tempo de cálculo/verificação de hash BCrypt")
+                .tag("operacao", operacao)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encode.record(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return matches.record(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
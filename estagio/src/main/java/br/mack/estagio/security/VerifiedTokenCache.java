@@ -0,0 +1,79 @@
+package br.mack.estagio.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache limitado de tokens cuja assinatura já foi verificada.
+ *
+ * A chave é o SHA-256 do token (o token em si não fica retido em memória) e cada
+ * entrada expira junto com o token. Quando o limite de entradas é atingido, as
+ * entradas expiradas são descartadas e, se ainda faltar espaço, ~10% de entradas
+ * arbitrárias são removidas de uma vez (custo amortizado) — um token que sai do
+ * cache apenas volta a ser verificado.
+ */
+class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private record Entrada(JwtPrincipal principal, long expiraEm) {
+    }
+
+    private final int maxEntradas;
+    private final Map<ByteBuffer, Entrada> entradas = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntradas) {
+        this.maxEntradas = maxEntradas;
+    }
+
+    JwtPrincipal get(ByteBuffer chave, long agora) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.expiraEm() <= agora) {
+            entradas.remove(chave, entrada);
+            return null;
+        }
+        return entrada.principal();
+    }
+
+    void put(ByteBuffer chave, JwtPrincipal principal, long expiraEm, long agora) {
+        if (maxEntradas <= 0) {
+            return;
+        }
+        if (entradas.size() >= maxEntradas) {
+            liberarEspaco(agora);
+        }
+        entradas.put(chave, new Entrada(principal, expiraEm));
+    }
+
+    int size() {
+        return entradas.size();
+    }
+
+    static ByteBuffer chave(String token) {
+        return ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void liberarEspaco(long agora) {
+        entradas.values().removeIf(entrada -> entrada.expiraEm() <= agora);
+        int alvo = maxEntradas - Math.max(1, maxEntradas / 10);
+        Iterator<ByteBuffer> it = entradas.keySet().iterator();
+        while (entradas.size() > alvo && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.Avaliacao;
+import br.mack.estagio.entities.ResumoAvaliacoesVaga;
+import br.mack.estagio.repositories.AvaliacaoRepository;
+import br.mack.estagio.repositories.ResumoAvaliacoesVagaRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Grava avaliações mantendo o {@link ResumoAvaliacoesVaga} da vaga na mesma transação.
+ *
+ * O resumo é ajustado com UPDATE relativo. Na primeira avaliação de uma vaga a linha
+ * ainda não existe: a vaga é travada e o resumo é criado agregando a tabela de avaliações,
+ * de modo que duas primeiras avaliações concorrentes não tentem inserir a mesma linha.
+ * Uma nova avaliação também grava o evento de gamificação do estudante (outbox).
+ */
+@Service
+public class AvaliacaoService {
+
+    @Autowired
+    private AvaliacaoRepository avaliacaoRepository;
+
+    @Autowired
+    private ResumoAvaliacoesVagaRepository resumoRepository;
+
+    @Autowired
+    private VagaEstagioRepository vagaEstagioRepository;
+
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+
+    @Autowired
+    private PontosService pontosService;
+
+    // Vagas avaliadas antes da existência do resumo recebem sua linha na inicialização
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void criarResumosAusentes() {
+        resumoRepository.criarResumosAusentes();
+    }
+
+    @Transactional
+    public Avaliacao criar(Avaliacao avaliacao) {
+        Avaliacao salva = avaliacaoRepository.saveAndFlush(avaliacao);
+        ajustarResumo(salva.getVaga().getId(), 0, salva.getNota());
+        ajustarRecomendacoesAposCommit(salva.getVaga().getId(), salva.getNota(), 1);
+        pontosService.registrarAvaliacao(salva.getEstudante().getId());
+        return salva;
+    }
+
+    /** Salva a avaliação; {@code notaAnterior} é a nota antes da alteração. */
+    @Transactional
+    public Avaliacao atualizar(Avaliacao avaliacao, int notaAnterior) {
+        Avaliacao salva = avaliacaoRepository.saveAndFlush(avaliacao);
+        if (salva.getNota() != notaAnterior) {
+            ajustarResumo(salva.getVaga().getId(), notaAnterior, salva.getNota());
+            ajustarRecomendacoesAposCommit(salva.getVaga().getId(), salva.getNota() - notaAnterior, 0);
+        }
+        return salva;
+    }
+
+    @Transactional
+    public void excluir(Avaliacao avaliacao) {
+        avaliacaoRepository.delete(avaliacao);
+        avaliacaoRepository.flush();
+        ajustarResumo(avaliacao.getVaga().getId(), avaliacao.getNota(), 0);
+        ajustarRecomendacoesAposCommit(avaliacao.getVaga().getId(), -avaliacao.getNota(), -1);
+    }
+
+    /** Resumo da vaga por chave primária; vazio (zeros) se ela ainda não foi avaliada. */
+    @Transactional(readOnly = true)
+    public ResumoAvaliacoesVaga resumo(Long vagaId) {
+        return resumoRepository.findById(vagaId).orElseGet(() -> {
+            ResumoAvaliacoesVaga vazio = new ResumoAvaliacoesVaga();
+            vazio.setVagaId(vagaId);
+            return vazio;
+        });
+    }
+
+    @Transactional
+    public void removerResumo(Long vagaId) {
+        resumoRepository.findById(vagaId).ifPresent(resumoRepository::delete);
+    }
+
+    private void ajustarResumo(Long vagaId, int notaAntiga, int notaNova) {
+        if (resumoRepository.ajustar(vagaId, notaAntiga, notaNova) > 0) {
+            return;
+        }
+        vagaEstagioRepository.findComLockById(vagaId);
+        if (resumoRepository.ajustar(vagaId, notaAntiga, notaNova) == 0) {
+            // A avaliação já foi gravada (flush), então o agregado a inclui
+            resumoRepository.criarAPartirDasAvaliacoes(vagaId);
+        }
+    }
+
+    // O motor de recomendações só enxerga avaliações confirmadas
+    private void ajustarRecomendacoesAposCommit(Long vagaId, long deltaSoma, long deltaTotal) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recomendacaoService.ajustarAvaliacoes(vagaId, deltaSoma, deltaTotal);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recomendacaoService.ajustarAvaliacoes(vagaId, deltaSoma, deltaTotal);
+            }
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.ResultadoBuscaVagaDTO;
+import br.mack.estagio.dto.VagaDTO;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.services.busca.IndiceInvertido;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual de vagas abertas sobre um índice invertido em memória.
+ *
+ * Campos indexados (peso): titulo (3), localizacao (2), requisitos (1.5), descricao (1).
+ * O índice é montado na inicialização a partir das vagas abertas e atualizado pelo
+ * VagaEstagioController em create/update/encerrar/delete; vagas encerradas saem do índice.
+ * As respostas são montadas a partir de um resumo em memória, sem acessar o banco.
+ */
+@Service
+public class BuscaVagasService {
+
+    public static final int LIMITE_MAXIMO = 100;
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+    private final Map<Long, ResultadoBuscaVagaDTO> resumos = new ConcurrentHashMap<>();
+
+    @Autowired
+    private VagaEstagioRepository vagaEstagioRepository;
+
+    /**
+     * Reconstrói o índice com todas as vagas abertas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        indice.limpar();
+        resumos.clear();
+        try (Stream<VagaDTO> vagas = vagaEstagioRepository.streamDTOByAbertaTrue()) {
+            vagas.forEach(vaga -> indexar(vaga.getId(), vaga.getTitulo(), vaga.getDescricao(), vaga.getRequisitos(),
+                    vaga.getLocalizacao(), vaga.getModalidade(), vaga.getAreaId(), vaga.getEmpresaId()));
+        }
+    }
+
+    /**
+     * Atualiza o índice após a vaga ser salva: indexa se estiver aberta, remove se encerrada.
+     */
+    public void atualizar(VagaEstagio vaga) {
+        if (vaga.getId() == null) {
+            return;
+        }
+        if (!vaga.isAberta()) {
+            remover(vaga.getId());
+            return;
+        }
+        indexar(vaga.getId(), vaga.getTitulo(), vaga.getDescricao(), vaga.getRequisitos(), vaga.getLocalizacao(),
+                vaga.getModalidade(),
+                vaga.getArea() != null ? vaga.getArea().getId() : null,
+                vaga.getEmpresa() != null ? vaga.getEmpresa().getId() : null);
+    }
+
+    public void remover(Long vagaId) {
+        indice.remover(vagaId);
+        resumos.remove(vagaId);
+    }
+
+    /**
+     * Busca vagas abertas por texto livre, ordenadas por relevância.
+     *
+     * @param consulta Texto digitado (acentos e maiúsculas são ignorados; a última palavra casa por prefixo)
+     * @param limite   Quantidade máxima de resultados (até {@link #LIMITE_MAXIMO})
+     */
+    public List<ResultadoBuscaVagaDTO> buscar(String consulta, int limite) {
+        List<IndiceInvertido.Resultado> resultados = indice.buscar(consulta, Math.min(limite, LIMITE_MAXIMO));
+        List<ResultadoBuscaVagaDTO> vagas = new ArrayList<>(resultados.size());
+        for (IndiceInvertido.Resultado resultado : resultados) {
+            ResultadoBuscaVagaDTO resumo = resumos.get(resultado.chave());
+            if (resumo != null) {
+                vagas.add(new ResultadoBuscaVagaDTO(resumo.getId(), resumo.getTitulo(), resumo.getLocalizacao(),
+                        resumo.getModalidade(), resumo.getAreaId(), resumo.getEmpresaId(), resultado.pontuacao()));
+            }
+        }
+        return vagas;
+    }
+
+    public int totalIndexadas() {
+        return indice.tamanho();
+    }
+
+    private void indexar(Long id, String titulo, String descricao, String requisitos, String localizacao,
+                         String modalidade, Long areaId, Long empresaId) {
+        resumos.put(id, new ResultadoBuscaVagaDTO(id, titulo, localizacao, modalidade, areaId, empresaId, 0f));
+        indice.indexar(id, List.of(
+                new IndiceInvertido.Campo(titulo, 3f),
+                new IndiceInvertido.Campo(localizacao, 2f),
+                new IndiceInvertido.Campo(requisitos, 1.5f),
+                new IndiceInvertido.Campo(descricao, 1f)));
+    }
+}
@@ -0,0 +1,171 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.InscricaoDTO;
+import br.mack.estagio.entities.ChaveIdempotencia;
+import br.mack.estagio.repositories.ChaveIdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Respostas já enviadas por {@code Idempotency-Key} na criação de inscrições.
+ *
+ * Cada resposta é gravada em {@link ChaveIdempotencia} na transação da inscrição e, após o
+ * commit, guardada em um mapa limitado ({@code idempotencia.max-entradas}): uma nova
+ * tentativa com a mesma chave é respondida da memória sem consultar o banco. Fora do mapa
+ * (limite atingido, restart ou outra instância) a tentativa bate na chave primária da
+ * tabela e a resposta gravada é lida de lá. As chaves valem por
+ * {@code idempotencia.retencao-horas}; a mesma chave com outro estudante ou vaga é rejeitada (422).
+ */
+@Service
+public class ChavesIdempotencia {
+
+    private record Entrada(Long estudanteId, Long vagaId, InscricaoDTO resposta, long expiraEm) {
+    }
+
+    private final ChaveIdempotenciaRepository repository;
+    private final ObjectMapper objectMapper;
+    private final int maxEntradas;
+    private final Duration retencao;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public ChavesIdempotencia(ChaveIdempotenciaRepository repository,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotencia.max-entradas:10000}") int maxEntradas,
+                              @Value("${idempotencia.retencao-horas:24}") long retencaoHoras) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.maxEntradas = maxEntradas;
+        this.retencao = Duration.ofHours(retencaoHoras);
+    }
+
+    /**
+     * @throws ResponseStatusException 400 se a chave for vazia ou maior que o tamanho da coluna
+     */
+    public static void validar(String chave) {
+        if (chave.isBlank() || chave.length() > ChaveIdempotencia.TAMANHO_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key deve ter entre 1 e " + ChaveIdempotencia.TAMANHO_MAXIMO + " caracteres.");
+        }
+    }
+
+    /**
+     * Resposta guardada em memória para a chave, sem acessar o banco.
+     *
+     * @throws ResponseStatusException 422 se a chave foi usada com outro estudante ou vaga
+     */
+    public Optional<InscricaoDTO> emMemoria(String chave, Long estudanteId, Long vagaId) {
+        Entrada entrada = entradas.get(chave);
+        if (entrada == null) {
+            return Optional.empty();
+        }
+        if (entrada.expiraEm() <= System.currentTimeMillis()) {
+            entradas.remove(chave, entrada);
+            return Optional.empty();
+        }
+        verificarRequisicao(entrada.estudanteId(), entrada.vagaId(), estudanteId, vagaId);
+        return Optional.of(entrada.resposta());
+    }
+
+    /**
+     * Resposta gravada no banco para a chave (fora da memória ou gravada por outra instância).
+     *
+     * @throws ResponseStatusException 422 se a chave foi usada com outro estudante ou vaga
+     */
+    @Transactional(readOnly = true)
+    public Optional<InscricaoDTO> persistida(String chave, Long estudanteId, Long vagaId) {
+        return repository.findById(chave).map(gravada -> {
+            verificarRequisicao(gravada.getEstudanteId(), gravada.getVagaId(), estudanteId, vagaId);
+            InscricaoDTO resposta = ler(gravada.getResposta());
+            guardar(chave, estudanteId, vagaId, resposta, gravada.getCriadoEm());
+            return resposta;
+        });
+    }
+
+    /**
+     * Grava a resposta da chave na transação atual; entra na memória após o commit.
+     * Se a chave já existir, a violação da chave primária desfaz a transação inteira.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String chave, Long estudanteId, Long vagaId, InscricaoDTO resposta) {
+        Instant criadoEm = Instant.now();
+        repository.inserir(chave, estudanteId, vagaId, escrever(resposta), criadoEm);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                guardar(chave, estudanteId, vagaId, resposta, criadoEm);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${idempotencia.limpeza.intervalo-ms:3600000}",
+            initialDelayString = "${idempotencia.limpeza.intervalo-ms:3600000}")
+    @Transactional
+    public void removerExpiradas() {
+        repository.deleteByCriadoEmBefore(Instant.now().minus(retencao));
+        long agora = System.currentTimeMillis();
+        entradas.values().removeIf(entrada -> entrada.expiraEm() <= agora);
+    }
+
+    private static void verificarRequisicao(Long estudanteOriginal, Long vagaOriginal, Long estudanteId, Long vagaId) {
+        if (!Objects.equals(estudanteOriginal, estudanteId) || !Objects.equals(vagaOriginal, vagaId)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key já utilizada em outra requisição.");
+        }
+    }
+
+    private void guardar(String chave, Long estudanteId, Long vagaId, InscricaoDTO resposta, Instant criadoEm) {
+        if (maxEntradas <= 0) {
+            return;
+        }
+        if (entradas.size() >= maxEntradas) {
+            liberarEspaco();
+        }
+        entradas.put(chave, new Entrada(estudanteId, vagaId, resposta, criadoEm.plus(retencao).toEpochMilli()));
+    }
+
+    // Como no cache de tokens: descarta as expiradas e, se faltar espaço, ~10% arbitrárias;
+    // uma chave que sai da memória continua valendo pelo banco
+    private void liberarEspaco() {
+        long agora = System.currentTimeMillis();
+        entradas.values().removeIf(entrada -> entrada.expiraEm() <= agora);
+        int alvo = maxEntradas - Math.max(1, maxEntradas / 10);
+        Iterator<String> it = entradas.keySet().iterator();
+        while (entradas.size() > alvo && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private String escrever(InscricaoDTO resposta) {
+        try {
+            return objectMapper.writeValueAsString(resposta);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private InscricaoDTO ler(String resposta) {
+        try {
+            return objectMapper.readValue(resposta, InscricaoDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
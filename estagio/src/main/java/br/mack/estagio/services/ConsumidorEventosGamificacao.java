@@ -0,0 +1,152 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.EventoGamificacao;
+import br.mack.estagio.repositories.EventoGamificacaoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consome o outbox de gamificação ({@link EventoGamificacao}) em lotes.
+ *
+ * A cada {@code gamificacao.consumidor.intervalo-ms}, lê até {@code gamificacao.consumidor.lote}
+ * eventos (os mais antigos primeiro), aplica-os com {@link PontosService#aplicar} e os remove,
+ * tudo na mesma transação; repete enquanto houver lotes cheios.
+ *
+ * Sem eventos novos o banco não é consultado: o commit de cada evento publicado nesta
+ * instância marca a fila como pendente. Uma varredura a cada
+ * {@code gamificacao.consumidor.varredura-ms} (e a primeira execução) cobre eventos gravados
+ * por outras instâncias ou deixados por um restart.
+ *
+ * Métricas:
+ * - gamificacao.eventos.processados (tag tipo): vazão
+ * - gamificacao.eventos.atraso: tempo entre a gravação do evento e a aplicação dos pontos
+ * - gamificacao.eventos.atraso.atual: idade do evento mais antigo no último lote (0 sem pendências)
+ * - gamificacao.lote.duracao e gamificacao.lote.tamanho: custo e tamanho de cada lote
+ */
+@Component
+public class ConsumidorEventosGamificacao {
+
+    private final EventoGamificacaoRepository eventoRepository;
+    private final PontosService pontosService;
+    private final TransactionTemplate transacao;
+    private final int tamanhoLote;
+
+    private final Map<EventoGamificacao.Tipo, Counter> processados = new EnumMap<>(EventoGamificacao.Tipo.class);
+    private final Timer atraso;
+    private final Timer duracaoLote;
+    private final DistributionSummary tamanhoLoteAplicado;
+    private final AtomicLong atrasoAtualMs = new AtomicLong();
+
+    private final long intervaloVarreduraMs;
+    private final AtomicBoolean pendentes = new AtomicBoolean(true);
+    private volatile long ultimaVarredura;
+
+    public ConsumidorEventosGamificacao(EventoGamificacaoRepository eventoRepository,
+                                        PontosService pontosService,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${gamificacao.consumidor.lote:500}") int tamanhoLote,
+                                        @Value("${gamificacao.consumidor.varredura-ms:60000}") long intervaloVarreduraMs) {
+        this.eventoRepository = eventoRepository;
+        this.pontosService = pontosService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloVarreduraMs = intervaloVarreduraMs;
+        for (EventoGamificacao.Tipo tipo : EventoGamificacao.Tipo.values()) {
+            processados.put(tipo, Counter.builder("gamificacao.eventos.processados")
+                    .description("Eventos de gamificação aplicados")
+                    .tag("tipo", tipo.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.atraso = Timer.builder("gamificacao.eventos.atraso")
+                .description("Tempo entre a gravação do evento e a aplicação dos pontos")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.duracaoLote = Timer.builder("gamificacao.lote.duracao")
+                .description("Duração da transação de cada lote de eventos")
+                .register(meterRegistry);
+        this.tamanhoLoteAplicado = DistributionSummary.builder("gamificacao.lote.tamanho")
+                .description("Eventos por lote aplicado")
+                .register(meterRegistry);
+        Gauge.builder("gamificacao.eventos.atraso.atual", atrasoAtualMs, valor -> valor.get() / 1000.0)
+                .description("Idade do evento mais antigo do último lote, em segundos")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener
+    public void aoPublicar(EventoGamificacao evento) {
+        pendentes.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${gamificacao.consumidor.intervalo-ms:500}",
+            initialDelayString = "${gamificacao.consumidor.intervalo-ms:500}")
+    public void drenar() {
+        long agora = System.currentTimeMillis();
+        if (pendentes.getAndSet(false) || agora - ultimaVarredura >= intervaloVarreduraMs) {
+            ultimaVarredura = agora;
+            processarPendentes();
+        }
+    }
+
+    /**
+     * Aplica todos os eventos pendentes, lote a lote.
+     * Sincronizado: o agendamento e chamadas diretas (testes) não processam o mesmo lote em paralelo.
+     *
+     * @return Quantidade de eventos aplicados
+     */
+    public synchronized int processarPendentes() {
+        int total = 0;
+        List<EventoGamificacao> lote;
+        do {
+            Timer.Sample inicio = Timer.start();
+            lote = transacao.execute(status -> processarLote());
+            inicio.stop(duracaoLote);
+            registrar(lote);
+            total += lote.size();
+        } while (lote.size() == tamanhoLote);
+        return total;
+    }
+
+    private List<EventoGamificacao> processarLote() {
+        List<EventoGamificacao> eventos = eventoRepository.findLote(PageRequest.ofSize(tamanhoLote));
+        if (!eventos.isEmpty()) {
+            pontosService.aplicar(eventos);
+            eventoRepository.deleteByIdIn(eventos.stream().map(EventoGamificacao::getId).toList());
+        }
+        return eventos;
+    }
+
+    // Métricas só depois do commit: um lote que falhou volta a ser lido na próxima execução
+    private void registrar(List<EventoGamificacao> lote) {
+        if (lote.isEmpty()) {
+            atrasoAtualMs.set(0);
+            return;
+        }
+        Instant agora = Instant.now();
+        atrasoAtualMs.set(Duration.between(lote.get(0).getCriadoEm(), agora).toMillis());
+        for (EventoGamificacao evento : lote) {
+            processados.get(evento.getTipo()).increment();
+            atraso.record(Duration.between(evento.getCriadoEm(), agora));
+        }
+        tamanhoLoteAplicado.record(lote.size());
+    }
+}
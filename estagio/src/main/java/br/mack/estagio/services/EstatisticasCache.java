@@ -0,0 +1,58 @@
+package br.mack.estagio.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Acertos e faltas do cache de segundo nível e do cache de consultas do Hibernate,
+ * a partir das estatísticas da SessionFactory ({@code hibernate.generate_statistics}).
+ * Os contadores são acumulados desde a inicialização.
+ */
+@Service
+public class EstatisticasCache {
+
+    private final Statistics statistics;
+
+    public EstatisticasCache(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * @return "regioes" (por região: acertos, faltas, inclusões, elementos e taxa de acerto),
+     *         "consultas" (cache de consultas) e "segundoNivel" (total de todas as regiões)
+     */
+    public Map<String, Object> resumo() {
+        Map<String, Object> regioes = new TreeMap<>();
+        for (String regiao : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics estatisticas = statistics.getCacheRegionStatistics(regiao);
+            if (estatisticas != null) {
+                Map<String, Object> dados = contadores(estatisticas.getHitCount(), estatisticas.getMissCount(), estatisticas.getPutCount());
+                dados.put("elementos", estatisticas.getElementCountInMemory());
+                regioes.put(regiao, dados);
+            }
+        }
+        Map<String, Object> resumo = new LinkedHashMap<>();
+        resumo.put("segundoNivel", contadores(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        resumo.put("consultas", contadores(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        resumo.put("regioes", regioes);
+        return resumo;
+    }
+
+    private static Map<String, Object> contadores(long acertos, long faltas, long inclusoes) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("acertos", acertos);
+        dados.put("faltas", faltas);
+        dados.put("inclusoes", inclusoes);
+        dados.put("taxaAcerto", acertos + faltas == 0 ? 0.0 : (double) acertos / (acertos + faltas));
+        return dados;
+    }
+}
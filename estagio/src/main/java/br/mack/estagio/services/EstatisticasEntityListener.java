@@ -0,0 +1,122 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.VagaEstagio;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+
+/**
+ * Entity listener JPA que mantém o {@link EstatisticasPortal} atualizado.
+ *
+ * Instanciado pelo Hibernate através do container de beans do Spring, por isso
+ * recebe o componente de estatísticas pelo construtor.
+ *
+ * Para vagas, o estado persistido de {@code aberta} e da área é guardado em campos
+ * transientes no {@code @PostLoad}/{@code @PostPersist}, permitindo identificar no
+ * {@code @PostUpdate} se a vaga mudou de situação ou de área.
+ *
+ * Os callbacks rodam no flush, antes do commit: dentro de uma transação as alterações
+ * dos contadores só são aplicadas depois do commit, e uma escrita revertida não os altera.
+ */
+public class EstatisticasEntityListener {
+
+    private final EstatisticasPortal estatisticas;
+
+    public EstatisticasEntityListener(EstatisticasPortal estatisticas) {
+        this.estatisticas = estatisticas;
+    }
+
+    @PostPersist
+    public void aposInserir(Object entidade) {
+        if (entidade instanceof Empresa) {
+            aposCommit(() -> estatisticas.empresaAdicionada(1));
+        } else if (entidade instanceof Estudante) {
+            aposCommit(() -> estatisticas.estudanteAdicionado(1));
+        } else if (entidade instanceof VagaEstagio vaga) {
+            boolean aberta = vaga.isAberta();
+            Long areaId = areaId(vaga);
+            aposCommit(() -> estatisticas.vagaAdicionada(aberta, areaId, 1));
+            guardarEstado(vaga);
+        } else if (entidade instanceof AreaInteresse area) {
+            renomear(area);
+        }
+    }
+
+    @PostLoad
+    public void aposCarregar(Object entidade) {
+        if (entidade instanceof VagaEstagio vaga) {
+            guardarEstado(vaga);
+        }
+    }
+
+    @PostUpdate
+    public void aposAtualizar(Object entidade) {
+        if (entidade instanceof VagaEstagio vaga && vaga.getAbertaPersistida() != null) {
+            Long areaAtual = areaId(vaga);
+            boolean abertaAnterior = vaga.getAbertaPersistida();
+            Long areaAnterior = vaga.getAreaIdPersistida();
+            boolean abertaAtual = vaga.isAberta();
+            if (abertaAnterior != abertaAtual || !Objects.equals(areaAnterior, areaAtual)) {
+                aposCommit(() -> {
+                    estatisticas.vagaAdicionada(abertaAnterior, areaAnterior, -1);
+                    estatisticas.vagaAdicionada(abertaAtual, areaAtual, 1);
+                });
+            }
+            guardarEstado(vaga);
+        } else if (entidade instanceof AreaInteresse area) {
+            renomear(area);
+        }
+    }
+
+    @PostRemove
+    public void aposRemover(Object entidade) {
+        if (entidade instanceof Empresa) {
+            aposCommit(() -> estatisticas.empresaAdicionada(-1));
+        } else if (entidade instanceof Estudante) {
+            aposCommit(() -> estatisticas.estudanteAdicionado(-1));
+        } else if (entidade instanceof VagaEstagio vaga) {
+            boolean aberta = vaga.getAbertaPersistida() != null ? vaga.getAbertaPersistida() : vaga.isAberta();
+            Long areaId = vaga.getAbertaPersistida() != null ? vaga.getAreaIdPersistida() : areaId(vaga);
+            aposCommit(() -> estatisticas.vagaAdicionada(aberta, areaId, -1));
+        } else if (entidade instanceof AreaInteresse area) {
+            Long areaId = area.getId();
+            aposCommit(() -> estatisticas.areaRemovida(areaId));
+        }
+    }
+
+    private void renomear(AreaInteresse area) {
+        Long areaId = area.getId();
+        String nome = area.getNome();
+        aposCommit(() -> estatisticas.areaRenomeada(areaId, nome));
+    }
+
+    private static void aposCommit(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+
+    private static void guardarEstado(VagaEstagio vaga) {
+        vaga.setAbertaPersistida(vaga.isAberta());
+        vaga.setAreaIdPersistida(areaId(vaga));
+    }
+
+    private static Long areaId(VagaEstagio vaga) {
+        return vaga.getArea() != null ? vaga.getArea().getId() : null;
+    }
+}
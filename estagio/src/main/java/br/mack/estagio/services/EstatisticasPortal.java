@@ -0,0 +1,110 @@
+package br.mack.estagio.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores em memória usados pelo dashboard do administrador.
+ *
+ * Os valores são mantidos incrementalmente pelo {@link EstatisticasEntityListener}
+ * (persist, remove e mudança de {@code aberta}/área das vagas, aplicados após o commit)
+ * e recalculados a partir do banco pelo {@link ReconciliacaoEstatisticas} na inicialização
+ * e periodicamente, o que corrige eventuais desvios (ex.: incrementos perdidos durante
+ * uma reconciliação ou alterações feitas fora do JPA).
+ *
+ * Leituras são O(1) (O(áreas) para a distribuição por área) e não tocam o banco.
+ */
+@Component
+public class EstatisticasPortal {
+
+    private final LongAdder totalEmpresas = new LongAdder();
+    private final LongAdder totalEstudantes = new LongAdder();
+    private final LongAdder vagasAbertas = new LongAdder();
+    private final LongAdder vagasEncerradas = new LongAdder();
+    private final Map<Long, LongAdder> vagasPorArea = new ConcurrentHashMap<>();
+    private final Map<Long, String> nomesAreas = new ConcurrentHashMap<>();
+
+    public long getTotalEmpresas() {
+        return totalEmpresas.sum();
+    }
+
+    public long getTotalEstudantes() {
+        return totalEstudantes.sum();
+    }
+
+    public long getVagasAbertas() {
+        return vagasAbertas.sum();
+    }
+
+    public long getVagasEncerradas() {
+        return vagasEncerradas.sum();
+    }
+
+    /**
+     * Distribuição de vagas por área no mesmo formato da consulta GROUP BY original:
+     * uma lista de pares [nome da área, quantidade].
+     */
+    public List<Object[]> getVagasPorArea() {
+        List<Object[]> resultado = new ArrayList<>(vagasPorArea.size());
+        vagasPorArea.forEach((areaId, contador) -> {
+            long total = contador.sum();
+            if (total > 0) {
+                resultado.add(new Object[]{nomesAreas.get(areaId), total});
+            }
+        });
+        return resultado;
+    }
+
+    void empresaAdicionada(long delta) {
+        totalEmpresas.add(delta);
+    }
+
+    void estudanteAdicionado(long delta) {
+        totalEstudantes.add(delta);
+    }
+
+    void vagaAdicionada(boolean aberta, Long areaId, long delta) {
+        (aberta ? vagasAbertas : vagasEncerradas).add(delta);
+        if (areaId != null) {
+            vagasPorArea.computeIfAbsent(areaId, id -> new LongAdder()).add(delta);
+        }
+    }
+
+    void areaRenomeada(Long areaId, String nome) {
+        if (areaId != null && nome != null) {
+            nomesAreas.put(areaId, nome);
+        }
+    }
+
+    void areaRemovida(Long areaId) {
+        nomesAreas.remove(areaId);
+        vagasPorArea.remove(areaId);
+    }
+
+    /**
+     * Substitui todos os contadores pelos valores recalculados no banco.
+     * Incrementos concorrentes durante a troca podem se perder; a próxima
+     * reconciliação os corrige.
+     */
+    void reconciliar(long empresas, long estudantes, long abertas, long encerradas,
+                     Map<Long, Long> porArea, Map<Long, String> nomes) {
+        redefinir(totalEmpresas, empresas);
+        redefinir(totalEstudantes, estudantes);
+        redefinir(vagasAbertas, abertas);
+        redefinir(vagasEncerradas, encerradas);
+        nomesAreas.putAll(nomes);
+        nomesAreas.keySet().retainAll(nomes.keySet());
+        vagasPorArea.keySet().retainAll(porArea.keySet());
+        porArea.forEach((areaId, total) -> redefinir(vagasPorArea.computeIfAbsent(areaId, id -> new LongAdder()), total));
+    }
+
+    private static void redefinir(LongAdder contador, long valor) {
+        contador.reset();
+        contador.add(valor);
+    }
+}
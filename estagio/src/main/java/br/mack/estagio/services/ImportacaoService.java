@@ -0,0 +1,487 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.ErroImportacaoDTO;
+import br.mack.estagio.dto.ResultadoImportacaoDTO;
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.services.importacao.LeitorRegistros;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em lote de estudantes, empresas e vagas a partir de CSV ou JSONL.
+ *
+ * Fluxo:
+ * 1. O arquivo é lido registro a registro ({@link LeitorRegistros}), sem carregá-lo inteiro
+ * 2. Unicidade (CPF, CNPJ, email) é verificada contra conjuntos em memória carregados com
+ *    uma consulta por chave no início, que também recebem as chaves do próprio arquivo
+ * 3. A cada {@code importacao.lote} registros válidos, as senhas são criptografadas em
+ *    paralelo e o lote é gravado em uma transação; com ids de sequência (pooled) o
+ *    Hibernate agrupa os INSERTs em batches JDBC ({@code hibernate.jdbc.batch_size})
+ * 4. Se o lote falhar no banco, ele é regravado registro a registro para isolar as linhas com erro
+ *
+ * Registros inválidos não interrompem a importação: voltam no resultado com linha e motivo.
+ * Ranking, busca e recomendações em memória são atualizados após cada lote gravado.
+ */
+@Service
+public class ImportacaoService {
+
+    public enum Tipo {
+        ESTUDANTES, EMPRESAS, VAGAS;
+
+        public static Tipo de(String valor) {
+            for (Tipo tipo : values()) {
+                if (tipo.name().equalsIgnoreCase(valor)) {
+                    return tipo;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de importação inválido: " + valor);
+        }
+    }
+
+    public enum Formato { CSV, JSONL }
+
+    private static final int TAMANHO_MAXIMO_MENSAGEM = 200;
+
+    @Autowired
+    private EstudanteRepository estudanteRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private AreaInteresseRepository areaInteresseRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private BuscaVagasService buscaVagasService;
+
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transacao;
+    private final ExecutorService hashExecutor;
+    private final int tamanhoLote;
+    private final int maximoErros;
+
+    public ImportacaoService(PlatformTransactionManager transactionManager,
+                             @Value("${importacao.lote:500}") int tamanhoLote,
+                             @Value("${importacao.max-erros:1000}") int maximoErros,
+                             @Value("${importacao.hash-threads:0}") int hashThreads) {
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.maximoErros = maximoErros;
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "importacao-hash-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        hashExecutor.shutdown();
+    }
+
+    /**
+     * Importa os registros do arquivo.
+     *
+     * @param tipo    Entidade a importar
+     * @param formato CSV (com cabeçalho) ou JSONL
+     * @param reader  Conteúdo do arquivo (lido incrementalmente e fechado ao final)
+     * @return Contagens e erros por linha
+     */
+    public ResultadoImportacaoDTO importar(Tipo tipo, Formato formato, Reader reader) {
+        Importador<?> importador = switch (tipo) {
+            case ESTUDANTES -> new ImportadorEstudantes();
+            case EMPRESAS -> new ImportadorEmpresas();
+            case VAGAS -> new ImportadorVagas();
+        };
+        ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+        resultado.setTipo(tipo.name().toLowerCase());
+        try (LeitorRegistros leitor = formato == Formato.CSV
+                ? LeitorRegistros.csv(reader)
+                : LeitorRegistros.jsonl(reader, objectMapper)) {
+            importador.processar(leitor, resultado);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return resultado;
+    }
+
+    private void registrarErro(ResultadoImportacaoDTO resultado, long linha, String mensagem) {
+        resultado.setTotalErros(resultado.getTotalErros() + 1);
+        if (resultado.getErros().size() < maximoErros) {
+            resultado.getErros().add(new ErroImportacaoDTO(linha, mensagem));
+        }
+    }
+
+    /**
+     * Conversão de um registro em entidade e ciclo de gravação em lotes, comum aos três tipos.
+     */
+    private abstract class Importador<T> {
+
+        /** Valida o registro e cria a entidade; lança IllegalArgumentException com o motivo. */
+        abstract T criar(Map<String, String> campos);
+
+        /** Preparação do lote antes da transação (ex.: criptografia das senhas). */
+        void antesDeGravar(List<T> lote) {
+        }
+
+        /** Atualiza as estruturas em memória após o commit. */
+        abstract void aposGravar(T entidade);
+
+        /** Descarta o id e as coleções gerenciadas atribuídos em uma tentativa que sofreu rollback. */
+        abstract void prepararNovaTentativa(T entidade);
+
+        void processar(LeitorRegistros leitor, ResultadoImportacaoDTO resultado) {
+            List<T> lote = new ArrayList<>(tamanhoLote);
+            List<Long> linhas = new ArrayList<>(tamanhoLote);
+            while (leitor.hasNext()) {
+                LeitorRegistros.Registro registro = leitor.next();
+                resultado.setLinhasLidas(resultado.getLinhasLidas() + 1);
+                if (registro.erro() != null) {
+                    registrarErro(resultado, registro.linha(), registro.erro());
+                    continue;
+                }
+                try {
+                    lote.add(criar(registro.campos()));
+                    linhas.add(registro.linha());
+                } catch (IllegalArgumentException e) {
+                    registrarErro(resultado, registro.linha(), e.getMessage());
+                }
+                if (lote.size() >= tamanhoLote) {
+                    gravar(lote, linhas, resultado);
+                    lote.clear();
+                    linhas.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravar(lote, linhas, resultado);
+            }
+        }
+
+        private void gravar(List<T> lote, List<Long> linhas, ResultadoImportacaoDTO resultado) {
+            antesDeGravar(lote);
+            try {
+                transacao.executeWithoutResult(status -> {
+                    lote.forEach(entityManager::persist);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                resultado.setImportados(resultado.getImportados() + lote.size());
+                lote.forEach(this::aposGravar);
+            } catch (DataAccessException | PersistenceException e) {
+                // Regrava um a um para descobrir quais linhas o banco rejeita
+                for (int i = 0; i < lote.size(); i++) {
+                    T entidade = lote.get(i);
+                    prepararNovaTentativa(entidade);
+                    try {
+                        transacao.executeWithoutResult(status -> {
+                            entityManager.persist(entidade);
+                            entityManager.flush();
+                            entityManager.clear();
+                        });
+                        resultado.setImportados(resultado.getImportados() + 1);
+                        aposGravar(entidade);
+                    } catch (DataAccessException | PersistenceException erro) {
+                        prepararNovaTentativa(entidade);
+                        registrarErro(resultado, linhas.get(i), "Erro ao gravar: " + causa(erro));
+                    }
+                }
+            }
+        }
+    }
+
+    private final class ImportadorEstudantes extends Importador<Estudante> {
+
+        private final Set<String> cpfs = new HashSet<>(estudanteRepository.findAllCpfs());
+        private final Set<String> emails = new HashSet<>(estudanteRepository.findAllEmails());
+        private final Map<Long, AreaInteresse> areas = carregarAreas();
+
+        @Override
+        Estudante criar(Map<String, String> campos) {
+            Estudante estudante = new Estudante();
+            estudante.setNome(obrigatorio(campos, "nome"));
+            estudante.setCpf(obrigatorio(campos, "cpf"));
+            estudante.setEmail(email(campos));
+            estudante.setSenha(obrigatorio(campos, "senha"));
+            estudante.setCurso(campos.get("curso"));
+            estudante.setTelefone(campos.get("telefone"));
+            estudante.setAreasInteresse(areas(campos.get("areasInteresse"), areas));
+            if (cpfs.contains(estudante.getCpf())) {
+                throw new IllegalArgumentException("CPF já cadastrado.");
+            }
+            if (emails.contains(estudante.getEmail())) {
+                throw new IllegalArgumentException("Email já cadastrado.");
+            }
+            cpfs.add(estudante.getCpf());
+            emails.add(estudante.getEmail());
+            return estudante;
+        }
+
+        @Override
+        void antesDeGravar(List<Estudante> lote) {
+            criptografarSenhas(lote, Estudante::getSenha, Estudante::setSenha);
+        }
+
+        @Override
+        void aposGravar(Estudante estudante) {
+            rankingService.registrar(estudante);
+            recomendacaoService.atualizarEstudante(estudante);
+        }
+
+        @Override
+        void prepararNovaTentativa(Estudante estudante) {
+            estudante.setId(null);
+            estudante.setAreasInteresse(new HashSet<>(estudante.getAreasInteresse()));
+        }
+    }
+
+    private final class ImportadorEmpresas extends Importador<Empresa> {
+
+        private final Set<String> cnpjs = new HashSet<>(empresaRepository.findAllCnpjs());
+        private final Set<String> emails = new HashSet<>(empresaRepository.findAllEmails());
+        private final Map<Long, AreaInteresse> areas = carregarAreas();
+
+        @Override
+        Empresa criar(Map<String, String> campos) {
+            Empresa empresa = new Empresa();
+            empresa.setNome(obrigatorio(campos, "nome"));
+            empresa.setCnpj(obrigatorio(campos, "cnpj"));
+            empresa.setEmail(email(campos));
+            empresa.setSenha(obrigatorio(campos, "senha"));
+            empresa.setTelefone(campos.get("telefone"));
+            empresa.setEndereco(campos.get("endereco"));
+            empresa.setAreasAtuacao(areas(campos.get("areasAtuacao"), areas));
+            if (cnpjs.contains(empresa.getCnpj())) {
+                throw new IllegalArgumentException("CNPJ já cadastrado.");
+            }
+            if (emails.contains(empresa.getEmail())) {
+                throw new IllegalArgumentException("Email já cadastrado.");
+            }
+            cnpjs.add(empresa.getCnpj());
+            emails.add(empresa.getEmail());
+            return empresa;
+        }
+
+        @Override
+        void antesDeGravar(List<Empresa> lote) {
+            criptografarSenhas(lote, Empresa::getSenha, Empresa::setSenha);
+        }
+
+        @Override
+        void aposGravar(Empresa empresa) {
+            // Empresas não participam das estruturas em memória (contadores vêm do entity listener)
+        }
+
+        @Override
+        void prepararNovaTentativa(Empresa empresa) {
+            empresa.setId(null);
+            empresa.setAreasAtuacao(new HashSet<>(empresa.getAreasAtuacao()));
+        }
+    }
+
+    private final class ImportadorVagas extends Importador<VagaEstagio> {
+
+        private final Map<Long, Empresa> empresas = carregarEmpresas();
+        private final Map<Long, AreaInteresse> areas = carregarAreas();
+
+        @Override
+        VagaEstagio criar(Map<String, String> campos) {
+            VagaEstagio vaga = new VagaEstagio();
+            vaga.setTitulo(obrigatorio(campos, "titulo"));
+            vaga.setDescricao(campos.get("descricao"));
+            vaga.setLocalizacao(campos.get("localizacao"));
+            vaga.setModalidade(campos.get("modalidade"));
+            vaga.setRequisitos(campos.get("requisitos"));
+            vaga.setCargaHoraria(inteiro(campos, "cargaHoraria"));
+            vaga.setAberta(booleano(campos, "aberta", true));
+
+            Long empresaId = id(obrigatorio(campos, "empresaId", "empresa"), "empresaId");
+            Empresa empresa = empresas.get(empresaId);
+            if (empresa == null) {
+                throw new IllegalArgumentException("Empresa não encontrada: " + empresaId);
+            }
+            vaga.setEmpresa(empresa);
+
+            String areaId = campo(campos, "areaId", "area");
+            if (areaId != null) {
+                AreaInteresse area = areas.get(id(areaId, "areaId"));
+                if (area == null) {
+                    throw new IllegalArgumentException("Área de interesse não encontrada: " + areaId);
+                }
+                vaga.setArea(area);
+            }
+            return vaga;
+        }
+
+        @Override
+        void aposGravar(VagaEstagio vaga) {
+            buscaVagasService.atualizar(vaga);
+            recomendacaoService.atualizarVaga(vaga);
+        }
+
+        @Override
+        void prepararNovaTentativa(VagaEstagio vaga) {
+            vaga.setId(null);
+        }
+    }
+
+    private <T> void criptografarSenhas(List<T> lote, Function<T, String> senha, BiConsumer<T, String> definirSenha) {
+        CompletableFuture.allOf(lote.stream()
+                        .map(entidade -> CompletableFuture.runAsync(
+                                () -> definirSenha.accept(entidade, passwordEncoder.encode(senha.apply(entidade))), hashExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    // Só id e nome, uma instância por empresa: a vaga grava a chave estrangeira e as estruturas
+    // em memória (busca, recomendações) recebem o nome da empresa
+    private Map<Long, Empresa> carregarEmpresas() {
+        Map<Long, Empresa> empresas = new HashMap<>();
+        for (Object[] linha : empresaRepository.findAllIdsENomes()) {
+            Empresa empresa = new Empresa();
+            empresa.setId((Long) linha[0]);
+            empresa.setNome((String) linha[1]);
+            empresas.put(empresa.getId(), empresa);
+        }
+        return empresas;
+    }
+
+    private Map<Long, AreaInteresse> carregarAreas() {
+        return areaInteresseRepository.findAll().stream()
+                .collect(Collectors.toMap(AreaInteresse::getId, Function.identity()));
+    }
+
+    private static Set<AreaInteresse> areas(String valor, Map<Long, AreaInteresse> areas) {
+        Set<AreaInteresse> selecionadas = new HashSet<>();
+        if (valor == null) {
+            return selecionadas;
+        }
+        for (String item : valor.split("\\" + LeitorRegistros.SEPARADOR_VALORES)) {
+            if (item.isBlank()) {
+                continue;
+            }
+            AreaInteresse area = areas.get(id(item.strip(), "área"));
+            if (area == null) {
+                throw new IllegalArgumentException("Área de interesse não encontrada: " + item.strip());
+            }
+            selecionadas.add(area);
+        }
+        return selecionadas;
+    }
+
+    private static String campo(Map<String, String> campos, String... nomes) {
+        for (String nome : nomes) {
+            String valor = campos.get(nome);
+            if (valor != null) {
+                return valor;
+            }
+        }
+        return null;
+    }
+
+    private static String obrigatorio(Map<String, String> campos, String... nomes) {
+        String valor = campo(campos, nomes);
+        if (valor == null) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: " + nomes[0]);
+        }
+        return valor;
+    }
+
+    private static String email(Map<String, String> campos) {
+        String email = obrigatorio(campos, "email");
+        if (email.indexOf('@') <= 0) {
+            throw new IllegalArgumentException("Email inválido: " + email);
+        }
+        return email;
+    }
+
+    private static Long id(String valor, String campo) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id inválido em " + campo + ": " + valor);
+        }
+    }
+
+    private static int inteiro(Map<String, String> campos, String nome) {
+        String valor = campos.get(nome);
+        if (valor == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido em " + nome + ": " + valor);
+        }
+    }
+
+    private static boolean booleano(Map<String, String> campos, String nome, boolean padrao) {
+        String valor = campos.get(nome);
+        if (valor == null) {
+            return padrao;
+        }
+        if (valor.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (valor.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Valor inválido em " + nome + ": " + valor);
+    }
+
+    private static String causa(Exception e) {
+        String mensagem = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        return mensagem.length() > TAMANHO_MAXIMO_MENSAGEM ? mensagem.substring(0, TAMANHO_MAXIMO_MENSAGEM) : mensagem;
+    }
+}
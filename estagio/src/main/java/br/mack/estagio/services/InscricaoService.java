@@ -0,0 +1,190 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.InscricaoDTO;
+import br.mack.estagio.entities.Inscricao;
+import br.mack.estagio.repositories.InscricaoRepository;
+import br.mack.estagio.repositories.SituacaoVaga;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+/**
+ * Grava inscrições junto com o evento de gamificação (outbox) e, se a requisição trouxe
+ * um {@code Idempotency-Key}, com a resposta da chave, tudo na mesma transação.
+ *
+ * Pontos e badges não são calculados aqui: o {@link ConsumidorEventosGamificacao} os
+ * aplica em lote depois do commit.
+ *
+ * Cada inscrição ocupa uma vaga no contador {@code inscritos} da vaga: primeiro no
+ * contador em memória da {@link SituacaoVagas} e depois no UPDATE condicional
+ * ({@code aberta} e {@code inscritos < maxInscricoes}), sem COUNT nem SELECT ... FOR UPDATE. A inscrição
+ * que atinge o limite encerra a vaga na mesma transação (releitura da vaga pela chave
+ * primária, só em vagas com limite). A ordem de chegada não é respeitada entre
+ * inscrições concorrentes (ver {@link SituacaoVagas}).
+ */
+@Service
+public class InscricaoService {
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private VagaEstagioRepository vagaEstagioRepository;
+
+    @Autowired
+    private PontosService pontosService;
+
+    @Autowired
+    private ChavesIdempotencia chavesIdempotencia;
+
+    @Autowired
+    private SituacaoVagas situacaoVagas;
+
+    @Autowired
+    private BuscaVagasService buscaVagasService;
+
+    @Autowired
+    private RecomendacaoService recomendacaoService;
+
+    @Autowired
+    private NotificacaoVagas notificacaoVagas;
+
+    /**
+     * Corrige o contador de inscritos de vagas com inscrições anteriores a ele.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconciliarInscritos() {
+        vagaEstagioRepository.reconciliarInscritos();
+    }
+
+    /**
+     * A situação da vaga vem da {@link SituacaoVagas}, não do "aberta" do corpo da requisição.
+     * noRollbackFor: a recusa por limite atingido ainda grava o encerramento da vaga.
+     *
+     * Em vagas com limite o UPDATE condicional vem antes do INSERT: é ele que barra as
+     * inscrições além do limite. Em vagas sem limite ele só conta a inscrição e confere que a
+     * vaga segue aberta, então vai por último, e a linha da vaga fica travada só até o commit.
+     *
+     * @param chaveIdempotencia Idempotency-Key da requisição (opcional)
+     * @throws ResponseStatusException 404 se a vaga não existir; 409 se ela estiver encerrada;
+     *         400 se ela estiver lotada
+     * @throws org.springframework.dao.DataIntegrityViolationException se o estudante já
+     *         está inscrito na vaga ou a chave já foi usada; nada é gravado
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public InscricaoDTO criar(Inscricao inscricao, String chaveIdempotencia) {
+        Long vagaId = inscricao.getVaga().getId();
+        SituacaoVagas.Reserva reserva = situacaoVagas.reservar(vagaId);
+        switch (reserva) {
+            case INEXISTENTE -> throw naoEncontrada();
+            case ENCERRADA -> throw encerrada();
+            case LOTADA -> throw lotada();
+            default -> {
+            }
+        }
+        boolean semLimite = reserva == SituacaoVagas.Reserva.SEM_LIMITE;
+        if (!semLimite && vagaEstagioRepository.reservarInscricao(vagaId) == 0) {
+            throw recusada(vagaId);
+        }
+
+        Inscricao salva = inscricaoRepository.save(inscricao); // IDENTITY: o INSERT sai na hora
+        Long estudanteId = salva.getEstudante().getId();
+        pontosService.registrarInscricao(estudanteId);
+        if (reserva == SituacaoVagas.Reserva.ULTIMA) {
+            // Se outra instância liberou vagas a vaga segue aberta e o contador é relido do banco
+            situacaoVagas.alterada(vagaId);
+        }
+        if (!semLimite) {
+            // Quem completa o limite é a transação cujo UPDATE levou inscritos ao máximo, que não
+            // é necessariamente a que pegou a última vaga em memória: cada uma relê a linha que travou
+            encerrarSeLotada(vagaId);
+        }
+        InscricaoDTO resposta = inscricaoRepository.findDTOById(salva.getId()).orElseThrow();
+        if (chaveIdempotencia != null) {
+            chavesIdempotencia.registrar(chaveIdempotencia, estudanteId, vagaId, resposta);
+        }
+        if (semLimite && vagaEstagioRepository.reservarInscricao(vagaId) == 0) {
+            // A vaga foi encerrada (ou ganhou limite) depois da leitura em memória: a inscrição,
+            // o evento e a chave já gravados não podem ir para o commit
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            throw recusada(vagaId);
+        }
+        return resposta;
+    }
+
+    // O UPDATE condicional não ocupou a vaga: a memória estava desatualizada (alteração em
+    // outra instância) e o banco decide se a vaga sumiu, foi encerrada ou está lotada
+    private ResponseStatusException recusada(Long vagaId) {
+        situacaoVagas.alterada(vagaId);
+        Optional<SituacaoVaga> situacao = vagaEstagioRepository.findSituacaoById(vagaId);
+        if (situacao.isEmpty()) {
+            return naoEncontrada();
+        }
+        if (!situacao.get().isAberta()) {
+            return encerrada();
+        }
+        encerrarSeLotada(vagaId);
+        return lotada();
+    }
+
+    /**
+     * Remove a inscrição e devolve a vaga que ela ocupava. A vaga encerrada por limite
+     * continua encerrada; a empresa a reabre se quiser.
+     *
+     * @return Inscrição removida; vazio se ela não existir
+     */
+    @Transactional
+    public Optional<Inscricao> remover(Long id) {
+        Optional<Inscricao> inscricao = inscricaoRepository.findById(id);
+        inscricao.ifPresent(removida -> {
+            inscricaoRepository.delete(removida);
+            if (removida.getVaga() != null) {
+                vagaEstagioRepository.liberarInscricao(removida.getVaga().getId());
+                situacaoVagas.alterada(removida.getVaga().getId());
+            }
+        });
+        return inscricao;
+    }
+
+    // Encerra a vaga pela entidade (os entity listeners atualizam estatísticas, catálogo e
+    // SituacaoVagas); busca, recomendações e assinantes SSE são avisados após o commit
+    private void encerrarSeLotada(Long vagaId) {
+        vagaEstagioRepository.findById(vagaId).ifPresent(vaga -> {
+            if (!vaga.isAberta() || vaga.getMaxInscricoes() == null || vaga.getInscritos() < vaga.getMaxInscricoes()) {
+                return;
+            }
+            vaga.setAberta(false);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buscaVagasService.atualizar(vaga);
+                    recomendacaoService.atualizarVaga(vaga);
+                    notificacaoVagas.vagaEncerrada(vagaId, vaga.getArea() != null ? vaga.getArea().getId() : null);
+                }
+            });
+        });
+    }
+
+    private static ResponseStatusException naoEncontrada() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Vaga não encontrada.");
+    }
+
+    private static ResponseStatusException encerrada() {
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Não é possível se inscrever em uma vaga encerrada.");
+    }
+
+    private static ResponseStatusException lotada() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "A vaga atingiu o limite de inscrições.");
+    }
+}
@@ -0,0 +1,99 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.LoginRequest;
+import br.mack.estagio.dto.LoginResponse;
+import br.mack.estagio.repositories.AdministradorRepository;
+import br.mack.estagio.repositories.Credencial;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.security.JwtProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Pipeline de login: uma única busca de credenciais (projeção id/nome/email/senha do
+ * repositório correspondente ao role) seguida da verificação BCrypt, tudo executado
+ * no pool limitado {@code loginExecutor} em vez das threads de requisição.
+ *
+ * Métricas: login.executor.rejected; a latência da verificação de senha fica no timer
+ * bcrypt{operacao=matches} do PasswordEncoder.
+ */
+@Service
+public class LoginService {
+
+    private final Map<String, Function<String, Optional<Credencial>>> buscaPorRole;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtProvider jwtProvider;
+    private final Executor loginExecutor;
+    private final Counter rejeitados;
+
+    public LoginService(EstudanteRepository estudanteRepository,
+                        EmpresaRepository empresaRepository,
+                        AdministradorRepository administradorRepository,
+                        PasswordEncoder passwordEncoder,
+                        JwtProvider jwtProvider,
+                        @Qualifier("loginExecutor") Executor loginExecutor,
+                        MeterRegistry meterRegistry) {
+        this.buscaPorRole = Map.of(
+                "estudante", estudanteRepository::findCredencialByEmail,
+                "empresa", empresaRepository::findCredencialByEmail,
+                "admin", administradorRepository::findCredencialByEmail);
+        this.passwordEncoder = passwordEncoder;
+        this.jwtProvider = jwtProvider;
+        this.loginExecutor = loginExecutor;
+        this.rejeitados = Counter.builder("login.executor.rejected")
+                .description("Logins rejeitados por fila cheia")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Agenda a autenticação no pool de login.
+     *
+     * @param request Email, senha e role (estudante/empresa/admin)
+     * @return Future com o LoginResponse, ou completado com ResponseStatusException 401
+     * @throws ResponseStatusException 400 se o role for inválido
+     * @throws RejectedExecutionException se a fila de login estiver cheia
+     */
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
+        String role = request.getRole() == null ? "" : request.getRole().toLowerCase();
+        Function<String, Optional<Credencial>> busca = buscaPorRole.get(role);
+        if (busca == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tipo de usuário inválido");
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> autenticar(busca, request), loginExecutor);
+        } catch (RejectedExecutionException e) {
+            rejeitados.increment();
+            throw e;
+        }
+    }
+
+    private LoginResponse autenticar(Function<String, Optional<Credencial>> busca, LoginRequest request) {
+        String role = request.getRole();
+        Credencial credencial = busca.apply(request.getEmail())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas"));
+        boolean senhaValida = request.getSenha() != null && credencial.getSenha() != null
+                && passwordEncoder.matches(request.getSenha(), credencial.getSenha());
+        if (!senhaValida) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credenciais inválidas");
+        }
+        LoginResponse response = new LoginResponse();
+        response.setToken(jwtProvider.generateToken(credencial.getId(), credencial.getEmail(), role));
+        response.setRole(role);
+        response.setId(credencial.getId());
+        response.setNome(credencial.getNome());
+        return response;
+    }
+}
@@ -0,0 +1,402 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.VagaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envio de vagas abertas e encerradas por Server-Sent Events, para o cliente não precisar
+ * consultar o dashboard repetidamente.
+ *
+ * Cada assinante escolhe áreas de interesse e fica no índice por área. A publicação só
+ * entrega o evento a uma thread distribuidora (ordem preservada) e retorna: a requisição
+ * que criou ou encerrou a vaga não espera os clientes. A distribuidora coloca o evento
+ * na fila de cada assinante da área e as threads de envio ({@code notificacao.vagas.threads})
+ * escrevem nas conexões; um assinante tem no máximo uma tarefa de envio pendente.
+ *
+ * Clientes lentos: a fila de cada assinante tem {@code notificacao.vagas.fila} posições.
+ * Cheia, o evento mais antigo é descartado em favor do novo; depois de
+ * {@code notificacao.vagas.max-descartes} descartes seguidos o assinante é desconectado
+ * (o EventSource do navegador reconecta). Um batimento (comentário SSE) a cada
+ * {@code notificacao.vagas.heartbeat-ms} mantém proxies abertos e detecta conexões mortas;
+ * com a fila cheia ele é omitido. Acima de {@code notificacao.vagas.max-assinantes} novas
+ * assinaturas recebem 503.
+ *
+ * Clientes que param de ler: o send bloqueia na escrita do socket e segura a thread de envio
+ * (o complete() do emitter espera o mesmo lock, então não a libera). Um envio que passa de
+ * {@code notificacao.vagas.timeout-envio-ms} tem o assinante desconectado, a thread
+ * interrompida e, enquanto ela não voltar, o pool de envio ganha uma thread no lugar dela
+ * (até {@code notificacao.vagas.max-threads-presas}): os demais assinantes continuam
+ * recebendo mesmo com todas as threads originais presas. O emitter só é completado pela
+ * thread de envio do assinante, nunca por quem o desconecta.
+ *
+ * Métricas: notificacao.vagas.assinantes, notificacao.vagas.eventos.enviados,
+ * notificacao.vagas.eventos.descartados, notificacao.vagas.desconexoes (tag motivo) e
+ * notificacao.vagas.threads.presas.
+ */
+@Component
+public class NotificacaoVagas {
+
+    public static final String EVENTO_VAGA_ABERTA = "vaga-aberta";
+    public static final String EVENTO_VAGA_ENCERRADA = "vaga-encerrada";
+
+    // nome null = batimento (comentário SSE)
+    private record Evento(long id, String nome, String dados) {
+    }
+
+    private final class Assinante {
+        final SseEmitter emitter;
+        final Set<Long> areas;
+        final ArrayBlockingQueue<Evento> fila;
+        final AtomicBoolean agendado = new AtomicBoolean();
+        final AtomicBoolean ativo = new AtomicBoolean(true);
+        final AtomicInteger descartesSeguidos = new AtomicInteger();
+        final AtomicBoolean completado = new AtomicBoolean();
+        // Envio em andamento (guardados sob o monitor do assinante)
+        Thread enviando;
+        long envioIniciadoEm;
+        boolean abandonado;
+        boolean compensado;
+
+        Assinante(SseEmitter emitter, Set<Long> areas) {
+            this.emitter = emitter;
+            this.areas = areas;
+            this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        }
+    }
+
+    private final Map<Long, Set<Assinante>> porArea = new ConcurrentHashMap<>();
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService distribuidor;
+    private final ThreadPoolExecutor envio;
+    private final int threads;
+    private final long timeoutMs;
+    private final long timeoutEnvioNs;
+    private final int maxThreadsPresas;
+    private int threadsPresas;
+    private final int capacidadeFila;
+    private final int maxDescartes;
+    private final int maxAssinantes;
+
+    private final Counter enviados;
+    private final Counter descartados;
+    private final Counter desconexoesLentos;
+    private final Counter desconexoesErro;
+    private final Counter desconexoesTimeout;
+
+    public NotificacaoVagas(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${notificacao.vagas.threads:4}") int threads,
+                            @Value("${notificacao.vagas.timeout-ms:1800000}") long timeoutMs,
+                            @Value("${notificacao.vagas.fila:16}") int capacidadeFila,
+                            @Value("${notificacao.vagas.max-descartes:32}") int maxDescartes,
+                            @Value("${notificacao.vagas.max-assinantes:20000}") int maxAssinantes,
+                            @Value("${notificacao.vagas.timeout-envio-ms:5000}") long timeoutEnvioMs,
+                            @Value("${notificacao.vagas.max-threads-presas:64}") int maxThreadsPresas) {
+        this.objectMapper = objectMapper;
+        this.threads = threads;
+        this.timeoutMs = timeoutMs;
+        this.timeoutEnvioNs = TimeUnit.MILLISECONDS.toNanos(timeoutEnvioMs);
+        this.maxThreadsPresas = maxThreadsPresas;
+        this.capacidadeFila = capacidadeFila;
+        this.maxDescartes = maxDescartes;
+        this.maxAssinantes = maxAssinantes;
+        this.distribuidor = Executors.newSingleThreadExecutor(fabrica("sse-distribuidor"));
+        this.envio = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), fabrica("sse-envio"));
+
+        Gauge.builder("notificacao.vagas.assinantes", assinantes, Set::size)
+                .description("Conexões SSE assinando vagas")
+                .register(meterRegistry);
+        this.enviados = Counter.builder("notificacao.vagas.eventos.enviados")
+                .description("Eventos escritos nas conexões SSE")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("notificacao.vagas.eventos.descartados")
+                .description("Eventos descartados com a fila do assinante cheia")
+                .register(meterRegistry);
+        this.desconexoesLentos = desconexoes(meterRegistry, "lento");
+        this.desconexoesErro = desconexoes(meterRegistry, "erro");
+        this.desconexoesTimeout = desconexoes(meterRegistry, "timeout");
+        Gauge.builder("notificacao.vagas.threads.presas", this, notificacao -> notificacao.threadsPresas())
+                .description("Threads de envio presas em clientes desconectados por timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Nova assinatura das áreas informadas.
+     *
+     * @throws ResponseStatusException 400 sem áreas; 503 com o limite de assinantes atingido
+     */
+    public SseEmitter assinar(Collection<Long> areaIds) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        registrar(emitter, areaIds);
+        return emitter;
+    }
+
+    void registrar(SseEmitter emitter, Collection<Long> areaIds) {
+        if (areaIds == null || areaIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos uma área.");
+        }
+        if (assinantes.size() >= maxAssinantes) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Limite de assinantes atingido.");
+        }
+        Assinante assinante = new Assinante(emitter, Set.copyOf(areaIds));
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+        assinantes.add(assinante);
+        for (Long areaId : assinante.areas) {
+            porArea.compute(areaId, (id, doArea) -> {
+                Set<Assinante> atualizado = doArea != null ? doArea : ConcurrentHashMap.newKeySet();
+                atualizado.add(assinante);
+                return atualizado;
+            });
+        }
+        // Primeiro batimento: o cliente recebe os headers sem esperar o próximo evento
+        enfileirar(assinante, new Evento(0, null, "conectado"));
+    }
+
+    /** Avisa os assinantes da área da vaga; chamar depois do commit. */
+    public void vagaAberta(VagaDTO vaga) {
+        publicar(vaga.getAreaId(), EVENTO_VAGA_ABERTA, vaga);
+    }
+
+    /** Avisa os assinantes da área que a vaga deixou de aceitar inscrições; chamar depois do commit. */
+    public void vagaEncerrada(Long vagaId, Long areaId) {
+        Map<String, Long> dados = new LinkedHashMap<>();
+        dados.put("id", vagaId);
+        dados.put("areaId", areaId);
+        publicar(areaId, EVENTO_VAGA_ENCERRADA, dados);
+    }
+
+    private void publicar(Long areaId, String nome, Object dados) {
+        if (areaId == null) {
+            return;
+        }
+        // Serializado uma vez por evento, não por assinante
+        Evento evento = new Evento(sequencia.incrementAndGet(), nome, json(dados));
+        distribuidor.execute(() -> {
+            Set<Assinante> doArea = porArea.get(areaId);
+            if (doArea != null) {
+                doArea.forEach(assinante -> enfileirar(assinante, evento));
+            }
+        });
+    }
+
+    @Scheduled(fixedRateString = "${notificacao.vagas.heartbeat-ms:15000}",
+            initialDelayString = "${notificacao.vagas.heartbeat-ms:15000}")
+    public void batimento() {
+        Evento evento = new Evento(0, null, "ping");
+        distribuidor.execute(() -> assinantes.forEach(assinante -> enfileirar(assinante, evento)));
+    }
+
+    /**
+     * Desconecta os assinantes com um envio acima de {@code notificacao.vagas.timeout-envio-ms}
+     * e põe uma thread no pool no lugar de cada thread presa.
+     */
+    @Scheduled(fixedDelay = 1000, initialDelay = 1000)
+    public void verificarEnvios() {
+        long agora = System.nanoTime();
+        for (Assinante assinante : assinantes) {
+            synchronized (assinante) {
+                if (assinante.enviando != null && agora - assinante.envioIniciadoEm > timeoutEnvioNs
+                        && remover(assinante)) {
+                    desconexoesTimeout.increment();
+                    assinante.abandonado = true;
+                    assinante.compensado = ocuparThreadExtra();
+                    assinante.enviando.interrupt();
+                }
+            }
+        }
+    }
+
+    private void enfileirar(Assinante assinante, Evento evento) {
+        if (!assinante.ativo.get()) {
+            return;
+        }
+        if (!assinante.fila.offer(evento)) {
+            if (evento.nome() == null) {
+                return; // batimento: já há o que enviar
+            }
+            assinante.fila.poll();
+            descartados.increment();
+            if (assinante.descartesSeguidos.incrementAndGet() > maxDescartes) {
+                desconectar(assinante, desconexoesLentos);
+                return;
+            }
+            assinante.fila.offer(evento);
+        }
+        if (assinante.agendado.compareAndSet(false, true)) {
+            envio.execute(() -> enviar(assinante));
+        }
+    }
+
+    private void enviar(Assinante assinante) {
+        try {
+            Evento evento;
+            while (assinante.ativo.get() && (evento = assinante.fila.poll()) != null) {
+                escrever(assinante, evento);
+                enviados.increment();
+                assinante.descartesSeguidos.set(0);
+            }
+        } catch (IOException | IllegalStateException e) {
+            desconectar(assinante, desconexoesErro);
+        } finally {
+            assinante.agendado.set(false);
+        }
+        if (!assinante.ativo.get()) {
+            completar(assinante);
+            return;
+        }
+        // Evento enfileirado entre o último poll e a liberação do agendamento
+        if (!assinante.fila.isEmpty() && assinante.agendado.compareAndSet(false, true)) {
+            envio.execute(() -> enviar(assinante));
+        }
+    }
+
+    private void escrever(Assinante assinante, Evento evento) throws IOException {
+        synchronized (assinante) {
+            assinante.enviando = Thread.currentThread();
+            assinante.envioIniciadoEm = System.nanoTime();
+        }
+        try {
+            assinante.emitter.send(evento.nome() == null
+                    ? SseEmitter.event().comment(evento.dados())
+                    : SseEmitter.event().id(Long.toString(evento.id())).name(evento.nome()).data(evento.dados()));
+        } finally {
+            synchronized (assinante) {
+                assinante.enviando = null;
+                if (assinante.abandonado) {
+                    // A interrupção era para este envio, não para o próximo assinante da thread
+                    Thread.interrupted();
+                    if (assinante.compensado) {
+                        liberarThreadExtra();
+                    }
+                }
+            }
+        }
+    }
+
+    // O complete() espera o lock do send: só a thread de envio do assinante pode chamá-lo sem
+    // risco de bloquear. Com um envio em andamento, ela completa ao sair do laço
+    private void desconectar(Assinante assinante, Counter motivo) {
+        if (remover(assinante)) {
+            motivo.increment();
+            if (assinante.agendado.compareAndSet(false, true)) {
+                envio.execute(() -> enviar(assinante));
+            }
+        }
+    }
+
+    private void completar(Assinante assinante) {
+        if (assinante.completado.compareAndSet(false, true)) {
+            assinante.emitter.complete();
+        }
+    }
+
+    private boolean ocuparThreadExtra() {
+        synchronized (envio) {
+            if (threadsPresas >= maxThreadsPresas) {
+                return false;
+            }
+            threadsPresas++;
+            envio.setMaximumPoolSize(threads + threadsPresas);
+            envio.setCorePoolSize(threads + threadsPresas);
+            return true;
+        }
+    }
+
+    private void liberarThreadExtra() {
+        synchronized (envio) {
+            threadsPresas--;
+            envio.setCorePoolSize(threads + threadsPresas);
+            envio.setMaximumPoolSize(threads + threadsPresas);
+        }
+    }
+
+    private int threadsPresas() {
+        synchronized (envio) {
+            return threadsPresas;
+        }
+    }
+
+    private boolean remover(Assinante assinante) {
+        if (!assinante.ativo.compareAndSet(true, false)) {
+            return false;
+        }
+        assinantes.remove(assinante);
+        assinante.fila.clear();
+        for (Long areaId : assinante.areas) {
+            porArea.computeIfPresent(areaId, (id, doArea) -> {
+                doArea.remove(assinante);
+                return doArea.isEmpty() ? null : doArea;
+            });
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        distribuidor.shutdownNow();
+        envio.shutdownNow();
+        assinantes.forEach(assinante -> {
+            if (remover(assinante) && assinante.agendado.compareAndSet(false, true)) {
+                completar(assinante);
+            }
+        });
+    }
+
+    private String json(Object dados) {
+        try {
+            return objectMapper.writeValueAsString(dados);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter desconexoes(MeterRegistry meterRegistry, String motivo) {
+        return Counter.builder("notificacao.vagas.desconexoes")
+                .description("Assinantes SSE desconectados pelo servidor")
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory fabrica(String nome) {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, nome + "-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.EventoGamificacao;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.EventoGamificacaoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pontuação e badges de gamificação, fora do caminho das escritas de inscrição e avaliação.
+ *
+ * As ações só gravam um {@link EventoGamificacao} (outbox) na própria transação. O
+ * {@link ConsumidorEventosGamificacao} entrega os eventos em lotes a {@link #aplicar}, que
+ * soma os pontos por estudante e aplica o lote inteiro em um único batch JDBC de
+ * {@code UPDATE ... SET pontos = pontos + ?}. As badges de pontuação são avaliadas pelos
+ * totais lidos em seguida (a linha continua travada pelo UPDATE até o commit) e inseridas
+ * em {@code estudante_badges} apenas quando o limite é cruzado.
+ */
+@Service
+public class PontosService {
+
+    public static final int PONTOS_POR_INSCRICAO = 5;
+    public static final int PONTOS_POR_AVALIACAO = 2;
+    public static final String BADGE_PRIMEIRA_INSCRICAO = "Primeira Inscrição";
+
+    // Limites de pontuação -> badge, em ordem crescente
+    private static final Map<Integer, String> BADGES_POR_PONTOS = new LinkedHashMap<>();
+
+    static {
+        BADGES_POR_PONTOS.put(10, "Iniciante");
+        BADGES_POR_PONTOS.put(50, "Avançado");
+    }
+
+    private static final String SQL_ADICIONAR_PONTOS =
+            "UPDATE estudante SET pontos = COALESCE(pontos, 0) + ? WHERE id = ?";
+    // Insere a badge apenas se o estudante ainda não a possui (não reescreve a coleção inteira)
+    private static final String SQL_INSERIR_BADGE =
+            "INSERT INTO estudante_badges (estudante_id, badge) SELECT ?, ? "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM estudante_badges WHERE estudante_id = ? AND badge = ?)";
+
+    /** Resultado de um lote para um estudante: total após o lote e badges recém-conquistadas. */
+    public record Resultado(Long estudanteId, int pontos, List<String> novasBadges) {
+    }
+
+    @Autowired
+    private EstudanteRepository estudanteRepository;
+
+    @Autowired
+    private EventoGamificacaoRepository eventoRepository;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Agenda pontos manuais para o estudante; são aplicados pelo consumidor de eventos.
+     *
+     * @throws ResponseStatusException 404 se o estudante não existir
+     */
+    @Transactional
+    public void adicionarPontos(Long estudanteId, int delta) {
+        if (!estudanteRepository.existsById(estudanteId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Estudante não encontrado.");
+        }
+        publicar(EventoGamificacao.Tipo.PONTOS, estudanteId, delta);
+    }
+
+    /**
+     * Pontuação de uma nova inscrição: +{@value #PONTOS_POR_INSCRICAO} pontos e a badge
+     * "Primeira Inscrição". Deve rodar na transação que grava a inscrição.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarInscricao(Long estudanteId) {
+        publicar(EventoGamificacao.Tipo.INSCRICAO, estudanteId, PONTOS_POR_INSCRICAO);
+    }
+
+    /**
+     * Pontuação de uma nova avaliação: +{@value #PONTOS_POR_AVALIACAO} pontos.
+     * Deve rodar na transação que grava a avaliação.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarAvaliacao(Long estudanteId) {
+        publicar(EventoGamificacao.Tipo.AVALIACAO, estudanteId, PONTOS_POR_AVALIACAO);
+    }
+
+    private void publicar(EventoGamificacao.Tipo tipo, Long estudanteId, int pontos) {
+        // O consumidor só é avisado após o commit (@TransactionalEventListener)
+        eventPublisher.publishEvent(eventoRepository.save(new EventoGamificacao(tipo, estudanteId, pontos)));
+    }
+
+    /**
+     * Aplica um lote de eventos na transação do consumidor. Eventos de estudantes já
+     * removidos são descartados.
+     *
+     * @return Resultado por estudante afetado
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Resultado> aplicar(List<EventoGamificacao> eventos) {
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        Set<Long> inscritos = new HashSet<>();
+        for (EventoGamificacao evento : eventos) {
+            deltas.merge(evento.getEstudanteId(), evento.getPontos(), Integer::sum);
+            if (evento.getTipo() == EventoGamificacao.Tipo.INSCRICAO) {
+                inscritos.add(evento.getEstudanteId());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> atualizacoes = new ArrayList<>(deltas.size());
+        deltas.forEach((estudanteId, delta) -> atualizacoes.add(new Object[]{delta, estudanteId}));
+        jdbcTemplate.batchUpdate(SQL_ADICIONAR_PONTOS, atualizacoes);
+
+        Map<Long, Integer> totais = new HashMap<>();
+        for (Object[] linha : estudanteRepository.findPontosByIdIn(deltas.keySet())) {
+            totais.put((Long) linha[0], linha[1] == null ? 0 : (Integer) linha[1]);
+        }
+
+        List<Object[]> badges = new ArrayList<>();
+        List<Resultado> resultados = new ArrayList<>(totais.size());
+        for (Map.Entry<Long, Integer> entrada : deltas.entrySet()) {
+            Long estudanteId = entrada.getKey();
+            Integer total = totais.get(estudanteId);
+            if (total == null) {
+                continue; // estudante removido depois do evento
+            }
+            List<String> candidatas = new ArrayList<>();
+            int anterior = total - entrada.getValue();
+            for (Map.Entry<Integer, String> limite : BADGES_POR_PONTOS.entrySet()) {
+                if (anterior < limite.getKey() && total >= limite.getKey()) {
+                    candidatas.add(limite.getValue());
+                }
+            }
+            if (inscritos.contains(estudanteId)) {
+                candidatas.add(BADGE_PRIMEIRA_INSCRICAO);
+            }
+            for (String badge : candidatas) {
+                badges.add(new Object[]{estudanteId, badge, estudanteId, badge});
+            }
+            resultados.add(new Resultado(estudanteId, total, candidatas));
+        }
+        int[] inseridas = badges.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(SQL_INSERIR_BADGE, badges);
+
+        atualizarRankingAposCommit(resultados, deltas);
+        return somenteBadgesInseridas(resultados, inseridas);
+    }
+
+    // Mantém em cada resultado só as badges que o INSERT de fato gravou (as demais o estudante já tinha)
+    private static List<Resultado> somenteBadgesInseridas(List<Resultado> resultados, int[] inseridas) {
+        List<Resultado> filtrados = new ArrayList<>(resultados.size());
+        int indice = 0;
+        for (Resultado resultado : resultados) {
+            List<String> novas = new ArrayList<>();
+            for (String badge : resultado.novasBadges()) {
+                // Drivers podem devolver SUCCESS_NO_INFO (-2) em batch: conta como inserida
+                if (inseridas[indice++] != 0) {
+                    novas.add(badge);
+                }
+            }
+            filtrados.add(new Resultado(resultado.estudanteId(), resultado.pontos(), novas));
+        }
+        return filtrados;
+    }
+
+    private void atualizarRankingAposCommit(List<Resultado> resultados, Map<Long, Integer> deltas) {
+        Runnable atualizar = () -> {
+            for (Resultado resultado : resultados) {
+                rankingService.adicionar(resultado.estudanteId(), deltas.get(resultado.estudanteId()));
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            atualizar.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                atualizar.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.PosicaoRankingDTO;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.PontuacaoEstudante;
+import br.mack.estagio.services.ranking.RankingPontos;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Ranking de gamificação mantido em memória ({@link RankingPontos}).
+ *
+ * Montado a partir do banco na inicialização e atualizado pelos controllers sempre
+ * que a pontuação de um estudante muda (addPontos, nova inscrição, cadastro,
+ * atualização e remoção). Top-N, posição e vizinhos não consultam o banco.
+ */
+@Service
+public class RankingService {
+
+    private final RankingPontos ranking = new RankingPontos();
+    private final Map<Long, String> nomes = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EstudanteRepository estudanteRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        ranking.limpar();
+        nomes.clear();
+        try (Stream<PontuacaoEstudante> pontuacoes = estudanteRepository.streamPontuacoes()) {
+            pontuacoes.forEach(p -> registrar(p.getId(), p.getNome(), p.getPontos()));
+        }
+    }
+
+    public void registrar(Estudante estudante) {
+        registrar(estudante.getId(), estudante.getNome(), estudante.getPontos());
+    }
+
+    public void registrar(Long estudanteId, String nome, Integer pontos) {
+        if (estudanteId == null) {
+            return;
+        }
+        if (nome != null) {
+            nomes.put(estudanteId, nome);
+        }
+        ranking.atualizar(estudanteId, pontos == null ? 0 : pontos);
+    }
+
+    public void adicionar(Long estudanteId, int delta) {
+        ranking.adicionar(estudanteId, delta);
+    }
+
+    public void remover(Long estudanteId) {
+        ranking.remover(estudanteId);
+        nomes.remove(estudanteId);
+    }
+
+    public List<PosicaoRankingDTO> top(int n) {
+        return ranking.top(n).stream().map(this::toDTO).toList();
+    }
+
+    public List<Long> topIds(int n) {
+        return ranking.top(n).stream().map(RankingPontos.Posicao::estudanteId).toList();
+    }
+
+    public Optional<PosicaoRankingDTO> posicao(Long estudanteId) {
+        return Optional.ofNullable(ranking.posicao(estudanteId)).map(this::toDTO);
+    }
+
+    public List<PosicaoRankingDTO> vizinhos(Long estudanteId, int raio) {
+        return ranking.vizinhos(estudanteId, raio).stream().map(this::toDTO).toList();
+    }
+
+    private PosicaoRankingDTO toDTO(RankingPontos.Posicao posicao) {
+        return new PosicaoRankingDTO(posicao.estudanteId(), nomes.get(posicao.estudanteId()),
+                posicao.pontos(), posicao.posicao());
+    }
+}
@@ -0,0 +1,178 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.RecomendacaoVagaDTO;
+import br.mack.estagio.dto.VagaDTO;
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.ResumoAvaliacoesVaga;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.InscricaoRepository;
+import br.mack.estagio.repositories.PerfilEstudante;
+import br.mack.estagio.repositories.PerfilVaga;
+import br.mack.estagio.repositories.ResumoAvaliacoesVagaRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.services.recomendacao.MotorRecomendacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Recomendações personalizadas de vagas para o dashboard do estudante ({@link MotorRecomendacao}).
+ *
+ * Vagas abertas, perfis (áreas de interesse e curso), inscrições e resumos de avaliação são
+ * carregados na inicialização; controllers e {@link AvaliacaoService} repassam cada escrita,
+ * e o motor ajusta apenas os top-K afetados. A leitura consulta o banco só pelos IDs
+ * recomendados (chave primária). Periodicamente os top-K são invalidados para que a
+ * recência reflita a passagem do tempo.
+ */
+@Service
+public class RecomendacaoService {
+
+    private final MotorRecomendacao motor;
+
+    @Autowired
+    private VagaEstagioRepository vagaEstagioRepository;
+
+    @Autowired
+    private EstudanteRepository estudanteRepository;
+
+    @Autowired
+    private InscricaoRepository inscricaoRepository;
+
+    @Autowired
+    private ResumoAvaliacoesVagaRepository resumoAvaliacoesRepository;
+
+    public RecomendacaoService(@Value("${recomendacao.top-k:20}") int topK) {
+        this.motor = new MotorRecomendacao(topK);
+    }
+
+    /**
+     * Recarrega o motor a partir do banco e calcula o top-K de todos os estudantes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        motor.limpar();
+        Map<Long, List<Long>> areasPorEstudante = new HashMap<>();
+        for (Object[] par : estudanteRepository.findParesEstudanteArea()) {
+            areasPorEstudante.computeIfAbsent((Long) par[0], id -> new ArrayList<>()).add((Long) par[1]);
+        }
+        try (Stream<PerfilEstudante> perfis = estudanteRepository.streamPerfis()) {
+            perfis.forEach(p -> motor.atualizarEstudante(p.getId(), areasPorEstudante.getOrDefault(p.getId(), List.of()), p.getCurso()));
+        }
+        try (Stream<PerfilVaga> vagas = vagaEstagioRepository.streamPerfisAbertas()) {
+            vagas.forEach(v -> motor.publicarVaga(v.getId(), v.getAreaId() != null ? List.of(v.getAreaId()) : List.of(),
+                    v.getTitulo(), v.getRequisitos(), epochMillis(v.getDataPublicacao())));
+        }
+        for (ResumoAvaliacoesVaga resumo : resumoAvaliacoesRepository.findAll()) {
+            motor.ajustarAvaliacoes(resumo.getVagaId(), resumo.getSoma(), resumo.getTotal());
+        }
+        try (Stream<Object[]> inscricoes = inscricaoRepository.streamParesEstudanteVaga()) {
+            inscricoes.forEach(par -> motor.registrarInscricao((Long) par[0], (Long) par[1]));
+        }
+        motor.recalcularTodos();
+    }
+
+    // Recência muda com o tempo: os top-K são recalculados sob demanda no próximo acesso
+    @Scheduled(fixedDelayString = "${recomendacao.recalculo.intervalo-ms:3600000}",
+            initialDelayString = "${recomendacao.recalculo.intervalo-ms:3600000}")
+    public void invalidar() {
+        motor.invalidarTodos();
+    }
+
+    /**
+     * Atualiza o catálogo após a vaga ser salva: publica se estiver aberta, remove se encerrada.
+     */
+    public void atualizarVaga(VagaEstagio vaga) {
+        if (vaga.getId() == null) {
+            return;
+        }
+        if (!vaga.isAberta()) {
+            motor.removerVaga(vaga.getId());
+            return;
+        }
+        motor.publicarVaga(vaga.getId(), vaga.getArea() != null ? List.of(vaga.getArea().getId()) : List.of(),
+                vaga.getTitulo(), vaga.getRequisitos(), epochMillis(vaga.getDataPublicacao()));
+    }
+
+    public void removerVaga(Long vagaId) {
+        motor.removerVaga(vagaId);
+    }
+
+    public void atualizarEstudante(Estudante estudante) {
+        if (estudante.getId() == null) {
+            return;
+        }
+        Set<AreaInteresse> areas = estudante.getAreasInteresse();
+        List<Long> areaIds = areas == null ? List.of() : areas.stream().map(AreaInteresse::getId).toList();
+        motor.atualizarEstudante(estudante.getId(), areaIds, estudante.getCurso());
+    }
+
+    public void removerEstudante(Long estudanteId) {
+        motor.removerEstudante(estudanteId);
+    }
+
+    public void registrarInscricao(Long estudanteId, Long vagaId) {
+        motor.registrarInscricao(estudanteId, vagaId);
+    }
+
+    public void removerInscricao(Long estudanteId, Long vagaId) {
+        motor.removerInscricao(estudanteId, vagaId);
+    }
+
+    /** Aplica a variação de soma/quantidade de notas de uma vaga (chamado após o commit da avaliação). */
+    public void ajustarAvaliacoes(Long vagaId, long deltaSoma, long deltaTotal) {
+        motor.ajustarAvaliacoes(vagaId, deltaSoma, deltaTotal);
+    }
+
+    /**
+     * Vagas recomendadas ao estudante, da mais para a menos indicada.
+     *
+     * @param estudanteId ID do estudante
+     * @param limite      Quantidade máxima de vagas (limitada ao top-K configurado)
+     * @return Lista vazia se o estudante não existe
+     */
+    public List<RecomendacaoVagaDTO> recomendar(Long estudanteId, int limite) {
+        List<MotorRecomendacao.Recomendacao> recomendacoes = motor.recomendar(estudanteId, limite);
+        if (recomendacoes.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, VagaDTO> vagas = vagaEstagioRepository.findDTOByIdIn(
+                        recomendacoes.stream().map(MotorRecomendacao.Recomendacao::vagaId).toList()).stream()
+                .collect(Collectors.toMap(VagaDTO::getId, Function.identity()));
+        List<RecomendacaoVagaDTO> resultado = new ArrayList<>(recomendacoes.size());
+        for (MotorRecomendacao.Recomendacao recomendacao : recomendacoes) {
+            VagaDTO vaga = vagas.get(recomendacao.vagaId());
+            if (vaga != null) {
+                resultado.add(new RecomendacaoVagaDTO(vaga.getId(), vaga.getTitulo(), vaga.getLocalizacao(),
+                        vaga.getModalidade(), vaga.getAreaId(), vaga.getAreaNome(), vaga.getEmpresaId(),
+                        vaga.getEmpresaNome(), recomendacao.pontuacao()));
+            }
+        }
+        return resultado;
+    }
+
+    public int totalVagas() {
+        return motor.totalVagas();
+    }
+
+    private static long epochMillis(LocalDateTime data) {
+        return data == null ? 0L : data.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
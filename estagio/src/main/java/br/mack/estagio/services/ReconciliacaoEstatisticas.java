@@ -0,0 +1,73 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Recalcula o {@link EstatisticasPortal} a partir do banco na inicialização
+ * e periodicamente (intervalo configurável em {@code estatisticas.reconciliacao.intervalo-ms}).
+ */
+@Component
+public class ReconciliacaoEstatisticas {
+
+    @Autowired
+    private EstatisticasPortal estatisticas;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private EstudanteRepository estudanteRepository;
+
+    @Autowired
+    private VagaEstagioRepository vagaEstagioRepository;
+
+    @Autowired
+    private AreaInteresseRepository areaInteresseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Chamada interna não passa pelo proxy: a transação de leitura é aberta aqui
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        leitura.executeWithoutResult(status -> reconciliar());
+    }
+
+    @Scheduled(fixedDelayString = "${estatisticas.reconciliacao.intervalo-ms:300000}",
+            initialDelayString = "${estatisticas.reconciliacao.intervalo-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconciliar() {
+        Map<Long, Long> porArea = new HashMap<>();
+        for (Object[] linha : vagaEstagioRepository.countVagasByAreaId()) {
+            porArea.put((Long) linha[0], (Long) linha[1]);
+        }
+        Map<Long, String> nomes = new HashMap<>();
+        for (AreaInteresse area : areaInteresseRepository.findAll()) {
+            nomes.put(area.getId(), area.getNome());
+        }
+        estatisticas.reconciliar(
+                empresaRepository.count(),
+                estudanteRepository.count(),
+                vagaEstagioRepository.countByAbertaTrue(),
+                vagaEstagioRepository.countByAbertaFalse(),
+                porArea,
+                nomes);
+    }
+}
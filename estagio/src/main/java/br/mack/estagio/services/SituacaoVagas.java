@@ -0,0 +1,149 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.repositories.SituacaoVaga;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Situação das vagas em memória (aberta/encerrada e vagas de inscrição restantes), para
+ * validar e reservar inscrições sem consultar a vaga a cada requisição.
+ *
+ * Cada vaga é lida do banco no primeiro uso e descartada pelo
+ * {@link SituacaoVagasEntityListener} após o commit de qualquer alteração ou remoção; a
+ * leitura seguinte traz o valor novo. Uma leitura do banco que começou antes de uma
+ * invalidação não é guardada (contador de gerações), para que um valor antigo não volte
+ * ao mapa depois do commit.
+ *
+ * Em vagas com {@code maxInscricoes}, {@link #reservar} desconta um contador atômico por
+ * vaga (compare-and-set, sem lock): esgotado o contador, as tentativas seguintes são
+ * recusadas sem ir ao banco. O contador é só um filtro; quem garante o limite é o UPDATE
+ * condicional do {@link VagaEstagioRepository#reservarInscricao}, e uma reserva cuja
+ * transação é desfeita devolve a vaga ao contador.
+ *
+ * Não há ordem garantida entre tentativas concorrentes: não existe fila, e fica com a vaga
+ * quem vence o compare-and-set e depois o UPDATE condicional, não quem chegou primeiro. O
+ * que se garante é que no máximo {@code maxInscricoes} inscrições são gravadas e que as
+ * demais são recusadas na hora, sem esperar pela liberação de uma vaga.
+ */
+@Component
+public class SituacaoVagas {
+
+    /** Resultado de {@link #reservar}. */
+    public enum Reserva {
+        /** Vaga aberta e sem limite de inscrições */
+        SEM_LIMITE,
+        /** Vaga de inscrição reservada dentro do limite */
+        RESERVADA,
+        /** Reservou a última vaga do contador em memória (o contador deve ser relido) */
+        ULTIMA,
+        /** Limite de inscrições atingido */
+        LOTADA,
+        ENCERRADA,
+        INEXISTENTE
+    }
+
+    // restantes é null em vagas sem limite
+    private record Situacao(boolean aberta, AtomicInteger restantes) {
+    }
+
+    private final Map<Long, Situacao> situacoes = new ConcurrentHashMap<>();
+    private final AtomicLong geracao = new AtomicLong();
+
+    // Lazy: o entity listener é criado junto com o EntityManagerFactory, antes dos repositories
+    @Autowired
+    @Lazy
+    private VagaEstagioRepository vagaEstagioRepository;
+
+    /**
+     * Reserva em memória uma vaga de inscrição. Dentro de uma transação, a reserva é
+     * devolvida se ela for desfeita.
+     */
+    public Reserva reservar(Long vagaId) {
+        Optional<Situacao> lida = situacao(vagaId);
+        if (lida.isEmpty()) {
+            return Reserva.INEXISTENTE;
+        }
+        Situacao situacao = lida.get();
+        if (!situacao.aberta()) {
+            return Reserva.ENCERRADA;
+        }
+        AtomicInteger restantes = situacao.restantes();
+        if (restantes == null) {
+            return Reserva.SEM_LIMITE;
+        }
+        int antes;
+        do {
+            antes = restantes.get();
+            if (antes <= 0) {
+                return Reserva.LOTADA;
+            }
+        } while (!restantes.compareAndSet(antes, antes - 1));
+        devolverSeDesfeita(restantes);
+        return antes == 1 ? Reserva.ULTIMA : Reserva.RESERVADA;
+    }
+
+    /** Descarta a situação da vaga; dentro de uma transação, a partir do commit. */
+    public void alterada(Long vagaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidar(vagaId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidar(vagaId);
+            }
+        });
+    }
+
+    private Optional<Situacao> situacao(Long vagaId) {
+        Situacao situacao = situacoes.get(vagaId);
+        if (situacao != null) {
+            return Optional.of(situacao);
+        }
+        long lida = geracao.get();
+        Optional<Situacao> doBanco = vagaEstagioRepository.findSituacaoById(vagaId).map(SituacaoVagas::de);
+        if (doBanco.isPresent() && geracao.get() == lida) {
+            // Leituras concorrentes da mesma vaga passam a usar o mesmo contador
+            Situacao existente = situacoes.putIfAbsent(vagaId, doBanco.get());
+            if (existente != null) {
+                return Optional.of(existente);
+            }
+        }
+        return doBanco;
+    }
+
+    private static Situacao de(SituacaoVaga vaga) {
+        Integer max = vaga.getMaxInscricoes();
+        return new Situacao(vaga.isAberta(), max == null ? null : new AtomicInteger(max - vaga.getInscritos()));
+    }
+
+    private static void devolverSeDesfeita(AtomicInteger restantes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    restantes.incrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void invalidar(Long vagaId) {
+        geracao.incrementAndGet();
+        situacoes.remove(vagaId);
+    }
+}
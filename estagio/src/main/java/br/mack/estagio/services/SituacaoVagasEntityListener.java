@@ -0,0 +1,24 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.VagaEstagio;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener JPA que invalida a {@link SituacaoVagas} de cada vaga alterada ou removida.
+ * Vagas novas não precisam de aviso: entram no mapa na primeira consulta.
+ */
+public class SituacaoVagasEntityListener {
+
+    private final SituacaoVagas situacaoVagas;
+
+    public SituacaoVagasEntityListener(SituacaoVagas situacaoVagas) {
+        this.situacaoVagas = situacaoVagas;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void aposAlterar(VagaEstagio vaga) {
+        situacaoVagas.alterada(vaga.getId());
+    }
+}
@@ -0,0 +1,96 @@
+package br.mack.estagio.services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão em memória de cada coleção do catálogo (vagas, áreas, empresas), usada para
+ * responder GETs condicionais (ETag/Last-Modified) sem consultar as tabelas.
+ *
+ * O {@link VersoesCatalogoEntityListener} chama {@link #alterada} a cada insert, update ou
+ * remoção; a versão só avança depois do commit, para que um GET concorrente não associe a
+ * versão nova aos dados antigos. O ETag inclui o instante de inicialização: após um restart
+ * (versões zeradas) os ETags antigos deixam de coincidir.
+ */
+@Component
+public class VersoesCatalogo {
+
+    public enum Colecao { VAGAS, AREAS, EMPRESAS }
+
+    /**
+     * @param etag ETag forte com as versões das coleções
+     * @param ultimaAlteracao Instante (ms, múltiplo de 1 s) da última alteração entre as coleções
+     */
+    public record Carimbo(String etag, long ultimaAlteracao) {
+    }
+
+    private static final class Versao {
+        final AtomicLong numero = new AtomicLong();
+        final AtomicLong ultimaAlteracao;
+
+        Versao(long inicio) {
+            ultimaAlteracao = new AtomicLong(inicio);
+        }
+    }
+
+    private final String inicio;
+    private final Map<Colecao, Versao> versoes = new EnumMap<>(Colecao.class);
+    // Último instante atribuído a uma alteração, de qualquer coleção
+    private final AtomicLong ultimoInstante;
+
+    public VersoesCatalogo() {
+        long agora = segundos(System.currentTimeMillis());
+        this.inicio = Long.toString(agora / 1000, 36);
+        this.ultimoInstante = new AtomicLong(agora);
+        for (Colecao colecao : Colecao.values()) {
+            versoes.put(colecao, new Versao(agora));
+        }
+    }
+
+    /** Registra uma alteração na coleção; dentro de uma transação, vale a partir do commit. */
+    public void alterada(Colecao colecao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            avancar(colecao);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                avancar(colecao);
+            }
+        });
+    }
+
+    private void avancar(Colecao colecao) {
+        Versao versao = versoes.get(colecao);
+        versao.numero.incrementAndGet();
+        // Last-Modified tem resolução de segundos: duas alterações no mesmo segundo precisam
+        // de instantes diferentes, senão If-Modified-Since responderia 304 para a segunda.
+        // O instante é único entre as coleções: como o carimbo usa o maior deles, a alteração
+        // de uma coleção não pode ficar atrás de um instante já adiantado de outra
+        long instante = ultimoInstante.accumulateAndGet(segundos(System.currentTimeMillis()),
+                (anterior, agora) -> Math.max(agora, anterior + 1000));
+        versao.ultimaAlteracao.accumulateAndGet(instante, Math::max);
+    }
+
+    /** Carimbo conjunto das coleções das quais a resposta depende. */
+    public Carimbo carimbo(Colecao... colecoes) {
+        StringBuilder etag = new StringBuilder("\"").append(inicio);
+        long ultimaAlteracao = 0;
+        for (Colecao colecao : colecoes) {
+            Versao versao = versoes.get(colecao);
+            etag.append('-').append(versao.numero.get());
+            ultimaAlteracao = Math.max(ultimaAlteracao, versao.ultimaAlteracao.get());
+        }
+        return new Carimbo(etag.append('"').toString(), ultimaAlteracao);
+    }
+
+    private static long segundos(long millis) {
+        return millis - millis % 1000;
+    }
+}
@@ -0,0 +1,37 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.VagaEstagio;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Entity listener JPA que avança a {@link VersoesCatalogo} da coleção de cada vaga,
+ * área ou empresa gravada ou removida.
+ *
+ * Instanciado pelo Hibernate através do container de beans do Spring, como o
+ * {@link EstatisticasEntityListener}.
+ */
+public class VersoesCatalogoEntityListener {
+
+    private final VersoesCatalogo versoes;
+
+    public VersoesCatalogoEntityListener(VersoesCatalogo versoes) {
+        this.versoes = versoes;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void aposAlterar(Object entidade) {
+        if (entidade instanceof VagaEstagio) {
+            versoes.alterada(VersoesCatalogo.Colecao.VAGAS);
+        } else if (entidade instanceof AreaInteresse) {
+            versoes.alterada(VersoesCatalogo.Colecao.AREAS);
+        } else if (entidade instanceof Empresa) {
+            versoes.alterada(VersoesCatalogo.Colecao.EMPRESAS);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package br.mack.estagio.services.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Analisador de texto para a busca de vagas em português.
+ *
+ * Etapas: minúsculas, remoção de acentos (NFD sem marcas diacríticas), quebra em
+ * palavras alfanuméricas, remoção de stopwords e um stemmer leve (plurais, alguns
+ * sufixos derivacionais e vogal temática final). O objetivo é que "Programação",
+ * "programador" e "programas" gerem o mesmo radical ("program").
+ */
+public final class AnalisadorPortugues {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "de", "da", "do", "das", "dos",
+            "e", "em", "no", "na", "nos", "nas", "para", "pra", "por", "com", "sem", "ao", "aos",
+            "que", "se", "ou", "mas", "como", "sobre", "entre", "ate");
+
+    // Sufixos derivacionais, do mais longo para o mais curto
+    private static final String[] SUFIXOS = {
+            "amentos", "imentos", "amento", "imento", "mente", "acoes", "icoes", "acao", "icao",
+            "idades", "idade", "ismos", "ismo", "istas", "ista", "aveis", "iveis", "avel", "ivel",
+            "adores", "edores", "idores", "ador", "edor", "idor"};
+
+    private AnalisadorPortugues() {
+    }
+
+    /**
+     * Converte um texto em radicais indexáveis (stopwords removidas).
+     */
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        for (String palavra : palavras(texto)) {
+            if (!STOPWORDS.contains(palavra)) {
+                termos.add(radical(palavra));
+            }
+        }
+        return termos;
+    }
+
+    public static boolean isStopword(String palavra) {
+        return STOPWORDS.contains(palavra);
+    }
+
+    /**
+     * Quebra o texto em palavras normalizadas (minúsculas, sem acentos), sem stemming.
+     */
+    public static List<String> palavras(String texto) {
+        List<String> palavras = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return palavras;
+        }
+        String normalizado = normalizar(texto);
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                palavras.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return palavras;
+    }
+
+    /**
+     * Minúsculas e remoção de acentos ("Ação" -> "acao").
+     */
+    public static String normalizar(String texto) {
+        String decomposto = Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stemmer leve para palavras já normalizadas.
+     */
+    public static String radical(String palavra) {
+        if (palavra.length() < 4 || !Character.isLetter(palavra.charAt(0))) {
+            return palavra;
+        }
+        String p = removerPlural(palavra);
+        for (String sufixo : SUFIXOS) {
+            if (p.endsWith(sufixo) && p.length() - sufixo.length() >= 3) {
+                p = p.substring(0, p.length() - sufixo.length());
+                break;
+            }
+        }
+        char ultima = p.charAt(p.length() - 1);
+        if (p.length() > 4 && (ultima == 'a' || ultima == 'e' || ultima == 'o')) {
+            p = p.substring(0, p.length() - 1);
+        }
+        return p;
+    }
+
+    private static String removerPlural(String p) {
+        if (!p.endsWith("s") || p.endsWith("ss") || p.length() < 4) {
+            return p;
+        }
+        if (p.endsWith("oes") || p.endsWith("aes")) {
+            return p.substring(0, p.length() - 3) + "ao";
+        }
+        if (p.endsWith("ns")) {
+            return p.substring(0, p.length() - 2) + "m";
+        }
+        if (p.endsWith("ais") || p.endsWith("eis") || p.endsWith("ois")) {
+            return p.substring(0, p.length() - 2) + "l";
+        }
+        if (p.endsWith("res") || p.endsWith("zes") || p.endsWith("les")) {
+            return p.substring(0, p.length() - 2);
+        }
+        return p.substring(0, p.length() - 1);
+    }
+}
@@ -0,0 +1,373 @@
+package br.mack.estagio.services.busca;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória com ranking BM25 e expansão por prefixo.
+ *
+ * Cada documento é identificado por uma chave {@code long} (o ID da vaga) e recebe
+ * internamente um número sequencial; números liberados por remoções são reutilizados.
+ * As listas de postings guardam números de documento ordenados, a frequência do
+ * termo já ponderada pelo peso do campo (BM25F simplificado) e o "impacto" BM25
+ * pré-calculado (parte que depende só do documento), de modo que a consulta faz
+ * apenas uma multiplicação por posting. Os impactos usam um comprimento médio de
+ * referência, recalculado quando a média real se afasta mais de 5%.
+ *
+ * Leituras concorrentes usam o read lock; inclusões e remoções (raras) usam o write lock.
+ * A pontuação acumula em um array por thread, reaproveitado entre consultas.
+ */
+public class IndiceInvertido {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float PESO_PREFIXO = 0.8f;
+    private static final int MIN_PREFIXO = 3;
+    private static final int MAX_EXPANSOES_PREFIXO = 32;
+    private static final double TOLERANCIA_MEDIA = 0.05;
+
+    /** Texto de um campo do documento e seu peso na pontuação. */
+    public record Campo(String texto, float peso) {
+    }
+
+    /** Resultado de uma consulta: chave do documento e pontuação BM25. */
+    public record Resultado(long chave, float pontuacao) {
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] tfs = new float[4];
+        float[] impactos = new float[4];
+        int tamanho;
+
+        void inserir(int doc, float tf, float impacto) {
+            int pos = Arrays.binarySearch(docs, 0, tamanho, doc);
+            if (pos >= 0) {
+                tfs[pos] = tf;
+                impactos[pos] = impacto;
+                return;
+            }
+            pos = -pos - 1;
+            if (tamanho == docs.length) {
+                docs = Arrays.copyOf(docs, tamanho * 2);
+                tfs = Arrays.copyOf(tfs, tamanho * 2);
+                impactos = Arrays.copyOf(impactos, tamanho * 2);
+            }
+            System.arraycopy(docs, pos, docs, pos + 1, tamanho - pos);
+            System.arraycopy(tfs, pos, tfs, pos + 1, tamanho - pos);
+            System.arraycopy(impactos, pos, impactos, pos + 1, tamanho - pos);
+            docs[pos] = doc;
+            tfs[pos] = tf;
+            impactos[pos] = impacto;
+            tamanho++;
+        }
+
+        void remover(int doc) {
+            int pos = Arrays.binarySearch(docs, 0, tamanho, doc);
+            if (pos >= 0) {
+                System.arraycopy(docs, pos + 1, docs, pos, tamanho - pos - 1);
+                System.arraycopy(tfs, pos + 1, tfs, pos, tamanho - pos - 1);
+                System.arraycopy(impactos, pos + 1, impactos, pos, tamanho - pos - 1);
+                tamanho--;
+            }
+        }
+    }
+
+    /** Acumulador de pontuação por thread: array denso + lista dos documentos tocados. */
+    private static final class Acumulador {
+        float[] pontuacoes = new float[0];
+        int[] tocados = new int[64];
+        int totalTocados;
+
+        void preparar(int maxDoc) {
+            if (pontuacoes.length < maxDoc) {
+                pontuacoes = new float[Math.max(maxDoc, pontuacoes.length * 2)];
+            }
+        }
+
+        void somar(int doc, float valor) {
+            if (pontuacoes[doc] == 0f) {
+                if (totalTocados == tocados.length) {
+                    tocados = Arrays.copyOf(tocados, totalTocados * 2);
+                }
+                tocados[totalTocados++] = doc;
+            }
+            pontuacoes[doc] += valor;
+        }
+
+        void limpar() {
+            for (int i = 0; i < totalTocados; i++) {
+                pontuacoes[tocados[i]] = 0f;
+            }
+            totalTocados = 0;
+        }
+    }
+
+    private static final ThreadLocal<Acumulador> ACUMULADOR = ThreadLocal.withInitial(Acumulador::new);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Long, Integer> docPorChave = new HashMap<>();
+    private final ArrayDeque<Integer> docsLivres = new ArrayDeque<>();
+    private long[] chaves = new long[1024];
+    private float[] comprimentos = new float[1024];
+    private String[][] termosPorDoc = new String[1024][];
+    private int maxDoc;
+    private double somaComprimentos;
+    private float mediaReferencia = 1f;
+
+    /**
+     * Indexa (ou reindexa) um documento.
+     *
+     * @param chave  ID externo do documento
+     * @param campos Texto de cada campo e o respectivo peso
+     */
+    public void indexar(long chave, List<Campo> campos) {
+        Map<String, Float> frequencias = new LinkedHashMap<>();
+        float comprimento = 0f;
+        for (Campo campo : campos) {
+            for (String termo : AnalisadorPortugues.termos(campo.texto())) {
+                frequencias.merge(termo, campo.peso(), Float::sum);
+                comprimento += campo.peso();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removerSemLock(chave);
+            if (frequencias.isEmpty()) {
+                return;
+            }
+            int doc = alocarDoc();
+            chaves[doc] = chave;
+            comprimentos[doc] = comprimento;
+            termosPorDoc[doc] = frequencias.keySet().toArray(new String[0]);
+            somaComprimentos += comprimento;
+            docPorChave.put(chave, doc);
+            if (docPorChave.size() == 1) {
+                mediaReferencia = Math.max(comprimento, 1f);
+            }
+            for (Map.Entry<String, Float> frequencia : frequencias.entrySet()) {
+                float tf = frequencia.getValue();
+                postings.computeIfAbsent(frequencia.getKey(), t -> new Postings()).inserir(doc, tf, impacto(tf, comprimentos[doc]));
+            }
+            verificarMediaReferencia();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um documento do índice (sem efeito se a chave não estiver indexada).
+     */
+    public void remover(long chave) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(chave);
+            verificarMediaReferencia();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove todos os documentos.
+     */
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docPorChave.clear();
+            docsLivres.clear();
+            Arrays.fill(termosPorDoc, null);
+            maxDoc = 0;
+            somaComprimentos = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return docPorChave.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos mais relevantes para a consulta (semântica OR, ranking BM25).
+     * A última palavra da consulta também casa por prefixo ("desenv" encontra "desenvolvedor").
+     *
+     * @param consulta Texto livre digitado pelo usuário
+     * @param limite   Quantidade máxima de resultados
+     * @return Resultados em ordem decrescente de pontuação
+     */
+    public List<Resultado> buscar(String consulta, int limite) {
+        List<String> palavras = AnalisadorPortugues.palavras(consulta);
+        if (palavras.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        Map<String, Float> termosConsulta = new LinkedHashMap<>();
+        for (String termo : AnalisadorPortugues.termos(consulta)) {
+            termosConsulta.put(termo, 1f);
+        }
+
+        lock.readLock().lock();
+        Acumulador acumulador = ACUMULADOR.get();
+        try {
+            String ultima = palavras.get(palavras.size() - 1);
+            if (ultima.length() >= MIN_PREFIXO && !AnalisadorPortugues.isStopword(ultima)) {
+                int expansoes = 0;
+                for (String termo : postings.subMap(ultima, true, ultima + Character.MAX_VALUE, false).keySet()) {
+                    termosConsulta.putIfAbsent(termo, PESO_PREFIXO);
+                    if (++expansoes >= MAX_EXPANSOES_PREFIXO) {
+                        break;
+                    }
+                }
+            }
+
+            int totalDocs = docPorChave.size();
+            if (totalDocs == 0) {
+                return List.of();
+            }
+            acumulador.preparar(maxDoc);
+            for (Map.Entry<String, Float> termo : termosConsulta.entrySet()) {
+                Postings lista = postings.get(termo.getKey());
+                if (lista == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (totalDocs - lista.tamanho + 0.5) / (lista.tamanho + 0.5)) * termo.getValue();
+                int[] docs = lista.docs;
+                float[] impactos = lista.impactos;
+                for (int i = 0; i < lista.tamanho; i++) {
+                    acumulador.somar(docs[i], idf * impactos[i]);
+                }
+            }
+            return melhores(acumulador, limite);
+        } finally {
+            acumulador.limpar();
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seleciona os {@code limite} documentos de maior pontuação com um min-heap de
+     * inteiros (sem boxing), comparando cada documento tocado apenas com o menor do heap.
+     */
+    private List<Resultado> melhores(Acumulador acumulador, int limite) {
+        float[] pontuacoes = acumulador.pontuacoes;
+        int[] heap = new int[Math.min(limite, acumulador.totalTocados)];
+        int tamanho = 0;
+        for (int i = 0; i < acumulador.totalTocados; i++) {
+            int doc = acumulador.tocados[i];
+            if (tamanho < heap.length) {
+                heap[tamanho] = doc;
+                subir(heap, tamanho++, pontuacoes);
+            } else if (pontuacoes[doc] > pontuacoes[heap[0]]) {
+                heap[0] = doc;
+                descer(heap, tamanho, pontuacoes);
+            }
+        }
+        Resultado[] resultados = new Resultado[tamanho];
+        for (int i = tamanho - 1; i >= 0; i--) {
+            int doc = heap[0];
+            resultados[i] = new Resultado(chaves[doc], pontuacoes[doc]);
+            heap[0] = heap[i];
+            descer(heap, i, pontuacoes);
+        }
+        return Arrays.asList(resultados);
+    }
+
+    private static void subir(int[] heap, int pos, float[] pontuacoes) {
+        int doc = heap[pos];
+        while (pos > 0) {
+            int pai = (pos - 1) >>> 1;
+            if (pontuacoes[heap[pai]] <= pontuacoes[doc]) {
+                break;
+            }
+            heap[pos] = heap[pai];
+            pos = pai;
+        }
+        heap[pos] = doc;
+    }
+
+    private static void descer(int[] heap, int tamanho, float[] pontuacoes) {
+        if (tamanho == 0) {
+            return;
+        }
+        int doc = heap[0];
+        int pos = 0;
+        while (true) {
+            int filho = 2 * pos + 1;
+            if (filho >= tamanho) {
+                break;
+            }
+            if (filho + 1 < tamanho && pontuacoes[heap[filho + 1]] < pontuacoes[heap[filho]]) {
+                filho++;
+            }
+            if (pontuacoes[doc] <= pontuacoes[heap[filho]]) {
+                break;
+            }
+            heap[pos] = heap[filho];
+            pos = filho;
+        }
+        heap[pos] = doc;
+    }
+
+    private float impacto(float tf, float comprimento) {
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * comprimento / mediaReferencia));
+    }
+
+    private void verificarMediaReferencia() {
+        if (docPorChave.isEmpty()) {
+            return;
+        }
+        float media = (float) (somaComprimentos / docPorChave.size());
+        if (Math.abs(media - mediaReferencia) > mediaReferencia * TOLERANCIA_MEDIA) {
+            mediaReferencia = media;
+            for (Postings lista : postings.values()) {
+                for (int i = 0; i < lista.tamanho; i++) {
+                    lista.impactos[i] = impacto(lista.tfs[i], comprimentos[lista.docs[i]]);
+                }
+            }
+        }
+    }
+
+    private void removerSemLock(long chave) {
+        Integer doc = docPorChave.remove(chave);
+        if (doc == null) {
+            return;
+        }
+        for (String termo : termosPorDoc[doc]) {
+            Postings lista = postings.get(termo);
+            lista.remover(doc);
+            if (lista.tamanho == 0) {
+                postings.remove(termo);
+            }
+        }
+        somaComprimentos -= comprimentos[doc];
+        termosPorDoc[doc] = null;
+        docsLivres.push(doc);
+    }
+
+    private int alocarDoc() {
+        if (!docsLivres.isEmpty()) {
+            return docsLivres.pop();
+        }
+        if (maxDoc == chaves.length) {
+            int novo = chaves.length * 2;
+            chaves = Arrays.copyOf(chaves, novo);
+            comprimentos = Arrays.copyOf(comprimentos, novo);
+            termosPorDoc = Arrays.copyOf(termosPorDoc, novo);
+        }
+        return maxDoc++;
+    }
+}
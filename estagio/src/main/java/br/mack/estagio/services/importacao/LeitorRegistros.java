@@ -0,0 +1,232 @@
+package br.mack.estagio.services.importacao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê registros de um arquivo CSV ou JSONL de forma incremental (um registro por vez),
+ * sem carregar o arquivo inteiro em memória.
+ *
+ * CSV: a primeira linha é o cabeçalho com os nomes dos campos; separador vírgula, valores
+ * entre aspas podem conter vírgulas, quebras de linha e aspas duplicadas ({@code ""}).
+ * JSONL: um objeto JSON por linha; arrays viram valores separados por {@code |}.
+ *
+ * Linhas malformadas não interrompem a leitura: o registro volta com {@code erro} preenchido.
+ */
+public abstract class LeitorRegistros implements Iterator<LeitorRegistros.Registro>, Closeable {
+
+    /** Separador de valores múltiplos (ex.: ids de áreas) dentro de um campo. */
+    public static final String SEPARADOR_VALORES = "|";
+
+    /**
+     * Registro lido.
+     *
+     * @param linha  Linha do arquivo em que o registro começa (1 = primeira linha)
+     * @param campos Valores por nome de campo (sem espaços nas pontas; vazio vira null)
+     * @param erro   Motivo se o registro não pôde ser interpretado, senão null
+     */
+    public record Registro(long linha, Map<String, String> campos, String erro) {
+    }
+
+    protected final BufferedReader reader;
+    protected long linhaAtual;
+    private Registro proximo;
+
+    protected LeitorRegistros(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    public static LeitorRegistros csv(Reader reader) {
+        return new Csv(reader);
+    }
+
+    public static LeitorRegistros jsonl(Reader reader, ObjectMapper objectMapper) {
+        return new Jsonl(reader, objectMapper);
+    }
+
+    /** Lê o próximo registro ou retorna null no fim do arquivo. */
+    protected abstract Registro ler() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (proximo == null) {
+            try {
+                proximo = ler();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return proximo != null;
+    }
+
+    @Override
+    public Registro next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Registro registro = proximo;
+        proximo = null;
+        return registro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    protected static String normalizar(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        String limpo = valor.strip();
+        return limpo.isEmpty() ? null : limpo;
+    }
+
+    private static final class Csv extends LeitorRegistros {
+
+        private List<String> cabecalho;
+
+        Csv(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected Registro ler() throws IOException {
+            if (cabecalho == null) {
+                List<String> nomes = lerValores();
+                if (nomes == null) {
+                    return null;
+                }
+                cabecalho = nomes.stream().map(nome -> nome.strip().replace("﻿", "")).toList();
+            }
+            List<String> valores;
+            long inicio;
+            do {
+                inicio = linhaAtual + 1;
+                valores = lerValores();
+                if (valores == null) {
+                    return null;
+                }
+            } while (valores.size() == 1 && normalizar(valores.get(0)) == null); // linhas em branco
+
+            if (valores.size() != cabecalho.size()) {
+                return new Registro(inicio, Map.of(), "Esperados " + cabecalho.size() + " campos, encontrados " + valores.size());
+            }
+            Map<String, String> campos = new HashMap<>(cabecalho.size() * 2);
+            for (int i = 0; i < cabecalho.size(); i++) {
+                campos.put(cabecalho.get(i), normalizar(valores.get(i)));
+            }
+            return new Registro(inicio, campos, null);
+        }
+
+        // Lê um registro CSV (pode ocupar várias linhas se houver quebra dentro de aspas)
+        private List<String> lerValores() throws IOException {
+            String linha = reader.readLine();
+            if (linha == null) {
+                return null;
+            }
+            linhaAtual++;
+            List<String> valores = new ArrayList<>();
+            StringBuilder valor = new StringBuilder();
+            boolean entreAspas = false;
+            while (true) {
+                for (int i = 0; i < linha.length(); i++) {
+                    char c = linha.charAt(i);
+                    if (entreAspas) {
+                        if (c == '"') {
+                            if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                                valor.append('"');
+                                i++;
+                            } else {
+                                entreAspas = false;
+                            }
+                        } else {
+                            valor.append(c);
+                        }
+                    } else if (c == '"') {
+                        entreAspas = true;
+                    } else if (c == ',') {
+                        valores.add(valor.toString());
+                        valor.setLength(0);
+                    } else {
+                        valor.append(c);
+                    }
+                }
+                if (!entreAspas) {
+                    break;
+                }
+                String continuacao = reader.readLine();
+                if (continuacao == null) {
+                    break; // aspas sem fechamento no fim do arquivo: usa o que foi lido
+                }
+                linhaAtual++;
+                valor.append('\n');
+                linha = continuacao;
+            }
+            valores.add(valor.toString());
+            return valores;
+        }
+    }
+
+    private static final class Jsonl extends LeitorRegistros {
+
+        private final ObjectMapper objectMapper;
+
+        Jsonl(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected Registro ler() throws IOException {
+            String linha;
+            do {
+                linha = reader.readLine();
+                if (linha == null) {
+                    return null;
+                }
+                linhaAtual++;
+            } while (linha.isBlank());
+
+            JsonNode objeto;
+            try {
+                objeto = objectMapper.readTree(linha);
+            } catch (IOException e) {
+                return new Registro(linhaAtual, Map.of(), "JSON inválido");
+            }
+            if (objeto == null || !objeto.isObject()) {
+                return new Registro(linhaAtual, Map.of(), "Esperado um objeto JSON por linha");
+            }
+            Map<String, String> campos = new HashMap<>();
+            objeto.properties().forEach(campo -> campos.put(campo.getKey(), texto(campo.getValue())));
+            return new Registro(linhaAtual, campos, null);
+        }
+
+        private static String texto(JsonNode valor) {
+            if (valor == null || valor.isNull()) {
+                return null;
+            }
+            if (valor.isArray()) {
+                List<String> itens = new ArrayList<>(valor.size());
+                valor.forEach(item -> itens.add(item.isObject() && item.has("id") ? item.get("id").asText() : item.asText()));
+                return normalizar(String.join(SEPARADOR_VALORES, itens));
+            }
+            if (valor.isObject()) {
+                return valor.has("id") ? normalizar(valor.get("id").asText()) : null;
+            }
+            return normalizar(valor.asText());
+        }
+    }
+}
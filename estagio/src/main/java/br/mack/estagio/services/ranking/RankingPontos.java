@@ -0,0 +1,276 @@
+package br.mack.estagio.services.ranking;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ranking em memória ordenado por (pontos decrescente, id crescente).
+ *
+ * Implementado como uma treap com tamanho de subárvore em cada nó (árvore de
+ * estatística de ordem): inserção, remoção, posição de um estudante e acesso à
+ * k-ésima posição custam O(log n) esperado; top-N e vizinhos custam O(N + log n).
+ * Escritas usam o write lock; consultas compartilham o read lock.
+ */
+public class RankingPontos {
+
+    /** Uma posição do ranking (posição começa em 1). */
+    public record Posicao(long estudanteId, int pontos, int posicao) {
+    }
+
+    private static final class No {
+        final long id;
+        final int pontos;
+        final int prioridade = ThreadLocalRandom.current().nextInt();
+        int tamanho = 1;
+        No esquerda;
+        No direita;
+
+        No(long id, int pontos) {
+            this.id = id;
+            this.pontos = pontos;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> pontosPorEstudante = new HashMap<>();
+    private No raiz;
+
+    /**
+     * Define a pontuação atual do estudante (insere ou reposiciona).
+     */
+    public void atualizar(long estudanteId, int pontos) {
+        lock.writeLock().lock();
+        try {
+            Integer anterior = pontosPorEstudante.put(estudanteId, pontos);
+            if (anterior != null) {
+                if (anterior == pontos) {
+                    return;
+                }
+                raiz = remover(raiz, anterior, estudanteId);
+            }
+            raiz = inserir(raiz, new No(estudanteId, pontos));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Soma {@code delta} à pontuação atual do estudante. Somas comutam, então
+     * atualizações concorrentes chegando fora de ordem convergem para o total correto.
+     */
+    public void adicionar(long estudanteId, int delta) {
+        lock.writeLock().lock();
+        try {
+            Integer anterior = pontosPorEstudante.get(estudanteId);
+            int atual = anterior == null ? 0 : anterior;
+            if (anterior != null) {
+                raiz = remover(raiz, anterior, estudanteId);
+            }
+            pontosPorEstudante.put(estudanteId, atual + delta);
+            raiz = inserir(raiz, new No(estudanteId, atual + delta));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(long estudanteId) {
+        lock.writeLock().lock();
+        try {
+            Integer anterior = pontosPorEstudante.remove(estudanteId);
+            if (anterior != null) {
+                raiz = remover(raiz, anterior, estudanteId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            pontosPorEstudante.clear();
+            raiz = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho(raiz);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * As {@code n} primeiras posições do ranking.
+     */
+    public List<Posicao> top(int n) {
+        return intervalo(1, n);
+    }
+
+    /**
+     * Posição atual do estudante, ou null se ele não estiver no ranking.
+     */
+    public Posicao posicao(long estudanteId) {
+        lock.readLock().lock();
+        try {
+            Integer pontos = pontosPorEstudante.get(estudanteId);
+            if (pontos == null) {
+                return null;
+            }
+            return new Posicao(estudanteId, pontos, contarAntes(raiz, pontos, estudanteId) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * O estudante e até {@code raio} posições acima e abaixo dele.
+     */
+    public List<Posicao> vizinhos(long estudanteId, int raio) {
+        lock.readLock().lock();
+        try {
+            Posicao posicao = posicao(estudanteId);
+            if (posicao == null) {
+                return List.of();
+            }
+            int inicio = Math.max(1, posicao.posicao() - raio);
+            return intervalo(inicio, posicao.posicao() + raio - inicio + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@code quantidade} posições a partir de {@code inicio} (1-based), em ordem.
+     */
+    public List<Posicao> intervalo(int inicio, int quantidade) {
+        lock.readLock().lock();
+        try {
+            List<Posicao> resultado = new ArrayList<>(Math.max(0, Math.min(quantidade, tamanho(raiz))));
+            coletar(raiz, inicio - 1, quantidade, 0, resultado);
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ordem do ranking: mais pontos primeiro; empate desfeito pelo menor id.
+    private static int comparar(int pontosA, long idA, int pontosB, long idB) {
+        int cmp = Integer.compare(pontosB, pontosA);
+        return cmp != 0 ? cmp : Long.compare(idA, idB);
+    }
+
+    private static int tamanho(No no) {
+        return no == null ? 0 : no.tamanho;
+    }
+
+    private static No atualizarTamanho(No no) {
+        no.tamanho = 1 + tamanho(no.esquerda) + tamanho(no.direita);
+        return no;
+    }
+
+    private static No inserir(No no, No novo) {
+        if (no == null) {
+            return novo;
+        }
+        if (novo.prioridade > no.prioridade) {
+            No[] partes = dividir(no, novo.pontos, novo.id);
+            novo.esquerda = partes[0];
+            novo.direita = partes[1];
+            return atualizarTamanho(novo);
+        }
+        if (comparar(novo.pontos, novo.id, no.pontos, no.id) < 0) {
+            no.esquerda = inserir(no.esquerda, novo);
+        } else {
+            no.direita = inserir(no.direita, novo);
+        }
+        return atualizarTamanho(no);
+    }
+
+    private static No remover(No no, int pontos, long id) {
+        if (no == null) {
+            return null;
+        }
+        int cmp = comparar(pontos, id, no.pontos, no.id);
+        if (cmp == 0) {
+            return unir(no.esquerda, no.direita);
+        }
+        if (cmp < 0) {
+            no.esquerda = remover(no.esquerda, pontos, id);
+        } else {
+            no.direita = remover(no.direita, pontos, id);
+        }
+        return atualizarTamanho(no);
+    }
+
+    // Divide em [chaves < (pontos, id)] e [chaves >= (pontos, id)]
+    private static No[] dividir(No no, int pontos, long id) {
+        if (no == null) {
+            return new No[2];
+        }
+        if (comparar(no.pontos, no.id, pontos, id) < 0) {
+            No[] partes = dividir(no.direita, pontos, id);
+            no.direita = partes[0];
+            partes[0] = atualizarTamanho(no);
+            return partes;
+        }
+        No[] partes = dividir(no.esquerda, pontos, id);
+        no.esquerda = partes[1];
+        partes[1] = atualizarTamanho(no);
+        return partes;
+    }
+
+    private static No unir(No esquerda, No direita) {
+        if (esquerda == null) {
+            return direita;
+        }
+        if (direita == null) {
+            return esquerda;
+        }
+        if (esquerda.prioridade > direita.prioridade) {
+            esquerda.direita = unir(esquerda.direita, direita);
+            return atualizarTamanho(esquerda);
+        }
+        direita.esquerda = unir(esquerda, direita.esquerda);
+        return atualizarTamanho(direita);
+    }
+
+    private static int contarAntes(No no, int pontos, long id) {
+        int total = 0;
+        while (no != null) {
+            if (comparar(no.pontos, no.id, pontos, id) < 0) {
+                total += tamanho(no.esquerda) + 1;
+                no = no.direita;
+            } else {
+                no = no.esquerda;
+            }
+        }
+        return total;
+    }
+
+    // Percorre em ordem apenas as subárvores que intersectam [pular, pular + quantidade)
+    private static void coletar(No no, int pular, int quantidade, int deslocamento, List<Posicao> saida) {
+        if (no == null || saida.size() >= quantidade) {
+            return;
+        }
+        int tamanhoEsquerda = tamanho(no.esquerda);
+        int posicaoNo = deslocamento + tamanhoEsquerda;
+        if (pular < posicaoNo) {
+            coletar(no.esquerda, pular, quantidade, deslocamento, saida);
+        }
+        if (posicaoNo >= pular && saida.size() < quantidade) {
+            saida.add(new Posicao(no.id, no.pontos, posicaoNo + 1));
+        }
+        if (pular + quantidade > posicaoNo + 1) {
+            coletar(no.direita, pular, quantidade, posicaoNo + 1, saida);
+        }
+    }
+}
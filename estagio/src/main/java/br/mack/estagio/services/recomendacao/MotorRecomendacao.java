@@ -0,0 +1,516 @@
+package br.mack.estagio.services.recomendacao;
+
+import br.mack.estagio.services.busca.AnalisadorPortugues;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Recomendação de vagas abertas por estudante, com top-K pré-calculado em memória.
+ *
+ * Sinais (peso): sobreposição de áreas (0.40), termos do curso do estudante presentes em
+ * título/requisitos da vaga (0.25), nota média bayesiana das avaliações (0.20) e recência
+ * da publicação com meia-vida de 30 dias (0.15). Vagas em que o estudante já se inscreveu
+ * não são recomendadas.
+ *
+ * Áreas são bitsets ({@code long[]}, um bit por área) e termos são arrays ordenados de ids,
+ * de modo que pontuar um estudante contra o catálogo não aloca objetos. Cada estudante
+ * guarda seu top-K; abrir, alterar ou encerrar uma vaga ajusta os top-K existentes sem
+ * recalcular tudo. Quando uma vaga sai de um top-K cheio, o próximo candidato é
+ * desconhecido e o estudante é marcado para recálculo na próxima leitura.
+ * Escritas usam o write lock; leituras de top-K já calculados compartilham o read lock.
+ */
+public class MotorRecomendacao {
+
+    static final float PESO_AREA = 0.40f;
+    static final float PESO_TERMOS = 0.25f;
+    static final float PESO_NOTA = 0.20f;
+    static final float PESO_RECENCIA = 0.15f;
+
+    static final double MEIA_VIDA_MS = 30d * 24 * 60 * 60 * 1000;
+    // Prior da nota bayesiana: equivale a 2 avaliações de nota 3
+    static final double PRIOR_MEDIA = 3.0;
+    static final double PRIOR_PESO = 2.0;
+
+    /** Uma vaga recomendada e sua pontuação (0 a 1). */
+    public record Recomendacao(long vagaId, float pontuacao) {
+    }
+
+    private static final long[] SEM_AREAS = new long[0];
+    private static final int[] SEM_TERMOS = new int[0];
+    private static final long[] SEM_INSCRICOES = new long[0];
+
+    private static final class Vaga {
+        final long id;
+        long[] areas = SEM_AREAS;
+        int totalAreas;
+        int[] termos = SEM_TERMOS;
+        long publicadaEm;
+        float nota;
+        int posicao; // índice em catalogo
+        Vaga(long id) {
+            this.id = id;
+        }
+    }
+
+    private static final class Perfil {
+        final long id;
+        long[] areas = SEM_AREAS;
+        int[] termos = SEM_TERMOS;
+        long[] inscricoes = SEM_INSCRICOES; // ordenado
+        final long[] topIds;
+        final float[] topPontuacoes;
+        int tamanho;
+        boolean sujo = true;
+        long geracao = -1;
+
+        Perfil(long id, int k) {
+            this.id = id;
+            this.topIds = new long[k];
+            this.topPontuacoes = new float[k];
+        }
+    }
+
+    private final int k;
+    private final LongSupplier relogio;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Vaga> vagas = new HashMap<>();
+    private final List<Vaga> catalogo = new ArrayList<>();
+    private final Map<Long, Perfil> perfis = new HashMap<>();
+    private final Map<Long, long[]> avaliacoes = new HashMap<>(); // vagaId -> {soma, total}
+    private final Map<Long, Integer> indiceAreas = new HashMap<>();
+    private final Map<String, Integer> vocabulario = new HashMap<>();
+    private long geracao;
+
+    public MotorRecomendacao(int k) {
+        this(k, System::currentTimeMillis);
+    }
+
+    public MotorRecomendacao(int k, LongSupplier relogio) {
+        this.k = k;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Insere ou atualiza uma vaga aberta no catálogo e ajusta os top-K já calculados.
+     * Se a vaga já estava no catálogo, a data de publicação original é mantida.
+     */
+    public void publicarVaga(long vagaId, Collection<Long> areaIds, String titulo, String requisitos, long publicadaEm) {
+        lock.writeLock().lock();
+        try {
+            Vaga vaga = vagas.get(vagaId);
+            if (vaga == null) {
+                vaga = new Vaga(vagaId);
+                vaga.publicadaEm = publicadaEm;
+                vaga.posicao = catalogo.size();
+                vagas.put(vagaId, vaga);
+                catalogo.add(vaga);
+            }
+            vaga.areas = bitsetAreas(areaIds);
+            vaga.totalAreas = contarBits(vaga.areas);
+            vaga.termos = idsTermos(concatenar(titulo, requisitos));
+            vaga.nota = notaBayesiana(avaliacoes.get(vagaId));
+            long agora = relogio.getAsLong();
+            for (Perfil perfil : perfis.values()) {
+                reposicionar(perfil, vaga, agora);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove uma vaga do catálogo (encerrada ou excluída).
+     */
+    public void removerVaga(long vagaId) {
+        lock.writeLock().lock();
+        try {
+            Vaga vaga = vagas.remove(vagaId);
+            if (vaga == null) {
+                return;
+            }
+            Vaga ultima = catalogo.remove(catalogo.size() - 1);
+            if (ultima != vaga) {
+                ultima.posicao = vaga.posicao;
+                catalogo.set(vaga.posicao, ultima);
+            }
+            for (Perfil perfil : perfis.values()) {
+                retirar(perfil, vagaId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Soma deltas ao resumo de avaliações da vaga (deltas comutam, como no ranking).
+     */
+    public void ajustarAvaliacoes(long vagaId, long deltaSoma, long deltaTotal) {
+        lock.writeLock().lock();
+        try {
+            long[] resumo = avaliacoes.computeIfAbsent(vagaId, id -> new long[2]);
+            resumo[0] += deltaSoma;
+            resumo[1] += deltaTotal;
+            Vaga vaga = vagas.get(vagaId);
+            if (vaga != null) {
+                vaga.nota = notaBayesiana(resumo);
+                long agora = relogio.getAsLong();
+                for (Perfil perfil : perfis.values()) {
+                    reposicionar(perfil, vaga, agora);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insere ou atualiza o perfil do estudante; o top-K é recalculado na próxima leitura.
+     */
+    public void atualizarEstudante(long estudanteId, Collection<Long> areaIds, String curso) {
+        lock.writeLock().lock();
+        try {
+            Perfil perfil = perfis.computeIfAbsent(estudanteId, id -> new Perfil(id, k));
+            perfil.areas = bitsetAreas(areaIds);
+            perfil.termos = idsTermos(curso);
+            perfil.sujo = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removerEstudante(long estudanteId) {
+        lock.writeLock().lock();
+        try {
+            perfis.remove(estudanteId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Registra que o estudante se inscreveu na vaga, que deixa de ser recomendada a ele.
+     */
+    public void registrarInscricao(long estudanteId, long vagaId) {
+        lock.writeLock().lock();
+        try {
+            Perfil perfil = perfis.get(estudanteId);
+            if (perfil == null || Arrays.binarySearch(perfil.inscricoes, vagaId) >= 0) {
+                return;
+            }
+            long[] inscricoes = Arrays.copyOf(perfil.inscricoes, perfil.inscricoes.length + 1);
+            inscricoes[inscricoes.length - 1] = vagaId;
+            Arrays.sort(inscricoes);
+            perfil.inscricoes = inscricoes;
+            retirar(perfil, vagaId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Desfaz {@link #registrarInscricao}: a vaga volta a ser candidata para o estudante.
+     */
+    public void removerInscricao(long estudanteId, long vagaId) {
+        lock.writeLock().lock();
+        try {
+            Perfil perfil = perfis.get(estudanteId);
+            if (perfil == null) {
+                return;
+            }
+            int i = Arrays.binarySearch(perfil.inscricoes, vagaId);
+            if (i < 0) {
+                return;
+            }
+            long[] inscricoes = new long[perfil.inscricoes.length - 1];
+            System.arraycopy(perfil.inscricoes, 0, inscricoes, 0, i);
+            System.arraycopy(perfil.inscricoes, i + 1, inscricoes, i, inscricoes.length - i);
+            perfil.inscricoes = inscricoes;
+            Vaga vaga = vagas.get(vagaId);
+            if (vaga != null) {
+                reposicionar(perfil, vaga, relogio.getAsLong());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marca todos os top-K para recálculo na próxima leitura (a recência muda com o tempo).
+     */
+    public void invalidarTodos() {
+        lock.writeLock().lock();
+        try {
+            geracao++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Recalcula agora o top-K de todos os estudantes.
+     */
+    public void recalcularTodos() {
+        lock.writeLock().lock();
+        try {
+            long agora = relogio.getAsLong();
+            for (Perfil perfil : perfis.values()) {
+                recalcular(perfil, agora);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            vagas.clear();
+            catalogo.clear();
+            perfis.clear();
+            avaliacoes.clear();
+            indiceAreas.clear();
+            vocabulario.clear();
+            geracao++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vagas recomendadas ao estudante, da maior para a menor pontuação (no máximo K).
+     * Retorna lista vazia se o estudante não é conhecido.
+     */
+    public List<Recomendacao> recomendar(long estudanteId, int limite) {
+        lock.readLock().lock();
+        try {
+            Perfil perfil = perfis.get(estudanteId);
+            if (perfil == null) {
+                return List.of();
+            }
+            if (!perfil.sujo && perfil.geracao == geracao) {
+                return ordenar(perfil, limite);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            Perfil perfil = perfis.get(estudanteId);
+            if (perfil == null) {
+                return List.of();
+            }
+            if (perfil.sujo || perfil.geracao != geracao) {
+                recalcular(perfil, relogio.getAsLong());
+            }
+            return ordenar(perfil, limite);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int totalVagas() {
+        lock.readLock().lock();
+        try {
+            return catalogo.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Pontuação de uma vaga para um estudante (sem alocação)
+    private float pontuar(Perfil perfil, Vaga vaga, long agora) {
+        float area = 0f;
+        if (vaga.totalAreas > 0) {
+            int comuns = 0;
+            int n = Math.min(perfil.areas.length, vaga.areas.length);
+            for (int i = 0; i < n; i++) {
+                comuns += Long.bitCount(perfil.areas[i] & vaga.areas[i]);
+            }
+            area = comuns / (float) vaga.totalAreas;
+        }
+        float termos = 0f;
+        if (perfil.termos.length > 0 && vaga.termos.length > 0) {
+            int comuns = 0;
+            int i = 0;
+            int j = 0;
+            while (i < perfil.termos.length && j < vaga.termos.length) {
+                int a = perfil.termos[i];
+                int b = vaga.termos[j];
+                if (a == b) {
+                    comuns++;
+                    i++;
+                    j++;
+                } else if (a < b) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            termos = comuns / (float) perfil.termos.length;
+        }
+        float recencia = 0f;
+        if (vaga.publicadaEm > 0) {
+            recencia = (float) Math.pow(2, -Math.max(0, agora - vaga.publicadaEm) / MEIA_VIDA_MS);
+        }
+        return PESO_AREA * area + PESO_TERMOS * termos + PESO_NOTA * vaga.nota + PESO_RECENCIA * recencia;
+    }
+
+    // Varredura completa do catálogo para um estudante
+    private void recalcular(Perfil perfil, long agora) {
+        perfil.tamanho = 0;
+        for (int i = 0; i < catalogo.size(); i++) {
+            Vaga vaga = catalogo.get(i);
+            if (Arrays.binarySearch(perfil.inscricoes, vaga.id) >= 0) {
+                continue;
+            }
+            oferecer(perfil, vaga.id, pontuar(perfil, vaga, agora));
+        }
+        perfil.sujo = false;
+        perfil.geracao = geracao;
+    }
+
+    // Ajusta um top-K já calculado após a vaga ser publicada/alterada (ou voltar a ser elegível)
+    private void reposicionar(Perfil perfil, Vaga vaga, long agora) {
+        if (perfil.sujo) {
+            return;
+        }
+        boolean cheioAntes = perfil.tamanho == k;
+        boolean estava = remover(perfil, vaga.id);
+        if (Arrays.binarySearch(perfil.inscricoes, vaga.id) >= 0) {
+            perfil.sujo = estava && cheioAntes;
+            return;
+        }
+        float pontuacao = pontuar(perfil, vaga, agora);
+        if (perfil.tamanho < k) {
+            // Se a vaga caiu abaixo do menor restante, o (K+1)-ésimo desconhecido pode superá-la
+            if (estava && cheioAntes && (perfil.tamanho == 0 || pontuacao < menor(perfil))) {
+                perfil.sujo = true;
+            } else {
+                oferecer(perfil, vaga.id, pontuacao);
+            }
+        } else {
+            oferecer(perfil, vaga.id, pontuacao);
+        }
+    }
+
+    private void retirar(Perfil perfil, long vagaId) {
+        if (perfil.sujo) {
+            return;
+        }
+        boolean cheioAntes = perfil.tamanho == k;
+        if (remover(perfil, vagaId) && cheioAntes) {
+            perfil.sujo = true;
+        }
+    }
+
+    // Insere no top-K se houver espaço ou se superar o menor (desempate pelo menor id)
+    private void oferecer(Perfil perfil, long vagaId, float pontuacao) {
+        if (perfil.tamanho < k) {
+            perfil.topIds[perfil.tamanho] = vagaId;
+            perfil.topPontuacoes[perfil.tamanho] = pontuacao;
+            perfil.tamanho++;
+            return;
+        }
+        int pior = 0;
+        for (int i = 1; i < perfil.tamanho; i++) {
+            if (antes(perfil.topPontuacoes[pior], perfil.topIds[pior], perfil.topPontuacoes[i], perfil.topIds[i])) {
+                pior = i;
+            }
+        }
+        if (antes(pontuacao, vagaId, perfil.topPontuacoes[pior], perfil.topIds[pior])) {
+            perfil.topIds[pior] = vagaId;
+            perfil.topPontuacoes[pior] = pontuacao;
+        }
+    }
+
+    private static boolean remover(Perfil perfil, long vagaId) {
+        for (int i = 0; i < perfil.tamanho; i++) {
+            if (perfil.topIds[i] == vagaId) {
+                perfil.tamanho--;
+                perfil.topIds[i] = perfil.topIds[perfil.tamanho];
+                perfil.topPontuacoes[i] = perfil.topPontuacoes[perfil.tamanho];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float menor(Perfil perfil) {
+        float menor = Float.MAX_VALUE;
+        for (int i = 0; i < perfil.tamanho; i++) {
+            menor = Math.min(menor, perfil.topPontuacoes[i]);
+        }
+        return menor;
+    }
+
+    // Ordem das recomendações: pontuação decrescente, depois id crescente
+    private static boolean antes(float pontuacaoA, long idA, float pontuacaoB, long idB) {
+        return pontuacaoA > pontuacaoB || (pontuacaoA == pontuacaoB && idA < idB);
+    }
+
+    private static List<Recomendacao> ordenar(Perfil perfil, int limite) {
+        List<Recomendacao> recomendacoes = new ArrayList<>(perfil.tamanho);
+        for (int i = 0; i < perfil.tamanho; i++) {
+            recomendacoes.add(new Recomendacao(perfil.topIds[i], perfil.topPontuacoes[i]));
+        }
+        recomendacoes.sort((a, b) -> antes(a.pontuacao(), a.vagaId(), b.pontuacao(), b.vagaId()) ? -1
+                : antes(b.pontuacao(), b.vagaId(), a.pontuacao(), a.vagaId()) ? 1 : 0);
+        return recomendacoes.size() > limite ? recomendacoes.subList(0, limite) : recomendacoes;
+    }
+
+    private static float notaBayesiana(long[] resumo) {
+        long soma = resumo == null ? 0 : resumo[0];
+        long total = resumo == null ? 0 : resumo[1];
+        return (float) ((soma + PRIOR_MEDIA * PRIOR_PESO) / (total + PRIOR_PESO) / 5.0);
+    }
+
+    private long[] bitsetAreas(Collection<Long> areaIds) {
+        if (areaIds == null || areaIds.isEmpty()) {
+            return SEM_AREAS;
+        }
+        long[] bits = SEM_AREAS;
+        for (Long areaId : areaIds) {
+            if (areaId == null) {
+                continue;
+            }
+            int bit = indiceAreas.computeIfAbsent(areaId, id -> indiceAreas.size());
+            if (bit / 64 >= bits.length) {
+                bits = Arrays.copyOf(bits, bit / 64 + 1);
+            }
+            bits[bit / 64] |= 1L << (bit % 64);
+        }
+        return bits;
+    }
+
+    private int[] idsTermos(String texto) {
+        List<String> termos = AnalisadorPortugues.termos(texto);
+        if (termos.isEmpty()) {
+            return SEM_TERMOS;
+        }
+        int[] ids = new int[termos.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = vocabulario.computeIfAbsent(termos.get(i), termo -> vocabulario.size());
+        }
+        return Arrays.stream(ids).sorted().distinct().toArray();
+    }
+
+    private static int contarBits(long[] bits) {
+        int total = 0;
+        for (long palavra : bits) {
+            total += Long.bitCount(palavra);
+        }
+        return total;
+    }
+
+    private static String concatenar(String a, String b) {
+        return (a == null ? "" : a) + " " + (b == null ? "" : b);
+    }
+}
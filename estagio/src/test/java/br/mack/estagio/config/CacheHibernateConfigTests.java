@@ -0,0 +1,118 @@
+package br.mack.estagio.config;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.security.JwtProvider;
+import br.mack.estagio.services.ConsumidorEventosGamificacao;
+import br.mack.estagio.services.PontosService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:cache;DB_CLOSE_DELAY=-1",
+		"gamificacao.consumidor.intervalo-ms=3600000",
+		"idempotencia.limpeza.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class CacheHibernateConfigTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private AreaInteresseRepository areaInteresseRepository;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private PontosService pontosService;
+
+	@Autowired
+	private ConsumidorEventosGamificacao consumidor;
+
+	@Test
+	void referenciasVemDoCacheEEscritasNaoDeixamDadosVelhos() throws Exception {
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Cache");
+		area = areaInteresseRepository.save(area);
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Cache");
+		empresa.setAreasAtuacao(Set.of(area));
+		empresa = empresaRepository.save(empresa);
+		Estudante estudante = new Estudante();
+		estudante.setNome("Estudante Cache");
+		estudante = estudanteRepository.save(estudante);
+
+		Long areaId = area.getId();
+		Long empresaId = empresa.getId();
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		// Primeira leitura popula as regiões; as seguintes não vão ao banco
+		areaInteresseRepository.findAll();
+		transacao.execute(status -> empresaRepository.findById(empresaId).orElseThrow().getAreasAtuacao().size());
+		statistics.clear();
+		assertThat(areaInteresseRepository.findAll()).extracting(AreaInteresse::getNome).contains("Cache");
+		int areasDaEmpresa = transacao.execute(status -> empresaRepository.findById(empresaId).orElseThrow().getAreasAtuacao().size());
+		assertThat(areasDaEmpresa).isEqualTo(1);
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+		// SQL nativo que declara a tabela afetada não invalida as regiões de áreas/empresas
+		Long estudanteId = estudante.getId();
+		transacao.executeWithoutResult(status -> pontosService.registrarInscricao(estudanteId));
+		consumidor.processarPendentes();
+		statistics.clear();
+		areaInteresseRepository.findById(areaId).orElseThrow();
+		empresaRepository.findById(empresaId).orElseThrow();
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		// Escrita pelo controller: a leitura seguinte (entidade e consulta em cache) já vê o novo nome
+		String admin = "Bearer " + jwtProvider.generateToken(1L, "admin@test.com", "admin");
+		mockMvc.perform(put("/areas-interesse/" + areaId).header("Authorization", admin)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"nome\":\"Cache renomeada\"}"))
+				.andExpect(status().isOk());
+		assertThat(areaInteresseRepository.findById(areaId).orElseThrow().getNome()).isEqualTo("Cache renomeada");
+		assertThat(areaInteresseRepository.findAll()).extracting(AreaInteresse::getNome)
+				.contains("Cache renomeada").doesNotContain("Cache");
+
+		mockMvc.perform(get("/dashboard/admin/cache").header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.regioes['br.mack.estagio.entities.AreaInteresse'].acertos").isNumber())
+				.andExpect(jsonPath("$.consultas.taxaAcerto").isNumber());
+	}
+}
@@ -0,0 +1,45 @@
+package br.mack.estagio.config;
+
+import br.mack.estagio.security.JwtProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metricas;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ObservacaoRequisicoesHttpTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Test
+	void scrapeSoParaAdminComMetricasPorRotaERole() throws Exception {
+		String estudante = "Bearer " + jwtProvider.generateToken(1L, "metricas@test.com", "estudante");
+		String admin = "Bearer " + jwtProvider.generateToken(1L, "admin@test.com", "admin");
+
+		mockMvc.perform(get("/areas-interesse").header("Authorization", estudante)).andExpect(status().isOk());
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", estudante)).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+
+		String metricas = mockMvc.perform(get("/actuator/prometheus").header("Authorization", admin))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		assertThat(metricas).containsPattern("http_server_requests_seconds_bucket\\{[^}]*role=\"estudante\"[^}]*uri=\"/areas-interesse\"");
+		assertThat(metricas).containsPattern("spring_data_repository_invocations_seconds_bucket\\{[^}]*repository=\"AreaInteresseRepository\"");
+		assertThat(metricas).contains("hibernate_query_executions_total", "hibernate_second_level_cache_requests_total", "hibernate_entities_loads_total");
+		assertThat(metricas).contains("hikaricp_connections_active");
+		assertThat(metricas).containsPattern("bcrypt_seconds_count\\{[^}]*operacao=\"encode\"");
+	}
+}
@@ -0,0 +1,153 @@
+package br.mack.estagio.config;
+
+import br.mack.estagio.dto.VagaDTO;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.security.JwtProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Dois H2 em memória no papel de primária e réplica; a "replicação" é uma cópia do banco
+// inteiro (SCRIPT) feita pelo teste, e o monitor é acionado à mão
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:primaria;DB_CLOSE_DELAY=-1",
+		"replica.datasource.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+		"replica.atraso-maximo-ms=20",
+		"replica.verificacao.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class RoteamentoDataSourceConfigTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private VagaEstagioRepository vagaEstagioRepository;
+
+	@Autowired
+	private MonitorReplica monitorReplica;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	@Qualifier("primariaDataSource")
+	private DataSource primaria;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replica;
+
+	@Test
+	void leiturasVaoParaAReplicaAteOAtrasoPassarDoLimite() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Replicada");
+		empresa = empresaRepository.save(empresa);
+		novaVaga("Replicada", empresa);
+
+		monitorReplica.verificar();
+		replicar();
+		Thread.sleep(50);
+		monitorReplica.verificar();
+		assertThat(monitorReplica.disponivel()).isTrue();
+
+		// Gravada só na primária: a listagem (transação readOnly) ainda não a vê
+		novaVaga("Só na primária", empresa);
+		String token = "Bearer " + jwtProvider.generateToken(1L, "replica@test.com", "estudante");
+		mockMvc.perform(get("/vagas-estagio/abertas").header("Authorization", token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1));
+
+		// O batimento gravado 50 ms depois do replicado não chegou à réplica: leituras na primária
+		monitorReplica.verificar();
+		assertThat(monitorReplica.disponivel()).isFalse();
+		mockMvc.perform(get("/vagas-estagio/abertas").header("Authorization", token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2));
+
+		assertThat(meterRegistry.get("datasource.roteamento").tag("pool", "replica").counter().count()).isPositive();
+		assertThat(meterRegistry.get("datasource.roteamento").tag("pool", "primaria").tag("transacao", "leitura")
+				.counter().count()).isPositive();
+		assertThat(meterRegistry.get("datasource.replica.disponivel").gauge().value()).isZero();
+		assertThat(meterRegistry.get("hikaricp.connections").tag("pool", "replica").gauge()).isNotNull();
+		assertThat(meterRegistry.get("hikaricp.connections").tag("pool", "primaria").gauge()).isNotNull();
+	}
+
+	@Test
+	void escritaDepoisDeUmaLeituraNaReplicaVaiParaAPrimaria() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Encerrando");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio vaga = novaVaga("A encerrar", empresa);
+
+		monitorReplica.verificar();
+		replicar();
+		monitorReplica.verificar();
+		assertThat(monitorReplica.disponivel()).isTrue();
+
+		// findById (readOnly) lê da réplica; o save seguinte, na mesma requisição, precisa ir à primária
+		String token = "Bearer " + jwtProvider.generateToken(empresa.getId(), "encerra@test.com", "empresa");
+		mockMvc.perform(put("/vagas-estagio/" + vaga.getId() + "/encerrar").header("Authorization", token))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.aberta").value(false));
+
+		String consulta = "SELECT aberta FROM vaga_estagio WHERE id = ?";
+		assertThat(new JdbcTemplate(primaria).queryForObject(consulta, Boolean.class, vaga.getId())).isFalse();
+		assertThat(new JdbcTemplate(replica).queryForObject(consulta, Boolean.class, vaga.getId())).isTrue();
+	}
+
+	@Test
+	void escritaForaDeRequisicaoSoVaiParaAPrimariaAteOFimDaTransacao() {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Agendada");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio replicada = novaVaga("Replicada antes", empresa);
+
+		monitorReplica.verificar();
+		replicar();
+		monitorReplica.verificar();
+		assertThat(monitorReplica.disponivel()).isTrue();
+
+		// Como uma tarefa agendada: grava e depois lê na mesma thread, sem o filtro de requisição.
+		// A transação do save terminou, então a leitura readOnly seguinte volta para a réplica
+		VagaEstagio soNaPrimaria = novaVaga("Gravada fora de requisição", empresa);
+		List<Long> abertas = vagaEstagioRepository.findDTOByAbertaTrue().stream().map(VagaDTO::getId).toList();
+		assertThat(abertas).contains(replicada.getId()).doesNotContain(soNaPrimaria.getId());
+	}
+
+	private VagaEstagio novaVaga(String titulo, Empresa empresa) {
+		VagaEstagio vaga = new VagaEstagio();
+		vaga.setTitulo(titulo);
+		vaga.setEmpresa(empresa);
+		return vagaEstagioRepository.save(vaga);
+	}
+
+	private void replicar() {
+		JdbcTemplate destino = new JdbcTemplate(replica);
+		destino.execute("DROP ALL OBJECTS");
+		new JdbcTemplate(primaria).queryForList("SCRIPT", String.class).forEach(destino::execute);
+	}
+}
@@ -0,0 +1,41 @@
+package br.mack.estagio.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Banco "existente" criado à mão: as tabelas sem as restrições, como ficariam se o
+// ddl-auto=update não conseguisse criá-las
+class VerificacaoRestricoesUnicasTests {
+
+	@Test
+	void impedeOStartComRestricaoAusenteEIndicaAsDuplicatas() {
+		JdbcTemplate jdbcTemplate = banco("restricoes_ausentes");
+		jdbcTemplate.update("INSERT INTO empresa (id, cnpj, email) VALUES (1, '1', 'a@x.com'), (2, '2', 'a@x.com')");
+		VerificacaoRestricoesUnicas verificacao = new VerificacaoRestricoesUnicas(jdbcTemplate);
+
+		assertThatThrownBy(verificacao::verificar)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("uk_empresa_email em empresa(email): 1 valor(es) repetido(s)");
+
+		jdbcTemplate.update("DELETE FROM empresa WHERE id = 2");
+		for (VerificacaoRestricoesUnicas.Restricao restricao : VerificacaoRestricoesUnicas.RESTRICOES) {
+			jdbcTemplate.execute("ALTER TABLE " + restricao.tabela() + " ADD CONSTRAINT " + restricao.nome()
+					+ " UNIQUE (" + restricao.colunas() + ")");
+		}
+		assertThatCode(verificacao::verificar).doesNotThrowAnyException();
+	}
+
+	private static JdbcTemplate banco(String nome) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(
+				new SingleConnectionDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "", true));
+		jdbcTemplate.execute("CREATE TABLE estudante (id BIGINT PRIMARY KEY, cpf VARCHAR(20), email VARCHAR(100))");
+		jdbcTemplate.execute("CREATE TABLE empresa (id BIGINT PRIMARY KEY, cnpj VARCHAR(20), email VARCHAR(100))");
+		jdbcTemplate.execute("CREATE TABLE inscricao (id BIGINT PRIMARY KEY, estudante_id BIGINT, vaga_id BIGINT)");
+		jdbcTemplate.execute("CREATE TABLE avaliacao (id BIGINT PRIMARY KEY, estudante_id BIGINT, vaga_id BIGINT)");
+		return jdbcTemplate;
+	}
+}
@@ -0,0 +1,79 @@
+package br.mack.estagio.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:auth;DB_CLOSE_DELAY=-1",
+		"login.executor.threads=1",
+		"login.executor.queue-capacity=1",
+		"login.executor.retry-after-seconds=7",
+		"gamificacao.consumidor.intervalo-ms=3600000",
+		"idempotencia.limpeza.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class AuthControllerTests {
+
+	private static final String LOGIN_ADMIN = "{\"email\":\"admin@test.com\",\"senha\":\"admin123\",\"role\":\"admin\"}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ThreadPoolExecutor loginExecutor;
+
+	@Test
+	void poolDeLoginCheioRespondeServiceUnavailableComRetryAfter() throws Exception {
+		// Ocupa a única thread e a única posição da fila do pool de login
+		CountDownLatch ocupada = new CountDownLatch(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		loginExecutor.execute(() -> {
+			ocupada.countDown();
+			aguardar(liberar);
+		});
+		assertThat(ocupada.await(10, TimeUnit.SECONDS)).isTrue();
+		loginExecutor.execute(() -> aguardar(liberar));
+
+		try {
+			mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_ADMIN))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string("Retry-After", "7"))
+					.andExpect(jsonPath("$.error").exists());
+		} finally {
+			liberar.countDown();
+		}
+
+		// Com o pool livre o mesmo login volta a ser atendido
+		MvcResult resultado = mockMvc.perform(post("/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_ADMIN))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		mockMvc.perform(asyncDispatch(resultado))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.token").exists());
+	}
+
+	private static void aguardar(CountDownLatch liberar) {
+		try {
+			liberar.await(30, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package br.mack.estagio.controllers;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.Inscricao;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.InscricaoRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.security.JwtProvider;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:dashboard;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"gamificacao.consumidor.intervalo-ms=3600000",
+		"idempotencia.limpeza.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class DashboardControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private VagaEstagioRepository vagaEstagioRepository;
+
+	@Autowired
+	private InscricaoRepository inscricaoRepository;
+
+	@Autowired
+	private AreaInteresseRepository areaInteresseRepository;
+
+	@Test
+	void dashboardEmpresaUsaNumeroFixoDeConsultas() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Dashboard");
+		empresa.setSenha("hash-empresa");
+		empresa = empresaRepository.save(empresa);
+
+		Estudante estudante = new Estudante();
+		estudante.setNome("Estudante Dashboard");
+		estudante.setSenha("hash-estudante");
+		estudante = estudanteRepository.save(estudante);
+
+		int totalVagas = 30;
+		for (int i = 0; i < totalVagas; i++) {
+			VagaEstagio vaga = new VagaEstagio();
+			vaga.setTitulo("Vaga " + i);
+			vaga.setEmpresa(empresa);
+			vaga = vagaEstagioRepository.save(vaga);
+			if (i % 2 == 0) {
+				Inscricao inscricao = new Inscricao();
+				inscricao.setEstudante(estudante);
+				inscricao.setVaga(vaga);
+				inscricaoRepository.save(inscricao);
+			}
+		}
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		String resumido = mockMvc.perform(get("/dashboard/empresa/" + empresa.getId())
+						.header("Authorization", "Bearer " + jwtProvider.generateToken(empresa.getId(), "e@test.com", "empresa")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.vagas.length()").value(totalVagas))
+				.andExpect(jsonPath("$.vagas[0].empresaNome").value("Empresa Dashboard"))
+				.andExpect(jsonPath("$.resumoPorVaga.length()").value(totalVagas))
+				.andExpect(jsonPath("$.inscricoesPorVaga").doesNotExist())
+				.andReturn().getResponse().getContentAsString();
+
+		// vagas + resumo agrupado
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+
+		statistics.clear();
+		String detalhado = mockMvc.perform(get("/dashboard/empresa/" + empresa.getId()).param("detalhado", "true")
+						.header("Authorization", "Bearer " + jwtProvider.generateToken(empresa.getId(), "e@test.com", "empresa")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.inscricoesPorVaga.length()").value(totalVagas / 2))
+				.andReturn().getResponse().getContentAsString();
+
+		// + inscrições (projeção com estudante e vaga no mesmo SELECT)
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+		// Projeções: nem o hash da senha nem as entidades Empresa/Estudante vão para o JSON
+		assertThat(resumido).doesNotContain("senha", "hash-empresa");
+		assertThat(detalhado).doesNotContain("senha", "hash-empresa", "hash-estudante")
+				.contains("\"estudanteNome\":\"Estudante Dashboard\"");
+	}
+
+	@Test
+	void dashboardEstudanteRecomendaVagasDaAreaSemAsJaInscritas() throws Exception {
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Dados");
+		area = areaInteresseRepository.save(area);
+		AreaInteresse outraArea = new AreaInteresse();
+		outraArea.setNome("Vendas");
+		outraArea = areaInteresseRepository.save(outraArea);
+
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Recomendacao");
+		empresa = empresaRepository.save(empresa);
+
+		String tokenEmpresa = "Bearer " + jwtProvider.generateToken(empresa.getId(), "r@test.com", "empresa");
+		long vagaDados = criarVaga(tokenEmpresa, "Estágio em Dados", area, empresa);
+		long vagaInscrita = criarVaga(tokenEmpresa, "Estágio em Dados II", area, empresa);
+		long vagaVendas = criarVaga(tokenEmpresa, "Estágio em Vendas", outraArea, empresa);
+
+		String tokenEstudante = "Bearer " + jwtProvider.generateToken(1L, "rec@test.com", "estudante");
+		String resposta = mockMvc.perform(post("/estudantes").header("Authorization", tokenEstudante)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"nome\":\"Estudante Recomendacao\",\"cpf\":\"98765432100\",\"email\":\"rec@test.com\","
+								+ "\"senha\":\"123\",\"areasInteresse\":[{\"id\":" + area.getId() + "}]}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		long estudanteId = ((Number) JsonPath.read(resposta, "$.id")).longValue();
+
+		mockMvc.perform(post("/inscricoes").header("Authorization", tokenEstudante)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"estudante\":{\"id\":" + estudanteId + "},\"vaga\":{\"id\":" + vagaInscrita + ",\"aberta\":true}}"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/dashboard/estudante/" + estudanteId).header("Authorization", tokenEstudante))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].id").value(vagaDados))
+				.andExpect(jsonPath("$[0].areaNome").value("Dados"))
+				.andExpect(jsonPath("$[1].id").value(vagaVendas));
+	}
+
+	private long criarVaga(String token, String titulo, AreaInteresse area, Empresa empresa) throws Exception {
+		String resposta = mockMvc.perform(post("/vagas-estagio").header("Authorization", token)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\":\"" + titulo + "\",\"aberta\":true,\"area\":{\"id\":" + area.getId()
+								+ "},\"empresa\":{\"id\":" + empresa.getId() + "}}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return ((Number) JsonPath.read(resposta, "$.id")).longValue();
+	}
+}
@@ -0,0 +1,73 @@
+package br.mack.estagio.controllers;
+
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.security.JwtProvider;
+import br.mack.estagio.services.RankingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:estudantes;DB_CLOSE_DELAY=-1",
+		"gamificacao.consumidor.intervalo-ms=3600000",
+		"idempotencia.limpeza.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class EstudanteControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private RankingService rankingService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void edicaoDoPerfilMantemPontosEBadges() throws Exception {
+		Estudante estudante = new Estudante();
+		estudante.setNome("Estudante Perfil");
+		estudante.setEmail("perfil@test.com");
+		estudante.setSenha("hash");
+		estudante = estudanteRepository.save(estudante);
+		Long id = estudante.getId();
+		// Pontos e badge gravados como o consumidor de gamificação grava
+		jdbcTemplate.update("UPDATE estudante SET pontos = 120 WHERE id = ?", id);
+		jdbcTemplate.update("INSERT INTO estudante_badges (estudante_id, badge) VALUES (?, ?)", id, "100 Pontos");
+		rankingService.registrar(id, "Estudante Perfil", 120);
+
+		// Mesmo corpo da página meu-perfil: só os campos editáveis
+		String token = "Bearer " + jwtProvider.generateToken(id, "perfil@test.com", "estudante");
+		mockMvc.perform(put("/estudantes/" + id).header("Authorization", token).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"nome\":\"Estudante Renomeado\",\"email\":\"perfil@test.com\",\"telefone\":\"11999999999\","
+								+ "\"curso\":\"Computação\",\"areasInteresse\":[]}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.nome").value("Estudante Renomeado"))
+				.andExpect(jsonPath("$.pontos").value(120));
+
+		assertThat(jdbcTemplate.queryForObject("SELECT pontos FROM estudante WHERE id = ?", Integer.class, id)).isEqualTo(120);
+		assertThat(jdbcTemplate.queryForList("SELECT badge FROM estudante_badges WHERE estudante_id = ?", String.class, id))
+				.containsExactly("100 Pontos");
+		assertThat(rankingService.posicao(id)).hasValueSatisfying(posicao -> {
+			assertThat(posicao.getPontos()).isEqualTo(120);
+			assertThat(posicao.getNome()).isEqualTo("Estudante Renomeado");
+		});
+	}
+}
@@ -0,0 +1,160 @@
+package br.mack.estagio.controllers;
+
+import br.mack.estagio.config.AlinhamentoSequencias;
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.security.JwtProvider;
+import br.mack.estagio.services.BuscaVagasService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:importacao;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"importacao.lote=40",
+		"gamificacao.consumidor.intervalo-ms=3600000",
+		"idempotencia.limpeza.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class ImportacaoControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private AreaInteresseRepository areaInteresseRepository;
+
+	@Autowired
+	private VagaEstagioRepository vagaEstagioRepository;
+
+	@Autowired
+	private BuscaVagasService buscaVagasService;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private AlinhamentoSequencias alinhamentoSequencias;
+
+	@Test
+	void importaEstudantesEmLotesReportandoErrosPorLinha() throws Exception {
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Importação");
+		area = areaInteresseRepository.save(area);
+
+		Estudante existente = new Estudante();
+		existente.setNome("Já cadastrado");
+		existente.setCpf("cpf-existente");
+		existente.setEmail("existente@test.com");
+		estudanteRepository.save(existente);
+
+		int validos = 100;
+		StringBuilder csv = new StringBuilder("nome,cpf,email,senha,curso,areasInteresse\n");
+		for (int i = 0; i < validos; i++) {
+			csv.append("\"Estudante, ").append(i).append("\",cpf-").append(i).append(",e").append(i)
+					.append("@test.com,senha").append(i).append(",Computação,").append(area.getId()).append('\n');
+		}
+		csv.append("Repetido,cpf-existente,novo@test.com,x,,\n");     // linha 102: CPF do banco
+		csv.append("Repetido,cpf-0,outro@test.com,x,,\n");            // linha 103: CPF do próprio arquivo
+		csv.append("Sem email,cpf-x,,x,,\n");                          // linha 104
+		csv.append("Área,cpf-y,y@test.com,x,,999999\n");               // linha 105
+		csv.append("Curto,cpf-z\n");                                    // linha 106
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		mockMvc.perform(post("/importacao/estudantes").header("Authorization", admin())
+						.contentType("text/csv").content(csv.toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.linhasLidas").value(validos + 5))
+				.andExpect(jsonPath("$.importados").value(validos))
+				.andExpect(jsonPath("$.totalErros").value(5))
+				.andExpect(jsonPath("$.erros[0].linha").value(102))
+				.andExpect(jsonPath("$.erros[0].mensagem").value("CPF já cadastrado."))
+				.andExpect(jsonPath("$.erros[1].linha").value(103))
+				.andExpect(jsonPath("$.erros[2].linha").value(104))
+				.andExpect(jsonPath("$.erros[3].linha").value(105))
+				.andExpect(jsonPath("$.erros[4].linha").value(106));
+
+		assertThat(statistics.getEntityInsertCount()).isEqualTo(validos);
+		// INSERTs agrupados em batches JDBC: bem menos statements que linhas (estudante + estudante_areas)
+		assertThat(statistics.getPrepareStatementCount()).isLessThan(validos / 2);
+
+		Estudante importado = estudanteRepository.findByCpf("cpf-7").orElseThrow();
+		assertThat(importado.getNome()).isEqualTo("Estudante, 7");
+		assertThat(passwordEncoder.matches("senha7", importado.getSenha())).isTrue();
+		assertThat(estudanteRepository.findAreasInteresseById(importado.getId())).extracting(AreaInteresse::getId)
+				.containsExactly(area.getId());
+	}
+
+	@Test
+	void importaVagasJsonlEAtualizaIndiceDeBusca() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Importadora");
+		empresa = empresaRepository.save(empresa);
+
+		String jsonl = "{\"titulo\":\"Estágio em Paleontologia\",\"empresaId\":" + empresa.getId() + ",\"cargaHoraria\":30}\n"
+				+ "\n"
+				+ "{\"titulo\":\"Sem empresa\"}\n"
+				+ "{quebrado\n"
+				+ "{\"titulo\":\"Estágio encerrado\",\"empresa\":{\"id\":" + empresa.getId() + "},\"aberta\":false}\n";
+
+		mockMvc.perform(post("/importacao/vagas").header("Authorization", admin())
+						.contentType("application/x-ndjson").content(jsonl))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.linhasLidas").value(4))
+				.andExpect(jsonPath("$.importados").value(2))
+				.andExpect(jsonPath("$.erros[0].linha").value(3))
+				.andExpect(jsonPath("$.erros[1].linha").value(4));
+
+		assertThat(vagaEstagioRepository.findDTOByEmpresaId(empresa.getId())).hasSize(2);
+		assertThat(buscaVagasService.buscar("paleontologia", 10)).hasSize(1);
+	}
+
+	@Test
+	void sequenciaAvancaAlemDeIdsJaGravados() {
+		jdbcTemplate.update("INSERT INTO estudante (id, nome, pontos) VALUES (?, ?, 0)", 5_000_000L, "Legado");
+		alinhamentoSequencias.alinhar();
+
+		Estudante novo = new Estudante();
+		novo.setNome("Depois do legado");
+		assertThat(estudanteRepository.save(novo).getId()).isGreaterThan(5_000_000L);
+	}
+
+	private String admin() {
+		return "Bearer " + jwtProvider.generateToken(1L, "admin@test.com", "admin");
+	}
+}
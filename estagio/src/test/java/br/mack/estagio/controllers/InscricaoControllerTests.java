@@ -0,0 +1,345 @@
+package br.mack.estagio.controllers;
+
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.Inscricao;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.InscricaoRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.security.JwtProvider;
+import br.mack.estagio.services.ConsumidorEventosGamificacao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:inscricoes;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"gamificacao.consumidor.intervalo-ms=3600000",
+		"idempotencia.limpeza.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class InscricaoControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private VagaEstagioRepository vagaEstagioRepository;
+
+	@Autowired
+	private InscricaoRepository inscricaoRepository;
+
+	@Autowired
+	private ConsumidorEventosGamificacao consumidor;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void exportaInscricoesDaEmpresaEmCsvEGzip() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Exportação");
+		empresa = empresaRepository.save(empresa);
+		Empresa outraEmpresa = new Empresa();
+		outraEmpresa.setNome("Outra");
+		outraEmpresa = empresaRepository.save(outraEmpresa);
+
+		VagaEstagio vaga = novaVaga("Estágio \"Backend\", Java", empresa);
+		VagaEstagio vagaDeOutra = novaVaga("Não exportar", outraEmpresa);
+		Estudante ana = novoEstudante("Ana", "ana@test.com");
+		Estudante formula = novoEstudante("=HYPERLINK(\"x\")", "f@test.com");
+		novaInscricao(ana, vaga);
+		novaInscricao(formula, vaga);
+		novaInscricao(ana, vagaDeOutra);
+
+		String token = "Bearer " + jwtProvider.generateToken(empresa.getId(), "e@test.com", "empresa");
+		MvcResult csv = mockMvc.perform(get("/inscricoes/empresa/" + empresa.getId() + "/exportar").header("Authorization", token))
+				.andReturn();
+		String conteudo = mockMvc.perform(asyncDispatch(csv))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"inscricoes-empresa-" + empresa.getId() + ".csv\""))
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		String[] linhas = conteudo.replace("﻿", "").split("\r\n");
+		assertThat(linhas).hasSize(3);
+		assertThat(linhas[0]).isEqualTo("inscricaoId,dataInscricao,vagaId,vagaTitulo,vagaLocalizacao,vagaAberta,"
+				+ "estudanteId,estudanteNome,estudanteEmail,estudanteCurso");
+		assertThat(linhas[1]).contains(",\"Estágio \"\"Backend\"\", Java\",,true," + ana.getId() + ",Ana,ana@test.com,");
+		assertThat(linhas[2]).contains(",\"'=HYPERLINK(\"\"x\"\")\",f@test.com,");
+
+		MvcResult gzip = mockMvc.perform(get("/inscricoes/empresa/" + empresa.getId() + "/exportar").param("gzip", "true")
+						.header("Authorization", token))
+				.andReturn();
+		byte[] compactado = mockMvc.perform(asyncDispatch(gzip))
+				.andExpect(status().isOk())
+				.andExpect(header().string("Content-Type", "application/gzip"))
+				.andReturn().getResponse().getContentAsByteArray();
+		try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(compactado))) {
+			assertThat(new String(entrada.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(conteudo);
+		}
+	}
+
+	@Test
+	void inscricaoDuplicadaBarradaPelaRestricaoUnica() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Duplicada");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio vaga = novaVaga("Estágio Único", empresa);
+		Estudante estudante = novoEstudante("Bia", "bia@test.com");
+
+		String token = "Bearer " + jwtProvider.generateToken(estudante.getId(), "bia@test.com", "estudante");
+		String corpo = "{\"estudante\":{\"id\":" + estudante.getId() + "},\"vaga\":{\"id\":" + vaga.getId() + "}}";
+		mockMvc.perform(post("/inscricoes").header("Authorization", token).contentType(MediaType.APPLICATION_JSON).content(corpo))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.vagaId").value(vaga.getId()));
+		mockMvc.perform(post("/inscricoes").header("Authorization", token).contentType(MediaType.APPLICATION_JSON).content(corpo))
+				.andExpect(status().isBadRequest())
+				.andExpect(status().reason("O estudante já se inscreveu nesta vaga."));
+
+		assertThat(inscricaoRepository.findByEstudanteId(estudante.getId())).hasSize(1);
+		consumidor.processarPendentes();
+		assertThat(estudanteRepository.findById(estudante.getId()).orElseThrow().getPontos()).isEqualTo(5);
+	}
+
+	@Test
+	void tentativasComMesmaIdempotencyKeyRecebemARespostaOriginal() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Idempotente");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio vaga = novaVaga("Estágio Concorrido", empresa);
+		VagaEstagio outraVaga = novaVaga("Outro Estágio", empresa);
+		Estudante estudante = novoEstudante("Caio", "caio@test.com");
+
+		String token = "Bearer " + jwtProvider.generateToken(estudante.getId(), "caio@test.com", "estudante");
+		String corpo = "{\"estudante\":{\"id\":" + estudante.getId() + "},\"vaga\":{\"id\":" + vaga.getId() + "}}";
+
+		// Tentativas simultâneas com a mesma chave: uma inscrição, todas com a mesma resposta
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<String>> tentativas = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			tentativas.add(executor.submit(() -> mockMvc.perform(post("/inscricoes").header("Authorization", token)
+							.header("Idempotency-Key", "chave-caio-1")
+							.contentType(MediaType.APPLICATION_JSON).content(corpo))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString()));
+		}
+		Set<String> respostas = new HashSet<>();
+		for (Future<String> tentativa : tentativas) {
+			respostas.add(tentativa.get());
+		}
+		executor.shutdown();
+		assertThat(respostas).hasSize(1);
+		assertThat(inscricaoRepository.findByEstudanteId(estudante.getId())).hasSize(1);
+
+		// Nova tentativa: respondida da memória, sem consultas
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		String repetida = mockMvc.perform(post("/inscricoes").header("Authorization", token)
+						.header("Idempotency-Key", "chave-caio-1")
+						.contentType(MediaType.APPLICATION_JSON).content(corpo))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(repetida).isEqualTo(respostas.iterator().next());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		// A mesma chave em outra vaga é rejeitada
+		mockMvc.perform(post("/inscricoes").header("Authorization", token).header("Idempotency-Key", "chave-caio-1")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"estudante\":{\"id\":" + estudante.getId() + "},\"vaga\":{\"id\":" + outraVaga.getId() + "}}"))
+				.andExpect(status().isUnprocessableEntity());
+
+		// A situação vem da vaga gravada, não do "aberta" do corpo
+		String empresaToken = "Bearer " + jwtProvider.generateToken(empresa.getId(), "e@test.com", "empresa");
+		mockMvc.perform(put("/vagas-estagio/" + outraVaga.getId() + "/encerrar").header("Authorization", empresaToken))
+				.andExpect(status().isOk());
+		mockMvc.perform(post("/inscricoes").header("Authorization", token).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"estudante\":{\"id\":" + estudante.getId() + "},\"vaga\":{\"id\":" + outraVaga.getId()
+								+ ",\"aberta\":true}}"))
+				.andExpect(status().isConflict())
+				.andExpect(status().reason("Não é possível se inscrever em uma vaga encerrada."));
+	}
+
+	@Test
+	void vagaComLimiteAceitaExatamenteMaxInscricoesSobConcorrencia() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Limitada");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio vaga = new VagaEstagio();
+		vaga.setTitulo("Estágio Disputado");
+		vaga.setEmpresa(empresa);
+		vaga.setMaxInscricoes(25);
+		vaga = vagaEstagioRepository.save(vaga);
+		Long vagaId = vaga.getId();
+
+		List<Estudante> estudantes = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			Estudante estudante = new Estudante();
+			estudante.setNome("Candidato " + i);
+			estudante.setEmail("candidato" + i + "@test.com");
+			estudantes.add(estudante);
+		}
+		estudantes = estudanteRepository.saveAll(estudantes);
+
+		// 1000 threads liberadas ao mesmo tempo, um estudante por thread
+		ExecutorService executor = Executors.newFixedThreadPool(1000);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Future<Integer>> tentativas = new ArrayList<>();
+		for (Estudante estudante : estudantes) {
+			String token = "Bearer " + jwtProvider.generateToken(estudante.getId(), estudante.getEmail(), "estudante");
+			String corpo = "{\"estudante\":{\"id\":" + estudante.getId() + "},\"vaga\":{\"id\":" + vagaId + "}}";
+			tentativas.add(executor.submit(() -> {
+				largada.await();
+				return mockMvc.perform(post("/inscricoes").header("Authorization", token)
+								.contentType(MediaType.APPLICATION_JSON).content(corpo))
+						.andReturn().getResponse().getStatus();
+			}));
+		}
+		largada.countDown();
+		int aceitas = 0;
+		int recusadas = 0;
+		for (Future<Integer> tentativa : tentativas) {
+			int status = tentativa.get(60, TimeUnit.SECONDS);
+			if (status == 200) {
+				aceitas++;
+			} else if (status == 400 || status == 409) {
+				// 400 lotada; 409 quando a tentativa chega depois do encerramento
+				recusadas++;
+			}
+		}
+		executor.shutdown();
+
+		// Todas respondidas (nenhum erro ou timeout) e exatamente o limite aceito. Quais 25
+		// são aceitas não é garantido: não há ordem de chegada entre tentativas concorrentes
+		assertThat(aceitas).isEqualTo(25);
+		assertThat(recusadas).isEqualTo(975);
+		assertThat(inscricaoRepository.findDTOByVagaId(vagaId)).hasSize(25);
+		VagaEstagio lotada = vagaEstagioRepository.findById(vagaId).orElseThrow();
+		assertThat(lotada.getInscritos()).isEqualTo(25);
+		assertThat(lotada.isAberta()).isFalse();
+
+		// Remover uma inscrição devolve a vaga ao contador, mas a vaga continua encerrada
+		Long removida = inscricaoRepository.findDTOByVagaId(vagaId).get(0).getId();
+		mockMvc.perform(delete("/inscricoes/" + removida)
+						.header("Authorization", "Bearer " + jwtProvider.generateToken(empresa.getId(), "e@test.com", "empresa")))
+				.andExpect(status().isOk());
+		assertThat(vagaEstagioRepository.findById(vagaId).orElseThrow().getInscritos()).isEqualTo(24);
+		Estudante atrasado = estudantes.get(0);
+		mockMvc.perform(post("/inscricoes")
+						.header("Authorization", "Bearer " + jwtProvider.generateToken(atrasado.getId(), atrasado.getEmail(), "estudante"))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"estudante\":{\"id\":" + atrasado.getId() + "},\"vaga\":{\"id\":" + vagaId + "}}"))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void vagaEncerradaEmOutraInstanciaRecusaComConflitoSemGravar() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Replicada");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio semLimite = novaVaga("Estágio Sem Limite", empresa);
+		VagaEstagio comLimite = new VagaEstagio();
+		comLimite.setTitulo("Estágio Com Limite");
+		comLimite.setEmpresa(empresa);
+		comLimite.setMaxInscricoes(10);
+		comLimite = vagaEstagioRepository.save(comLimite);
+		Estudante primeiro = novoEstudante("Dani", "dani@test.com");
+		Estudante segundo = novoEstudante("Edu", "edu@test.com");
+
+		// A primeira inscrição em cada vaga carrega a situação (aberta) na memória
+		for (VagaEstagio vaga : List.of(semLimite, comLimite)) {
+			mockMvc.perform(inscrever(primeiro, vaga, null)).andExpect(status().isOk());
+		}
+		// Outra instância encerra as duas vagas: esta memória continua achando que estão abertas
+		jdbcTemplate.update("UPDATE vaga_estagio SET aberta = false WHERE id IN (?, ?)", semLimite.getId(), comLimite.getId());
+
+		for (VagaEstagio vaga : List.of(semLimite, comLimite)) {
+			mockMvc.perform(inscrever(segundo, vaga, "chave-edu-" + vaga.getId()))
+					.andExpect(status().isConflict())
+					.andExpect(status().reason("Não é possível se inscrever em uma vaga encerrada."));
+			assertThat(inscricaoRepository.findDTOByVagaId(vaga.getId())).hasSize(1);
+			assertThat(vagaEstagioRepository.findById(vaga.getId()).orElseThrow().getInscritos()).isEqualTo(1);
+		}
+		// Nada da tentativa recusada foi gravado: nem o evento de gamificação nem a chave
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM evento_gamificacao WHERE estudante_id = ?",
+				Integer.class, segundo.getId())).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM chave_idempotencia WHERE estudante_id = ?",
+				Integer.class, segundo.getId())).isZero();
+	}
+
+	private RequestBuilder inscrever(Estudante estudante, VagaEstagio vaga, String chave) {
+		var requisicao = post("/inscricoes")
+				.header("Authorization", "Bearer " + jwtProvider.generateToken(estudante.getId(), estudante.getEmail(), "estudante"))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"estudante\":{\"id\":" + estudante.getId() + "},\"vaga\":{\"id\":" + vaga.getId() + "}}");
+		return chave != null ? requisicao.header("Idempotency-Key", chave) : requisicao;
+	}
+
+	private VagaEstagio novaVaga(String titulo, Empresa empresa) {
+		VagaEstagio vaga = new VagaEstagio();
+		vaga.setTitulo(titulo);
+		vaga.setEmpresa(empresa);
+		return vagaEstagioRepository.save(vaga);
+	}
+
+	private Estudante novoEstudante(String nome, String email) {
+		Estudante estudante = new Estudante();
+		estudante.setNome(nome);
+		estudante.setEmail(email);
+		return estudanteRepository.save(estudante);
+	}
+
+	private void novaInscricao(Estudante estudante, VagaEstagio vaga) {
+		Inscricao inscricao = new Inscricao();
+		inscricao.setEstudante(estudante);
+		inscricao.setVaga(vaga);
+		inscricaoRepository.save(inscricao);
+	}
+}
@@ -0,0 +1,305 @@
+package br.mack.estagio.controllers;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.dto.RecomendacaoVagaDTO;
+import br.mack.estagio.dto.VagaDTO;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import br.mack.estagio.security.JwtProvider;
+import br.mack.estagio.services.RecomendacaoService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:condicional;DB_CLOSE_DELAY=-1",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"gamificacao.consumidor.intervalo-ms=3600000",
+		"idempotencia.limpeza.intervalo-ms=3600000"
+})
+@AutoConfigureMockMvc
+class VagaEstagioControllerTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtProvider jwtProvider;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private AreaInteresseRepository areaInteresseRepository;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private VagaEstagioRepository vagaEstagioRepository;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private RecomendacaoService recomendacaoService;
+
+	@Test
+	void listagensRespondem304SemConsultarOBanco() throws Exception {
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Dados");
+		area = areaInteresseRepository.save(area);
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Condicional");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio vaga = new VagaEstagio();
+		vaga.setTitulo("Estágio Condicional");
+		vaga.setArea(area);
+		vaga.setEmpresa(empresa);
+		vaga = vagaEstagioRepository.save(vaga);
+		assertThat(vaga.getAtualizadoEm()).isNotNull();
+
+		String token = "Bearer " + jwtProvider.generateToken(1L, "estudante@test.com", "estudante");
+		MockHttpServletResponse primeira = mockMvc.perform(get("/vagas-estagio/abertas").header("Authorization", token))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+				.andReturn().getResponse();
+		String etag = primeira.getHeader(HttpHeaders.ETAG);
+		String ultimaAlteracao = primeira.getHeader(HttpHeaders.LAST_MODIFIED);
+		assertThat(etag).isNotNull();
+		assertThat(ultimaAlteracao).isNotNull();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get("/vagas-estagio/abertas").header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+		mockMvc.perform(get("/vagas-estagio/abertas").header("Authorization", token)
+						.header(HttpHeaders.IF_MODIFIED_SINCE, ultimaAlteracao))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/vagas-estagio/empresa/" + empresa.getId()).header("Authorization", token)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+
+		// Renomear a empresa muda o nome nas vagas: o ETag e o Last-Modified anteriores deixam de valer
+		empresa.setNome("Empresa Renomeada");
+		empresaRepository.save(empresa);
+		String novoEtag = mockMvc.perform(get("/vagas-estagio/abertas").header("Authorization", token)
+						.header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(novoEtag).isNotEqualTo(etag);
+		mockMvc.perform(get("/vagas-estagio/abertas").header("Authorization", token)
+						.header(HttpHeaders.IF_MODIFIED_SINCE, ultimaAlteracao))
+				.andExpect(status().isOk());
+
+		String etagAreas = mockMvc.perform(get("/areas-interesse").header("Authorization", token))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/areas-interesse").header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etagAreas))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void assinanteDaAreaRecebeVagasAbertasEEncerradas() throws Exception {
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Eventos");
+		area = areaInteresseRepository.save(area);
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Eventos");
+		empresa = empresaRepository.save(empresa);
+
+		String estudante = "Bearer " + jwtProvider.generateToken(1L, "sse@test.com", "estudante");
+		MvcResult assinatura = mockMvc.perform(get("/vagas-estagio/eventos").param("areaIds", area.getId().toString())
+						.header("Authorization", estudante))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String token = "Bearer " + jwtProvider.generateToken(empresa.getId(), "sse-empresa@test.com", "empresa");
+		String criada = mockMvc.perform(post("/vagas-estagio").header("Authorization", token).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\":\"Estágio Push\",\"area\":{\"id\":" + area.getId() + "},\"empresa\":{\"id\":"
+								+ empresa.getId() + "}}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		Long vagaId = JsonPath.parse(criada).read("$.id", Long.class);
+		assertThat(JsonPath.parse(criada).read("$.empresaNome", String.class)).isEqualTo("Empresa Eventos");
+		assertThat(JsonPath.parse(criada).read("$.areaNome", String.class)).isEqualTo("Eventos");
+		mockMvc.perform(put("/vagas-estagio/" + vagaId + "/encerrar").header("Authorization", token))
+				.andExpect(status().isOk());
+
+		String eventos = aguardarConteudo(assinatura, "event:vaga-encerrada");
+		assertThat(eventos).contains("event:vaga-aberta", "\"titulo\":\"Estágio Push\"", "\"empresaNome\":\"Empresa Eventos\"",
+				"data:{\"id\":" + vagaId + ",\"areaId\":" + area.getId() + "}");
+		assertThat(eventos.indexOf("event:vaga-aberta")).isLessThan(eventos.indexOf("event:vaga-encerrada"));
+	}
+
+	@Test
+	void encerramentoPeloPutAvisaOsAssinantes() throws Exception {
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Edição");
+		area = areaInteresseRepository.save(area);
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Edição");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio vaga = new VagaEstagio();
+		vaga.setTitulo("Estágio Editado");
+		vaga.setArea(area);
+		vaga.setEmpresa(empresa);
+		vaga = vagaEstagioRepository.save(vaga);
+
+		String estudante = "Bearer " + jwtProvider.generateToken(1L, "sse-edicao@test.com", "estudante");
+		MvcResult assinatura = mockMvc.perform(get("/vagas-estagio/eventos").param("areaIds", area.getId().toString())
+						.header("Authorization", estudante))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		String token = "Bearer " + jwtProvider.generateToken(empresa.getId(), "sse-edicao-empresa@test.com", "empresa");
+		String corpo = "{\"titulo\":\"Estágio Editado\",\"area\":{\"id\":" + area.getId() + "},\"empresa\":{\"id\":"
+				+ empresa.getId() + "},\"aberta\":%s}";
+		// Editar uma vaga que segue aberta não é encerramento: só um aviso chega, o do segundo PUT
+		mockMvc.perform(put("/vagas-estagio/" + vaga.getId()).header("Authorization", token)
+						.contentType(MediaType.APPLICATION_JSON).content(corpo.formatted("true")))
+				.andExpect(status().isOk());
+		mockMvc.perform(put("/vagas-estagio/" + vaga.getId()).header("Authorization", token)
+						.contentType(MediaType.APPLICATION_JSON).content(corpo.formatted("false")))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.aberta").value(false));
+
+		String eventos = aguardarConteudo(assinatura, "event:vaga-encerrada");
+		assertThat(eventos).contains("data:{\"id\":" + vaga.getId() + ",\"areaId\":" + area.getId() + "}");
+		assertThat(eventos.split("event:vaga-encerrada", -1)).hasSize(2);
+	}
+
+	@Test
+	void paginacaoPorCursorEStreamingPercorremTodasAsVagas() throws Exception {
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Paginada");
+		empresa = empresaRepository.save(empresa);
+		List<Long> criadas = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			VagaEstagio vaga = new VagaEstagio();
+			vaga.setTitulo("Estágio Paginado " + i);
+			vaga.setEmpresa(empresa);
+			criadas.add(vagaEstagioRepository.save(vaga).getId());
+		}
+		List<Long> todas = vagaEstagioRepository.findAllDTO().stream().map(VagaDTO::getId).toList();
+		String token = "Bearer " + jwtProvider.generateToken(1L, "admin@test.com", "admin");
+
+		// Páginas de 2 seguindo o X-Next-Cursor até ele não vir mais
+		List<Long> paginadas = new ArrayList<>();
+		String cursor = null;
+		do {
+			MockHttpServletRequestBuilder requisicao = get("/vagas-estagio").param("limit", "2").header("Authorization", token);
+			if (cursor != null) {
+				requisicao.param("after", cursor);
+			}
+			MockHttpServletResponse pagina = mockMvc.perform(requisicao)
+					.andExpect(status().isOk())
+					.andReturn().getResponse();
+			List<Integer> ids = JsonPath.parse(pagina.getContentAsString()).read("$[*].id");
+			assertThat(ids).hasSizeLessThanOrEqualTo(2);
+			ids.forEach(id -> paginadas.add(id.longValue()));
+			cursor = pagina.getHeader(PaginacaoCursor.HEADER_PROXIMO_CURSOR);
+		} while (cursor != null);
+		assertThat(paginadas).isEqualTo(todas).containsAll(criadas);
+
+		MvcResult streaming = mockMvc.perform(get("/vagas-estagio").param("stream", "true").header("Authorization", token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String corpo = mockMvc.perform(asyncDispatch(streaming))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+		List<Integer> transmitidas = JsonPath.parse(corpo).read("$[*].id");
+		assertThat(transmitidas.stream().map(Integer::longValue).toList()).isEqualTo(todas);
+		assertThat(corpo).contains("\"empresaNome\":\"Empresa Paginada\"");
+	}
+
+	@Test
+	void reaberturaMantemADataDePublicacaoNaRecomendacao() throws Exception {
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Recência");
+		area = areaInteresseRepository.save(area);
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Recência");
+		empresa = empresaRepository.save(empresa);
+		Estudante estudante = new Estudante();
+		estudante.setNome("Estudante Recência");
+		estudante.setAreasInteresse(Set.of(area));
+		estudante = estudanteRepository.save(estudante);
+		recomendacaoService.atualizarEstudante(estudante);
+
+		VagaEstagio antiga = new VagaEstagio();
+		antiga.setTitulo("Estágio Recência");
+		antiga.setArea(area);
+		antiga.setEmpresa(empresa);
+		antiga.setDataPublicacao(LocalDateTime.now().minusDays(90));
+		antiga = vagaEstagioRepository.save(antiga);
+		recomendacaoService.atualizarVaga(antiga);
+		VagaEstagio recente = new VagaEstagio();
+		recente.setTitulo("Estágio Recência");
+		recente.setArea(area);
+		recente.setEmpresa(empresa);
+		recente.setDataPublicacao(LocalDateTime.now().minusDays(1));
+		recente = vagaEstagioRepository.save(recente);
+		recomendacaoService.atualizarVaga(recente);
+
+		// Encerrada, a vaga sai do catálogo; reaberta pelo PUT (cujo corpo não traz a data de
+		// publicação), volta a ele com a data gravada
+		String token = "Bearer " + jwtProvider.generateToken(empresa.getId(), "recencia@test.com", "empresa");
+		mockMvc.perform(put("/vagas-estagio/" + antiga.getId() + "/encerrar").header("Authorization", token))
+				.andExpect(status().isOk());
+		mockMvc.perform(put("/vagas-estagio/" + antiga.getId()).header("Authorization", token).contentType(MediaType.APPLICATION_JSON)
+						.content("{\"titulo\":\"Estágio Recência\",\"descricao\":\"Reaberta\",\"aberta\":true,\"area\":{\"id\":" + area.getId()
+								+ "},\"empresa\":{\"id\":" + empresa.getId() + "}}"))
+				.andExpect(status().isOk());
+
+		List<Long> antigaERecente = List.of(antiga.getId(), recente.getId());
+		List<Long> recomendadas = recomendacaoService.recomendar(estudante.getId(), 50).stream()
+				.map(RecomendacaoVagaDTO::getId).filter(antigaERecente::contains).toList();
+		assertThat(recomendadas).containsExactly(recente.getId(), antiga.getId());
+		assertThat(vagaEstagioRepository.findById(antiga.getId()).orElseThrow().getDescricao()).isEqualTo("Reaberta");
+	}
+
+	private static String aguardarConteudo(MvcResult resultado, String esperado) throws Exception {
+		long limite = System.currentTimeMillis() + 10_000;
+		String conteudo = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+		while (!conteudo.contains(esperado) && System.currentTimeMillis() < limite) {
+			Thread.sleep(20);
+			conteudo = resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+		}
+		return conteudo;
+	}
+}
@@ -0,0 +1,48 @@
+package br.mack.estagio.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtProviderTests {
+
+	private JwtProvider jwtProvider;
+
+	@BeforeEach
+	void setUp() {
+		jwtProvider = new JwtProvider();
+		ReflectionTestUtils.setField(jwtProvider, "jwtSecret", "chave_de_teste_com_tamanho_suficiente_para_hs512_0123456789_abcdefghij");
+		ReflectionTestUtils.setField(jwtProvider, "jwtExpirationMs", 60_000);
+		ReflectionTestUtils.setField(jwtProvider, "cacheMaxEntries", 100);
+		jwtProvider.init();
+	}
+
+	@Test
+	void parseTokenExtraiIdEmailERole() {
+		String token = jwtProvider.generateToken(7L, "aluno@test.com", "estudante");
+
+		JwtPrincipal principal = jwtProvider.parseToken(token).orElseThrow();
+
+		assertThat(principal.getId()).isEqualTo(7L);
+		assertThat(principal.getEmail()).isEqualTo("aluno@test.com");
+		assertThat(principal.getRole()).isEqualTo("estudante");
+		assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_ESTUDANTE");
+		// Segunda chamada vem do cache e devolve a mesma instância
+		assertThat(jwtProvider.parseToken(token)).containsSame(principal);
+	}
+
+	@Test
+	void tokenAlteradoNaoEhAceitoMesmoComOriginalEmCache() {
+		String token = jwtProvider.generateToken(7L, "aluno@test.com", "estudante");
+		assertThat(jwtProvider.validateToken(token)).isTrue();
+
+		int assinatura = token.lastIndexOf('.') + 1;
+		char original = token.charAt(assinatura);
+		String alterado = token.substring(0, assinatura) + (original == 'A' ? 'B' : 'A') + token.substring(assinatura + 1);
+
+		assertThat(jwtProvider.parseToken(alterado)).isEmpty();
+		assertThat(jwtProvider.validateToken("nao.e.um.token")).isFalse();
+	}
+}
@@ -0,0 +1,85 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.Avaliacao;
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.entities.ResumoAvaliacoesVaga;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.AvaliacaoRepository;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:avaliacoes;DB_CLOSE_DELAY=-1")
+class AvaliacaoServiceTests {
+
+	@Autowired
+	private AvaliacaoService avaliacaoService;
+
+	@Autowired
+	private AvaliacaoRepository avaliacaoRepository;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private VagaEstagioRepository vagaEstagioRepository;
+
+	@Test
+	void resumoAcompanhaCriacaoAlteracaoEExclusao() throws Exception {
+		VagaEstagio vaga = new VagaEstagio();
+		vaga.setTitulo("Vaga avaliada");
+		vaga = vagaEstagioRepository.save(vaga);
+
+		// Primeiras avaliações concorrentes: apenas uma cria a linha do resumo, as demais a incrementam
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<Avaliacao>> criadas = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			Avaliacao avaliacao = new Avaliacao();
+			avaliacao.setVaga(vaga);
+			avaliacao.setEstudante(novoEstudante(i));
+			avaliacao.setNota(i % 5 + 1);
+			criadas.add(executor.submit(() -> avaliacaoService.criar(avaliacao)));
+		}
+		List<Avaliacao> avaliacoes = new ArrayList<>();
+		for (Future<Avaliacao> criada : criadas) {
+			avaliacoes.add(criada.get());
+		}
+		executor.shutdown();
+
+		Avaliacao alterada = avaliacoes.get(0);
+		int notaAnterior = alterada.getNota();
+		alterada.setNota(5);
+		avaliacaoService.atualizar(alterada, notaAnterior);
+		avaliacaoService.excluir(avaliacoes.get(1));
+
+		ResumoAvaliacoesVaga resumo = avaliacaoService.resumo(vaga.getId());
+		List<Avaliacao> gravadas = avaliacaoRepository.findByVaga_Id(vaga.getId());
+		long[] esperado = new long[5];
+		long soma = 0;
+		for (Avaliacao avaliacao : gravadas) {
+			esperado[avaliacao.getNota() - 1]++;
+			soma += avaliacao.getNota();
+		}
+		assertThat(resumo.getTotal()).isEqualTo(gravadas.size()).isEqualTo(39);
+		assertThat(resumo.getSoma()).isEqualTo(soma);
+		assertThat(resumo.getDistribuicao()).containsExactly(esperado);
+		assertThat(resumo.getMedia()).isEqualTo(Math.round(soma * 10.0 / gravadas.size()) / 10.0);
+	}
+
+	private Estudante novoEstudante(int i) {
+		Estudante estudante = new Estudante();
+		estudante.setNome("Avaliador " + i);
+		estudante.setEmail("avaliador" + i + "@test.com");
+		return estudanteRepository.save(estudante);
+	}
+}
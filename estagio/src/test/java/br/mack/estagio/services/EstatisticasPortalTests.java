@@ -0,0 +1,109 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.AreaInteresse;
+import br.mack.estagio.entities.Empresa;
+import br.mack.estagio.entities.VagaEstagio;
+import br.mack.estagio.repositories.AreaInteresseRepository;
+import br.mack.estagio.repositories.EmpresaRepository;
+import br.mack.estagio.repositories.VagaEstagioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:estatisticas;DB_CLOSE_DELAY=-1")
+class EstatisticasPortalTests {
+
+	@Autowired
+	private EstatisticasPortal estatisticas;
+
+	@Autowired
+	private ReconciliacaoEstatisticas reconciliacao;
+
+	@Autowired
+	private EmpresaRepository empresaRepository;
+
+	@Autowired
+	private VagaEstagioRepository vagaEstagioRepository;
+
+	@Autowired
+	private AreaInteresseRepository areaInteresseRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void contadoresAcompanhamEscritasConfirmadasEIgnoramAsRevertidas() {
+		reconciliacao.aoIniciar();
+		long empresas = estatisticas.getTotalEmpresas();
+		long abertas = estatisticas.getVagasAbertas();
+		long encerradas = estatisticas.getVagasEncerradas();
+
+		AreaInteresse area = new AreaInteresse();
+		area.setNome("Contadores");
+		area = areaInteresseRepository.save(area);
+		Empresa empresa = new Empresa();
+		empresa.setNome("Empresa Contada");
+		empresa = empresaRepository.save(empresa);
+		VagaEstagio vaga = new VagaEstagio();
+		vaga.setTitulo("Vaga Contada");
+		vaga.setArea(area);
+		vaga.setEmpresa(empresa);
+		vaga = vagaEstagioRepository.save(vaga);
+
+		assertThat(estatisticas.getTotalEmpresas()).isEqualTo(empresas + 1);
+		assertThat(estatisticas.getVagasAbertas()).isEqualTo(abertas + 1);
+		assertThat(porArea("Contadores")).isEqualTo(1);
+
+		vaga.setAberta(false);
+		vagaEstagioRepository.save(vaga);
+		assertThat(estatisticas.getVagasAbertas()).isEqualTo(abertas);
+		assertThat(estatisticas.getVagasEncerradas()).isEqualTo(encerradas + 1);
+
+		// Inserção e encerramento já enviados ao banco (flush), mas revertidos: nada muda
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		Empresa revertida = new Empresa();
+		revertida.setNome("Empresa Revertida");
+		VagaEstagio outra = new VagaEstagio();
+		outra.setTitulo("Vaga Revertida");
+		outra.setArea(area);
+		outra.setEmpresa(empresa);
+		transacao.executeWithoutResult(status -> {
+			empresaRepository.saveAndFlush(revertida);
+			vagaEstagioRepository.saveAndFlush(outra);
+			status.setRollbackOnly();
+		});
+		assertThat(estatisticas.getTotalEmpresas()).isEqualTo(empresas + 1);
+		assertThat(estatisticas.getVagasAbertas()).isEqualTo(abertas);
+		assertThat(porArea("Contadores")).isEqualTo(1);
+
+		vagaEstagioRepository.delete(vaga);
+		assertThat(estatisticas.getVagasEncerradas()).isEqualTo(encerradas);
+		assertThat(porArea("Contadores")).isZero();
+	}
+
+	@Test
+	void reconciliacaoNaInicializacaoLeOBanco() {
+		// Gravada sem passar pelo JPA: só a reconciliação a enxerga
+		jdbcTemplate.update("INSERT INTO empresa (id, nome) VALUES (?, ?)", 900_000L, "Empresa JDBC");
+		long antes = estatisticas.getTotalEmpresas();
+
+		reconciliacao.aoIniciar();
+
+		assertThat(estatisticas.getTotalEmpresas()).isEqualTo(empresaRepository.count()).isEqualTo(antes + 1);
+	}
+
+	private long porArea(String nome) {
+		List<Object[]> linhas = estatisticas.getVagasPorArea();
+		return linhas.stream().filter(linha -> nome.equals(linha[0])).mapToLong(linha -> (Long) linha[1]).sum();
+	}
+}
@@ -0,0 +1,177 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.dto.VagaDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificacaoVagasTests {
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private NotificacaoVagas notificacaoVagas;
+
+	@AfterEach
+	void encerrar() {
+		notificacaoVagas.encerrar();
+	}
+
+	@Test
+	void entregaAVagaADezMilAssinantesDaArea() throws Exception {
+		notificacaoVagas = new NotificacaoVagas(new ObjectMapper(), meterRegistry, 4, 60_000, 16, 32, 20_000, 5_000, 64);
+		CountDownLatch recebidas = new CountDownLatch(10_000);
+		List<EmissorGravado> daArea = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			EmissorGravado emissor = new EmissorGravado(recebidas, null);
+			notificacaoVagas.registrar(emissor, Set.of(1L));
+			daArea.add(emissor);
+		}
+		EmissorGravado outraArea = new EmissorGravado(new CountDownLatch(1), null);
+		notificacaoVagas.registrar(outraArea, Set.of(2L));
+
+		notificacaoVagas.vagaAberta(vaga(7L, 1L));
+
+		assertThat(recebidas.await(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(daArea).allSatisfy(emissor -> assertThat(emissor.eventos.get()).isEqualTo(1));
+		assertThat(outraArea.eventos.get()).isZero();
+		assertThat(meterRegistry.get("notificacao.vagas.assinantes").gauge().value()).isEqualTo(10_001);
+	}
+
+	@Test
+	void clienteLentoPerdeEventosESaiSemAtrasarOsDemais() throws Exception {
+		notificacaoVagas = new NotificacaoVagas(new ObjectMapper(), meterRegistry, 2, 60_000, 2, 3, 100, 5_000, 64);
+		CountDownLatch liberar = new CountDownLatch(1);
+		EmissorGravado lento = new EmissorGravado(new CountDownLatch(1), liberar);
+		EmissorGravado rapido = new EmissorGravado(new CountDownLatch(10), null);
+		notificacaoVagas.registrar(lento, Set.of(1L));
+		notificacaoVagas.registrar(rapido, Set.of(1L));
+
+		// O lento fica preso no primeiro envio; a fila de 2 enche e os descartes o desconectam.
+		// Um evento por vez, no ritmo do cliente rápido, que não perde nenhum
+		for (long id = 1; id <= 10; id++) {
+			notificacaoVagas.vagaAberta(vaga(id, 1L));
+			long limite = System.currentTimeMillis() + 5_000;
+			while (rapido.eventos.get() < id && System.currentTimeMillis() < limite) {
+				Thread.sleep(1);
+			}
+		}
+		assertThat(rapido.eventos.get()).isEqualTo(10);
+		assertThat(meterRegistry.get("notificacao.vagas.desconexoes").tag("motivo", "lento").counter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("notificacao.vagas.eventos.descartados").counter().count()).isEqualTo(4);
+		assertThat(meterRegistry.get("notificacao.vagas.assinantes").gauge().value()).isEqualTo(1);
+
+		liberar.countDown();
+		notificacaoVagas.vagaEncerrada(11L, 1L);
+		assertThat(lento.eventos.get()).isZero();
+	}
+
+	@Test
+	void clientesParadosEmTodasAsThreadsNaoInterrompemAEntrega() throws Exception {
+		notificacaoVagas = new NotificacaoVagas(new ObjectMapper(), meterRegistry, 2, 60_000, 16, 32, 100, 50, 8);
+		CountDownLatch liberar = new CountDownLatch(1);
+		List<EmissorGravado> parados = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			EmissorGravado parado = new EmissorGravado(new CountDownLatch(1), liberar);
+			notificacaoVagas.registrar(parado, Set.of(1L));
+			parados.add(parado);
+		}
+		EmissorGravado rapido = new EmissorGravado(new CountDownLatch(5), null);
+		notificacaoVagas.registrar(rapido, Set.of(1L));
+
+		// Os 4 parados ocupam as 2 threads (duas vezes) já no batimento inicial e ignoram a interrupção,
+		// como um socket que não responde; a verificação (agendada na aplicação) é chamada à mão
+		for (long id = 1; id <= 5; id++) {
+			notificacaoVagas.vagaAberta(vaga(id, 1L));
+		}
+		assertThat(aguardar(() -> {
+			notificacaoVagas.verificarEnvios();
+			return rapido.recebidos.getCount() == 0;
+		})).isTrue();
+		assertThat(rapido.eventos.get()).isEqualTo(5);
+		assertThat(meterRegistry.get("notificacao.vagas.desconexoes").tag("motivo", "timeout").counter().count()).isEqualTo(4);
+		assertThat(meterRegistry.get("notificacao.vagas.threads.presas").gauge().value()).isEqualTo(4);
+		assertThat(meterRegistry.get("notificacao.vagas.assinantes").gauge().value()).isEqualTo(1);
+
+		// Quando as escritas presas terminam, as threads extras saem do pool e os emitters são completados
+		liberar.countDown();
+		assertThat(aguardar(() -> meterRegistry.get("notificacao.vagas.threads.presas").gauge().value() == 0)).isTrue();
+		assertThat(aguardar(() -> parados.stream().allMatch(parado -> parado.completado))).isTrue();
+		assertThat(parados).allSatisfy(parado -> assertThat(parado.eventos.get()).isZero());
+	}
+
+	private static boolean aguardar(BooleanSupplier condicao) throws InterruptedException {
+		long limite = System.currentTimeMillis() + 5_000;
+		while (!condicao.getAsBoolean()) {
+			if (System.currentTimeMillis() > limite) {
+				return false;
+			}
+			Thread.sleep(10);
+		}
+		return true;
+	}
+
+	private static VagaDTO vaga(Long id, Long areaId) {
+		VagaDTO vaga = new VagaDTO();
+		vaga.setId(id);
+		vaga.setAreaId(areaId);
+		vaga.setAberta(true);
+		return vaga;
+	}
+
+	// Conta os eventos de vaga (não os batimentos); com "liberar", cada envio espera por ele,
+	// mesmo interrompido (como uma escrita bloqueada no socket)
+	private static class EmissorGravado extends SseEmitter {
+		final AtomicInteger eventos = new AtomicInteger();
+		final CountDownLatch recebidos;
+		final CountDownLatch liberar;
+		volatile boolean completado;
+
+		EmissorGravado(CountDownLatch recebidos, CountDownLatch liberar) {
+			this.recebidos = recebidos;
+			this.liberar = liberar;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (liberar != null) {
+				boolean interrompido = false;
+				while (true) {
+					try {
+						liberar.await();
+						break;
+					} catch (InterruptedException e) {
+						interrompido = true;
+					}
+				}
+				if (interrompido) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			StringBuilder texto = new StringBuilder();
+			builder.build().forEach(parte -> texto.append(parte.getData()));
+			if (texto.toString().contains("event:" + NotificacaoVagas.EVENTO_VAGA_ABERTA)) {
+				eventos.incrementAndGet();
+				recebidos.countDown();
+			}
+		}
+
+		@Override
+		public void complete() {
+			completado = true;
+			super.complete();
+		}
+	}
+}
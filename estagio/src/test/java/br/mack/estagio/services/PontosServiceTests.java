@@ -0,0 +1,125 @@
+package br.mack.estagio.services;
+
+import br.mack.estagio.entities.Estudante;
+import br.mack.estagio.repositories.EstudanteRepository;
+import br.mack.estagio.repositories.EventoGamificacaoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:pontos;DB_CLOSE_DELAY=-1")
+class PontosServiceTests {
+
+	@Autowired
+	private PontosService pontosService;
+
+	@Autowired
+	private EstudanteRepository estudanteRepository;
+
+	@Autowired
+	private ConsumidorEventosGamificacao consumidor;
+
+	@Autowired
+	private RankingService rankingService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EventoGamificacaoRepository eventoRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void incrementosParalelosSaoAplicadosEmLoteSemPerdasEBadgesSaoInseridasUmaVez() throws Exception {
+		Estudante estudante = new Estudante();
+		estudante.setNome("Concorrente");
+		estudante.setEmail("concorrente@test.com");
+		Long id = estudanteRepository.save(estudante).getId();
+		rankingService.registrar(id, "Concorrente", 0);
+
+		int incrementos = 10_000;
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int i = 0; i < incrementos; i++) {
+			tarefas.add(executor.submit(() -> pontosService.adicionarPontos(id, 1)));
+		}
+		for (Future<?> tarefa : tarefas) {
+			tarefa.get();
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		consumidor.processarPendentes();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM evento_gamificacao", Long.class)).isZero();
+
+		assertThat(estudanteRepository.findPontosById(id)).contains(incrementos);
+		assertThat(rankingService.posicao(id).orElseThrow().getPontos()).isEqualTo(incrementos);
+		List<String> badges = jdbcTemplate.queryForList(
+				"SELECT badge FROM estudante_badges WHERE estudante_id = ?", String.class, id);
+		assertThat(badges).containsExactlyInAnyOrder("Iniciante", "Avançado");
+	}
+
+	@Test
+	void consumidoresConcorrentesAplicamCadaEventoUmaVezSemPerderIncrementos() throws Exception {
+		Estudante estudante = new Estudante();
+		estudante.setNome("Disputado");
+		estudante.setEmail("disputado@test.com");
+		Long id = estudanteRepository.save(estudante).getId();
+		rankingService.registrar(id, "Disputado", 0);
+
+		// Um consumidor por "instância", com lotes pequenos, além do agendado da aplicação: os
+		// UPDATEs de pontos do mesmo estudante correm em paralelo enquanto os eventos são gravados.
+		// Um evento aplicado duas vezes passaria do total; um perdido ficaria abaixo
+		int consumidores = 4;
+		int incrementos = 2_000;
+		ExecutorService executor = Executors.newFixedThreadPool(16 + consumidores);
+		AtomicBoolean gravando = new AtomicBoolean(true);
+		List<Future<?>> drenagens = new ArrayList<>();
+		for (int c = 0; c < consumidores; c++) {
+			ConsumidorEventosGamificacao instancia = new ConsumidorEventosGamificacao(eventoRepository, pontosService,
+					transactionManager, new SimpleMeterRegistry(), 50, 60_000);
+			drenagens.add(executor.submit(() -> {
+				while (gravando.get()) {
+					instancia.processarPendentes();
+				}
+				instancia.processarPendentes();
+			}));
+		}
+		List<Future<?>> gravacoes = new ArrayList<>();
+		for (int i = 0; i < incrementos; i++) {
+			gravacoes.add(executor.submit(() -> pontosService.adicionarPontos(id, 1)));
+		}
+		for (Future<?> gravacao : gravacoes) {
+			gravacao.get();
+		}
+		gravando.set(false);
+		for (Future<?> drenagem : drenagens) {
+			drenagem.get(60, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+		consumidor.processarPendentes();
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM evento_gamificacao", Long.class)).isZero();
+		assertThat(estudanteRepository.findPontosById(id)).contains(incrementos);
+		assertThat(rankingService.posicao(id).orElseThrow().getPontos()).isEqualTo(incrementos);
+		List<String> badges = jdbcTemplate.queryForList(
+				"SELECT badge FROM estudante_badges WHERE estudante_id = ?", String.class, id);
+		assertThat(badges).containsExactlyInAnyOrder("Iniciante", "Avançado");
+	}
+}
@@ -0,0 +1,24 @@
+package br.mack.estagio.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VersoesCatalogoTests {
+
+	@Test
+	void alteracaoDeUmaColecaoAvancaOCarimboConjuntoMesmoComOutraAdiantada() {
+		VersoesCatalogo versoes = new VersoesCatalogo();
+		// Várias alterações no mesmo segundo adiantam o instante das vagas além do relógio
+		for (int i = 0; i < 5; i++) {
+			versoes.alterada(VersoesCatalogo.Colecao.VAGAS);
+		}
+		VersoesCatalogo.Carimbo antes = versoes.carimbo(VersoesCatalogo.Colecao.VAGAS, VersoesCatalogo.Colecao.EMPRESAS);
+
+		versoes.alterada(VersoesCatalogo.Colecao.EMPRESAS);
+
+		VersoesCatalogo.Carimbo depois = versoes.carimbo(VersoesCatalogo.Colecao.VAGAS, VersoesCatalogo.Colecao.EMPRESAS);
+		assertThat(depois.etag()).isNotEqualTo(antes.etag());
+		assertThat(depois.ultimaAlteracao()).isGreaterThan(antes.ultimaAlteracao());
+	}
+}
@@ -0,0 +1,59 @@
+package br.mack.estagio.services.busca;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceInvertidoTests {
+
+	private static List<IndiceInvertido.Campo> vaga(String titulo, String descricao) {
+		return List.of(new IndiceInvertido.Campo(titulo, 3f), new IndiceInvertido.Campo(descricao, 1f));
+	}
+
+	@Test
+	void ignoraAcentosEFlexoes() {
+		IndiceInvertido indice = new IndiceInvertido();
+		indice.indexar(1L, vaga("Estágio em Programação", "Desenvolvimento de aplicações Java"));
+		indice.indexar(2L, vaga("Estágio em Marketing", "Campanhas em redes sociais"));
+
+		assertThat(indice.buscar("programador", 10)).extracting(IndiceInvertido.Resultado::chave).containsExactly(1L);
+		assertThat(indice.buscar("APLICACAO desenvolvedores", 10)).extracting(IndiceInvertido.Resultado::chave).containsExactly(1L);
+		assertThat(indice.buscar("estagios", 10)).hasSize(2);
+	}
+
+	@Test
+	void titulosPesamMaisQueDescricao() {
+		IndiceInvertido indice = new IndiceInvertido();
+		indice.indexar(1L, vaga("Analista de dados", "Apoio ao time de Java"));
+		indice.indexar(2L, vaga("Desenvolvedor Java", "Apoio ao time de dados"));
+
+		assertThat(indice.buscar("java", 10)).extracting(IndiceInvertido.Resultado::chave).containsExactly(2L, 1L);
+	}
+
+	@Test
+	void ultimaPalavraCasaPorPrefixo() {
+		IndiceInvertido indice = new IndiceInvertido();
+		indice.indexar(1L, vaga("Desenvolvedor Backend", "Spring Boot"));
+		indice.indexar(2L, vaga("Designer", "Figma"));
+
+		assertThat(indice.buscar("desenv", 10)).extracting(IndiceInvertido.Resultado::chave).containsExactly(1L);
+		assertThat(indice.buscar("spri", 10)).extracting(IndiceInvertido.Resultado::chave).containsExactly(1L);
+	}
+
+	@Test
+	void reindexarERemoverAtualizamOsResultados() {
+		IndiceInvertido indice = new IndiceInvertido();
+		indice.indexar(1L, vaga("Suporte técnico", "Atendimento"));
+		indice.indexar(2L, vaga("Suporte a usuários", "Help desk"));
+
+		indice.indexar(1L, vaga("Infraestrutura", "Redes e servidores"));
+		assertThat(indice.buscar("suporte", 10)).extracting(IndiceInvertido.Resultado::chave).containsExactly(2L);
+
+		indice.remover(2L);
+		indice.indexar(3L, vaga("Suporte", "Atendimento"));
+		assertThat(indice.buscar("suporte", 10)).extracting(IndiceInvertido.Resultado::chave).containsExactly(3L);
+		assertThat(indice.tamanho()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,58 @@
+package br.mack.estagio.services.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankingPontosTests {
+
+	@Test
+	void desempataPeloMenorId() {
+		RankingPontos ranking = new RankingPontos();
+		ranking.atualizar(3L, 10);
+		ranking.atualizar(1L, 10);
+		ranking.atualizar(2L, 50);
+
+		assertThat(ranking.top(3)).extracting(RankingPontos.Posicao::estudanteId).containsExactly(2L, 1L, 3L);
+		assertThat(ranking.posicao(3L).posicao()).isEqualTo(3);
+	}
+
+	@Test
+	void concordaComOrdenacaoCompletaAposAtualizacoesAleatorias() {
+		RankingPontos ranking = new RankingPontos();
+		Map<Long, Integer> esperado = new HashMap<>();
+		Random random = new Random(7);
+		for (int i = 0; i < 5_000; i++) {
+			long id = random.nextInt(500);
+			if (random.nextInt(10) == 0) {
+				ranking.remover(id);
+				esperado.remove(id);
+			} else {
+				int pontos = random.nextInt(200);
+				ranking.atualizar(id, pontos);
+				esperado.put(id, pontos);
+			}
+		}
+
+		List<Long> ordenados = new ArrayList<>(esperado.keySet());
+		ordenados.sort(Comparator.<Long>comparingInt(esperado::get).reversed().thenComparing(Comparator.naturalOrder()));
+
+		assertThat(ranking.tamanho()).isEqualTo(ordenados.size());
+		assertThat(ranking.top(ordenados.size())).extracting(RankingPontos.Posicao::estudanteId).isEqualTo(ordenados);
+		for (int i = 0; i < ordenados.size(); i++) {
+			assertThat(ranking.posicao(ordenados.get(i)).posicao()).isEqualTo(i + 1);
+		}
+
+		long meio = ordenados.get(ordenados.size() / 2);
+		assertThat(ranking.vizinhos(meio, 2)).extracting(RankingPontos.Posicao::estudanteId)
+				.isEqualTo(ordenados.subList(ordenados.size() / 2 - 2, ordenados.size() / 2 + 3));
+		assertThat(ranking.vizinhos(ordenados.get(0), 2)).hasSize(3);
+	}
+}
@@ -0,0 +1,78 @@
+package br.mack.estagio.services.recomendacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MotorRecomendacaoTests {
+
+	private static final long AGORA = 1_000L * 24 * 60 * 60 * 1000;
+	private static final String[] PALAVRAS = {"java", "python", "computação", "dados", "engenharia", "design", "sistemas", "redes"};
+
+	@Test
+	void priorizaAreaECursoEIgnoraVagasJaInscritas() {
+		MotorRecomendacao motor = new MotorRecomendacao(10, () -> AGORA);
+		motor.atualizarEstudante(1L, List.of(10L), "Ciência da Computação");
+		motor.publicarVaga(100L, List.of(10L), "Desenvolvedor", "Cursando Computação", AGORA);
+		motor.publicarVaga(101L, List.of(10L), "Desenvolvedor", "Java", AGORA);
+		motor.publicarVaga(102L, List.of(20L), "Designer", "Figma", AGORA);
+
+		assertThat(motor.recomendar(1L, 10)).extracting(MotorRecomendacao.Recomendacao::vagaId).containsExactly(100L, 101L, 102L);
+
+		motor.registrarInscricao(1L, 100L);
+		motor.removerVaga(102L);
+		assertThat(motor.recomendar(1L, 10)).extracting(MotorRecomendacao.Recomendacao::vagaId).containsExactly(101L);
+	}
+
+	@Test
+	void atualizacoesIncrementaisConcordamComRecalculoCompleto() {
+		MotorRecomendacao incremental = new MotorRecomendacao(5, () -> AGORA);
+		MotorRecomendacao referencia = new MotorRecomendacao(5, () -> AGORA);
+		Random random = new Random(11);
+		List<Consumer<MotorRecomendacao>> operacoes = new ArrayList<>();
+		for (int i = 0; i < 4_000; i++) {
+			long vaga = random.nextInt(120);
+			long estudante = random.nextInt(40);
+			int tipo = random.nextInt(10);
+			Consumer<MotorRecomendacao> operacao;
+			if (tipo < 4) {
+				List<Long> areas = List.of((long) random.nextInt(70), (long) random.nextInt(70));
+				String titulo = PALAVRAS[random.nextInt(PALAVRAS.length)];
+				String requisitos = PALAVRAS[random.nextInt(PALAVRAS.length)];
+				long publicada = AGORA - random.nextInt(90) * 86_400_000L;
+				operacao = m -> m.publicarVaga(vaga, areas, titulo, requisitos, publicada);
+			} else if (tipo < 5) {
+				operacao = m -> m.removerVaga(vaga);
+			} else if (tipo < 6) {
+				int nota = 1 + random.nextInt(5);
+				operacao = m -> m.ajustarAvaliacoes(vaga, nota, 1);
+			} else if (tipo < 7) {
+				operacao = m -> m.registrarInscricao(estudante, vaga);
+			} else if (tipo < 8) {
+				operacao = m -> m.removerInscricao(estudante, vaga);
+			} else {
+				List<Long> areas = List.of((long) random.nextInt(70));
+				String curso = PALAVRAS[random.nextInt(PALAVRAS.length)] + " " + PALAVRAS[random.nextInt(PALAVRAS.length)];
+				operacao = m -> m.atualizarEstudante(estudante, areas, curso);
+			}
+			operacoes.add(operacao);
+		}
+
+		for (Consumer<MotorRecomendacao> operacao : operacoes) {
+			operacao.accept(incremental);
+			operacao.accept(referencia);
+			// Leituras frequentes mantêm os top-K calculados, exercitando os ajustes incrementais
+			incremental.recomendar(random.nextInt(40), 5);
+		}
+
+		referencia.invalidarTodos();
+		for (long estudante = 0; estudante < 40; estudante++) {
+			assertThat(incremental.recomendar(estudante, 5)).isEqualTo(referencia.recomendar(estudante, 5));
+		}
+	}
+}